@@ -0,0 +1,29 @@
+/* DO NOT EDIT THIS FILE - it is machine generated */
+#include <jni.h>
+/* Header for class org_rocstreaming_roctoolkit_ArrayCopyStats */
+
+#ifndef _Included_org_rocstreaming_roctoolkit_ArrayCopyStats
+#define _Included_org_rocstreaming_roctoolkit_ArrayCopyStats
+#ifdef __cplusplus
+extern "C" {
+#endif
+/*
+ * Class:     org_rocstreaming_roctoolkit_ArrayCopyStats
+ * Method:    nativeSetEnabled
+ * Signature: (Z)V
+ */
+JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_ArrayCopyStats_nativeSetEnabled
+  (JNIEnv *, jclass, jboolean);
+
+/*
+ * Class:     org_rocstreaming_roctoolkit_ArrayCopyStats
+ * Method:    nativeTakeBytesCopied
+ * Signature: ()J
+ */
+JNIEXPORT jlong JNICALL Java_org_rocstreaming_roctoolkit_ArrayCopyStats_nativeTakeBytesCopied
+  (JNIEnv *, jclass);
+
+#ifdef __cplusplus
+}
+#endif
+#endif
@@ -7,22 +7,6 @@
 #ifdef __cplusplus
 extern "C" {
 #endif
-/*
- * Class:     org_rocstreaming_roctoolkit_Endpoint
- * Method:    nativeParseUri
- * Signature: (Ljava/lang/String;)V
- */
-JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_Endpoint_nativeParseUri
-  (JNIEnv *, jobject, jstring);
-
-/*
- * Class:     org_rocstreaming_roctoolkit_Endpoint
- * Method:    nativeFormatUri
- * Signature: ()Ljava/lang/String;
- */
-JNIEXPORT jstring JNICALL Java_org_rocstreaming_roctoolkit_Endpoint_nativeFormatUri
-  (JNIEnv *, jobject);
-
 /*
  * Class:     org_rocstreaming_roctoolkit_Endpoint
  * Method:    nativeValidate
@@ -0,0 +1,45 @@
+/* DO NOT EDIT THIS FILE - it is machine generated */
+#include <jni.h>
+/* Header for class org_rocstreaming_roctoolkit_PcmConversions */
+
+#ifndef _Included_org_rocstreaming_roctoolkit_PcmConversions
+#define _Included_org_rocstreaming_roctoolkit_PcmConversions
+#ifdef __cplusplus
+extern "C" {
+#endif
+/*
+ * Class:     org_rocstreaming_roctoolkit_PcmConversions
+ * Method:    nativeS16ToFloat
+ * Signature: ([S[F)V
+ */
+JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_PcmConversions_nativeS16ToFloat
+  (JNIEnv *, jclass, jshortArray, jfloatArray);
+
+/*
+ * Class:     org_rocstreaming_roctoolkit_PcmConversions
+ * Method:    nativeS16LeToFloat
+ * Signature: ([B[F)V
+ */
+JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_PcmConversions_nativeS16LeToFloat
+  (JNIEnv *, jclass, jbyteArray, jfloatArray);
+
+/*
+ * Class:     org_rocstreaming_roctoolkit_PcmConversions
+ * Method:    nativeFloatToS16
+ * Signature: ([F[S)V
+ */
+JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_PcmConversions_nativeFloatToS16
+  (JNIEnv *, jclass, jfloatArray, jshortArray);
+
+/*
+ * Class:     org_rocstreaming_roctoolkit_PcmConversions
+ * Method:    nativeFloatToS16Le
+ * Signature: ([F[B)V
+ */
+JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_PcmConversions_nativeFloatToS16Le
+  (JNIEnv *, jclass, jfloatArray, jbyteArray);
+
+#ifdef __cplusplus
+}
+#endif
+#endif
@@ -0,0 +1,29 @@
+/* DO NOT EDIT THIS FILE - it is machine generated */
+#include <jni.h>
+/* Header for class org_rocstreaming_roctoolkit_PreparedReceiverConfig */
+
+#ifndef _Included_org_rocstreaming_roctoolkit_PreparedReceiverConfig
+#define _Included_org_rocstreaming_roctoolkit_PreparedReceiverConfig
+#ifdef __cplusplus
+extern "C" {
+#endif
+/*
+ * Class:     org_rocstreaming_roctoolkit_PreparedReceiverConfig
+ * Method:    nativeOpen
+ * Signature: ([J)J
+ */
+JNIEXPORT jlong JNICALL Java_org_rocstreaming_roctoolkit_PreparedReceiverConfig_nativeOpen
+  (JNIEnv *, jclass, jlongArray);
+
+/*
+ * Class:     org_rocstreaming_roctoolkit_PreparedReceiverConfig
+ * Method:    nativeClose
+ * Signature: (J)V
+ */
+JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_PreparedReceiverConfig_nativeClose
+  (JNIEnv *, jclass, jlong);
+
+#ifdef __cplusplus
+}
+#endif
+#endif
@@ -0,0 +1,29 @@
+/* DO NOT EDIT THIS FILE - it is machine generated */
+#include <jni.h>
+/* Header for class org_rocstreaming_roctoolkit_PreparedSenderConfig */
+
+#ifndef _Included_org_rocstreaming_roctoolkit_PreparedSenderConfig
+#define _Included_org_rocstreaming_roctoolkit_PreparedSenderConfig
+#ifdef __cplusplus
+extern "C" {
+#endif
+/*
+ * Class:     org_rocstreaming_roctoolkit_PreparedSenderConfig
+ * Method:    nativeOpen
+ * Signature: ([J)J
+ */
+JNIEXPORT jlong JNICALL Java_org_rocstreaming_roctoolkit_PreparedSenderConfig_nativeOpen
+  (JNIEnv *, jclass, jlongArray);
+
+/*
+ * Class:     org_rocstreaming_roctoolkit_PreparedSenderConfig
+ * Method:    nativeClose
+ * Signature: (J)V
+ */
+JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_PreparedSenderConfig_nativeClose
+  (JNIEnv *, jclass, jlong);
+
+#ifdef __cplusplus
+}
+#endif
+#endif
@@ -7,6 +7,8 @@
 #ifdef __cplusplus
 extern "C" {
 #endif
+#undef org_rocstreaming_roctoolkit_RocLogger_BATCH_SIZE
+#define org_rocstreaming_roctoolkit_RocLogger_BATCH_SIZE 64L
 /*
  * Class:     org_rocstreaming_roctoolkit_RocLogger
  * Method:    nativeSetLevel
@@ -17,11 +19,27 @@ JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocLogger_nativeSetLevel
 
 /*
  * Class:     org_rocstreaming_roctoolkit_RocLogger
- * Method:    nativeSetHandler
- * Signature: (Lorg/rocstreaming/roctoolkit/RocLogHandler;)V
+ * Method:    nativeSetEnabled
+ * Signature: (Z)V
  */
-JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocLogger_nativeSetHandler
-  (JNIEnv *, jclass, jobject);
+JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocLogger_nativeSetEnabled
+  (JNIEnv *, jclass, jboolean);
+
+/*
+ * Class:     org_rocstreaming_roctoolkit_RocLogger
+ * Method:    nativeDrain
+ * Signature: ([I[Ljava/lang/String;[Ljava/lang/String;)I
+ */
+JNIEXPORT jint JNICALL Java_org_rocstreaming_roctoolkit_RocLogger_nativeDrain
+  (JNIEnv *, jclass, jintArray, jobjectArray, jobjectArray);
+
+/*
+ * Class:     org_rocstreaming_roctoolkit_RocLogger
+ * Method:    nativeGetDroppedCount
+ * Signature: ()J
+ */
+JNIEXPORT jlong JNICALL Java_org_rocstreaming_roctoolkit_RocLogger_nativeGetDroppedCount
+  (JNIEnv *, jclass);
 
 #ifdef __cplusplus
 }
@@ -7,13 +7,23 @@
 #ifdef __cplusplus
 extern "C" {
 #endif
+#undef org_rocstreaming_roctoolkit_RocReceiver_GLITCH_THRESHOLD
+#define org_rocstreaming_roctoolkit_RocReceiver_GLITCH_THRESHOLD 0.01f
 /*
  * Class:     org_rocstreaming_roctoolkit_RocReceiver
  * Method:    nativeOpen
- * Signature: (JLorg/rocstreaming/roctoolkit/RocReceiverConfig;)J
+ * Signature: (J[J)J
  */
 JNIEXPORT jlong JNICALL Java_org_rocstreaming_roctoolkit_RocReceiver_nativeOpen
-  (JNIEnv *, jclass, jlong, jobject);
+  (JNIEnv *, jclass, jlong, jlongArray);
+
+/*
+ * Class:     org_rocstreaming_roctoolkit_RocReceiver
+ * Method:    nativeOpenPrepared
+ * Signature: (JJ)J
+ */
+JNIEXPORT jlong JNICALL Java_org_rocstreaming_roctoolkit_RocReceiver_nativeOpenPrepared
+  (JNIEnv *, jclass, jlong, jlong);
 
 /*
  * Class:     org_rocstreaming_roctoolkit_RocReceiver
@@ -34,9 +44,9 @@ JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocReceiver_nativeConfig
 /*
  * Class:     org_rocstreaming_roctoolkit_RocReceiver
  * Method:    nativeBind
- * Signature: (JIILorg/rocstreaming/roctoolkit/Endpoint;)V
+ * Signature: (JIILorg/rocstreaming/roctoolkit/Endpoint;)I
  */
-JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocReceiver_nativeBind
+JNIEXPORT jint JNICALL Java_org_rocstreaming_roctoolkit_RocReceiver_nativeBind
   (JNIEnv *, jobject, jlong, jint, jint, jobject);
 
 /*
@@ -47,13 +57,61 @@ JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocReceiver_nativeBind
 JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocReceiver_nativeUnlink
   (JNIEnv *, jobject, jlong, jint);
 
+/*
+ * Class:     org_rocstreaming_roctoolkit_RocReceiver
+ * Method:    nativeQuery
+ * Signature: (JILorg/rocstreaming/roctoolkit/RocReceiverMetrics;[Lorg/rocstreaming/roctoolkit/RocConnectionMetrics;)I
+ */
+JNIEXPORT jint JNICALL Java_org_rocstreaming_roctoolkit_RocReceiver_nativeQuery
+  (JNIEnv *, jobject, jlong, jint, jobject, jobjectArray);
+
 /*
  * Class:     org_rocstreaming_roctoolkit_RocReceiver
  * Method:    nativeReadFloats
- * Signature: (J[F)V
+ * Signature: (J[FII[J[F)V
  */
 JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocReceiver_nativeReadFloats
-  (JNIEnv *, jobject, jlong, jfloatArray);
+  (JNIEnv *, jobject, jlong, jfloatArray, jint, jint, jlongArray, jfloatArray);
+
+/*
+ * Class:     org_rocstreaming_roctoolkit_RocReceiver
+ * Method:    nativeReadFloatsCritical
+ * Signature: (J[FII[J[F)V
+ */
+JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocReceiver_nativeReadFloatsCritical
+  (JNIEnv *, jobject, jlong, jfloatArray, jint, jint, jlongArray, jfloatArray);
+
+/*
+ * Class:     org_rocstreaming_roctoolkit_RocReceiver
+ * Method:    nativeReadBuffer
+ * Signature: (JLjava/nio/Buffer;II[J[F)V
+ */
+JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocReceiver_nativeReadBuffer
+  (JNIEnv *, jobject, jlong, jobject, jint, jint, jlongArray, jfloatArray);
+
+/*
+ * Class:     org_rocstreaming_roctoolkit_RocReceiver
+ * Method:    nativeReadPlanes
+ * Signature: (J[[F[J[F)V
+ */
+JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocReceiver_nativeReadPlanes
+  (JNIEnv *, jobject, jlong, jobjectArray, jlongArray, jfloatArray);
+
+/*
+ * Class:     org_rocstreaming_roctoolkit_RocReceiver
+ * Method:    nativeReadShorts
+ * Signature: (J[SII[J[F)V
+ */
+JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocReceiver_nativeReadShorts
+  (JNIEnv *, jobject, jlong, jshortArray, jint, jint, jlongArray, jfloatArray);
+
+/*
+ * Class:     org_rocstreaming_roctoolkit_RocReceiver
+ * Method:    nativeReadPcm16Le
+ * Signature: (J[BII[J[F)V
+ */
+JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocReceiver_nativeReadPcm16Le
+  (JNIEnv *, jobject, jlong, jbyteArray, jint, jint, jlongArray, jfloatArray);
 
 #ifdef __cplusplus
 }
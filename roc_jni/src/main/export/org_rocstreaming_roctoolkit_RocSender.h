@@ -10,10 +10,18 @@ extern "C" {
 /*
  * Class:     org_rocstreaming_roctoolkit_RocSender
  * Method:    nativeOpen
- * Signature: (JLorg/rocstreaming/roctoolkit/RocSenderConfig;)J
+ * Signature: (J[J)J
  */
 JNIEXPORT jlong JNICALL Java_org_rocstreaming_roctoolkit_RocSender_nativeOpen
-  (JNIEnv *, jclass, jlong, jobject);
+  (JNIEnv *, jclass, jlong, jlongArray);
+
+/*
+ * Class:     org_rocstreaming_roctoolkit_RocSender
+ * Method:    nativeOpenPrepared
+ * Signature: (JJ)J
+ */
+JNIEXPORT jlong JNICALL Java_org_rocstreaming_roctoolkit_RocSender_nativeOpenPrepared
+  (JNIEnv *, jclass, jlong, jlong);
 
 /*
  * Class:     org_rocstreaming_roctoolkit_RocSender
@@ -47,13 +55,77 @@ JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocSender_nativeConnect
 JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocSender_nativeUnlink
   (JNIEnv *, jobject, jlong, jint);
 
+/*
+ * Class:     org_rocstreaming_roctoolkit_RocSender
+ * Method:    nativeQuery
+ * Signature: (JILorg/rocstreaming/roctoolkit/RocSenderMetrics;)V
+ */
+JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocSender_nativeQuery
+  (JNIEnv *, jobject, jlong, jint, jobject);
+
 /*
  * Class:     org_rocstreaming_roctoolkit_RocSender
  * Method:    nativeWriteFloats
- * Signature: (J[F)V
+ * Signature: (J[FII[F)V
  */
 JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocSender_nativeWriteFloats
-  (JNIEnv *, jobject, jlong, jfloatArray);
+  (JNIEnv *, jobject, jlong, jfloatArray, jint, jint, jfloatArray);
+
+/*
+ * Class:     org_rocstreaming_roctoolkit_RocSender
+ * Method:    nativeWriteFloatsCritical
+ * Signature: (J[FII[F)V
+ */
+JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocSender_nativeWriteFloatsCritical
+  (JNIEnv *, jobject, jlong, jfloatArray, jint, jint, jfloatArray);
+
+/*
+ * Class:     org_rocstreaming_roctoolkit_RocSender
+ * Method:    nativeWriteBuffer
+ * Signature: (JLjava/nio/Buffer;II[F)V
+ */
+JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocSender_nativeWriteBuffer
+  (JNIEnv *, jobject, jlong, jobject, jint, jint, jfloatArray);
+
+/*
+ * Class:     org_rocstreaming_roctoolkit_RocSender
+ * Method:    nativeWritePlanes
+ * Signature: (J[[F[F)V
+ */
+JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocSender_nativeWritePlanes
+  (JNIEnv *, jobject, jlong, jobjectArray, jfloatArray);
+
+/*
+ * Class:     org_rocstreaming_roctoolkit_RocSender
+ * Method:    nativeWriteShorts
+ * Signature: (J[SII[F)V
+ */
+JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocSender_nativeWriteShorts
+  (JNIEnv *, jobject, jlong, jshortArray, jint, jint, jfloatArray);
+
+/*
+ * Class:     org_rocstreaming_roctoolkit_RocSender
+ * Method:    nativeWritePcm16Le
+ * Signature: (J[BII[F)V
+ */
+JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocSender_nativeWritePcm16Le
+  (JNIEnv *, jobject, jlong, jbyteArray, jint, jint, jfloatArray);
+
+/*
+ * Class:     org_rocstreaming_roctoolkit_RocSender
+ * Method:    nativeWriteBatch
+ * Signature: (J[[FZ[F)I
+ */
+JNIEXPORT jint JNICALL Java_org_rocstreaming_roctoolkit_RocSender_nativeWriteBatch
+  (JNIEnv *, jobject, jlong, jobjectArray, jboolean, jfloatArray);
+
+/*
+ * Class:     org_rocstreaming_roctoolkit_RocSender
+ * Method:    nativeWriteStrided
+ * Signature: (J[FIIIZ[F)I
+ */
+JNIEXPORT jint JNICALL Java_org_rocstreaming_roctoolkit_RocSender_nativeWriteStrided
+  (JNIEnv *, jobject, jlong, jfloatArray, jint, jint, jint, jboolean, jfloatArray);
 
 #ifdef __cplusplus
 }
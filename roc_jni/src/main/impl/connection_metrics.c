@@ -0,0 +1,18 @@
+#include "connection_metrics.h"
+#include "helpers.h"
+
+#include <assert.h>
+#include <limits.h>
+
+bool connection_metrics_marshal(
+    JNIEnv* env, jobject jmetrics, const roc_connection_metrics* metrics) {
+    assert(env);
+    assert(jmetrics);
+    assert(metrics);
+
+    // e2eLatencyNanos
+    (*env)->SetLongField(env, jmetrics, jni_cache.connection_metrics.e2e_latency_nanos,
+        metrics->e2e_latency > LLONG_MAX ? LLONG_MAX : (jlong) metrics->e2e_latency);
+
+    return true;
+}
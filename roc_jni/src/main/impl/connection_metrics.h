@@ -0,0 +1,11 @@
+#pragma once
+
+#include "platform.h"
+
+#include <jni.h>
+#include <roc/metrics.h>
+
+#include <stdbool.h>
+
+ATTR_NODISCARD bool connection_metrics_marshal(
+    JNIEnv* env, jobject jmetrics, const roc_connection_metrics* metrics);
@@ -12,18 +12,13 @@ bool context_config_unmarshal(JNIEnv* env, jobject jconfig, roc_context_config*
 
     memset(result, 0, sizeof(*result));
 
-    jclass jclass = find_class(env, CONTEXT_CONFIG_CLASS);
-    if (!jclass) {
+    if (!read_uint_field(env, jconfig, jni_cache.context_config.max_packet_size,
+            CONTEXT_CONFIG_CLASS, "maxPacketSize", &result->max_packet_size)) {
         return false;
     }
 
-    if (!read_uint_field(env, jclass, jconfig, CONTEXT_CONFIG_CLASS, "maxPacketSize",
-            &result->max_packet_size)) {
-        return false;
-    }
-
-    if (!read_uint_field(
-            env, jclass, jconfig, CONTEXT_CONFIG_CLASS, "maxFrameSize", &result->max_frame_size)) {
+    if (!read_uint_field(env, jconfig, jni_cache.context_config.max_frame_size,
+            CONTEXT_CONFIG_CLASS, "maxFrameSize", &result->max_frame_size)) {
         return false;
     }
 
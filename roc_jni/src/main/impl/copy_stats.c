@@ -0,0 +1,16 @@
+#include "org_rocstreaming_roctoolkit_ArrayCopyStats.h"
+
+#include "copy_stats.h"
+
+atomic_bool copy_stats_enabled = false;
+atomic_ullong copy_stats_bytes = 0;
+
+JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_ArrayCopyStats_nativeSetEnabled(
+    JNIEnv* env, jclass cls, jboolean jenabled) {
+    atomic_store_explicit(&copy_stats_enabled, jenabled == JNI_TRUE, memory_order_relaxed);
+}
+
+JNIEXPORT jlong JNICALL Java_org_rocstreaming_roctoolkit_ArrayCopyStats_nativeTakeBytesCopied(
+    JNIEnv* env, jclass cls) {
+    return (jlong) atomic_exchange_explicit(&copy_stats_bytes, 0, memory_order_relaxed);
+}
@@ -0,0 +1,18 @@
+#pragma once
+
+#include "platform.h"
+
+#include <stdatomic.h>
+#include <stdbool.h>
+#include <stddef.h>
+
+// Accounting of sample bytes copied between Java arrays and native memory.
+// Disabled by default, enabled by benchmarks via ArrayCopyStats.
+extern atomic_bool copy_stats_enabled;
+extern atomic_ullong copy_stats_bytes;
+
+static inline void copy_stats_add(size_t n_bytes) {
+    if (atomic_load_explicit(&copy_stats_enabled, memory_order_relaxed)) {
+        atomic_fetch_add_explicit(&copy_stats_bytes, n_bytes, memory_order_relaxed);
+    }
+}
@@ -0,0 +1,106 @@
+#include "glitch_detector.h"
+#include "exceptions.h"
+#include "helpers.h"
+
+#include <assert.h>
+#include <string.h>
+
+static float bits_to_float(jlong bits) {
+    uint32_t u = (uint32_t) bits;
+    float f = 0;
+    memcpy(&f, &u, sizeof(f));
+    return f;
+}
+
+static jlong float_to_bits(float f) {
+    uint32_t u = 0;
+    memcpy(&u, &f, sizeof(u));
+    return (jlong) u;
+}
+
+bool glitch_detector_load(JNIEnv* env, jlongArray jstate, glitch_detector* detector) {
+    assert(env);
+    assert(jstate);
+    assert(detector);
+
+    if ((*env)->GetArrayLength(env, jstate) != GLITCH_STATE_SIZE) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid glitch detector state");
+        return false;
+    }
+
+    (*env)->GetLongArrayRegion(env, jstate, 0, GLITCH_STATE_SIZE, detector->values);
+
+    if (detector->values[GLITCH_STATE_CHANNELS] <= 0
+        || detector->values[GLITCH_STATE_MIN_ZERO_RUN] <= 0) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid glitch detector state");
+        return false;
+    }
+
+    return true;
+}
+
+void glitch_detector_store(JNIEnv* env, jlongArray jstate, const glitch_detector* detector) {
+    assert(env);
+    assert(jstate);
+    assert(detector);
+
+    // configuration is never changed, write back only counters
+    (*env)->SetLongArrayRegion(env, jstate, GLITCH_STATE_FRAMES,
+        GLITCH_STATE_SIZE - GLITCH_STATE_FRAMES, detector->values + GLITCH_STATE_FRAMES);
+}
+
+void glitch_detector_process(glitch_detector* detector, const float* samples, size_t n_samples) {
+    assert(detector);
+
+    jlong* values = detector->values;
+
+    const size_t n_channels = (size_t) values[GLITCH_STATE_CHANNELS];
+    const jlong min_zero_run = values[GLITCH_STATE_MIN_ZERO_RUN];
+    const float threshold = bits_to_float(values[GLITCH_STATE_THRESHOLD]);
+
+    jlong frames = values[GLITCH_STATE_FRAMES];
+    jlong zero_runs = values[GLITCH_STATE_ZERO_RUNS];
+    jlong zero_frames = values[GLITCH_STATE_ZERO_FRAMES];
+    jlong discontinuities = values[GLITCH_STATE_DISCONTINUITIES];
+    jlong current_run = values[GLITCH_STATE_CURRENT_RUN];
+    float last_peak = bits_to_float(values[GLITCH_STATE_LAST_PEAK]);
+
+    for (size_t i = 0; i + n_channels <= n_samples; i += n_channels) {
+        float peak = 0;
+        for (size_t ch = 0; ch < n_channels; ch++) {
+            float value = samples[i + ch];
+            value = value < 0 ? -value : value;
+            peak = value > peak ? value : peak;
+        }
+
+        if (peak == 0) {
+            // sound cut off abruptly, e.g. when packets stopped arriving
+            if (current_run == 0 && last_peak > threshold) {
+                discontinuities++;
+            }
+            current_run++;
+            if (current_run == min_zero_run) {
+                zero_runs++;
+                zero_frames += current_run;
+            } else if (current_run > min_zero_run) {
+                zero_frames++;
+            }
+        } else {
+            // sound started abruptly after silence
+            if (current_run != 0 && peak > threshold) {
+                discontinuities++;
+            }
+            current_run = 0;
+        }
+
+        last_peak = peak;
+        frames++;
+    }
+
+    values[GLITCH_STATE_FRAMES] = frames;
+    values[GLITCH_STATE_ZERO_RUNS] = zero_runs;
+    values[GLITCH_STATE_ZERO_FRAMES] = zero_frames;
+    values[GLITCH_STATE_DISCONTINUITIES] = discontinuities;
+    values[GLITCH_STATE_CURRENT_RUN] = current_run;
+    values[GLITCH_STATE_LAST_PEAK] = float_to_bits(last_peak);
+}
@@ -0,0 +1,38 @@
+#pragma once
+
+#include "platform.h"
+
+#include <jni.h>
+
+#include <stdbool.h>
+#include <stddef.h>
+#include <stdint.h>
+
+// Layout of long[] state array, must match GlitchDetector.java.
+#define GLITCH_STATE_CHANNELS 0
+#define GLITCH_STATE_MIN_ZERO_RUN 1
+#define GLITCH_STATE_THRESHOLD 2
+#define GLITCH_STATE_FRAMES 3
+#define GLITCH_STATE_ZERO_RUNS 4
+#define GLITCH_STATE_ZERO_FRAMES 5
+#define GLITCH_STATE_DISCONTINUITIES 6
+#define GLITCH_STATE_CURRENT_RUN 7
+#define GLITCH_STATE_LAST_PEAK 8
+#define GLITCH_STATE_SIZE 9
+
+typedef struct {
+    jlong values[GLITCH_STATE_SIZE];
+} glitch_detector;
+
+// Load detector state from Java array.
+// Throws IllegalArgumentException and returns false if array is invalid.
+ATTR_NODISCARD bool glitch_detector_load(
+    JNIEnv* env, jlongArray jstate, glitch_detector* detector);
+
+// Store detector state back to Java array.
+void glitch_detector_store(JNIEnv* env, jlongArray jstate, const glitch_detector* detector);
+
+// Analyze interleaved samples: count runs of frames where all samples are exactly zero,
+// and abrupt transitions between such frames and loud frames. Doesn't call JNI, so can
+// be used inside critical section.
+void glitch_detector_process(glitch_detector* detector, const float* samples, size_t n_samples);
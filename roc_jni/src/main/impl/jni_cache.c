@@ -0,0 +1,206 @@
+#include "jni_cache.h"
+#include "exceptions.h"
+#include "helpers.h"
+#include "package.h"
+
+#include <assert.h>
+#include <string.h>
+
+#define STRING_CLASS "java/lang/String"
+
+#define OBJECT_SIG(class_name) "L" class_name ";"
+
+jni_cache_table jni_cache;
+
+typedef struct {
+    jclass* cls;
+    const char* name;
+} class_entry;
+
+typedef struct {
+    jfieldID* id;
+    jclass* cls;
+    const char* name;
+    const char* sig;
+} field_entry;
+
+typedef struct {
+    jni_enum_ids* ids;
+    const char* name;
+    const char* values_sig;
+} enum_entry;
+
+#define ENUM_CLASS(ids, class_name) { &jni_cache.ids.cls, class_name }
+#define ENUM_VALUE(ids) { &jni_cache.ids.value, &jni_cache.ids.cls, "value", "I" }
+#define ENUM(ids, class_name) { &jni_cache.ids, class_name, "()[" OBJECT_SIG(class_name) }
+
+static const class_entry classes[] = {
+    { &jni_cache.exceptions.illegal_argument_exception, ILLEGAL_ARGUMENT_EXCEPTION },
+    { &jni_cache.exceptions.illegal_state_exception, ILLEGAL_STATE_EXCEPTION },
+    { &jni_cache.exceptions.assertion_error, ASSERTION_ERROR },
+    { &jni_cache.exceptions.roc_exception, ROC_EXCEPTION },
+    ENUM_CLASS(channel_layout, CHANNEL_LAYOUT_CLASS),
+    ENUM_CLASS(format, FORMAT_CLASS),
+    ENUM_CLASS(log_level, LOG_LEVEL_CLASS),
+    ENUM_CLASS(protocol, PROTOCOL_CLASS),
+    { &jni_cache.context_config.cls, CONTEXT_CONFIG_CLASS },
+    { &jni_cache.media_encoding.cls, MEDIA_ENCODING_CLASS },
+    { &jni_cache.interface_config.cls, INTERFACE_CONFIG_CLASS },
+    { &jni_cache.endpoint.cls, ENDPOINT_CLASS },
+    { &jni_cache.sender_metrics.cls, SENDER_METRICS_CLASS },
+    { &jni_cache.receiver_metrics.cls, RECEIVER_METRICS_CLASS },
+    { &jni_cache.connection_metrics.cls, CONNECTION_METRICS_CLASS },
+};
+
+#define FIELD(group, field, name, sig)                                                            \
+    { &jni_cache.group.field, &jni_cache.group.cls, name, sig }
+
+static const field_entry fields[] = {
+    ENUM_VALUE(channel_layout),
+    ENUM_VALUE(format),
+    ENUM_VALUE(log_level),
+    ENUM_VALUE(protocol),
+
+    FIELD(context_config, max_packet_size, "maxPacketSize", "I"),
+    FIELD(context_config, max_frame_size, "maxFrameSize", "I"),
+
+    FIELD(media_encoding, rate, "rate", "I"),
+    FIELD(media_encoding, format, "format", OBJECT_SIG(FORMAT_CLASS)),
+    FIELD(media_encoding, channels, "channels", OBJECT_SIG(CHANNEL_LAYOUT_CLASS)),
+    FIELD(media_encoding, tracks, "tracks", "I"),
+
+    FIELD(interface_config, outgoing_address, "outgoingAddress", OBJECT_SIG(STRING_CLASS)),
+    FIELD(interface_config, multicast_group, "multicastGroup", OBJECT_SIG(STRING_CLASS)),
+    FIELD(interface_config, reuse_address, "reuseAddress", "Z"),
+
+    FIELD(endpoint, protocol, "protocol", OBJECT_SIG(PROTOCOL_CLASS)),
+    FIELD(endpoint, host, "host", OBJECT_SIG(STRING_CLASS)),
+    FIELD(endpoint, port, "port", "I"),
+    FIELD(endpoint, resource, "resource", OBJECT_SIG(STRING_CLASS)),
+
+    FIELD(sender_metrics, connection_count, "connectionCount", "I"),
+    FIELD(receiver_metrics, connection_count, "connectionCount", "I"),
+    FIELD(connection_metrics, e2e_latency_nanos, "e2eLatencyNanos", "J"),
+};
+
+static const enum_entry enums[] = {
+    ENUM(channel_layout, CHANNEL_LAYOUT_CLASS),
+    ENUM(format, FORMAT_CLASS),
+    ENUM(log_level, LOG_LEVEL_CLASS),
+    ENUM(protocol, PROTOCOL_CLASS),
+};
+
+#define ARRAY_SIZE(a) (sizeof(a) / sizeof((a)[0]))
+
+// Call values() once and index constants by their "value" field,
+// so that marshalling never calls values() or scans constants.
+static bool init_enum_constants(JNIEnv* env, const enum_entry* entry) {
+    jni_enum_ids* ids = entry->ids;
+    jobjectArray jvalues = NULL;
+    bool success = false;
+
+    jmethodID values_method
+        = (*env)->GetStaticMethodID(env, ids->cls, "values", entry->values_sig);
+    if (!values_method) {
+        // NoSuchMethodError is already thrown
+        goto out;
+    }
+
+    jvalues = (jobjectArray) (*env)->CallStaticObjectMethod(env, ids->cls, values_method);
+    if (!jvalues) {
+        throw_exception(env, ASSERTION_ERROR, "%s.values() failed", entry->name);
+        goto out;
+    }
+
+    jsize n_values = (*env)->GetArrayLength(env, jvalues);
+
+    for (jsize i = 0; i < n_values; i++) {
+        jobject jconstant = (*env)->GetObjectArrayElement(env, jvalues, i);
+        if (!jconstant) {
+            throw_exception(env, ASSERTION_ERROR, "%s.values() returned null", entry->name);
+            goto out;
+        }
+
+        jint value = (*env)->GetIntField(env, jconstant, ids->value);
+        if (value < JNI_ENUM_MIN_VALUE || value > JNI_ENUM_MAX_VALUE
+            || jni_enum_constant(ids, value)) {
+            (*env)->DeleteLocalRef(env, jconstant);
+            throw_exception(
+                env, ASSERTION_ERROR, "Invalid value %d in %s enum", (int) value, entry->name);
+            goto out;
+        }
+
+        jobject* slot = &ids->constants[value - JNI_ENUM_MIN_VALUE];
+        *slot = (*env)->NewGlobalRef(env, jconstant);
+        (*env)->DeleteLocalRef(env, jconstant);
+        if (!*slot) {
+            goto out;
+        }
+    }
+
+    success = true;
+
+out:
+    if (jvalues) {
+        (*env)->DeleteLocalRef(env, jvalues);
+    }
+    return success;
+}
+
+bool jni_cache_init(JNIEnv* env) {
+    assert(env);
+
+    for (size_t i = 0; i < ARRAY_SIZE(classes); i++) {
+        jclass local_ref = (*env)->FindClass(env, classes[i].name);
+        if (!local_ref) {
+            // NoClassDefFoundError is already thrown
+            goto fail;
+        }
+        *classes[i].cls = (jclass) (*env)->NewGlobalRef(env, local_ref);
+        (*env)->DeleteLocalRef(env, local_ref);
+        if (!*classes[i].cls) {
+            goto fail;
+        }
+    }
+
+    for (size_t i = 0; i < ARRAY_SIZE(fields); i++) {
+        *fields[i].id = (*env)->GetFieldID(env, *fields[i].cls, fields[i].name, fields[i].sig);
+        if (!*fields[i].id) {
+            // NoSuchFieldError is already thrown
+            goto fail;
+        }
+    }
+
+    for (size_t i = 0; i < ARRAY_SIZE(enums); i++) {
+        if (!init_enum_constants(env, &enums[i])) {
+            goto fail;
+        }
+    }
+
+    return true;
+
+fail:
+    jni_cache_deinit(env);
+    return false;
+}
+
+void jni_cache_deinit(JNIEnv* env) {
+    assert(env);
+
+    for (size_t i = 0; i < ARRAY_SIZE(enums); i++) {
+        jni_enum_ids* ids = enums[i].ids;
+        for (size_t n = 0; n < ARRAY_SIZE(ids->constants); n++) {
+            if (ids->constants[n]) {
+                (*env)->DeleteGlobalRef(env, ids->constants[n]);
+            }
+        }
+    }
+
+    for (size_t i = 0; i < ARRAY_SIZE(classes); i++) {
+        if (*classes[i].cls) {
+            (*env)->DeleteGlobalRef(env, *classes[i].cls);
+        }
+    }
+
+    memset(&jni_cache, 0, sizeof(jni_cache));
+}
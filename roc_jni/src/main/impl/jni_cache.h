@@ -0,0 +1,97 @@
+#pragma once
+
+#include "platform.h"
+
+#include <jni.h>
+
+#include <stdbool.h>
+
+// All "value" fields of enum constants must be within this range.
+#define JNI_ENUM_MIN_VALUE (-1)
+#define JNI_ENUM_MAX_VALUE 126
+
+// Enum class with int "value" field.
+typedef struct {
+    jclass cls;
+    jfieldID value;
+    // global refs to enum constants, indexed by "value" field minus JNI_ENUM_MIN_VALUE
+    jobject constants[JNI_ENUM_MAX_VALUE - JNI_ENUM_MIN_VALUE + 1];
+} jni_enum_ids;
+
+// Get cached enum constant by its "value" field, or NULL if there is no such constant.
+static inline jobject jni_enum_constant(const jni_enum_ids* ids, int value) {
+    if (value < JNI_ENUM_MIN_VALUE || value > JNI_ENUM_MAX_VALUE) {
+        return NULL;
+    }
+    return ids->constants[value - JNI_ENUM_MIN_VALUE];
+}
+
+// Global refs to classes and IDs of their fields.
+// Resolved once by jni_cache_init() and never changed until jni_cache_deinit(),
+// so native calls may use them from any thread without synchronization.
+typedef struct {
+    struct {
+        jclass illegal_argument_exception;
+        jclass illegal_state_exception;
+        jclass assertion_error;
+        jclass roc_exception;
+    } exceptions;
+
+    jni_enum_ids channel_layout;
+    jni_enum_ids format;
+    jni_enum_ids log_level;
+    jni_enum_ids protocol;
+
+    struct {
+        jclass cls;
+        jfieldID max_packet_size;
+        jfieldID max_frame_size;
+    } context_config;
+
+    struct {
+        jclass cls;
+        jfieldID rate;
+        jfieldID format;
+        jfieldID channels;
+        jfieldID tracks;
+    } media_encoding;
+
+    struct {
+        jclass cls;
+        jfieldID outgoing_address;
+        jfieldID multicast_group;
+        jfieldID reuse_address;
+    } interface_config;
+
+    struct {
+        jclass cls;
+        jfieldID protocol;
+        jfieldID host;
+        jfieldID port;
+        jfieldID resource;
+    } endpoint;
+
+    struct {
+        jclass cls;
+        jfieldID connection_count;
+    } sender_metrics;
+
+    struct {
+        jclass cls;
+        jfieldID connection_count;
+    } receiver_metrics;
+
+    struct {
+        jclass cls;
+        jfieldID e2e_latency_nanos;
+    } connection_metrics;
+} jni_cache_table;
+
+extern jni_cache_table jni_cache;
+
+// Resolve all classes and fields. Called from JNI_OnLoad().
+// On failure, returns false and leaves NoClassDefFoundError or similar pending.
+ATTR_NODISCARD bool jni_cache_init(JNIEnv* env);
+
+// Release global refs. Called from JNI_OnUnload().
+void jni_cache_deinit(JNIEnv* env);
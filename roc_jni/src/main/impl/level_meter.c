@@ -0,0 +1,67 @@
+#include "level_meter.h"
+#include "exceptions.h"
+#include "helpers.h"
+
+#include <assert.h>
+#include <math.h>
+
+bool level_meter_init(JNIEnv* env, jfloatArray jlevels, level_meter* meter) {
+    assert(env);
+    assert(jlevels);
+    assert(meter);
+
+    jsize length = (*env)->GetArrayLength(env, jlevels);
+    if (length < 2 || length > LEVEL_METER_MAX_CHANNELS * 2 || length % 2 != 0) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid LevelMeter");
+        return false;
+    }
+
+    meter->n_channels = (size_t) length / 2;
+    return true;
+}
+
+void level_meter_store(JNIEnv* env, jfloatArray jlevels, const level_meter* meter) {
+    assert(env);
+    assert(jlevels);
+    assert(meter);
+
+    (*env)->SetFloatArrayRegion(env, jlevels, 0, (jsize) meter->n_channels * 2, meter->levels);
+}
+
+void level_meter_process(level_meter* meter, const float* samples, size_t n_samples) {
+    assert(meter);
+
+    const size_t n_channels = meter->n_channels;
+    const size_t n_frames = n_samples / n_channels;
+
+    float peaks[LEVEL_METER_MAX_CHANNELS] = {};
+    float squares[LEVEL_METER_MAX_CHANNELS] = {};
+
+    if (n_channels == 2) {
+        // most common case, constant stride allows vectorization
+        for (size_t i = 0; i < n_frames; i++) {
+            float left = samples[i * 2];
+            float right = samples[i * 2 + 1];
+            float left_abs = left < 0 ? -left : left;
+            float right_abs = right < 0 ? -right : right;
+            peaks[0] = left_abs > peaks[0] ? left_abs : peaks[0];
+            peaks[1] = right_abs > peaks[1] ? right_abs : peaks[1];
+            squares[0] += left * left;
+            squares[1] += right * right;
+        }
+    } else {
+        for (size_t i = 0; i < n_frames; i++) {
+            for (size_t ch = 0; ch < n_channels; ch++) {
+                float value = samples[i * n_channels + ch];
+                float value_abs = value < 0 ? -value : value;
+                peaks[ch] = value_abs > peaks[ch] ? value_abs : peaks[ch];
+                squares[ch] += value * value;
+            }
+        }
+    }
+
+    for (size_t ch = 0; ch < n_channels; ch++) {
+        meter->levels[ch] = peaks[ch];
+        meter->levels[n_channels + ch] = n_frames != 0 ? sqrtf(squares[ch] / (float) n_frames) : 0;
+    }
+}
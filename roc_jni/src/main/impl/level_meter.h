@@ -0,0 +1,29 @@
+#pragma once
+
+#include "platform.h"
+
+#include <jni.h>
+
+#include <stdbool.h>
+#include <stddef.h>
+
+// Must match LevelMeter.MAX_CHANNELS.
+#define LEVEL_METER_MAX_CHANNELS 64
+
+// Peak and RMS levels of every channel of last frame.
+typedef struct {
+    size_t n_channels;
+    // peaks of all channels followed by RMS of all channels, same as in Java array
+    float levels[LEVEL_METER_MAX_CHANNELS * 2];
+} level_meter;
+
+// Initialize meter for Java levels array.
+// Throws IllegalArgumentException and returns false if array is invalid.
+ATTR_NODISCARD bool level_meter_init(JNIEnv* env, jfloatArray jlevels, level_meter* meter);
+
+// Store levels to Java array.
+void level_meter_store(JNIEnv* env, jfloatArray jlevels, const level_meter* meter);
+
+// Compute levels of interleaved samples. Doesn't call JNI, so can be used inside
+// critical section.
+void level_meter_process(level_meter* meter, const float* samples, size_t n_samples);
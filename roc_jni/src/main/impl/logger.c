@@ -2,266 +2,234 @@
 
 #include "exceptions.h"
 #include "helpers.h"
-#include "package.h"
 
 #include <roc/log.h>
 
 #include <assert.h>
-#include <pthread.h>
+#include <stdatomic.h>
+#include <stdbool.h>
+#include <stdint.h>
 #include <string.h>
 
-#define MAX_LEVELS 16
+// Must be power of two.
+#define RING_SIZE 1024
 
-static pthread_mutex_t logger_mutex = PTHREAD_MUTEX_INITIALIZER;
+#define MODULE_SIZE 32
+#define TEXT_SIZE 256
 
-static struct {
-    JavaVM* vm;
-    jclass level_class;
-    jobject level_objects[MAX_LEVELS];
-    jclass handler_class;
-    jobject handler_object;
-    jmethodID handler_method;
-} logger_state;
-
-static const char* map_log_level(roc_log_level level) {
-    switch (level) {
-    case ROC_LOG_NONE:
-        return "NONE";
-    case ROC_LOG_ERROR:
-        return "ERROR";
-    case ROC_LOG_INFO:
-        return "INFO";
-    case ROC_LOG_DEBUG:
-        return "DEBUG";
-    case ROC_LOG_TRACE:
-        return "TRACE";
-    default:
-        break;
-    }
-    return NULL;
-};
-
-JNIEXPORT jint JNI_OnLoad(JavaVM* vm, void* reserved) {
-    assert(vm);
+#define CACHE_LINE_SIZE 64
 
-    pthread_mutex_lock(&logger_mutex);
+typedef struct {
+    // position for which record is free (== position) or ready (== position + 1)
+    atomic_size_t sequence;
+    roc_log_level level;
+    char module[MODULE_SIZE];
+    char text[TEXT_SIZE];
+} log_record;
 
-    JNIEnv* env = NULL;
-    jint result = JNI_VERSION;
-    jclass level_class;
+// Bounded multi-producer single-consumer ring of log records.
+// Producers are libroc threads calling logger_handler(), they never block and never
+// call JNI. Consumer is Java thread calling nativeDrain(), serialized on Java side.
+static struct {
+    log_record records[RING_SIZE];
+    _Alignas(CACHE_LINE_SIZE) atomic_size_t write_pos;
+    _Alignas(CACHE_LINE_SIZE) size_t read_pos;
+    atomic_ullong dropped;
+} logger_ring;
+
+static void ring_init(void) {
+    for (size_t i = 0; i < RING_SIZE; i++) {
+        atomic_init(&logger_ring.records[i].sequence, i);
+    }
+    atomic_init(&logger_ring.write_pos, 0);
+    logger_ring.read_pos = 0;
+    atomic_init(&logger_ring.dropped, 0);
+}
 
-    if ((*vm)->GetEnv(vm, (void**) &env, JNI_VERSION) != JNI_OK) {
-        result = JNI_ERR;
-        goto out;
+// Copy string, truncating it if needed without splitting multi-byte UTF-8 sequences.
+// Truncated string ends with "...".
+static void copy_truncated(char* dst, size_t dst_size, const char* src) {
+    static const char marker[] = "...";
+
+    size_t len = src ? strlen(src) : 0;
+    bool truncated = false;
+    if (len >= dst_size) {
+        len = dst_size - sizeof(marker);
+        while (len > 0 && ((unsigned char) src[len] & 0xC0) == 0x80) {
+            len--;
+        }
+        truncated = true;
     }
-
-    level_class = (*env)->FindClass(env, LOG_LEVEL_CLASS);
-    if (!level_class) {
-        goto out;
+    if (len > 0) {
+        memcpy(dst, src, len);
     }
+    if (truncated) {
+        // includes terminating zero
+        memcpy(dst + len, marker, sizeof(marker));
+    } else {
+        dst[len] = '\0';
+    }
+}
 
-    logger_state.level_class = (jclass) (*env)->NewGlobalRef(env, level_class);
+static void logger_handler(const roc_log_message* message, void* argument) {
+    assert(message);
 
-    for (int i = 0; i < MAX_LEVELS; i++) {
-        const char* level_field_name = map_log_level((roc_log_level) i);
-        if (!level_field_name) {
-            continue;
-        }
-        jfieldID level_field_id
-            = (*env)->GetStaticFieldID(env, level_class, level_field_name, "L" LOG_LEVEL_CLASS ";");
-        if (!level_field_id) {
-            continue;
-        }
-        jobject level_object = (*env)->GetStaticObjectField(env, level_class, level_field_id);
-        if (!level_object) {
-            continue;
+    size_t pos = atomic_load_explicit(&logger_ring.write_pos, memory_order_relaxed);
+    log_record* record = NULL;
+
+    for (;;) {
+        record = &logger_ring.records[pos & (RING_SIZE - 1)];
+        size_t seq = atomic_load_explicit(&record->sequence, memory_order_acquire);
+        intptr_t diff = (intptr_t) seq - (intptr_t) pos;
+
+        if (diff == 0) {
+            // record is free, try to claim it
+            if (atomic_compare_exchange_weak_explicit(&logger_ring.write_pos, &pos, pos + 1,
+                    memory_order_relaxed, memory_order_relaxed)) {
+                break;
+            }
+        } else if (diff < 0) {
+            // record wasn't drained yet, ring is full
+            atomic_fetch_add_explicit(&logger_ring.dropped, 1, memory_order_relaxed);
+            return;
+        } else {
+            // record was claimed by another thread
+            pos = atomic_load_explicit(&logger_ring.write_pos, memory_order_relaxed);
         }
-        logger_state.level_objects[i] = (*env)->NewGlobalRef(env, level_object);
     }
 
-out:
-    pthread_mutex_unlock(&logger_mutex);
+    record->level = message->level;
+    copy_truncated(record->module, sizeof(record->module), message->module);
+    copy_truncated(record->text, sizeof(record->text), message->text);
 
-    return result;
+    atomic_store_explicit(&record->sequence, pos + 1, memory_order_release);
 }
 
-JNIEXPORT void JNI_OnUnload(JavaVM* vm, void* reserved) {
+JNIEXPORT jint JNI_OnLoad(JavaVM* vm, void* reserved) {
     assert(vm);
 
     JNIEnv* env = NULL;
 
-    pthread_mutex_lock(&logger_mutex);
-
-    (*logger_state.vm)->GetEnv(vm, (void**) &env, JNI_VERSION);
-
-    if (logger_state.level_class) {
-        (*env)->DeleteGlobalRef(env, logger_state.level_class);
-    }
-    for (int i = 0; i < MAX_LEVELS; i++) {
-        if (logger_state.level_objects[i]) {
-            (*env)->DeleteGlobalRef(env, logger_state.level_objects[i]);
-        }
+    if ((*vm)->GetEnv(vm, (void**) &env, JNI_VERSION) != JNI_OK) {
+        return JNI_ERR;
     }
 
-    if (logger_state.handler_class) {
-        (*env)->DeleteGlobalRef(env, logger_state.handler_class);
-    }
-    if (logger_state.handler_object) {
-        (*env)->DeleteGlobalRef(env, logger_state.handler_object);
+    // resolve all classes and fields used by native calls
+    if (!jni_cache_init(env)) {
+        return JNI_ERR;
     }
 
-    memset(&logger_state, 0, sizeof(logger_state));
+    ring_init();
 
-    pthread_mutex_unlock(&logger_mutex);
+    return JNI_VERSION;
 }
 
-static void logger_handler(const roc_log_message* message, void* argument) {
-    assert(message);
+JNIEXPORT void JNI_OnUnload(JavaVM* vm, void* reserved) {
+    assert(vm);
 
     JNIEnv* env = NULL;
-    jint result = 0;
-    int detach = 0;
-
-    jobject msg_level = NULL;
-    jstring msg_module = NULL;
-    jstring msg_text = NULL;
-
-    pthread_mutex_lock(&logger_mutex);
-
-    if (logger_state.vm == NULL || logger_state.level_class == NULL
-        || logger_state.handler_class == NULL || logger_state.handler_object == NULL
-        || logger_state.handler_method == NULL) {
-        goto out;
-    }
-
-    // check if it is needed to attach current thread
-    if ((result = (*logger_state.vm)->GetEnv(logger_state.vm, (void**) &env, JNI_VERSION))
-        == JNI_EDETACHED) {
-#ifdef __ANDROID__
-        if ((*logger_state.vm)->AttachCurrentThread(logger_state.vm, &env, 0) == JNI_OK)
-#else
-        if ((*logger_state.vm)->AttachCurrentThread(logger_state.vm, (void**) &env, 0) == JNI_OK)
-#endif
-            detach = 1;
-        else {
-            // cannot attach current thread
-            goto out;
-        }
-    } else if (result != JNI_OK) {
-        // cannot get env
-        goto out;
-    }
-
-    assert(env);
 
-    if (message->level < 0 || message->level >= MAX_LEVELS) goto out;
-    msg_level = logger_state.level_objects[message->level];
-    if (!msg_level) goto out;
-
-    msg_module = (*env)->NewStringUTF(env, message->module);
-    if (!msg_module) goto out;
-
-    msg_text = (*env)->NewStringUTF(env, message->text);
-    if (!msg_text) goto out;
-
-    (*env)->CallVoidMethod(env, logger_state.handler_object, logger_state.handler_method, msg_level,
-        msg_module, msg_text);
-
-out:
-    if ((*env)->ExceptionCheck(env)) {
-        (*env)->ExceptionDescribe(env);
-        (*env)->ExceptionClear(env);
-    }
+    roc_log_set_handler(NULL, NULL);
 
-    if (detach) {
-        (*logger_state.vm)->DetachCurrentThread(logger_state.vm);
+    if ((*vm)->GetEnv(vm, (void**) &env, JNI_VERSION) == JNI_OK) {
+        jni_cache_deinit(env);
     }
-
-    pthread_mutex_unlock(&logger_mutex);
 }
 
 JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocLogger_nativeSetLevel(
     JNIEnv* env, jclass jlogger_class, jobject jlevel) {
     assert(env);
 
-    jfieldID value_field = NULL;
-    roc_log_level level = (roc_log_level) 0;
-    bool success = false;
-
-    pthread_mutex_lock(&logger_mutex);
-
     if (!jlevel) {
         throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid RocLogLevel: must not be null");
-        goto out;
+        return;
     }
 
-    value_field = (*env)->GetFieldID(env, logger_state.level_class, "value", "I");
-    if (!value_field) {
-        goto out;
-    }
-
-    level = (roc_log_level) (*env)->GetIntField(env, jlevel, value_field);
-    success = true;
+    roc_log_set_level((roc_log_level) (*env)->GetIntField(env, jlevel, jni_cache.log_level.value));
+}
 
-out:
-    pthread_mutex_unlock(&logger_mutex);
+JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocLogger_nativeSetEnabled(
+    JNIEnv* env, jclass jlogger_class, jboolean jenabled) {
+    assert(env);
 
-    if (success) {
-        roc_log_set_level(level);
+    if (jenabled) {
+        roc_log_set_handler(logger_handler, NULL);
+    } else {
+        roc_log_set_handler(NULL, NULL);
     }
 }
 
-JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocLogger_nativeSetHandler(
-    JNIEnv* env, jclass jlogger_class, jobject jhandler) {
+JNIEXPORT jint JNICALL Java_org_rocstreaming_roctoolkit_RocLogger_nativeDrain(JNIEnv* env,
+    jclass jlogger_class, jintArray jlevels, jobjectArray jmodules, jobjectArray jtexts) {
     assert(env);
 
-    jclass handler_class = NULL;
-    jmethodID handler_method = NULL;
-    bool success = false;
-
-    pthread_mutex_lock(&logger_mutex);
+    jint capacity = 0;
+    jint count = 0;
+    jint levels[RING_SIZE];
 
-    if (!jhandler) {
-        success = true;
+    if (!jlevels || !jmodules || !jtexts) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid arrays: must not be null");
         goto out;
     }
 
-    handler_class = (*env)->GetObjectClass(env, jhandler);
-    if (!handler_class) {
+    capacity = (*env)->GetArrayLength(env, jlevels);
+    if ((*env)->GetArrayLength(env, jmodules) < capacity
+        || (*env)->GetArrayLength(env, jtexts) < capacity) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid arrays: lengths must match");
         goto out;
     }
-
-    handler_method = (jmethodID) (*env)->GetMethodID(
-        env, handler_class, "log", "(L" LOG_LEVEL_CLASS ";Ljava/lang/String;Ljava/lang/String;)V");
-    if (!handler_method) {
-        goto out;
+    if (capacity > RING_SIZE) {
+        capacity = RING_SIZE;
     }
 
-    if (logger_state.vm == NULL) {
-        (*env)->GetJavaVM(env, &logger_state.vm);
-    }
+    while (count < capacity) {
+        size_t pos = logger_ring.read_pos;
+        log_record* record = &logger_ring.records[pos & (RING_SIZE - 1)];
+        size_t seq = atomic_load_explicit(&record->sequence, memory_order_acquire);
 
-    if (logger_state.handler_class != NULL) {
-        (*env)->DeleteGlobalRef(env, logger_state.handler_class);
-    }
-    if (logger_state.handler_object != NULL) {
-        (*env)->DeleteGlobalRef(env, logger_state.handler_object);
-    }
+        if (seq != pos + 1) {
+            // ring is empty, or next record is still being written
+            break;
+        }
+
+        jstring jmodule = (*env)->NewStringUTF(env, record->module);
+        jstring jtext = jmodule ? (*env)->NewStringUTF(env, record->text) : NULL;
+        if (!jtext) {
+            // OutOfMemoryError is thrown, keep record for next call
+            if (jmodule) {
+                (*env)->DeleteLocalRef(env, jmodule);
+            }
+            // previous records were already released to producers, so instead of
+            // throwing, return them, otherwise they would be lost without being
+            // counted as dropped; if there are none, return nothing, and drain thread
+            // will retry later
+            (*env)->ExceptionClear(env);
+            goto out;
+        }
 
-    logger_state.handler_class = (jclass) (*env)->NewGlobalRef(env, handler_class);
-    logger_state.handler_object = (*env)->NewGlobalRef(env, jhandler);
-    logger_state.handler_method = handler_method;
+        levels[count] = (jint) record->level;
+        (*env)->SetObjectArrayElement(env, jmodules, count, jmodule);
+        (*env)->SetObjectArrayElement(env, jtexts, count, jtext);
+        (*env)->DeleteLocalRef(env, jmodule);
+        (*env)->DeleteLocalRef(env, jtext);
 
-    success = true;
+        // release record to producers
+        atomic_store_explicit(&record->sequence, pos + RING_SIZE, memory_order_release);
+        logger_ring.read_pos = pos + 1;
+        count++;
+    }
 
 out:
-    pthread_mutex_unlock(&logger_mutex);
-
-    if (success) {
-        if (jhandler) {
-            roc_log_set_handler(logger_handler, NULL);
-        } else {
-            roc_log_set_handler(NULL, NULL);
-        }
+    if (count > 0 && !(*env)->ExceptionCheck(env)) {
+        (*env)->SetIntArrayRegion(env, jlevels, 0, count, levels);
     }
+
+    return count;
+}
+
+JNIEXPORT jlong JNICALL Java_org_rocstreaming_roctoolkit_RocLogger_nativeGetDroppedCount(
+    JNIEnv* env, jclass jlogger_class) {
+    assert(env);
+
+    return (jlong) atomic_load_explicit(&logger_ring.dropped, memory_order_relaxed);
 }
@@ -6,6 +6,7 @@
 #define CLOCK_SOURCE_CLASS PACKAGE_NAME "/ClockSource"
 #define CLOCK_SYNC_BACKEND_CLASS PACKAGE_NAME "/ClockSyncBackend"
 #define CLOCK_SYNC_PROFILE_CLASS PACKAGE_NAME "/ClockSyncProfile"
+#define CONNECTION_METRICS_CLASS PACKAGE_NAME "/RocConnectionMetrics"
 #define CONTEXT_CONFIG_CLASS PACKAGE_NAME "/RocContextConfig"
 #define ENDPOINT_CLASS PACKAGE_NAME "/Endpoint"
 #define FEC_ENCODING_CLASS PACKAGE_NAME "/FecEncoding"
@@ -16,6 +17,8 @@
 #define PACKET_ENCODING_CLASS PACKAGE_NAME "/PacketEncoding"
 #define PROTOCOL_CLASS PACKAGE_NAME "/Protocol"
 #define RECEIVER_CONFIG_CLASS PACKAGE_NAME "/RocReceiverConfig"
+#define RECEIVER_METRICS_CLASS PACKAGE_NAME "/RocReceiverMetrics"
 #define RESAMPLER_BACKEND_CLASS PACKAGE_NAME "/ResamplerBackend"
 #define RESAMPLER_PROFILE_CLASS PACKAGE_NAME "/ResamplerProfile"
 #define SENDER_CONFIG_CLASS PACKAGE_NAME "/RocSenderConfig"
+#define SENDER_METRICS_CLASS PACKAGE_NAME "/RocSenderMetrics"
@@ -0,0 +1,96 @@
+#include "packed_config.h"
+#include "exceptions.h"
+#include "helpers.h"
+#include "package.h"
+
+#include <assert.h>
+#include <limits.h>
+#include <string.h>
+
+bool packed_config_read(
+    JNIEnv* env, jlongArray jpacked, const char* class_name, jlong* result, jsize size) {
+    assert(env);
+    assert(class_name);
+    assert(result);
+
+    if (!jpacked) {
+        throw_exception(
+            env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid %s: must not be null", class_name);
+        return false;
+    }
+
+    if ((*env)->GetArrayLength(env, jpacked) != size) {
+        throw_exception(
+            env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid %s: unexpected packed size", class_name);
+        return false;
+    }
+
+    (*env)->GetLongArrayRegion(env, jpacked, 0, size, result);
+    return !(*env)->ExceptionCheck(env);
+}
+
+bool packed_config_uint(JNIEnv* env, const jlong* packed, int index, const char* class_name,
+    const char* field_name, unsigned int* result) {
+    assert(env);
+    assert(packed);
+    assert(class_name);
+    assert(field_name);
+    assert(result);
+
+    jlong value = packed[index];
+    if (value < 0 || value > UINT_MAX) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid %s.%s: out of range",
+            class_name, field_name);
+        return false;
+    }
+
+    *result = (unsigned int) value;
+    return true;
+}
+
+bool packed_config_unsigned_duration(JNIEnv* env, const jlong* packed, int index,
+    const char* class_name, const char* field_name, unsigned long long* result) {
+    assert(env);
+    assert(packed);
+    assert(class_name);
+    assert(field_name);
+    assert(result);
+
+    jlong value = packed[index];
+    if (value < 0) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid %s.%s: must not be negative",
+            class_name, field_name);
+        return false;
+    }
+
+    *result = (unsigned long long) value;
+    return true;
+}
+
+bool packed_config_media_encoding(JNIEnv* env, const jlong* packed, roc_media_encoding* result) {
+    assert(env);
+    assert(packed);
+    assert(result);
+
+    memset(result, 0, sizeof(*result));
+
+    // rate
+    if (!packed_config_uint(
+            env, packed, PACKED_FRAME_RATE, MEDIA_ENCODING_CLASS, "rate", &result->rate)) {
+        return false;
+    }
+
+    // format
+    result->format = (roc_format) packed[PACKED_FRAME_FORMAT];
+
+    // channels
+    result->channels = (roc_channel_layout) packed[PACKED_FRAME_CHANNELS];
+
+    // tracks
+    if (!packed_config_uint(
+            env, packed, PACKED_FRAME_TRACKS, MEDIA_ENCODING_CLASS, "tracks", &result->tracks)) {
+        return false;
+    }
+
+    return true;
+}
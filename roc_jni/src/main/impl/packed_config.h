@@ -0,0 +1,54 @@
+#pragma once
+
+#include "platform.h"
+
+#include <jni.h>
+#include <roc/config.h>
+
+#include <stdbool.h>
+
+// Layout of long[] arrays produced by PackedConfig.java, must match it.
+
+// MediaEncoding, shared by sender and receiver layouts.
+#define PACKED_FRAME_RATE 0
+#define PACKED_FRAME_FORMAT 1
+#define PACKED_FRAME_CHANNELS 2
+#define PACKED_FRAME_TRACKS 3
+
+// RocSenderConfig.
+#define PACKED_SENDER_PACKET_ENCODING 4
+#define PACKED_SENDER_PACKET_LENGTH 5
+#define PACKED_SENDER_PACKET_INTERLEAVING 6
+#define PACKED_SENDER_FEC_ENCODING 7
+#define PACKED_SENDER_FEC_BLOCK_SOURCE_PACKETS 8
+#define PACKED_SENDER_FEC_BLOCK_REPAIR_PACKETS 9
+#define PACKED_SENDER_CLOCK_SOURCE 10
+#define PACKED_SENDER_RESAMPLER_BACKEND 11
+#define PACKED_SENDER_RESAMPLER_PROFILE 12
+#define PACKED_SENDER_SIZE 13
+
+// RocReceiverConfig.
+#define PACKED_RECEIVER_CLOCK_SOURCE 4
+#define PACKED_RECEIVER_CLOCK_SYNC_BACKEND 5
+#define PACKED_RECEIVER_CLOCK_SYNC_PROFILE 6
+#define PACKED_RECEIVER_RESAMPLER_BACKEND 7
+#define PACKED_RECEIVER_RESAMPLER_PROFILE 8
+#define PACKED_RECEIVER_TARGET_LATENCY 9
+#define PACKED_RECEIVER_LATENCY_TOLERANCE 10
+#define PACKED_RECEIVER_NO_PLAYBACK_TIMEOUT 11
+#define PACKED_RECEIVER_CHOPPY_PLAYBACK_TIMEOUT 12
+#define PACKED_RECEIVER_SIZE 13
+
+// Copy whole packed config into result with a single JNI call.
+// Fails with IllegalArgumentException if array is null or has unexpected length.
+ATTR_NODISCARD bool packed_config_read(
+    JNIEnv* env, jlongArray jpacked, const char* class_name, jlong* result, jsize size);
+
+ATTR_NODISCARD bool packed_config_uint(JNIEnv* env, const jlong* packed, int index,
+    const char* class_name, const char* field_name, unsigned int* result);
+
+ATTR_NODISCARD bool packed_config_unsigned_duration(JNIEnv* env, const jlong* packed, int index,
+    const char* class_name, const char* field_name, unsigned long long* result);
+
+ATTR_NODISCARD bool packed_config_media_encoding(
+    JNIEnv* env, const jlong* packed, roc_media_encoding* result);
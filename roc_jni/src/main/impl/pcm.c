@@ -0,0 +1,85 @@
+#include "pcm.h"
+
+// Loops below are kept branchless and free of library calls, so that the compiler
+// can vectorize them.
+
+#define S16_SCALE 32768.0f
+
+static inline int16_t float_to_s16(float value) {
+    // NaN fails both clamping comparisons below, and converting it to integer is
+    // undefined behavior, so map it to silence first
+    float scaled = value == value ? value * S16_SCALE : 0.0f;
+    scaled += scaled >= 0 ? 0.5f : -0.5f;
+    scaled = scaled > 32767.0f ? 32767.0f : scaled;
+    scaled = scaled < -32768.0f ? -32768.0f : scaled;
+    return (int16_t) scaled;
+}
+
+void pcm_s16_to_float(const int16_t* restrict in, float* restrict out, size_t n_samples) {
+    for (size_t i = 0; i < n_samples; i++) {
+        out[i] = (float) in[i] * (1.0f / S16_SCALE);
+    }
+}
+
+void pcm_s16le_to_float(const uint8_t* restrict in, float* restrict out, size_t n_samples) {
+    for (size_t i = 0; i < n_samples; i++) {
+        int16_t value = (int16_t) (uint16_t) (in[i * 2] | (in[i * 2 + 1] << 8));
+        out[i] = (float) value * (1.0f / S16_SCALE);
+    }
+}
+
+void pcm_float_to_s16(const float* restrict in, int16_t* restrict out, size_t n_samples) {
+    for (size_t i = 0; i < n_samples; i++) {
+        out[i] = float_to_s16(in[i]);
+    }
+}
+
+void pcm_float_to_s16le(const float* restrict in, uint8_t* restrict out, size_t n_samples) {
+    for (size_t i = 0; i < n_samples; i++) {
+        uint16_t value = (uint16_t) float_to_s16(in[i]);
+        out[i * 2] = (uint8_t) (value & 0xff);
+        out[i * 2 + 1] = (uint8_t) (value >> 8);
+    }
+}
+
+void pcm_interleave(
+    const float* restrict planar, float* restrict out, size_t n_channels, size_t n_frames) {
+    if (n_channels == 2) {
+        // most common case, constant stride allows vectorization
+        const float* left = planar;
+        const float* right = planar + n_frames;
+        for (size_t i = 0; i < n_frames; i++) {
+            out[i * 2] = left[i];
+            out[i * 2 + 1] = right[i];
+        }
+        return;
+    }
+
+    for (size_t ch = 0; ch < n_channels; ch++) {
+        const float* plane = planar + ch * n_frames;
+        for (size_t i = 0; i < n_frames; i++) {
+            out[i * n_channels + ch] = plane[i];
+        }
+    }
+}
+
+void pcm_deinterleave(
+    const float* restrict in, float* restrict planar, size_t n_channels, size_t n_frames) {
+    if (n_channels == 2) {
+        // most common case, constant stride allows vectorization
+        float* left = planar;
+        float* right = planar + n_frames;
+        for (size_t i = 0; i < n_frames; i++) {
+            left[i] = in[i * 2];
+            right[i] = in[i * 2 + 1];
+        }
+        return;
+    }
+
+    for (size_t ch = 0; ch < n_channels; ch++) {
+        float* plane = planar + ch * n_frames;
+        for (size_t i = 0; i < n_frames; i++) {
+            plane[i] = in[i * n_channels + ch];
+        }
+    }
+}
@@ -0,0 +1,25 @@
+#pragma once
+
+#include <stddef.h>
+#include <stdint.h>
+
+// Convert signed 16-bit native-endian samples to floats in range [-1; 1).
+void pcm_s16_to_float(const int16_t* in, float* out, size_t n_samples);
+
+// Convert signed 16-bit little-endian samples to floats in range [-1; 1).
+void pcm_s16le_to_float(const uint8_t* in, float* out, size_t n_samples);
+
+// Convert floats to signed 16-bit native-endian samples, with rounding and clipping.
+// NaN is converted to zero.
+void pcm_float_to_s16(const float* in, int16_t* out, size_t n_samples);
+
+// Convert floats to signed 16-bit little-endian samples, with rounding and clipping.
+// NaN is converted to zero.
+void pcm_float_to_s16le(const float* in, uint8_t* out, size_t n_samples);
+
+// Interleave n_channels planes of n_frames samples each, stored one after another
+// in planar, into out, e.g. "L L L R R R" becomes "L R L R L R".
+void pcm_interleave(const float* planar, float* out, size_t n_channels, size_t n_frames);
+
+// Reverse of pcm_interleave().
+void pcm_deinterleave(const float* in, float* planar, size_t n_channels, size_t n_frames);
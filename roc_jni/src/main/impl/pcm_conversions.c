@@ -0,0 +1,87 @@
+#include "org_rocstreaming_roctoolkit_PcmConversions.h"
+
+#include "exceptions.h"
+#include "helpers.h"
+#include "pcm.h"
+
+#include <assert.h>
+
+// Arrays are validated on Java side. Output array is written back only if both
+// arrays were acquired, otherwise OutOfMemoryError is already thrown.
+
+JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_PcmConversions_nativeS16ToFloat(
+    JNIEnv* env, jclass cls, jshortArray jin, jfloatArray jout) {
+    assert(env);
+
+    jshort* in = (*env)->GetShortArrayElements(env, jin, NULL);
+    jfloat* out = (*env)->GetFloatArrayElements(env, jout, NULL);
+
+    if (in && out) {
+        pcm_s16_to_float(in, out, (size_t) (*env)->GetArrayLength(env, jin));
+    }
+
+    if (out) {
+        (*env)->ReleaseFloatArrayElements(env, jout, out, in ? 0 : JNI_ABORT);
+    }
+    if (in) {
+        (*env)->ReleaseShortArrayElements(env, jin, in, JNI_ABORT);
+    }
+}
+
+JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_PcmConversions_nativeS16LeToFloat(
+    JNIEnv* env, jclass cls, jbyteArray jin, jfloatArray jout) {
+    assert(env);
+
+    jbyte* in = (*env)->GetByteArrayElements(env, jin, NULL);
+    jfloat* out = (*env)->GetFloatArrayElements(env, jout, NULL);
+
+    if (in && out) {
+        pcm_s16le_to_float(
+            (const uint8_t*) in, out, (size_t) (*env)->GetArrayLength(env, jout));
+    }
+
+    if (out) {
+        (*env)->ReleaseFloatArrayElements(env, jout, out, in ? 0 : JNI_ABORT);
+    }
+    if (in) {
+        (*env)->ReleaseByteArrayElements(env, jin, in, JNI_ABORT);
+    }
+}
+
+JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_PcmConversions_nativeFloatToS16(
+    JNIEnv* env, jclass cls, jfloatArray jin, jshortArray jout) {
+    assert(env);
+
+    jfloat* in = (*env)->GetFloatArrayElements(env, jin, NULL);
+    jshort* out = (*env)->GetShortArrayElements(env, jout, NULL);
+
+    if (in && out) {
+        pcm_float_to_s16(in, out, (size_t) (*env)->GetArrayLength(env, jin));
+    }
+
+    if (out) {
+        (*env)->ReleaseShortArrayElements(env, jout, out, in ? 0 : JNI_ABORT);
+    }
+    if (in) {
+        (*env)->ReleaseFloatArrayElements(env, jin, in, JNI_ABORT);
+    }
+}
+
+JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_PcmConversions_nativeFloatToS16Le(
+    JNIEnv* env, jclass cls, jfloatArray jin, jbyteArray jout) {
+    assert(env);
+
+    jfloat* in = (*env)->GetFloatArrayElements(env, jin, NULL);
+    jbyte* out = (*env)->GetByteArrayElements(env, jout, NULL);
+
+    if (in && out) {
+        pcm_float_to_s16le(in, (uint8_t*) out, (size_t) (*env)->GetArrayLength(env, jin));
+    }
+
+    if (out) {
+        (*env)->ReleaseByteArrayElements(env, jout, out, in ? 0 : JNI_ABORT);
+    }
+    if (in) {
+        (*env)->ReleaseFloatArrayElements(env, jin, in, JNI_ABORT);
+    }
+}
@@ -0,0 +1,55 @@
+#include "org_rocstreaming_roctoolkit_PreparedReceiverConfig.h"
+
+#include "exceptions.h"
+#include "helpers.h"
+#include "receiver_config.h"
+
+#include <roc/config.h>
+
+#include <assert.h>
+#include <stdlib.h>
+
+JNIEXPORT jlong JNICALL Java_org_rocstreaming_roctoolkit_PreparedReceiverConfig_nativeOpen(
+    JNIEnv* env, jclass jclass, jlongArray jconfig) {
+    assert(env);
+
+    roc_receiver_config* receiver_config = NULL;
+
+    if (!jconfig) {
+        throw_exception(
+            env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid RocReceiverConfig: must not be null");
+        goto out;
+    }
+
+    receiver_config = (roc_receiver_config*) malloc(sizeof(roc_receiver_config));
+    if (!receiver_config) {
+        throw_exception(env, ASSERTION_ERROR, "Failed to allocate PreparedReceiverConfig");
+        goto out;
+    }
+
+    if (!receiver_config_unmarshal(env, jconfig, receiver_config)) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid RocReceiverConfig");
+        free(receiver_config);
+        receiver_config = NULL;
+        goto out;
+    }
+
+out:
+    return (jlong) receiver_config;
+}
+
+JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_PreparedReceiverConfig_nativeClose(
+    JNIEnv* env, jclass jclass, jlong jconfig) {
+    assert(env);
+
+    if (!jconfig) {
+        throw_exception(
+            env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid PreparedReceiverConfig: must not be null");
+        goto out;
+    }
+
+    free((roc_receiver_config*) jconfig);
+
+out:
+    return;
+}
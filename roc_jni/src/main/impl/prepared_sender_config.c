@@ -0,0 +1,55 @@
+#include "org_rocstreaming_roctoolkit_PreparedSenderConfig.h"
+
+#include "exceptions.h"
+#include "helpers.h"
+#include "sender_config.h"
+
+#include <roc/config.h>
+
+#include <assert.h>
+#include <stdlib.h>
+
+JNIEXPORT jlong JNICALL Java_org_rocstreaming_roctoolkit_PreparedSenderConfig_nativeOpen(
+    JNIEnv* env, jclass jclass, jlongArray jconfig) {
+    assert(env);
+
+    roc_sender_config* sender_config = NULL;
+
+    if (!jconfig) {
+        throw_exception(
+            env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid RocSenderConfig: must not be null");
+        goto out;
+    }
+
+    sender_config = (roc_sender_config*) malloc(sizeof(roc_sender_config));
+    if (!sender_config) {
+        throw_exception(env, ASSERTION_ERROR, "Failed to allocate PreparedSenderConfig");
+        goto out;
+    }
+
+    if (!sender_config_unmarshal(env, jconfig, sender_config)) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid RocSenderConfig");
+        free(sender_config);
+        sender_config = NULL;
+        goto out;
+    }
+
+out:
+    return (jlong) sender_config;
+}
+
+JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_PreparedSenderConfig_nativeClose(
+    JNIEnv* env, jclass jclass, jlong jconfig) {
+    assert(env);
+
+    if (!jconfig) {
+        throw_exception(
+            env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid PreparedSenderConfig: must not be null");
+        goto out;
+    }
+
+    free((roc_sender_config*) jconfig);
+
+out:
+    return;
+}
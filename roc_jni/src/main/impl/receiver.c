@@ -1,18 +1,26 @@
 #include "org_rocstreaming_roctoolkit_RocReceiver.h"
 
+#include "connection_metrics.h"
+#include "copy_stats.h"
 #include "endpoint.h"
 #include "exceptions.h"
+#include "glitch_detector.h"
 #include "helpers.h"
+#include "level_meter.h"
 #include "interface_config.h"
+#include "pcm.h"
 #include "receiver_config.h"
+#include "receiver_metrics.h"
+#include "scratch.h"
 
 #include <roc/receiver.h>
 
 #include <assert.h>
+#include <stdint.h>
 #include <string.h>
 
 JNIEXPORT jlong JNICALL Java_org_rocstreaming_roctoolkit_RocReceiver_nativeOpen(
-    JNIEnv* env, jclass jclass, jlong jcontext, jobject jconfig) {
+    JNIEnv* env, jclass jclass, jlong jcontext, jlongArray jconfig) {
     assert(env);
 
     roc_context* context = (roc_context*) jcontext;
@@ -49,6 +57,39 @@ out:
     return (jlong) receiver;
 }
 
+JNIEXPORT jlong JNICALL Java_org_rocstreaming_roctoolkit_RocReceiver_nativeOpenPrepared(
+    JNIEnv* env, jclass jclass, jlong jcontext, jlong jconfig) {
+    assert(env);
+
+    roc_context* context = (roc_context*) jcontext;
+    const roc_receiver_config* receiver_config = (const roc_receiver_config*) jconfig;
+    roc_receiver* receiver = NULL;
+
+    if (!jcontext) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid RocContext: must not be null");
+        goto out;
+    }
+
+    if (!jconfig) {
+        throw_exception(
+            env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid PreparedReceiverConfig: must not be null");
+        goto out;
+    }
+
+    if (roc_receiver_open(context, receiver_config, &receiver) != 0) {
+        throw_exception(env, ROC_EXCEPTION, "Failed to open RocReceiver");
+        goto out;
+    }
+
+    if (!receiver) {
+        throw_exception(env, ASSERTION_ERROR, "RocReceiver is null");
+        goto out;
+    }
+
+out:
+    return (jlong) receiver;
+}
+
 JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocReceiver_nativeClose(
     JNIEnv* env, jclass jclass, jlong jreceiver) {
     assert(env);
@@ -103,7 +144,7 @@ out:
     return;
 }
 
-JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocReceiver_nativeBind(
+JNIEXPORT jint JNICALL Java_org_rocstreaming_roctoolkit_RocReceiver_nativeBind(
     JNIEnv* env, jobject jobj, jlong jreceiver, jint jslot, jint jinterface, jobject jendpoint) {
     assert(env);
 
@@ -136,15 +177,13 @@ JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocReceiver_nativeBind(
         goto out;
     }
 
-    if (!endpoint_set_port(env, jendpoint, port)) {
-        throw_exception(env, ASSERTION_ERROR, "Failed to write RocReceiver endpoint");
-        goto out;
-    }
-
 out:
     if (endpoint) {
         roc_endpoint_deallocate(endpoint);
     }
+
+    // actual port is written back to Endpoint on Java side
+    return (jint) port;
 }
 
 JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocReceiver_nativeUnlink(
@@ -167,14 +206,83 @@ out:
     return;
 }
 
-JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocReceiver_nativeReadFloats(
-    JNIEnv* env, jobject jobj, jlong jreceiver, jfloatArray jsamples) {
+JNIEXPORT jint JNICALL Java_org_rocstreaming_roctoolkit_RocReceiver_nativeQuery(JNIEnv* env,
+    jobject jobj, jlong jreceiver, jint jslot, jobject jmetrics, jobjectArray jconn_metrics) {
+    assert(env);
+
+    roc_receiver* receiver = (roc_receiver*) jreceiver;
+    roc_receiver_metrics metrics = {};
+    roc_connection_metrics* conn_metrics = NULL;
+    size_t conn_count = 0;
+    jint result = 0;
+
+    if (!jreceiver) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid RocReceiver: must not be null");
+        goto out;
+    }
+
+    if (!jmetrics) {
+        throw_exception(
+            env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid RocReceiverMetrics: must not be null");
+        goto out;
+    }
+
+    if (jconn_metrics) {
+        conn_count = (size_t) (*env)->GetArrayLength(env, jconn_metrics);
+    }
+
+    if (conn_count != 0) {
+        // per-thread buffer, so that polling doesn't allocate
+        conn_metrics = scratch_get(conn_count * sizeof(roc_connection_metrics));
+        if (!conn_metrics) {
+            throw_exception(env, ASSERTION_ERROR, "Failed to allocate connection metrics");
+            goto out;
+        }
+        memset(conn_metrics, 0, conn_count * sizeof(roc_connection_metrics));
+    }
+
+    if (roc_receiver_query(receiver, (roc_slot) jslot, &metrics, conn_metrics,
+            conn_metrics ? &conn_count : NULL)
+        != 0) {
+        throw_exception(env, ROC_EXCEPTION, "Failed to query RocReceiver slot");
+        goto out;
+    }
+
+    if (!receiver_metrics_marshal(env, jmetrics, &metrics)) {
+        goto out;
+    }
+
+    for (size_t n = 0; conn_metrics && n < conn_count; n++) {
+        jobject jconn = (*env)->GetObjectArrayElement(env, jconn_metrics, (jsize) n);
+        if (!jconn) {
+            throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION,
+                "Invalid RocConnectionMetrics: must not be null");
+            goto out;
+        }
+        bool success = connection_metrics_marshal(env, jconn, &conn_metrics[n]);
+        (*env)->DeleteLocalRef(env, jconn);
+        if (!success) {
+            goto out;
+        }
+    }
+
+    result = conn_metrics ? (jint) conn_count : 0;
+
+out:
+    return result;
+}
+
+JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocReceiver_nativeReadFloats(JNIEnv* env,
+    jobject jobj, jlong jreceiver, jfloatArray jsamples, jint joffset, jint jlength,
+    jlongArray jglitch_state, jfloatArray jlevels) {
     assert(env);
 
     roc_receiver* receiver = (roc_receiver*) jreceiver;
     jfloat* samples = NULL;
     jsize samples_count = 0;
     roc_frame frame = {};
+    glitch_detector glitch = {};
+    level_meter meter = {};
 
     if (!jreceiver) {
         throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid RocReceiver: must not be null");
@@ -186,20 +294,468 @@ JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocReceiver_nativeReadFl
         goto out;
     }
 
-    samples = (*env)->GetFloatArrayElements(env, jsamples, 0);
     samples_count = (*env)->GetArrayLength(env, jsamples);
+    if (joffset < 0 || jlength < 0 || joffset > samples_count - jlength) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION,
+            "Invalid samples: offset and length must be within array bounds");
+        goto out;
+    }
+
+    if (jglitch_state && !glitch_detector_load(env, jglitch_state, &glitch)) {
+        goto out;
+    }
+
+    if (jlevels && !level_meter_init(env, jlevels, &meter)) {
+        goto out;
+    }
+
+    // read into scratch buffer and copy back only requested slice
+    samples = (jfloat*) scratch_get((size_t) jlength * sizeof(jfloat));
+    if (!samples) {
+        throw_exception(env, ASSERTION_ERROR, "Failed to allocate samples buffer");
+        goto out;
+    }
 
     memset(&frame, 0, sizeof(frame));
     frame.samples = samples;
-    frame.samples_size = samples_count * sizeof(float);
+    frame.samples_size = (size_t) jlength * sizeof(float);
 
     if (roc_receiver_read(receiver, &frame) != 0) {
         throw_exception(env, ROC_EXCEPTION, "Failed to read frame from RocReceiver");
         goto out;
     }
 
+    if (jglitch_state) {
+        glitch_detector_process(&glitch, samples, (size_t) jlength);
+        glitch_detector_store(env, jglitch_state, &glitch);
+    }
+
+    if (jlevels) {
+        level_meter_process(&meter, samples, (size_t) jlength);
+        level_meter_store(env, jlevels, &meter);
+    }
+
+    (*env)->SetFloatArrayRegion(env, jsamples, joffset, jlength, samples);
+    copy_stats_add((size_t) jlength * sizeof(jfloat));
+
+out:
+    return;
+}
+
+JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocReceiver_nativeReadFloatsCritical(
+    JNIEnv* env, jobject jobj, jlong jreceiver, jfloatArray jsamples, jint joffset, jint jlength,
+    jlongArray jglitch_state, jfloatArray jlevels) {
+    assert(env);
+
+    roc_receiver* receiver = (roc_receiver*) jreceiver;
+    jfloat* samples = NULL;
+    jsize samples_count = 0;
+    roc_frame frame = {};
+    glitch_detector glitch = {};
+    level_meter meter = {};
+    int err = 0;
+    jboolean is_copy = JNI_FALSE;
+
+    if (!jreceiver) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid RocReceiver: must not be null");
+        goto out;
+    }
+
+    if (!jsamples) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid samples array: must not be null");
+        goto out;
+    }
+
+    samples_count = (*env)->GetArrayLength(env, jsamples);
+    if (joffset < 0 || jlength < 0 || joffset > samples_count - jlength) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION,
+            "Invalid samples: offset and length must be within array bounds");
+        goto out;
+    }
+
+    if (jglitch_state && !glitch_detector_load(env, jglitch_state, &glitch)) {
+        goto out;
+    }
+
+    if (jlevels && !level_meter_init(env, jlevels, &meter)) {
+        goto out;
+    }
+
+    // no JNI calls are allowed until array is released
+    samples = (jfloat*) (*env)->GetPrimitiveArrayCritical(env, jsamples, &is_copy);
+    if (!samples) {
+        // OutOfMemoryError is already thrown
+        goto out;
+    }
+
+    memset(&frame, 0, sizeof(frame));
+    frame.samples = samples + joffset;
+    frame.samples_size = (size_t) jlength * sizeof(float);
+
+    err = roc_receiver_read(receiver, &frame);
+
+    if (err == 0 && jglitch_state) {
+        glitch_detector_process(&glitch, samples + joffset, (size_t) jlength);
+    }
+
+    if (err == 0 && jlevels) {
+        level_meter_process(&meter, samples + joffset, (size_t) jlength);
+    }
+
+    // copy samples back if JVM made a copy instead of pinning
+    (*env)->ReleasePrimitiveArrayCritical(env, jsamples, samples, 0);
+
+    if (is_copy) {
+        // whole array was copied from Java heap and back
+        copy_stats_add((size_t) samples_count * sizeof(jfloat) * 2);
+    }
+
+    if (err != 0) {
+        throw_exception(env, ROC_EXCEPTION, "Failed to read frame from RocReceiver");
+        goto out;
+    }
+
+    if (jglitch_state) {
+        glitch_detector_store(env, jglitch_state, &glitch);
+    }
+
+    if (jlevels) {
+        level_meter_store(env, jlevels, &meter);
+    }
+
+out:
+    return;
+}
+
+JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocReceiver_nativeReadBuffer(JNIEnv* env,
+    jobject jobj, jlong jreceiver, jobject jbuffer, jint joffset, jint jsize,
+    jlongArray jglitch_state, jfloatArray jlevels) {
+    assert(env);
+
+    roc_receiver* receiver = (roc_receiver*) jreceiver;
+    char* buffer = NULL;
+    roc_frame frame = {};
+    glitch_detector glitch = {};
+    level_meter meter = {};
+
+    if (!jreceiver) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid RocReceiver: must not be null");
+        goto out;
+    }
+
+    if (!jbuffer) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid samples buffer: must not be null");
+        goto out;
+    }
+
+    if (joffset < 0 || jsize < 0) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION,
+            "Invalid samples buffer: offset and size must not be negative");
+        goto out;
+    }
+
+    buffer = (char*) (*env)->GetDirectBufferAddress(env, jbuffer);
+    if (!buffer) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid samples buffer: must be direct");
+        goto out;
+    }
+
+    // samples are accessed as floats, so buffer must not start in the middle of a sample
+    if (((uintptr_t) (buffer + joffset)) % sizeof(float) != 0) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION,
+            "Invalid samples buffer: must be aligned to sample size");
+        goto out;
+    }
+
+    if (jglitch_state && !glitch_detector_load(env, jglitch_state, &glitch)) {
+        goto out;
+    }
+
+    if (jlevels && !level_meter_init(env, jlevels, &meter)) {
+        goto out;
+    }
+
+    // let receiver store samples directly into buffer memory
+    memset(&frame, 0, sizeof(frame));
+    frame.samples = buffer + joffset;
+    frame.samples_size = (size_t) jsize;
+
+    if (roc_receiver_read(receiver, &frame) != 0) {
+        throw_exception(env, ROC_EXCEPTION, "Failed to read frame from RocReceiver");
+        goto out;
+    }
+
+    if (jglitch_state) {
+        glitch_detector_process(
+            &glitch, (const float*) frame.samples, (size_t) jsize / sizeof(float));
+        glitch_detector_store(env, jglitch_state, &glitch);
+    }
+
+    if (jlevels) {
+        level_meter_process(&meter, (const float*) frame.samples, (size_t) jsize / sizeof(float));
+        level_meter_store(env, jlevels, &meter);
+    }
+
+out:
+    return;
+}
+
+JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocReceiver_nativeReadShorts(JNIEnv* env,
+    jobject jobj, jlong jreceiver, jshortArray jsamples, jint joffset, jint jlength,
+    jlongArray jglitch_state, jfloatArray jlevels) {
+    assert(env);
+
+    roc_receiver* receiver = (roc_receiver*) jreceiver;
+    jsize samples_count = 0;
+    float* samples = NULL;
+    jshort* pcm = NULL;
+    roc_frame frame = {};
+    glitch_detector glitch = {};
+    level_meter meter = {};
+
+    if (!jreceiver) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid RocReceiver: must not be null");
+        goto out;
+    }
+
+    if (!jsamples) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid samples array: must not be null");
+        goto out;
+    }
+
+    samples_count = (*env)->GetArrayLength(env, jsamples);
+    if (joffset < 0 || jlength < 0 || joffset > samples_count - jlength) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION,
+            "Invalid samples: offset and length must be within array bounds");
+        goto out;
+    }
+
+    if (jglitch_state && !glitch_detector_load(env, jglitch_state, &glitch)) {
+        goto out;
+    }
+
+    if (jlevels && !level_meter_init(env, jlevels, &meter)) {
+        goto out;
+    }
+
+    // read floats and convert them into 16-bit samples in the same scratch buffer
+    samples = (float*) scratch_get((size_t) jlength * (sizeof(float) + sizeof(jshort)));
+    if (!samples) {
+        throw_exception(env, ASSERTION_ERROR, "Failed to allocate samples buffer");
+        goto out;
+    }
+    pcm = (jshort*) (samples + jlength);
+
+    memset(&frame, 0, sizeof(frame));
+    frame.samples = samples;
+    frame.samples_size = (size_t) jlength * sizeof(float);
+
+    if (roc_receiver_read(receiver, &frame) != 0) {
+        throw_exception(env, ROC_EXCEPTION, "Failed to read frame from RocReceiver");
+        goto out;
+    }
+
+    if (jglitch_state) {
+        glitch_detector_process(&glitch, samples, (size_t) jlength);
+        glitch_detector_store(env, jglitch_state, &glitch);
+    }
+
+    if (jlevels) {
+        level_meter_process(&meter, samples, (size_t) jlength);
+        level_meter_store(env, jlevels, &meter);
+    }
+
+    pcm_float_to_s16(samples, pcm, (size_t) jlength);
+    (*env)->SetShortArrayRegion(env, jsamples, joffset, jlength, pcm);
+
+out:
+    return;
+}
+
+JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocReceiver_nativeReadPcm16Le(JNIEnv* env,
+    jobject jobj, jlong jreceiver, jbyteArray jbytes, jint joffset, jint jlength,
+    jlongArray jglitch_state, jfloatArray jlevels) {
+    assert(env);
+
+    roc_receiver* receiver = (roc_receiver*) jreceiver;
+    jsize bytes_count = 0;
+    size_t n_samples = 0;
+    float* samples = NULL;
+    jbyte* pcm = NULL;
+    roc_frame frame = {};
+    glitch_detector glitch = {};
+    level_meter meter = {};
+
+    if (!jreceiver) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid RocReceiver: must not be null");
+        goto out;
+    }
+
+    if (!jbytes) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid samples array: must not be null");
+        goto out;
+    }
+
+    bytes_count = (*env)->GetArrayLength(env, jbytes);
+    if (joffset < 0 || jlength < 0 || joffset > bytes_count - jlength) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION,
+            "Invalid samples: offset and length must be within array bounds");
+        goto out;
+    }
+
+    if (jlength % 2 != 0) {
+        throw_exception(
+            env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid samples: length must be multiple of 2");
+        goto out;
+    }
+
+    n_samples = (size_t) jlength / 2;
+
+    if (jglitch_state && !glitch_detector_load(env, jglitch_state, &glitch)) {
+        goto out;
+    }
+
+    if (jlevels && !level_meter_init(env, jlevels, &meter)) {
+        goto out;
+    }
+
+    // read floats and convert them into raw bytes in the same scratch buffer
+    samples = (float*) scratch_get(n_samples * sizeof(float) + (size_t) jlength);
+    if (!samples) {
+        throw_exception(env, ASSERTION_ERROR, "Failed to allocate samples buffer");
+        goto out;
+    }
+    pcm = (jbyte*) (samples + n_samples);
+
+    memset(&frame, 0, sizeof(frame));
+    frame.samples = samples;
+    frame.samples_size = n_samples * sizeof(float);
+
+    if (roc_receiver_read(receiver, &frame) != 0) {
+        throw_exception(env, ROC_EXCEPTION, "Failed to read frame from RocReceiver");
+        goto out;
+    }
+
+    if (jglitch_state) {
+        glitch_detector_process(&glitch, samples, n_samples);
+        glitch_detector_store(env, jglitch_state, &glitch);
+    }
+
+    if (jlevels) {
+        level_meter_process(&meter, samples, n_samples);
+        level_meter_store(env, jlevels, &meter);
+    }
+
+    pcm_float_to_s16le(samples, (uint8_t*) pcm, n_samples);
+    (*env)->SetByteArrayRegion(env, jbytes, joffset, jlength, pcm);
+
+out:
+    return;
+}
+
+JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocReceiver_nativeReadPlanes(JNIEnv* env,
+    jobject jobj, jlong jreceiver, jobjectArray jplanes, jlongArray jglitch_state,
+    jfloatArray jlevels) {
+    assert(env);
+
+    roc_receiver* receiver = (roc_receiver*) jreceiver;
+    jfloatArray jplane = NULL;
+    jsize n_channels = 0;
+    jsize n_frames = 0;
+    float* samples = NULL;
+    float* planar = NULL;
+    roc_frame frame = {};
+    glitch_detector glitch = {};
+    level_meter meter = {};
+
+    if (!jreceiver) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid RocReceiver: must not be null");
+        goto out;
+    }
+
+    if (!jplanes) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid planes array: must not be null");
+        goto out;
+    }
+
+    n_channels = (*env)->GetArrayLength(env, jplanes);
+    if (n_channels == 0) {
+        goto out;
+    }
+
+    // validate all planes before reading frame, so that it's not lost
+    for (jsize ch = 0; ch < n_channels; ch++) {
+        jplane = (jfloatArray) (*env)->GetObjectArrayElement(env, jplanes, ch);
+        if (!jplane) {
+            throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid plane: must not be null");
+            goto out;
+        }
+
+        jsize plane_length = (*env)->GetArrayLength(env, jplane);
+        if (ch == 0) {
+            n_frames = plane_length;
+        } else if (plane_length != n_frames) {
+            throw_exception(
+                env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid planes: must have equal length");
+            goto out;
+        }
+
+        (*env)->DeleteLocalRef(env, jplane);
+        jplane = NULL;
+    }
+
+    if (jglitch_state && !glitch_detector_load(env, jglitch_state, &glitch)) {
+        goto out;
+    }
+
+    if (jlevels && !level_meter_init(env, jlevels, &meter)) {
+        goto out;
+    }
+
+    // interleaved samples are followed by planar samples in the same scratch buffer
+    samples = (float*) scratch_get((size_t) n_channels * n_frames * sizeof(float) * 2);
+    if (!samples) {
+        throw_exception(env, ASSERTION_ERROR, "Failed to allocate samples buffer");
+        goto out;
+    }
+    planar = samples + (size_t) n_channels * n_frames;
+
+    memset(&frame, 0, sizeof(frame));
+    frame.samples = samples;
+    frame.samples_size = (size_t) n_channels * n_frames * sizeof(float);
+
+    if (roc_receiver_read(receiver, &frame) != 0) {
+        throw_exception(env, ROC_EXCEPTION, "Failed to read frame from RocReceiver");
+        goto out;
+    }
+
+    if (jglitch_state) {
+        glitch_detector_process(&glitch, samples, (size_t) n_channels * n_frames);
+        glitch_detector_store(env, jglitch_state, &glitch);
+    }
+
+    if (jlevels) {
+        level_meter_process(&meter, samples, (size_t) n_channels * n_frames);
+        level_meter_store(env, jlevels, &meter);
+    }
+
+    pcm_deinterleave(samples, planar, (size_t) n_channels, (size_t) n_frames);
+
+    for (jsize ch = 0; ch < n_channels; ch++) {
+        jplane = (jfloatArray) (*env)->GetObjectArrayElement(env, jplanes, ch);
+        if (!jplane) {
+            throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid plane: must not be null");
+            goto out;
+        }
+
+        (*env)->SetFloatArrayRegion(env, jplane, 0, n_frames, planar + (size_t) ch * n_frames);
+
+        (*env)->DeleteLocalRef(env, jplane);
+        jplane = NULL;
+    }
+
 out:
-    if (samples) {
-        (*env)->ReleaseFloatArrayElements(env, jsamples, samples, 0);
+    if (jplane) {
+        (*env)->DeleteLocalRef(env, jplane);
     }
 }
@@ -7,5 +7,6 @@
 
 #include <stdbool.h>
 
+// Unmarshal config packed by PackedConfig.java.
 ATTR_NODISCARD bool receiver_config_unmarshal(
-    JNIEnv* env, jobject jconfig, roc_receiver_config* result);
+    JNIEnv* env, jlongArray jconfig, roc_receiver_config* result);
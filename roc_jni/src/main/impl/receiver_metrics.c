@@ -0,0 +1,17 @@
+#include "receiver_metrics.h"
+#include "helpers.h"
+
+#include <assert.h>
+#include <limits.h>
+
+bool receiver_metrics_marshal(JNIEnv* env, jobject jmetrics, const roc_receiver_metrics* metrics) {
+    assert(env);
+    assert(jmetrics);
+    assert(metrics);
+
+    // connectionCount
+    (*env)->SetIntField(env, jmetrics, jni_cache.receiver_metrics.connection_count,
+        metrics->connection_count > INT_MAX ? INT_MAX : (jint) metrics->connection_count);
+
+    return true;
+}
@@ -0,0 +1,67 @@
+#include "scratch.h"
+
+#include <pthread.h>
+#include <stdbool.h>
+#include <stdlib.h>
+
+// Buffers larger than this are shrunk by the next call that needs less, so that one
+// huge frame doesn't keep that much memory allocated until the thread exits.
+#define SCRATCH_RETAIN_SIZE (1 << 20)
+
+typedef struct {
+    size_t size;
+    void* data;
+} scratch_buffer;
+
+static pthread_once_t scratch_once = PTHREAD_ONCE_INIT;
+static pthread_key_t scratch_key;
+static bool scratch_key_created;
+
+static void scratch_destroy(void* ptr) {
+    scratch_buffer* buffer = (scratch_buffer*) ptr;
+
+    if (buffer) {
+        free(buffer->data);
+        free(buffer);
+    }
+}
+
+static void scratch_init(void) {
+    scratch_key_created = pthread_key_create(&scratch_key, scratch_destroy) == 0;
+}
+
+void* scratch_get(size_t size) {
+    pthread_once(&scratch_once, scratch_init);
+    if (!scratch_key_created) {
+        return NULL;
+    }
+
+    if (size == 0) {
+        // never return NULL for empty buffer
+        size = 1;
+    }
+
+    scratch_buffer* buffer = (scratch_buffer*) pthread_getspecific(scratch_key);
+    if (!buffer) {
+        buffer = (scratch_buffer*) calloc(1, sizeof(scratch_buffer));
+        if (!buffer) {
+            return NULL;
+        }
+        if (pthread_setspecific(scratch_key, buffer) != 0) {
+            free(buffer);
+            return NULL;
+        }
+    }
+
+    if (buffer->size < size || (buffer->size > SCRATCH_RETAIN_SIZE && size <= SCRATCH_RETAIN_SIZE)) {
+        void* data = realloc(buffer->data, size);
+        if (!data) {
+            // failed shrink leaves old buffer, which is still large enough
+            return buffer->size >= size ? buffer->data : NULL;
+        }
+        buffer->data = data;
+        buffer->size = size;
+    }
+
+    return buffer->data;
+}
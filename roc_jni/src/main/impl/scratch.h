@@ -0,0 +1,12 @@
+#pragma once
+
+#include "platform.h"
+
+#include <stddef.h>
+
+// Get scratch buffer of at least given size for current thread.
+// The buffer is reused by subsequent calls from the same thread and is freed
+// automatically when the thread exits. Buffers over 1 MiB are shrunk by the next
+// call that needs less. The buffer contents are not preserved between calls.
+// Returns NULL on allocation failure or if thread-local storage is unavailable.
+ATTR_NODISCARD void* scratch_get(size_t size);
@@ -1,18 +1,28 @@
 #include "org_rocstreaming_roctoolkit_RocSender.h"
 
+#include "copy_stats.h"
 #include "endpoint.h"
 #include "exceptions.h"
 #include "helpers.h"
+#include "level_meter.h"
 #include "interface_config.h"
+#include "pcm.h"
+#include "scratch.h"
 #include "sender_config.h"
+#include "sender_metrics.h"
 
 #include <roc/sender.h>
 
 #include <assert.h>
+#include <stdint.h>
 #include <string.h>
 
+// Maximum number of samples written while array is pinned during batch write.
+// GC may be blocked while array is pinned, so long batches are split into chunks.
+#define CRITICAL_CHUNK_SAMPLES 65536
+
 JNIEXPORT jlong JNICALL Java_org_rocstreaming_roctoolkit_RocSender_nativeOpen(
-    JNIEnv* env, jclass jclass, jlong jcontext, jobject jconfig) {
+    JNIEnv* env, jclass jclass, jlong jcontext, jlongArray jconfig) {
     assert(env);
 
     roc_context* context = (roc_context*) jcontext;
@@ -49,6 +59,39 @@ out:
     return (jlong) sender;
 }
 
+JNIEXPORT jlong JNICALL Java_org_rocstreaming_roctoolkit_RocSender_nativeOpenPrepared(
+    JNIEnv* env, jclass jclass, jlong jcontext, jlong jconfig) {
+    assert(env);
+
+    roc_context* context = (roc_context*) jcontext;
+    const roc_sender_config* sender_config = (const roc_sender_config*) jconfig;
+    roc_sender* sender = NULL;
+
+    if (!jcontext) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid RocContext: must not be null");
+        goto out;
+    }
+
+    if (!jconfig) {
+        throw_exception(
+            env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid PreparedSenderConfig: must not be null");
+        goto out;
+    }
+
+    if (roc_sender_open(context, sender_config, &sender) != 0) {
+        throw_exception(env, ROC_EXCEPTION, "Failed to open RocSender");
+        goto out;
+    }
+
+    if (!sender) {
+        throw_exception(env, ASSERTION_ERROR, "RocSender is null");
+        goto out;
+    }
+
+out:
+    return (jlong) sender;
+}
+
 JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocSender_nativeClose(
     JNIEnv* env, jclass jclass, jlong jsender) {
     assert(env);
@@ -156,39 +199,597 @@ out:
     return;
 }
 
-JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocSender_nativeWriteFloats(
-    JNIEnv* env, jobject jobj, jlong jsender, jfloatArray jsamples) {
+JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocSender_nativeQuery(
+    JNIEnv* env, jobject jobj, jlong jsender, jint jslot, jobject jmetrics) {
     assert(env);
 
     roc_sender* sender = (roc_sender*) jsender;
-    jfloat* samples = NULL;
-    jsize samples_count = 0;
-    roc_frame frame = {};
+    roc_sender_metrics metrics = {};
 
     if (!jsender) {
         throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid RocSender: must not be null");
         goto out;
     }
 
+    if (!jmetrics) {
+        throw_exception(
+            env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid RocSenderMetrics: must not be null");
+        goto out;
+    }
+
+    if (roc_sender_query(sender, (roc_slot) jslot, &metrics, NULL, NULL) != 0) {
+        throw_exception(env, ROC_EXCEPTION, "Failed to query RocSender slot");
+        goto out;
+    }
+
+    if (!sender_metrics_marshal(env, jmetrics, &metrics)) {
+        goto out;
+    }
+
+out:
+    return;
+}
+
+static bool check_samples_range(JNIEnv* env, jarray jsamples, jint joffset, jint jlength) {
     if (!jsamples) {
         throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid samples array: must not be null");
+        return false;
+    }
+
+    jsize samples_count = (*env)->GetArrayLength(env, jsamples);
+    if (joffset < 0 || jlength < 0 || joffset > samples_count - jlength) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION,
+            "Invalid samples: offset and length must be within array bounds");
+        return false;
+    }
+
+    return true;
+}
+
+// Returns false if frame wasn't written. If it's caused by invalid
+// arguments or allocation failure, exception is thrown.
+// If meter is not NULL, it's updated with levels of the frame if it was written.
+static bool write_samples_copy(JNIEnv* env, roc_sender* sender, jfloatArray jsamples,
+    jint joffset, jint jlength, level_meter* meter) {
+    jfloat* samples = NULL;
+    roc_frame frame = {};
+
+    // copy only requested slice instead of pinning whole array
+    samples = (jfloat*) scratch_get((size_t) jlength * sizeof(jfloat));
+    if (!samples) {
+        throw_exception(env, ASSERTION_ERROR, "Failed to allocate samples buffer");
+        return false;
+    }
+
+    (*env)->GetFloatArrayRegion(env, jsamples, joffset, jlength, samples);
+    copy_stats_add((size_t) jlength * sizeof(jfloat));
+
+    memset(&frame, 0, sizeof(frame));
+    frame.samples = samples;
+    frame.samples_size = (size_t) jlength * sizeof(float);
+
+    if (roc_sender_write(sender, &frame) != 0) {
+        return false;
+    }
+
+    if (meter) {
+        level_meter_process(meter, samples, (size_t) jlength);
+    }
+
+    return true;
+}
+
+// Same as write_samples_copy(), but writes frame_count consecutive frames from
+// pinned array. Returns number of frames written.
+static jint write_samples_critical(JNIEnv* env, roc_sender* sender, jfloatArray jsamples,
+    jint joffset, jint jframe_length, jint jframe_count, level_meter* meter) {
+    jfloat* samples = NULL;
+    roc_frame frame = {};
+    jint n_written = 0;
+    jboolean is_copy = JNI_FALSE;
+
+    // no JNI calls are allowed until array is released
+    samples = (jfloat*) (*env)->GetPrimitiveArrayCritical(env, jsamples, &is_copy);
+    if (!samples) {
+        // OutOfMemoryError is already thrown
+        return 0;
+    }
+
+    for (; n_written < jframe_count; n_written++) {
+        memset(&frame, 0, sizeof(frame));
+        frame.samples = samples + joffset + (size_t) n_written * jframe_length;
+        frame.samples_size = (size_t) jframe_length * sizeof(float);
+
+        if (roc_sender_write(sender, &frame) != 0) {
+            break;
+        }
+
+        if (meter) {
+            level_meter_process(meter, frame.samples, (size_t) jframe_length);
+        }
+    }
+
+    // samples were not modified, don't copy them back if JVM made a copy
+    (*env)->ReleasePrimitiveArrayCritical(env, jsamples, samples, JNI_ABORT);
+
+    if (is_copy) {
+        // whole array was copied from Java heap
+        copy_stats_add((size_t) (*env)->GetArrayLength(env, jsamples) * sizeof(jfloat));
+    }
+
+    return n_written;
+}
+
+JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocSender_nativeWriteFloats(JNIEnv* env,
+    jobject jobj, jlong jsender, jfloatArray jsamples, jint joffset, jint jlength,
+    jfloatArray jlevels) {
+    assert(env);
+
+    roc_sender* sender = (roc_sender*) jsender;
+    level_meter meter = {};
+
+    if (!jsender) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid RocSender: must not be null");
+        goto out;
+    }
+
+    if (!check_samples_range(env, jsamples, joffset, jlength)) {
+        goto out;
+    }
+
+    if (jlevels && !level_meter_init(env, jlevels, &meter)) {
+        goto out;
+    }
+
+    if (!write_samples_copy(env, sender, jsamples, joffset, jlength, jlevels ? &meter : NULL)) {
+        throw_exception(env, ROC_EXCEPTION, "Failed to write frame to RocSender");
+        goto out;
+    }
+
+    if (jlevels) {
+        level_meter_store(env, jlevels, &meter);
+    }
+
+out:
+    return;
+}
+
+JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocSender_nativeWriteFloatsCritical(
+    JNIEnv* env, jobject jobj, jlong jsender, jfloatArray jsamples, jint joffset, jint jlength,
+    jfloatArray jlevels) {
+    assert(env);
+
+    roc_sender* sender = (roc_sender*) jsender;
+    level_meter meter = {};
+
+    if (!jsender) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid RocSender: must not be null");
+        goto out;
+    }
+
+    if (!check_samples_range(env, jsamples, joffset, jlength)) {
+        goto out;
+    }
+
+    if (jlevels && !level_meter_init(env, jlevels, &meter)) {
+        goto out;
+    }
+
+    if (write_samples_critical(
+            env, sender, jsamples, joffset, jlength, 1, jlevels ? &meter : NULL)
+        != 1) {
+        throw_exception(env, ROC_EXCEPTION, "Failed to write frame to RocSender");
         goto out;
     }
 
-    samples = (*env)->GetFloatArrayElements(env, jsamples, 0);
-    samples_count = (*env)->GetArrayLength(env, jsamples);
+    if (jlevels) {
+        level_meter_store(env, jlevels, &meter);
+    }
+
+out:
+    return;
+}
+
+JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocSender_nativeWriteBuffer(JNIEnv* env,
+    jobject jobj, jlong jsender, jobject jbuffer, jint joffset, jint jsize, jfloatArray jlevels) {
+    assert(env);
+
+    roc_sender* sender = (roc_sender*) jsender;
+    char* buffer = NULL;
+    roc_frame frame = {};
+    level_meter meter = {};
+
+    if (!jsender) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid RocSender: must not be null");
+        goto out;
+    }
+
+    if (!jbuffer) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid samples buffer: must not be null");
+        goto out;
+    }
+
+    if (joffset < 0 || jsize < 0) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION,
+            "Invalid samples buffer: offset and size must not be negative");
+        goto out;
+    }
+
+    buffer = (char*) (*env)->GetDirectBufferAddress(env, jbuffer);
+    if (!buffer) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid samples buffer: must be direct");
+        goto out;
+    }
+
+    // samples are accessed as floats, so buffer must not start in the middle of a sample
+    if (((uintptr_t) (buffer + joffset)) % sizeof(float) != 0) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION,
+            "Invalid samples buffer: must be aligned to sample size");
+        goto out;
+    }
+
+    if (jlevels && !level_meter_init(env, jlevels, &meter)) {
+        goto out;
+    }
+
+    // pass buffer memory to sender as is, without copying
+    memset(&frame, 0, sizeof(frame));
+    frame.samples = buffer + joffset;
+    frame.samples_size = (size_t) jsize;
+
+    if (jlevels) {
+        level_meter_process(&meter, (const float*) frame.samples, (size_t) jsize / sizeof(float));
+    }
+
+    if (roc_sender_write(sender, &frame) != 0) {
+        throw_exception(env, ROC_EXCEPTION, "Failed to write frame to RocSender");
+        goto out;
+    }
+
+    if (jlevels) {
+        level_meter_store(env, jlevels, &meter);
+    }
+
+out:
+    return;
+}
+
+JNIEXPORT jint JNICALL Java_org_rocstreaming_roctoolkit_RocSender_nativeWriteBatch(JNIEnv* env,
+    jobject jobj, jlong jsender, jobjectArray jframes, jboolean jcritical, jfloatArray jlevels) {
+    assert(env);
+
+    roc_sender* sender = (roc_sender*) jsender;
+    jfloatArray jsamples = NULL;
+    jsize frame_count = 0;
+    jint n_written = 0;
+    jint length = 0;
+    bool ok = false;
+    level_meter meter = {};
+
+    if (!jsender) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid RocSender: must not be null");
+        goto out;
+    }
+
+    if (!jframes) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid frames array: must not be null");
+        goto out;
+    }
+
+    if (jlevels && !level_meter_init(env, jlevels, &meter)) {
+        goto out;
+    }
+
+    frame_count = (*env)->GetArrayLength(env, jframes);
+
+    for (; n_written < frame_count; n_written++) {
+        jsamples = (jfloatArray) (*env)->GetObjectArrayElement(env, jframes, n_written);
+        if (!jsamples) {
+            throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid frame: must not be null");
+            break;
+        }
+
+        length = (*env)->GetArrayLength(env, jsamples);
+
+        if (jcritical) {
+            ok = write_samples_critical(
+                     env, sender, jsamples, 0, length, 1, jlevels ? &meter : NULL)
+                == 1;
+        } else {
+            ok = write_samples_copy(env, sender, jsamples, 0, length, jlevels ? &meter : NULL);
+        }
+
+        // don't let local references pile up on long batches
+        (*env)->DeleteLocalRef(env, jsamples);
+
+        if (!ok) {
+            break;
+        }
+    }
+
+    // meter holds levels of last written frame
+    if (jlevels && n_written > 0 && !(*env)->ExceptionCheck(env)) {
+        level_meter_store(env, jlevels, &meter);
+    }
+
+out:
+    return n_written;
+}
+
+JNIEXPORT jint JNICALL Java_org_rocstreaming_roctoolkit_RocSender_nativeWriteStrided(JNIEnv* env,
+    jobject jobj, jlong jsender, jfloatArray jsamples, jint joffset, jint jframe_length,
+    jint jframe_count, jboolean jcritical, jfloatArray jlevels) {
+    assert(env);
+
+    roc_sender* sender = (roc_sender*) jsender;
+    jint n_written = 0;
+    level_meter meter = {};
+
+    if (!jsender) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid RocSender: must not be null");
+        goto out;
+    }
+
+    if (jframe_length < 0 || jframe_count < 0
+        || (long long) jframe_length * jframe_count > INT32_MAX) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid frame length or frame count");
+        goto out;
+    }
+
+    if (!check_samples_range(env, jsamples, joffset, jframe_length * jframe_count)) {
+        goto out;
+    }
+
+    if (jlevels && !level_meter_init(env, jlevels, &meter)) {
+        goto out;
+    }
+
+    if (jcritical) {
+        // pin array once per chunk of frames, but at least once per frame
+        jint chunk_frames = jframe_count;
+        if (jframe_length > 0 && CRITICAL_CHUNK_SAMPLES / jframe_length < chunk_frames) {
+            chunk_frames = CRITICAL_CHUNK_SAMPLES / jframe_length;
+        }
+        if (chunk_frames < 1) {
+            chunk_frames = 1;
+        }
+        while (n_written < jframe_count) {
+            jint n_frames = jframe_count - n_written;
+            if (n_frames > chunk_frames) {
+                n_frames = chunk_frames;
+            }
+            jint n_chunk = write_samples_critical(env, sender, jsamples,
+                joffset + n_written * jframe_length, jframe_length, n_frames,
+                jlevels ? &meter : NULL);
+            n_written += n_chunk;
+            if (n_chunk < n_frames) {
+                break;
+            }
+        }
+    } else {
+        for (; n_written < jframe_count; n_written++) {
+            if (!write_samples_copy(env, sender, jsamples, joffset + n_written * jframe_length,
+                    jframe_length, jlevels ? &meter : NULL)) {
+                break;
+            }
+        }
+    }
+
+    // meter holds levels of last written frame
+    if (jlevels && n_written > 0 && !(*env)->ExceptionCheck(env)) {
+        level_meter_store(env, jlevels, &meter);
+    }
+
+out:
+    return n_written;
+}
+
+JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocSender_nativeWriteShorts(JNIEnv* env,
+    jobject jobj, jlong jsender, jshortArray jsamples, jint joffset, jint jlength,
+    jfloatArray jlevels) {
+    assert(env);
+
+    roc_sender* sender = (roc_sender*) jsender;
+    float* samples = NULL;
+    jshort* pcm = NULL;
+    roc_frame frame = {};
+    level_meter meter = {};
+
+    if (!jsender) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid RocSender: must not be null");
+        goto out;
+    }
+
+    if (!check_samples_range(env, jsamples, joffset, jlength)) {
+        goto out;
+    }
+
+    if (jlevels && !level_meter_init(env, jlevels, &meter)) {
+        goto out;
+    }
+
+    // converted floats are followed by raw 16-bit samples in the same scratch buffer
+    samples = (float*) scratch_get((size_t) jlength * (sizeof(float) + sizeof(jshort)));
+    if (!samples) {
+        throw_exception(env, ASSERTION_ERROR, "Failed to allocate samples buffer");
+        goto out;
+    }
+    pcm = (jshort*) (samples + jlength);
+
+    (*env)->GetShortArrayRegion(env, jsamples, joffset, jlength, pcm);
+    pcm_s16_to_float(pcm, samples, (size_t) jlength);
+
+    if (jlevels) {
+        level_meter_process(&meter, samples, (size_t) jlength);
+    }
+
+    memset(&frame, 0, sizeof(frame));
+    frame.samples = samples;
+    frame.samples_size = (size_t) jlength * sizeof(float);
+
+    if (roc_sender_write(sender, &frame) != 0) {
+        throw_exception(env, ROC_EXCEPTION, "Failed to write frame to RocSender");
+        goto out;
+    }
+
+    if (jlevels) {
+        level_meter_store(env, jlevels, &meter);
+    }
+
+out:
+    return;
+}
+
+JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocSender_nativeWritePcm16Le(JNIEnv* env,
+    jobject jobj, jlong jsender, jbyteArray jbytes, jint joffset, jint jlength,
+    jfloatArray jlevels) {
+    assert(env);
+
+    roc_sender* sender = (roc_sender*) jsender;
+    size_t n_samples = 0;
+    float* samples = NULL;
+    jbyte* pcm = NULL;
+    roc_frame frame = {};
+    level_meter meter = {};
+
+    if (!jsender) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid RocSender: must not be null");
+        goto out;
+    }
+
+    if (!check_samples_range(env, jbytes, joffset, jlength)) {
+        goto out;
+    }
+
+    if (jlength % 2 != 0) {
+        throw_exception(
+            env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid samples: length must be multiple of 2");
+        goto out;
+    }
+
+    n_samples = (size_t) jlength / 2;
+
+    if (jlevels && !level_meter_init(env, jlevels, &meter)) {
+        goto out;
+    }
+
+    // converted floats are followed by raw bytes in the same scratch buffer
+    samples = (float*) scratch_get(n_samples * sizeof(float) + (size_t) jlength);
+    if (!samples) {
+        throw_exception(env, ASSERTION_ERROR, "Failed to allocate samples buffer");
+        goto out;
+    }
+    pcm = (jbyte*) (samples + n_samples);
+
+    (*env)->GetByteArrayRegion(env, jbytes, joffset, jlength, pcm);
+    pcm_s16le_to_float((const uint8_t*) pcm, samples, n_samples);
+
+    if (jlevels) {
+        level_meter_process(&meter, samples, n_samples);
+    }
 
     memset(&frame, 0, sizeof(frame));
     frame.samples = samples;
-    frame.samples_size = samples_count * sizeof(float);
+    frame.samples_size = n_samples * sizeof(float);
 
     if (roc_sender_write(sender, &frame) != 0) {
         throw_exception(env, ROC_EXCEPTION, "Failed to write frame to RocSender");
         goto out;
     }
 
+    if (jlevels) {
+        level_meter_store(env, jlevels, &meter);
+    }
+
+out:
+    return;
+}
+
+JNIEXPORT void JNICALL Java_org_rocstreaming_roctoolkit_RocSender_nativeWritePlanes(
+    JNIEnv* env, jobject jobj, jlong jsender, jobjectArray jplanes, jfloatArray jlevels) {
+    assert(env);
+
+    roc_sender* sender = (roc_sender*) jsender;
+    jfloatArray jplane = NULL;
+    jsize n_channels = 0;
+    jsize n_frames = 0;
+    float* samples = NULL;
+    float* planar = NULL;
+    roc_frame frame = {};
+    level_meter meter = {};
+
+    if (!jsender) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid RocSender: must not be null");
+        goto out;
+    }
+
+    if (!jplanes) {
+        throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid planes array: must not be null");
+        goto out;
+    }
+
+    if (jlevels && !level_meter_init(env, jlevels, &meter)) {
+        goto out;
+    }
+
+    n_channels = (*env)->GetArrayLength(env, jplanes);
+
+    for (jsize ch = 0; ch < n_channels; ch++) {
+        jplane = (jfloatArray) (*env)->GetObjectArrayElement(env, jplanes, ch);
+        if (!jplane) {
+            throw_exception(env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid plane: must not be null");
+            goto out;
+        }
+
+        jsize plane_length = (*env)->GetArrayLength(env, jplane);
+
+        if (ch == 0) {
+            n_frames = plane_length;
+
+            // interleaved samples are followed by planar samples in the same scratch buffer
+            samples = (float*) scratch_get((size_t) n_channels * n_frames * sizeof(float) * 2);
+            if (!samples) {
+                throw_exception(env, ASSERTION_ERROR, "Failed to allocate samples buffer");
+                goto out;
+            }
+            planar = samples + (size_t) n_channels * n_frames;
+        } else if (plane_length != n_frames) {
+            throw_exception(
+                env, ILLEGAL_ARGUMENT_EXCEPTION, "Invalid planes: must have equal length");
+            goto out;
+        }
+
+        (*env)->GetFloatArrayRegion(env, jplane, 0, n_frames, planar + (size_t) ch * n_frames);
+
+        (*env)->DeleteLocalRef(env, jplane);
+        jplane = NULL;
+    }
+
+    if (n_channels == 0) {
+        goto out;
+    }
+
+    pcm_interleave(planar, samples, (size_t) n_channels, (size_t) n_frames);
+
+    if (jlevels) {
+        level_meter_process(&meter, samples, (size_t) n_channels * n_frames);
+    }
+
+    memset(&frame, 0, sizeof(frame));
+    frame.samples = samples;
+    frame.samples_size = (size_t) n_channels * n_frames * sizeof(float);
+
+    if (roc_sender_write(sender, &frame) != 0) {
+        throw_exception(env, ROC_EXCEPTION, "Failed to write frame to RocSender");
+        goto out;
+    }
+
+    if (jlevels) {
+        level_meter_store(env, jlevels, &meter);
+    }
+
 out:
-    if (samples) {
-        (*env)->ReleaseFloatArrayElements(env, jsamples, samples, 0);
+    if (jplane) {
+        (*env)->DeleteLocalRef(env, jplane);
     }
 }
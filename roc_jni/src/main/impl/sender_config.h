@@ -7,5 +7,6 @@
 
 #include <stdbool.h>
 
+// Unmarshal config packed by PackedConfig.java.
 ATTR_NODISCARD bool sender_config_unmarshal(
-    JNIEnv* env, jobject jconfig, roc_sender_config* result);
+    JNIEnv* env, jlongArray jconfig, roc_sender_config* result);
@@ -0,0 +1,17 @@
+#include "sender_metrics.h"
+#include "helpers.h"
+
+#include <assert.h>
+#include <limits.h>
+
+bool sender_metrics_marshal(JNIEnv* env, jobject jmetrics, const roc_sender_metrics* metrics) {
+    assert(env);
+    assert(jmetrics);
+    assert(metrics);
+
+    // connectionCount
+    (*env)->SetIntField(env, jmetrics, jni_cache.sender_metrics.connection_count,
+        metrics->connection_count > INT_MAX ? INT_MAX : (jint) metrics->connection_count);
+
+    return true;
+}
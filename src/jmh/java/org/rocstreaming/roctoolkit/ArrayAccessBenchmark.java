@@ -0,0 +1,124 @@
+package org.rocstreaming.roctoolkit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link ArrayAccessMode#COPY} and {@link ArrayAccessMode#CRITICAL} for
+ * {@code float[]} writes and reads.
+ * <p>
+ * Besides time per frame, reports {@code bytesCopiedPerFrame} counter, which is the number
+ * of sample bytes actually copied between Java heap and native memory per frame, as counted
+ * by native code (see {@link ArrayCopyStats}). In COPY mode, it's the requested range. In
+ * CRITICAL mode, it's zero if JVM pins arrays, or the whole array (copied in and, for reads,
+ * back) if JVM reports that it made a copy.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArrayAccessBenchmark {
+
+    private static final int SAMPLE_RATE = 48000;
+
+    @State(Scope.Thread)
+    public static class Nodes {
+
+        @Param({"COPY", "CRITICAL"})
+        ArrayAccessMode mode;
+
+        // 10ms of stereo audio at 48kHz
+        @Param({"960"})
+        int frameSamples;
+
+        RocContext context;
+        RocSender sender;
+        RocReceiver receiver;
+        float[] samples;
+
+        @Setup(Level.Trial)
+        public void setup() throws Exception {
+            MediaEncoding encoding = MediaEncoding.builder()
+                    .rate(SAMPLE_RATE)
+                    .format(Format.PCM_FLOAT32)
+                    .channels(ChannelLayout.STEREO)
+                    .build();
+
+            context = new RocContext();
+
+            sender = new RocSender(context, RocSenderConfig.builder()
+                    .frameEncoding(encoding)
+                    .fecEncoding(FecEncoding.DISABLE)
+                    .clockSource(ClockSource.EXTERNAL)
+                    .build());
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp://127.0.0.1:10001"));
+            sender.setArrayAccessMode(mode);
+
+            receiver = new RocReceiver(context, RocReceiverConfig.builder()
+                    .frameEncoding(encoding)
+                    .clockSource(ClockSource.EXTERNAL)
+                    .build());
+            receiver.bind(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp://127.0.0.1:0"));
+            receiver.setArrayAccessMode(mode);
+
+            samples = new float[frameSamples];
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws Exception {
+            receiver.close();
+            sender.close();
+            context.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+
+        public double bytesCopiedPerFrame;
+
+        private long frames;
+
+        @Setup(Level.Iteration)
+        public void setup() {
+            frames = 0;
+            ArrayCopyStats.takeBytesCopied();
+            ArrayCopyStats.setEnabled(true);
+        }
+
+        @TearDown(Level.Iteration)
+        public void tearDown() {
+            ArrayCopyStats.setEnabled(false);
+            bytesCopiedPerFrame = frames != 0 ? (double) ArrayCopyStats.takeBytesCopied() / frames : 0;
+        }
+    }
+
+    @Benchmark
+    public void write(Nodes nodes, Counters counters) throws Exception {
+        nodes.sender.write(nodes.samples);
+        counters.frames++;
+    }
+
+    @Benchmark
+    public float[] read(Nodes nodes, Counters counters) throws Exception {
+        nodes.receiver.read(nodes.samples);
+        counters.frames++;
+        return nodes.samples;
+    }
+}
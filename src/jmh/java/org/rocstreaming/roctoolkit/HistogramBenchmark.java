@@ -0,0 +1,57 @@
+package org.rocstreaming.roctoolkit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures overhead of {@link CallHistograms} added to every write or read operation
+ * when histograms are enabled, including two {@link System#nanoTime()} calls.
+ * <p>
+ * {@code recordShared} records from several threads into the same histogram, which
+ * shows the cost of contention on bucket counters.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HistogramBenchmark {
+
+    @State(Scope.Thread)
+    public static class ThreadHistograms {
+        final CallHistograms histograms = new CallHistograms();
+    }
+
+    @State(Scope.Benchmark)
+    public static class SharedHistograms {
+        final CallHistograms histograms = new CallHistograms();
+    }
+
+    @Benchmark
+    public long nanoTime() {
+        return System.nanoTime();
+    }
+
+    @Benchmark
+    public void record(ThreadHistograms state) {
+        long start = System.nanoTime();
+        state.histograms.record(start, System.nanoTime());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordShared(SharedHistograms state) {
+        long start = System.nanoTime();
+        state.histograms.record(start, System.nanoTime());
+    }
+}
@@ -0,0 +1,98 @@
+package org.rocstreaming.roctoolkit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures sender and receiver churn: opening and immediately closing a node, as done by
+ * servers which handle many short sessions with identical configs.
+ * <p>
+ * Compares opening with {@link RocSenderConfig} / {@link RocReceiverConfig}, which are
+ * converted into native representation on every open, and with {@link PreparedSenderConfig}
+ * / {@link PreparedReceiverConfig}, which are converted once.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OpenCloseBenchmark {
+
+    @State(Scope.Thread)
+    public static class Configs {
+
+        RocContext context;
+        RocSenderConfig senderConfig;
+        RocReceiverConfig receiverConfig;
+        PreparedSenderConfig preparedSenderConfig;
+        PreparedReceiverConfig preparedReceiverConfig;
+
+        @Setup(Level.Trial)
+        public void setup() throws Exception {
+            MediaEncoding encoding = MediaEncoding.builder()
+                    .rate(48000)
+                    .format(Format.PCM_FLOAT32)
+                    .channels(ChannelLayout.STEREO)
+                    .build();
+
+            context = new RocContext();
+
+            senderConfig = RocSenderConfig.builder()
+                    .frameEncoding(encoding)
+                    .packetEncoding(PacketEncoding.AVP_L16_STEREO)
+                    .packetLength(Duration.ofMillis(5))
+                    .fecEncoding(FecEncoding.RS8M)
+                    .clockSource(ClockSource.EXTERNAL)
+                    .build();
+            preparedSenderConfig = new PreparedSenderConfig(senderConfig);
+
+            receiverConfig = RocReceiverConfig.builder()
+                    .frameEncoding(encoding)
+                    .clockSource(ClockSource.EXTERNAL)
+                    .targetLatency(Duration.ofMillis(100))
+                    .noPlaybackTimeout(Duration.ofSeconds(2))
+                    .build();
+            preparedReceiverConfig = new PreparedReceiverConfig(receiverConfig);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            preparedReceiverConfig.close();
+            preparedSenderConfig.close();
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public void sender(Configs configs) throws Exception {
+        new RocSender(configs.context, configs.senderConfig).close();
+    }
+
+    @Benchmark
+    public void preparedSender(Configs configs) throws Exception {
+        new RocSender(configs.context, configs.preparedSenderConfig).close();
+    }
+
+    @Benchmark
+    public void receiver(Configs configs) throws Exception {
+        new RocReceiver(configs.context, configs.receiverConfig).close();
+    }
+
+    @Benchmark
+    public void preparedReceiver(Configs configs) throws Exception {
+        new RocReceiver(configs.context, configs.preparedReceiverConfig).close();
+    }
+}
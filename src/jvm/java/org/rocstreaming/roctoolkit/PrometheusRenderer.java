@@ -0,0 +1,316 @@
+package org.rocstreaming.roctoolkit;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+
+/**
+ * Renders metrics of live roc objects in Prometheus text exposition format.
+ * <p>
+ * All buffers are kept between calls, so once they have grown to the required size,
+ * rendering doesn't allocate memory per slot or per connection.
+ * <p>
+ * Not thread-safe.
+ */
+final class PrometheusRenderer {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L,
+    };
+
+    // histogram buckets are powers of two from ~1us to ~17s
+    private static final int MIN_BUCKET_EXPONENT = 10;
+    private static final int MAX_BUCKET_EXPONENT = 34;
+
+    private static final int INITIAL_CONNECTIONS = 8;
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+
+    private final Family nativeObjects = new Family("roc_native_objects", "gauge",
+            "Number of open native objects.");
+    private final Family openedObjects = new Family("roc_native_objects_opened_total", "counter",
+            "Number of native objects opened since start.");
+    private final Family collectedObjects = new Family("roc_native_objects_collected_total", "counter",
+            "Number of native objects closed by garbage collector instead of close().");
+    private final Family droppedLogs = new Family("roc_log_messages_dropped_total", "counter",
+            "Number of libroc log messages dropped because log queue was full.");
+
+    private final Family writeCalls = new Family("roc_sender_write_calls_total", "counter",
+            "Number of write operations.");
+    private final Family writeSeconds = new Family("roc_sender_write_seconds_total", "counter",
+            "Total time spent in write operations.");
+    private final Family writeDuration = new Family("roc_sender_write_duration_seconds", "histogram",
+            "Duration of write operations, if histograms are enabled.");
+    private final Family writeJitter = new Family("roc_sender_write_jitter_seconds", "histogram",
+            "Jitter of intervals between write operations, if histograms are enabled.");
+    private final Family senderConnections = new Family("roc_sender_connections", "gauge",
+            "Number of connections of sender slot.");
+
+    private final Family readCalls = new Family("roc_receiver_read_calls_total", "counter",
+            "Number of read operations.");
+    private final Family readSeconds = new Family("roc_receiver_read_seconds_total", "counter",
+            "Total time spent in read operations.");
+    private final Family readDuration = new Family("roc_receiver_read_duration_seconds", "histogram",
+            "Duration of read operations, if histograms are enabled.");
+    private final Family readJitter = new Family("roc_receiver_read_jitter_seconds", "histogram",
+            "Jitter of intervals between read operations, if histograms are enabled.");
+    private final Family receiverConnections = new Family("roc_receiver_connections", "gauge",
+            "Number of connections of receiver slot.");
+    private final Family e2eLatency = new Family("roc_receiver_connection_e2e_latency_seconds", "gauge",
+            "End-to-end latency of receiver connection.");
+
+    private final Family[] families = {
+            nativeObjects, openedObjects, collectedObjects, droppedLogs,
+            writeCalls, writeSeconds, writeDuration, writeJitter, senderConnections,
+            readCalls, readSeconds, readDuration, readJitter, receiverConnections, e2eLatency,
+    };
+
+    private final StringBuilder output = new StringBuilder(INITIAL_BUFFER_SIZE);
+    private byte[] bytes = new byte[INITIAL_BUFFER_SIZE];
+
+    private final RocSenderMetrics senderMetrics = new RocSenderMetrics();
+    private final RocReceiverMetrics receiverMetrics = new RocReceiverMetrics();
+    private RocConnectionMetrics[] connectionMetrics = newConnectionMetrics(INITIAL_CONNECTIONS);
+    private final LatencyHistogram.Snapshot snapshot = new LatencyHistogram.Snapshot();
+
+    private final Consumer<NativeObject> visitor = this::renderObject;
+
+    private int contextCount;
+    private int senderCount;
+    private int receiverCount;
+
+    /**
+     * Render metrics of all live objects.
+     *
+     * @return number of bytes rendered into {@link PrometheusRenderer#getBytes()}.
+     */
+    int render() {
+        for (Family family : families) {
+            family.samples.setLength(0);
+        }
+        contextCount = 0;
+        senderCount = 0;
+        receiverCount = 0;
+
+        NativeObjectCleaner cleaner = NativeObjectCleaner.getInstance();
+        cleaner.forEachLive(visitor);
+
+        gauge(nativeObjects, "type", "context", contextCount);
+        gauge(nativeObjects, "type", "sender", senderCount);
+        gauge(nativeObjects, "type", "receiver", receiverCount);
+        openedObjects.samples.append(openedObjects.name).append(' ').append(cleaner.getOpenedCount()).append('\n');
+        collectedObjects.samples.append(collectedObjects.name).append(' ').append(cleaner.getCollectedCount()).append('\n');
+        droppedLogs.samples.append(droppedLogs.name).append(' ').append(RocLogger.getDroppedCount()).append('\n');
+
+        output.setLength(0);
+        for (Family family : families) {
+            if (family.samples.length() == 0) {
+                continue;
+            }
+            output.append("# HELP ").append(family.name).append(' ').append(family.help).append('\n');
+            output.append("# TYPE ").append(family.name).append(' ').append(family.type).append('\n');
+            output.append(family.samples);
+        }
+
+        // output is ASCII, so chars map to bytes one to one
+        int length = output.length();
+        if (bytes.length < length) {
+            bytes = new byte[Math.max(length, bytes.length * 2)];
+        }
+        for (int n = 0; n < length; n++) {
+            bytes[n] = (byte) output.charAt(n);
+        }
+        return length;
+    }
+
+    /**
+     * Get buffer with rendered metrics.
+     * <p>
+     * Buffer is overwritten and may be reallocated by subsequent {@code render()} calls.
+     */
+    byte[] getBytes() {
+        return bytes;
+    }
+
+    private void renderObject(NativeObject nativeObj) {
+        if (nativeObj instanceof RocContext) {
+            contextCount++;
+        } else if (nativeObj instanceof RocSender) {
+            senderCount++;
+            renderSender((RocSender) nativeObj);
+        } else if (nativeObj instanceof RocReceiver) {
+            receiverCount++;
+            renderReceiver((RocReceiver) nativeObj);
+        }
+    }
+
+    private void renderSender(RocSender sender) {
+        long id = sender.getId();
+        OperationStats stats = sender.getWriteStats();
+        counter(writeCalls, "sender", id, stats.getCount());
+        seconds(writeSeconds, "sender", id, stats.getTotalNanos());
+
+        CallHistograms histograms = sender.getWriteHistograms();
+        if (histograms != null) {
+            histogram(writeDuration, "sender", id, histograms.getDurations());
+            histogram(writeJitter, "sender", id, histograms.getJitter());
+        }
+
+        Lock closeLock = sender.getCloseLock();
+        closeLock.lock();
+        try {
+            if (!sender.isOpen()) {
+                return;
+            }
+            for (Slot slot : sender.getSlots()) {
+                try {
+                    sender.query(slot, senderMetrics);
+                } catch (RocException exc) {
+                    // slot may be broken, skip it
+                    continue;
+                }
+                StringBuilder sb = beginSample(senderConnections, "", "sender", id);
+                sb.append(",slot=\"").append(slot.getValue()).append('"');
+                endSample(sb).append(senderMetrics.getConnectionCount()).append('\n');
+            }
+        } finally {
+            closeLock.unlock();
+        }
+    }
+
+    private void renderReceiver(RocReceiver receiver) {
+        long id = receiver.getId();
+        OperationStats stats = receiver.getReadStats();
+        counter(readCalls, "receiver", id, stats.getCount());
+        seconds(readSeconds, "receiver", id, stats.getTotalNanos());
+
+        CallHistograms histograms = receiver.getReadHistograms();
+        if (histograms != null) {
+            histogram(readDuration, "receiver", id, histograms.getDurations());
+            histogram(readJitter, "receiver", id, histograms.getJitter());
+        }
+
+        Lock closeLock = receiver.getCloseLock();
+        closeLock.lock();
+        try {
+            if (!receiver.isOpen()) {
+                return;
+            }
+            for (Slot slot : receiver.getSlots()) {
+                int count;
+                try {
+                    count = receiver.query(slot, receiverMetrics, connectionMetrics);
+                    if (receiverMetrics.getConnectionCount() > connectionMetrics.length) {
+                        connectionMetrics = newConnectionMetrics(receiverMetrics.getConnectionCount());
+                        count = receiver.query(slot, receiverMetrics, connectionMetrics);
+                    }
+                } catch (RocException exc) {
+                    // slot may be broken, skip it
+                    continue;
+                }
+                StringBuilder sb = beginSample(receiverConnections, "", "receiver", id);
+                sb.append(",slot=\"").append(slot.getValue()).append('"');
+                endSample(sb).append(receiverMetrics.getConnectionCount()).append('\n');
+
+                for (int n = 0; n < count; n++) {
+                    sb = beginSample(e2eLatency, "", "receiver", id);
+                    sb.append(",slot=\"").append(slot.getValue()).append("\",connection=\"").append(n).append('"');
+                    appendSeconds(endSample(sb), connectionMetrics[n].getE2eLatencyNanos()).append('\n');
+                }
+            }
+        } finally {
+            closeLock.unlock();
+        }
+    }
+
+    private void histogram(Family family, String label, long id, LatencyHistogram histogram) {
+        histogram.snapshot(snapshot);
+
+        long cumulativeCount = 0;
+        int bucket = 0;
+        for (int exponent = MIN_BUCKET_EXPONENT; exponent <= MAX_BUCKET_EXPONENT; exponent++) {
+            // all values below 2^exponent
+            int endBucket = LatencyHistogram.bucketIndex(1L << exponent);
+            for (; bucket < endBucket; bucket++) {
+                cumulativeCount += snapshot.getBucketValueCount(bucket);
+            }
+            StringBuilder sb = beginSample(family, "_bucket", label, id).append(",le=\"");
+            appendSeconds(sb, 1L << exponent).append('"');
+            endSample(sb).append(cumulativeCount).append('\n');
+        }
+        StringBuilder sb = beginSample(family, "_bucket", label, id).append(",le=\"+Inf\"");
+        endSample(sb).append(snapshot.getCount()).append('\n');
+
+        appendSeconds(endSample(beginSample(family, "_sum", label, id)), snapshot.getTotalNanos()).append('\n');
+        endSample(beginSample(family, "_count", label, id)).append(snapshot.getCount()).append('\n');
+    }
+
+    private static void gauge(Family family, String label, String value, long count) {
+        family.samples.append(family.name).append('{').append(label).append("=\"").append(value).append("\"} ")
+                .append(count).append('\n');
+    }
+
+    private static void counter(Family family, String label, long id, long value) {
+        endSample(beginSample(family, "", label, id)).append(value).append('\n');
+    }
+
+    private static void seconds(Family family, String label, long id, long nanos) {
+        appendSeconds(endSample(beginSample(family, "", label, id)), nanos).append('\n');
+    }
+
+    private static StringBuilder beginSample(Family family, String suffix, String label, long id) {
+        return family.samples.append(family.name).append(suffix).append('{').append(label).append("=\"").append(id)
+                .append('"');
+    }
+
+    private static StringBuilder endSample(StringBuilder sb) {
+        return sb.append("} ");
+    }
+
+    /**
+     * Append nanoseconds as decimal number of seconds, without allocating memory.
+     */
+    static StringBuilder appendSeconds(StringBuilder sb, long nanos) {
+        if (nanos < 0) {
+            sb.append('-');
+            nanos = -nanos;
+        }
+        sb.append(nanos / NANOS_PER_SECOND);
+
+        long fraction = nanos % NANOS_PER_SECOND;
+        if (fraction != 0) {
+            int digits = 9;
+            while (fraction % 10 == 0) {
+                fraction /= 10;
+                digits--;
+            }
+            sb.append('.');
+            for (int n = digits - 1; n > 0 && fraction < POWERS_OF_TEN[n]; n--) {
+                sb.append('0');
+            }
+            sb.append(fraction);
+        }
+        return sb;
+    }
+
+    private static RocConnectionMetrics[] newConnectionMetrics(int size) {
+        RocConnectionMetrics[] array = new RocConnectionMetrics[size];
+        Arrays.setAll(array, n -> new RocConnectionMetrics());
+        return array;
+    }
+
+    private static final class Family {
+
+        final String name;
+        final String type;
+        final String help;
+        final StringBuilder samples = new StringBuilder();
+
+        Family(String name, String type, String help) {
+            this.name = name;
+            this.type = type;
+            this.help = help;
+        }
+    }
+}
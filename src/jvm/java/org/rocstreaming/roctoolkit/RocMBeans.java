@@ -0,0 +1,343 @@
+package org.rocstreaming.roctoolkit;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Registration of roc MBeans in the platform MBean server.
+ * <p>
+ * MBeans are not registered by default. After {@link RocMBeans#register()} is called,
+ * the following MBeans are available in domain {@code org.rocstreaming.roctoolkit}:
+ * <ul>
+ *   <li>{@code type=NativeObjects} - {@link RocNativeObjectsMXBean}, numbers of open
+ *       contexts, senders, and receivers</li>
+ *   <li>{@code type=RocSender,id=<id>} - {@link RocSenderMXBean}, one per sender</li>
+ *   <li>{@code type=RocReceiver,id=<id>} - {@link RocReceiverMXBean}, one per receiver</li>
+ * </ul>
+ * <p>
+ * Sender and receiver MBeans are registered for objects already open at registration
+ * and for objects opened after it, and are unregistered when objects are closed, either
+ * explicitly or by garbage collector. MBeans don't prevent objects from being garbage
+ * collected.
+ * <p>
+ * Numbers and durations of write and read operations are recorded only while MBeans
+ * are registered, so that they cost nothing otherwise. Operations performed before
+ * registration are not counted.
+ * <p>
+ * This class is not available on Android.
+ */
+public final class RocMBeans {
+
+    private static final Logger LOGGER = Logger.getLogger(RocMBeans.class.getName());
+
+    /**
+     * Domain of all roc MBeans.
+     */
+    public static final String DOMAIN = "org.rocstreaming.roctoolkit";
+
+    private static final int INITIAL_CONNECTIONS = 8;
+
+    private static Registry registry;
+
+    private RocMBeans() {
+    }
+
+    /**
+     * Register MBeans in the platform MBean server.
+     * <p>
+     * Registers MBeans for all open senders and receivers, and starts registering MBeans
+     * for new ones. Does nothing if MBeans are already registered.
+     *
+     * @throws RocException   if registration failed.
+     */
+    public static synchronized void register() throws RocException {
+        if (registry != null) {
+            return;
+        }
+        Registry newRegistry = new Registry(ManagementFactory.getPlatformMBeanServer());
+        try {
+            newRegistry.registerMBean(objectName("NativeObjects", 0), new NativeObjectsBean());
+        } catch (JMException exc) {
+            throw new RocException("Failed to register MBeans: " + exc.getMessage());
+        }
+        // objects opened concurrently may be reported both by listener and by backfill,
+        // registry ignores duplicates
+        NativeObjectCleaner.getInstance().setListener(newRegistry);
+        NativeObjectCleaner.getInstance().forEachLive(newRegistry::opened);
+        OperationStats.addConsumer();
+        registry = newRegistry;
+    }
+
+    /**
+     * Unregister all roc MBeans from the platform MBean server.
+     * <p>
+     * Does nothing if MBeans are not registered.
+     */
+    public static synchronized void unregister() {
+        if (registry == null) {
+            return;
+        }
+        NativeObjectCleaner.getInstance().setListener(null);
+        registry.unregisterAll();
+        OperationStats.removeConsumer();
+        registry = null;
+    }
+
+    /**
+     * Check whether MBeans are registered.
+     */
+    public static synchronized boolean isRegistered() {
+        return registry != null;
+    }
+
+    static ObjectName objectName(String type, long id) {
+        try {
+            if (id == 0) {
+                return new ObjectName(DOMAIN + ":type=" + type);
+            }
+            return new ObjectName(DOMAIN + ":type=" + type + ",id=" + id);
+        } catch (JMException exc) {
+            throw new IllegalArgumentException(exc);
+        }
+    }
+
+    private static List<Slot> sortedSlots(Set<Slot> slots) {
+        List<Slot> sorted = new ArrayList<>(slots);
+        sorted.sort(Comparator.comparingInt(Slot::getValue));
+        return sorted;
+    }
+
+    private static class Registry implements NativeObjectListener {
+
+        private final MBeanServer server;
+        private final Map<Long, ObjectName> names = new ConcurrentHashMap<>();
+
+        Registry(MBeanServer server) {
+            this.server = server;
+        }
+
+        @Override
+        public void opened(NativeObject nativeObj) {
+            ObjectName name;
+            Object mbean;
+            if (nativeObj instanceof RocSender) {
+                name = objectName("RocSender", nativeObj.getId());
+                mbean = new SenderBean((RocSender) nativeObj);
+            } else if (nativeObj instanceof RocReceiver) {
+                name = objectName("RocReceiver", nativeObj.getId());
+                mbean = new ReceiverBean((RocReceiver) nativeObj);
+            } else {
+                return;
+            }
+            if (names.putIfAbsent(nativeObj.getId(), name) != null) {
+                // already registered
+                return;
+            }
+            try {
+                registerMBean(name, mbean);
+            } catch (JMException exc) {
+                names.remove(nativeObj.getId(), name);
+                LOGGER.log(Level.WARNING, "failed to register MBean, exception={0}", exc);
+                return;
+            }
+            if (!nativeObj.isOpen()) {
+                // closed concurrently, possibly before it was added to names
+                closed(nativeObj.getId());
+            }
+        }
+
+        @Override
+        public void closed(long id) {
+            ObjectName name = names.remove(id);
+            if (name != null) {
+                unregisterMBean(name);
+            }
+        }
+
+        void registerMBean(ObjectName name, Object mbean) throws JMException {
+            server.registerMBean(mbean, name);
+        }
+
+        void unregisterAll() {
+            unregisterMBean(objectName("NativeObjects", 0));
+            for (ObjectName name : names.values()) {
+                unregisterMBean(name);
+            }
+            names.clear();
+        }
+
+        private void unregisterMBean(ObjectName name) {
+            try {
+                server.unregisterMBean(name);
+            } catch (JMException exc) {
+                LOGGER.log(Level.WARNING, "failed to unregister MBean, exception={0}", exc);
+            }
+        }
+    }
+
+    private static class NativeObjectsBean implements RocNativeObjectsMXBean {
+
+        @Override
+        public int getContextCount() {
+            return NativeObjectCleaner.getInstance().countLive(RocContext.class);
+        }
+
+        @Override
+        public int getSenderCount() {
+            return NativeObjectCleaner.getInstance().countLive(RocSender.class);
+        }
+
+        @Override
+        public int getReceiverCount() {
+            return NativeObjectCleaner.getInstance().countLive(RocReceiver.class);
+        }
+    }
+
+    private static class SenderBean implements RocSenderMXBean {
+
+        // weak, so that MBean doesn't prevent sender from being collected
+        private final WeakReference<RocSender> sender;
+        private final OperationStats writeStats;
+
+        SenderBean(RocSender sender) {
+            this.sender = new WeakReference<>(sender);
+            this.writeStats = sender.getWriteStats();
+        }
+
+        @Override
+        public long getWriteCount() {
+            return writeStats.getCount();
+        }
+
+        @Override
+        public long getWriteNanos() {
+            return writeStats.getTotalNanos();
+        }
+
+        @Override
+        public int getSlotCount() {
+            RocSender currentSender = sender.get();
+            return currentSender != null ? currentSender.getSlots().size() : 0;
+        }
+
+        @Override
+        public List<RocSenderSlotMetrics> getSlotMetrics() {
+            RocSender currentSender = sender.get();
+            if (currentSender == null) {
+                return Collections.emptyList();
+            }
+
+            List<RocSenderSlotMetrics> result = new ArrayList<>();
+            RocSenderMetrics metrics = new RocSenderMetrics();
+
+            Lock closeLock = currentSender.getCloseLock();
+            closeLock.lock();
+            try {
+                if (!currentSender.isOpen()) {
+                    return Collections.emptyList();
+                }
+                for (Slot slot : sortedSlots(currentSender.getSlots())) {
+                    try {
+                        currentSender.query(slot, metrics);
+                    } catch (RocException exc) {
+                        // slot may be broken, skip it
+                        continue;
+                    }
+                    result.add(new RocSenderSlotMetrics(slot.getValue(), metrics.getConnectionCount()));
+                }
+            } finally {
+                closeLock.unlock();
+            }
+            return result;
+        }
+    }
+
+    private static class ReceiverBean implements RocReceiverMXBean {
+
+        // weak, so that MBean doesn't prevent receiver from being collected
+        private final WeakReference<RocReceiver> receiver;
+        private final OperationStats readStats;
+
+        ReceiverBean(RocReceiver receiver) {
+            this.receiver = new WeakReference<>(receiver);
+            this.readStats = receiver.getReadStats();
+        }
+
+        @Override
+        public long getReadCount() {
+            return readStats.getCount();
+        }
+
+        @Override
+        public long getReadNanos() {
+            return readStats.getTotalNanos();
+        }
+
+        @Override
+        public int getSlotCount() {
+            RocReceiver currentReceiver = receiver.get();
+            return currentReceiver != null ? currentReceiver.getSlots().size() : 0;
+        }
+
+        @Override
+        public List<RocReceiverSlotMetrics> getSlotMetrics() {
+            RocReceiver currentReceiver = receiver.get();
+            if (currentReceiver == null) {
+                return Collections.emptyList();
+            }
+
+            List<RocReceiverSlotMetrics> result = new ArrayList<>();
+            RocReceiverMetrics metrics = new RocReceiverMetrics();
+            RocConnectionMetrics[] connectionMetrics = newConnectionMetrics(INITIAL_CONNECTIONS);
+
+            Lock closeLock = currentReceiver.getCloseLock();
+            closeLock.lock();
+            try {
+                if (!currentReceiver.isOpen()) {
+                    return Collections.emptyList();
+                }
+                for (Slot slot : sortedSlots(currentReceiver.getSlots())) {
+                    int count;
+                    try {
+                        count = currentReceiver.query(slot, metrics, connectionMetrics);
+                        if (metrics.getConnectionCount() > connectionMetrics.length) {
+                            connectionMetrics = newConnectionMetrics(metrics.getConnectionCount());
+                            count = currentReceiver.query(slot, metrics, connectionMetrics);
+                        }
+                    } catch (RocException exc) {
+                        // slot may be broken, skip it
+                        continue;
+                    }
+                    long[] latencies = new long[count];
+                    for (int n = 0; n < count; n++) {
+                        latencies[n] = connectionMetrics[n].getE2eLatencyNanos();
+                    }
+                    result.add(new RocReceiverSlotMetrics(slot.getValue(), metrics.getConnectionCount(), latencies));
+                }
+            } finally {
+                closeLock.unlock();
+            }
+            return result;
+        }
+
+        private static RocConnectionMetrics[] newConnectionMetrics(int size) {
+            RocConnectionMetrics[] array = new RocConnectionMetrics[size];
+            Arrays.setAll(array, n -> new RocConnectionMetrics());
+            return array;
+        }
+    }
+}
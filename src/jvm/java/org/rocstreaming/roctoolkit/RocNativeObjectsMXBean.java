@@ -0,0 +1,25 @@
+package org.rocstreaming.roctoolkit;
+
+/**
+ * Management interface for live roc objects.
+ * <p>
+ * Registered as {@code org.rocstreaming.roctoolkit:type=NativeObjects} by
+ * {@link RocMBeans#register()}.
+ */
+public interface RocNativeObjectsMXBean {
+
+    /**
+     * Get number of open {@link RocContext} instances.
+     */
+    int getContextCount();
+
+    /**
+     * Get number of open {@link RocSender} instances.
+     */
+    int getSenderCount();
+
+    /**
+     * Get number of open {@link RocReceiver} instances.
+     */
+    int getReceiverCount();
+}
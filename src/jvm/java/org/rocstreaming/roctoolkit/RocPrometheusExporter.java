@@ -0,0 +1,129 @@
+package org.rocstreaming.roctoolkit;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * HTTP endpoint serving metrics of roc objects in Prometheus text format.
+ * <p>
+ * Serves {@code GET /metrics} using the JDK built-in HTTP server. Exposes metrics of all
+ * open senders and receivers:
+ * <ul>
+ *   <li>numbers of open, opened and garbage collected native objects</li>
+ *   <li>number of dropped libroc log messages</li>
+ *   <li>numbers and total durations of write and read operations, performed while any
+ *       exporter is running or MBeans are registered, see {@link RocMBeans}</li>
+ *   <li>histograms of write and read operations, for objects with enabled histograms,
+ *       see {@link RocSender#setHistogramsEnabled(boolean)} and
+ *       {@link RocReceiver#setHistogramsEnabled(boolean)}</li>
+ *   <li>per-slot metrics reported by roc, see {@link RocSender#query(Slot, RocSenderMetrics)}
+ *       and {@link RocReceiver#query(Slot, RocReceiverMetrics, RocConnectionMetrics[])}</li>
+ * </ul>
+ * <p>
+ * Senders and receivers are labeled by {@link NativeObject#getId()}. Metrics are rendered
+ * into buffers reused between scrapes, so frequent scrapes don't produce garbage
+ * proportional to the number of slots.
+ * <p>
+ * This class is not available on Android.
+ *
+ * @see java.lang.AutoCloseable
+ */
+public final class RocPrometheusExporter implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(RocPrometheusExporter.class.getName());
+
+    /**
+     * HTTP path of metrics endpoint.
+     */
+    public static final String PATH = "/metrics";
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final HttpServer server;
+    private final PrometheusRenderer renderer = new PrometheusRenderer();
+
+    private boolean closed;
+
+    /**
+     * Start HTTP server serving metrics.
+     * <p>
+     * Server runs in its own thread until {@link RocPrometheusExporter#close()} is called.
+     *
+     * @param address   address to listen on; port may be zero to choose any free port.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid.
+     * @throws RocException               if server can't be started.
+     */
+    public RocPrometheusExporter(InetSocketAddress address) throws RocException {
+        Check.notNull(address, "address");
+
+        try {
+            server = HttpServer.create(address, 0);
+        } catch (IOException exc) {
+            throw new RocException("Failed to start Prometheus exporter: " + exc.getMessage());
+        }
+        server.createContext(PATH, this::handle);
+        server.start();
+        OperationStats.addConsumer();
+
+        LOGGER.log(Level.FINE, "started Prometheus exporter, address={0}", server.getAddress());
+    }
+
+    /**
+     * Get address the server listens on.
+     */
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    /**
+     * Stop HTTP server.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        OperationStats.removeConsumer();
+        server.stop(0);
+        LOGGER.log(Level.FINE, "stopped Prometheus exporter");
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            if (!method.equals("GET") && !method.equals("HEAD")) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+
+            // renderer buffers are shared between requests
+            synchronized (renderer) {
+                int length = renderer.render();
+                if (method.equals("HEAD")) {
+                    exchange.sendResponseHeaders(200, -1);
+                    return;
+                }
+                exchange.sendResponseHeaders(200, length);
+                try (OutputStream body = exchange.getResponseBody()) {
+                    body.write(renderer.getBytes(), 0, length);
+                }
+            }
+        } catch (IOException | RuntimeException exc) {
+            LOGGER.log(Level.WARNING, "exception in Prometheus exporter, exception={0}", exc);
+            throw exc;
+        } finally {
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package org.rocstreaming.roctoolkit;
+
+import java.util.List;
+
+/**
+ * Management interface for {@link RocReceiver}.
+ * <p>
+ * Registered as {@code org.rocstreaming.roctoolkit:type=RocReceiver,id=<id>} for every
+ * receiver opened after {@link RocMBeans#register()}.
+ */
+public interface RocReceiverMXBean {
+
+    /**
+     * Get number of frames read from the receiver while MBeans are registered.
+     */
+    long getReadCount();
+
+    /**
+     * Get cumulative time spent in read operations while MBeans are registered,
+     * in nanoseconds.
+     * <p>
+     * Includes time spent waiting for {@link ClockSource#INTERNAL} clock. If this value
+     * grows while read count doesn't, the reader is stuck.
+     */
+    long getReadNanos();
+
+    /**
+     * Get number of slots with bound interfaces.
+     */
+    int getSlotCount();
+
+    /**
+     * Get latest metrics of every slot with bound interfaces.
+     * <p>
+     * Metrics are queried from the receiver when the attribute is read.
+     */
+    List<RocReceiverSlotMetrics> getSlotMetrics();
+}
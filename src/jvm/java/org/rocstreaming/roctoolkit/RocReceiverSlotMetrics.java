@@ -0,0 +1,48 @@
+package org.rocstreaming.roctoolkit;
+
+import java.beans.ConstructorProperties;
+import java.util.Arrays;
+
+/**
+ * Snapshot of metrics of one receiver slot, exposed by {@link RocReceiverMXBean}.
+ */
+public class RocReceiverSlotMetrics {
+
+    private final int slot;
+    private final int connectionCount;
+    private final long[] e2eLatencyNanos;
+
+    @ConstructorProperties({"slot", "connectionCount", "e2eLatencyNanos"})
+    public RocReceiverSlotMetrics(int slot, int connectionCount, long[] e2eLatencyNanos) {
+        this.slot = slot;
+        this.connectionCount = connectionCount;
+        this.e2eLatencyNanos = e2eLatencyNanos.clone();
+    }
+
+    /**
+     * Get slot index.
+     */
+    public int getSlot() {
+        return slot;
+    }
+
+    /**
+     * Get number of active connections.
+     */
+    public int getConnectionCount() {
+        return connectionCount;
+    }
+
+    /**
+     * Get estimated end-to-end latency of every connection, in nanoseconds.
+     */
+    public long[] getE2eLatencyNanos() {
+        return e2eLatencyNanos.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "RocReceiverSlotMetrics(slot=" + slot + ", connectionCount=" + connectionCount
+                + ", e2eLatencyNanos=" + Arrays.toString(e2eLatencyNanos) + ")";
+    }
+}
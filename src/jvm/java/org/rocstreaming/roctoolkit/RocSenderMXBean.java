@@ -0,0 +1,37 @@
+package org.rocstreaming.roctoolkit;
+
+import java.util.List;
+
+/**
+ * Management interface for {@link RocSender}.
+ * <p>
+ * Registered as {@code org.rocstreaming.roctoolkit:type=RocSender,id=<id>} for every
+ * sender opened after {@link RocMBeans#register()}.
+ */
+public interface RocSenderMXBean {
+
+    /**
+     * Get number of frames written to the sender while MBeans are registered.
+     */
+    long getWriteCount();
+
+    /**
+     * Get cumulative time spent in write operations while MBeans are registered,
+     * in nanoseconds.
+     * <p>
+     * Includes time spent waiting for {@link ClockSource#INTERNAL} clock.
+     */
+    long getWriteNanos();
+
+    /**
+     * Get number of slots with connected interfaces.
+     */
+    int getSlotCount();
+
+    /**
+     * Get latest metrics of every slot with connected interfaces.
+     * <p>
+     * Metrics are queried from the sender when the attribute is read.
+     */
+    List<RocSenderSlotMetrics> getSlotMetrics();
+}
@@ -0,0 +1,37 @@
+package org.rocstreaming.roctoolkit;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * Snapshot of metrics of one sender slot, exposed by {@link RocSenderMXBean}.
+ */
+public class RocSenderSlotMetrics {
+
+    private final int slot;
+    private final int connectionCount;
+
+    @ConstructorProperties({"slot", "connectionCount"})
+    public RocSenderSlotMetrics(int slot, int connectionCount) {
+        this.slot = slot;
+        this.connectionCount = connectionCount;
+    }
+
+    /**
+     * Get slot index.
+     */
+    public int getSlot() {
+        return slot;
+    }
+
+    /**
+     * Get number of active connections.
+     */
+    public int getConnectionCount() {
+        return connectionCount;
+    }
+
+    @Override
+    public String toString() {
+        return "RocSenderSlotMetrics(slot=" + slot + ", connectionCount=" + connectionCount + ")";
+    }
+}
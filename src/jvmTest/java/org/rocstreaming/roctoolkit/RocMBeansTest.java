@@ -0,0 +1,137 @@
+package org.rocstreaming.roctoolkit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.ManagementFactory;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RocMBeansTest extends BaseTest {
+
+    private static final ObjectName NATIVE_OBJECTS = RocMBeans.objectName("NativeObjects", 0);
+
+    private final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+    @BeforeEach
+    public void beforeEach() throws Exception {
+        RocMBeans.register();
+    }
+
+    @AfterEach
+    public void afterEach() {
+        RocMBeans.unregister();
+    }
+
+    @Test
+    public void testNativeObjects() throws Exception {
+        int contexts = (int) server.getAttribute(NATIVE_OBJECTS, "ContextCount");
+        int senders = (int) server.getAttribute(NATIVE_OBJECTS, "SenderCount");
+
+        try (
+                RocContext context = new RocContext();
+                RocSender sender = new RocSender(context, RocSenderTest.CONFIG)
+        ) {
+            assertEquals(contexts + 1, server.getAttribute(NATIVE_OBJECTS, "ContextCount"));
+            assertEquals(senders + 1, server.getAttribute(NATIVE_OBJECTS, "SenderCount"));
+        }
+
+        assertEquals(contexts, server.getAttribute(NATIVE_OBJECTS, "ContextCount"));
+        assertEquals(senders, server.getAttribute(NATIVE_OBJECTS, "SenderCount"));
+    }
+
+    @Test
+    public void testSender() throws Exception {
+        try (
+                RocContext context = new RocContext();
+                RocSender sender = new RocSender(context, RocSenderTest.CONFIG)
+        ) {
+            ObjectName name = RocMBeans.objectName("RocSender", sender.getId());
+            assertTrue(server.isRegistered(name));
+
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://127.0.0.1:10001"));
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_REPAIR, new Endpoint("rs8m://127.0.0.1:10002"));
+            sender.write(new float[]{0, 0});
+
+            assertEquals(1L, server.getAttribute(name, "WriteCount"));
+            assertTrue((long) server.getAttribute(name, "WriteNanos") > 0);
+            assertEquals(1, server.getAttribute(name, "SlotCount"));
+
+            CompositeData[] slotMetrics = (CompositeData[]) server.getAttribute(name, "SlotMetrics");
+            assertEquals(1, slotMetrics.length);
+            assertEquals(0, slotMetrics[0].get("slot"));
+
+            sender.close();
+            assertFalse(server.isRegistered(name));
+        }
+    }
+
+    @Test
+    public void testReceiver() throws Exception {
+        try (
+                RocContext context = new RocContext();
+                RocReceiver receiver = new RocReceiver(context, RocReceiverTest.CONFIG)
+        ) {
+            ObjectName name = RocMBeans.objectName("RocReceiver", receiver.getId());
+            assertTrue(server.isRegistered(name));
+
+            receiver.bind(new Slot(1), Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://127.0.0.1:0"));
+            receiver.bind(new Slot(2), Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://127.0.0.1:0"));
+            receiver.read(new float[2]);
+
+            assertEquals(1L, server.getAttribute(name, "ReadCount"));
+            assertEquals(2, server.getAttribute(name, "SlotCount"));
+
+            CompositeData[] slotMetrics = (CompositeData[]) server.getAttribute(name, "SlotMetrics");
+            assertEquals(2, slotMetrics.length);
+            assertEquals(1, slotMetrics[0].get("slot"));
+            assertEquals(0, slotMetrics[0].get("connectionCount"));
+            assertEquals(2, slotMetrics[1].get("slot"));
+
+            receiver.unlink(new Slot(1));
+            assertEquals(1, server.getAttribute(name, "SlotCount"));
+        }
+    }
+
+    @Test
+    public void testRegisterAfterOpen() throws Exception {
+        RocMBeans.unregister();
+        try (
+                RocContext context = new RocContext();
+                RocSender sender = new RocSender(context, RocSenderTest.CONFIG);
+                RocReceiver receiver = new RocReceiver(context, RocReceiverTest.CONFIG)
+        ) {
+            ObjectName senderName = RocMBeans.objectName("RocSender", sender.getId());
+            ObjectName receiverName = RocMBeans.objectName("RocReceiver", receiver.getId());
+            assertFalse(server.isRegistered(senderName));
+
+            // objects opened before registration get MBeans too
+            RocMBeans.register();
+            assertTrue(server.isRegistered(senderName));
+            assertTrue(server.isRegistered(receiverName));
+
+            sender.close();
+            receiver.close();
+            assertFalse(server.isRegistered(senderName));
+            assertFalse(server.isRegistered(receiverName));
+        }
+    }
+
+    @Test
+    public void testUnregister() throws Exception {
+        try (
+                RocContext context = new RocContext();
+                RocSender sender = new RocSender(context, RocSenderTest.CONFIG)
+        ) {
+            RocMBeans.unregister();
+            assertFalse(RocMBeans.isRegistered());
+            Set<ObjectName> names = server.queryNames(new ObjectName(RocMBeans.DOMAIN + ":*"), null);
+            assertTrue(names.isEmpty());
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package org.rocstreaming.roctoolkit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RocPrometheusExporterTest extends BaseTest {
+
+    private RocPrometheusExporter exporter;
+
+    @BeforeEach
+    public void beforeEach() throws Exception {
+        exporter = new RocPrometheusExporter(new InetSocketAddress("127.0.0.1", 0));
+    }
+
+    @AfterEach
+    public void afterEach() {
+        exporter.close();
+    }
+
+    @Test
+    public void testSender() throws Exception {
+        try (
+                RocContext context = new RocContext();
+                RocSender sender = new RocSender(context, RocSenderTest.CONFIG)
+        ) {
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://127.0.0.1:10001"));
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_REPAIR, new Endpoint("rs8m://127.0.0.1:10002"));
+            sender.setHistogramsEnabled(true);
+            sender.write(new float[]{0, 0});
+
+            String id = "sender=\"" + sender.getId() + "\"";
+            String text = scrape();
+            assertTrue(text.contains("# TYPE roc_native_objects gauge\n"));
+            assertTrue(text.contains("# TYPE roc_log_messages_dropped_total counter\n"));
+            assertTrue(text.contains("roc_sender_write_calls_total{" + id + "} 1\n"));
+            assertTrue(text.contains("roc_sender_connections{" + id + ",slot=\"0\"} "));
+            assertTrue(text.contains("# TYPE roc_sender_write_duration_seconds histogram\n"));
+            assertTrue(text.contains("roc_sender_write_duration_seconds_bucket{" + id + ",le=\"+Inf\"} 1\n"));
+            assertTrue(text.contains("roc_sender_write_duration_seconds_count{" + id + "} 1\n"));
+
+            // buffers are reused between scrapes
+            assertEquals(text, scrape());
+        }
+    }
+
+    @Test
+    public void testReceiver() throws Exception {
+        try (
+                RocContext context = new RocContext();
+                RocReceiver receiver = new RocReceiver(context, RocReceiverTest.CONFIG)
+        ) {
+            receiver.bind(new Slot(1), Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://127.0.0.1:0"));
+            receiver.read(new float[2]);
+
+            String id = "receiver=\"" + receiver.getId() + "\"";
+            String text = scrape();
+            assertTrue(text.contains("roc_receiver_read_calls_total{" + id + "} 1\n"));
+            assertTrue(text.contains("roc_receiver_connections{" + id + ",slot=\"1\"} 0\n"));
+            assertFalse(text.contains("roc_receiver_read_duration_seconds_count{" + id + "}"));
+        }
+
+        assertFalse(scrape().contains("roc_receiver_read_calls_total{receiver="));
+    }
+
+    @Test
+    public void testMethodNotAllowed() throws Exception {
+        HttpURLConnection connection = open();
+        connection.setRequestMethod("POST");
+        assertEquals(405, connection.getResponseCode());
+        connection.disconnect();
+    }
+
+    @Test
+    public void testAppendSeconds() {
+        assertEquals("0", PrometheusRenderer.appendSeconds(new StringBuilder(), 0).toString());
+        assertEquals("1", PrometheusRenderer.appendSeconds(new StringBuilder(), 1000000000L).toString());
+        assertEquals("0.000001024", PrometheusRenderer.appendSeconds(new StringBuilder(), 1024).toString());
+        assertEquals("1.5", PrometheusRenderer.appendSeconds(new StringBuilder(), 1500000000L).toString());
+        assertEquals("12.00012", PrometheusRenderer.appendSeconds(new StringBuilder(), 12000120000L).toString());
+        assertEquals("-0.001", PrometheusRenderer.appendSeconds(new StringBuilder(), -1000000L).toString());
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new RocPrometheusExporter(null));
+        assertThrows(RocException.class, () -> new RocPrometheusExporter(exporter.getAddress()));
+    }
+
+    private String scrape() throws Exception {
+        HttpURLConnection connection = open();
+        try {
+            assertEquals(200, connection.getResponseCode());
+            assertTrue(connection.getContentType().startsWith("text/plain; version=0.0.4"));
+            try (InputStream in = connection.getInputStream()) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] buf = new byte[4096];
+                int n;
+                while ((n = in.read(buf)) > 0) {
+                    out.write(buf, 0, n);
+                }
+                return new String(out.toByteArray(), StandardCharsets.UTF_8);
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private HttpURLConnection open() throws Exception {
+        InetSocketAddress address = exporter.getAddress();
+        URL url = new URL("http://127.0.0.1:" + address.getPort() + RocPrometheusExporter.PATH);
+        return (HttpURLConnection) url.openConnection();
+    }
+}
@@ -0,0 +1,28 @@
+package org.rocstreaming.roctoolkit;
+
+/**
+ * Defines how sender and receiver access Java arrays passed to write and read operations.
+ *
+ * @see RocSender#setArrayAccessMode(ArrayAccessMode)
+ * @see RocReceiver#setArrayAccessMode(ArrayAccessMode)
+ */
+public enum ArrayAccessMode {
+
+    /**
+     * Copy samples between Java array and native memory.
+     * <p>
+     * Only the requested range of the array is copied, once per frame. Works with any
+     * clock source. This is the default mode.
+     */
+    COPY,
+
+    /**
+     * Access Java array memory directly, without copying, when JVM allows it.
+     * <p>
+     * While a frame is processed, JVM may block garbage collection. Native write and read
+     * never block, because {@link ClockSource#INTERNAL} is implemented in Java, and waiting
+     * for the clock happens before the array is accessed. Samples passed to write operation
+     * are never copied back to Java heap.
+     */
+    CRITICAL,
+}
@@ -0,0 +1,36 @@
+package org.rocstreaming.roctoolkit;
+
+/**
+ * Accounting of sample bytes copied between Java arrays and native memory.
+ * <p>
+ * Counts bytes actually copied by {@code float[]} write and read operations: the requested
+ * range in {@link ArrayAccessMode#COPY} mode, and the whole array in
+ * {@link ArrayAccessMode#CRITICAL} mode when JVM reports that it made a copy instead of
+ * pinning the array. Disabled by default and used only by benchmarks.
+ */
+final class ArrayCopyStats {
+
+    static {
+        RocLibrary.loadLibrary();
+    }
+
+    private ArrayCopyStats() {
+    }
+
+    /**
+     * Enable or disable accounting.
+     */
+    static void setEnabled(boolean enabled) {
+        nativeSetEnabled(enabled);
+    }
+
+    /**
+     * Get number of bytes copied since previous call and reset the counter.
+     */
+    static long takeBytesCopied() {
+        return nativeTakeBytesCopied();
+    }
+
+    private static native void nativeSetEnabled(boolean enabled);
+    private static native long nativeTakeBytesCopied();
+}
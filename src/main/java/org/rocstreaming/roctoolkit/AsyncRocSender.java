@@ -0,0 +1,275 @@
+package org.rocstreaming.roctoolkit;
+
+import java.time.Duration;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Asynchronous wrapper for {@link RocSender}.
+ * <p>
+ * Samples written to async sender are put into a preallocated ring buffer, and a
+ * dedicated pacing thread takes them from the ring buffer frame by frame and writes
+ * them to the underlying sender. Hence, the user thread never blocks, even if the
+ * sender uses {@link ClockSource#INTERNAL} and its write blocks until it's time to
+ * send the next frame.
+ * <p>
+ * Async sender is intended for senders with {@link ClockSource#INTERNAL}, whose clock
+ * drives the pacing thread. With {@link ClockSource#EXTERNAL}, samples are written to
+ * the sender as soon as a full frame is available.
+ * <p>
+ * Async sender doesn't interrupt the underlying sender, so other threads may write to
+ * the same sender. Instead, the pacing thread waits for each frame in short slices,
+ * see {@link RocSender#tryWrite(float[], int, int, Duration)}, and checks whether it's
+ * closed between them.
+ *
+ *
+ * <h2>Overflow and underrun</h2>
+ * <p>
+ * If there is not enough free space in the ring buffer, write is rejected and the
+ * samples are dropped. Number of dropped samples can be obtained using
+ * {@link AsyncRocSender#getDroppedSamples()}.
+ * <p>
+ * If the ring buffer doesn't have enough samples for the next frame, the pacing
+ * thread waits until they are written. Number of times it happened can be obtained
+ * using {@link AsyncRocSender#getUnderruns()}.
+ *
+ *
+ * <h2>Life cycle</h2>
+ * <p>
+ * The pacing thread is started when async sender is created and stopped when it's
+ * closed. Samples remaining in the ring buffer at that moment are not sent. Closing
+ * async sender does not close the underlying sender.
+ *
+ *
+ * <h2>Thread safety</h2>
+ * <p>
+ * Write operations should not be called concurrently, i.e. there should be a single
+ * producer at a time. Other methods may be called from any thread.
+ *
+ *
+ * <h2>Example</h2>
+ * <pre>
+ * {@code
+ * try (
+ *     RocContext context = new RocContext();
+ *     RocSender sender = new RocSender(context, senderConfig);
+ * ) {
+ *     sender.connect(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp://192.168.0.1:10001"));
+ *     try (AsyncRocSender asyncSender = new AsyncRocSender(sender, 882, 44100)) {
+ *         asyncSender.write(samples);
+ *     }
+ * }
+ * }
+ * </pre>
+ *
+ * @see RocSender
+ */
+public class AsyncRocSender implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(AsyncRocSender.class.getName());
+
+    // how often pacing thread checks if async sender is closed while waiting to write frame
+    private static final Duration WRITE_POLL_INTERVAL = Duration.ofMillis(50);
+
+    private final RocSender sender;
+    private final int frameSize;
+    private final float[] ring;
+    private final Thread thread;
+
+    // total number of samples written by producer and consumed by pacing thread
+    private volatile long writePos;
+    private volatile long readPos;
+
+    private volatile boolean waiting;
+    private volatile boolean closed;
+
+    private volatile long droppedSamples;
+    private volatile long underruns;
+
+    /**
+     * Create async sender and start pacing thread.
+     *
+     * @param sender      sender to which samples are written.
+     * @param frameSize   number of samples passed to each write of the underlying sender,
+     *                    for all channels.
+     * @param capacity    ring buffer size in samples; rounded up to a multiple of
+     *                    {@code frameSize}.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid.
+     */
+    public AsyncRocSender(RocSender sender, int frameSize, int capacity) {
+        Check.notNull(sender, "RocSender");
+        Check.inRange(frameSize, 1, Integer.MAX_VALUE, "frameSize");
+        Check.inRange(capacity, 1, Integer.MAX_VALUE - frameSize, "capacity");
+
+        this.sender = sender;
+        this.frameSize = frameSize;
+        // frames never wrap around ring end, so they can be written directly from ring
+        this.ring = new float[(capacity + frameSize - 1) / frameSize * frameSize];
+
+        this.thread = new Thread(this::run, "roc-async-sender");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Put samples into ring buffer.
+     *
+     * @param samples   array of samples to send.
+     *
+     * @return {@code true} if samples were queued, or {@code false} if there is not
+     * enough free space in ring buffer and samples were dropped.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid.
+     * @throws IllegalStateException      if async sender is closed.
+     */
+    public boolean write(float[] samples) {
+        Check.notNull(samples, "samples");
+
+        return write(samples, 0, samples.length);
+    }
+
+    /**
+     * Put a range of samples into ring buffer.
+     *
+     * @param samples   array of samples to send.
+     * @param offset    index of the first sample to send.
+     * @param length    number of samples to send.
+     *
+     * @return {@code true} if samples were queued, or {@code false} if there is not
+     * enough free space in ring buffer and samples were dropped.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid.
+     * @throws IllegalStateException      if async sender is closed.
+     */
+    public boolean write(float[] samples, int offset, int length) {
+        Check.notNull(samples, "samples");
+        Check.inBounds(samples.length, offset, length, "samples");
+        if (closed) {
+            throw new IllegalStateException("AsyncRocSender is closed");
+        }
+
+        final long pos = writePos;
+        if (ring.length - (pos - readPos) < length) {
+            droppedSamples += length;
+            return false;
+        }
+
+        int index = (int) (pos % ring.length);
+        int first = Math.min(length, ring.length - index);
+        System.arraycopy(samples, offset, ring, index, first);
+        System.arraycopy(samples, offset + first, ring, 0, length - first);
+
+        // publish samples to pacing thread
+        writePos = pos + length;
+
+        if (waiting) {
+            LockSupport.unpark(thread);
+        }
+        return true;
+    }
+
+    /**
+     * Get number of samples in ring buffer which are not yet written to sender.
+     */
+    public int getFillLevel() {
+        return (int) (writePos - readPos);
+    }
+
+    /**
+     * Get ring buffer size in samples.
+     */
+    public int getCapacity() {
+        return ring.length;
+    }
+
+    /**
+     * Get total number of samples dropped because ring buffer was full.
+     */
+    public long getDroppedSamples() {
+        return droppedSamples;
+    }
+
+    /**
+     * Get number of times pacing thread had to wait for samples because ring buffer
+     * didn't have a full frame.
+     */
+    public long getUnderruns() {
+        return underruns;
+    }
+
+    /**
+     * Stop pacing thread.
+     * <p>
+     * Waits until pacing thread exits, which takes no longer than one frame or a few tens
+     * of milliseconds. Does not close or interrupt the underlying sender.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        LockSupport.unpark(thread);
+
+        boolean interrupted = false;
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        boolean starving = false;
+
+        while (!closed) {
+            final long pos = readPos;
+
+            if (writePos - pos < frameSize) {
+                if (!starving && pos != 0) {
+                    starving = true;
+                    underruns++;
+                }
+                waitSamples(pos);
+                continue;
+            }
+            starving = false;
+
+            try {
+                int offset = (int) (pos % ring.length);
+                if (!sender.tryWrite(ring, offset, frameSize, WRITE_POLL_INTERVAL)) {
+                    continue;
+                }
+            } catch (RocException exc) {
+                if (closed) {
+                    break;
+                }
+                LOGGER.log(Level.SEVERE, "exception in AsyncRocSender, exception={0}", exc);
+            } catch (RuntimeException exc) {
+                // e.g. sender was closed, no sense to continue
+                LOGGER.log(Level.SEVERE, "exception in AsyncRocSender, stopping, exception={0}", exc);
+                break;
+            }
+
+            // free space in ring only after frame was written
+            readPos = pos + frameSize;
+        }
+    }
+
+    private void waitSamples(long pos) {
+        waiting = true;
+        // re-check after setting flag, so that we don't miss unpark from producer
+        if (writePos - pos < frameSize && !closed) {
+            LockSupport.park(this);
+        }
+        waiting = false;
+    }
+}
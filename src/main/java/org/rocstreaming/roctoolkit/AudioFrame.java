@@ -0,0 +1,85 @@
+package org.rocstreaming.roctoolkit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Frame of audio samples.
+ * <p>
+ * Frames produced by roctoolkit are allocated from a pool and returned to it when
+ * they are no longer used, so that sample buffers are reused instead of being
+ * allocated for every frame. Hence, a frame should not be accessed after it was
+ * released.
+ *
+ * @see FrameListener
+ */
+public final class AudioFrame {
+
+    private final AudioFramePool pool;
+    private final float[] samples;
+    private final AtomicInteger refs = new AtomicInteger();
+
+    private long sequence;
+
+    /**
+     * Create frame wrapping given samples.
+     * <p>
+     * Such frame doesn't belong to any pool, and releasing it does nothing.
+     *
+     * @param samples   interleaved samples.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid.
+     */
+    public AudioFrame(float[] samples) {
+        this.pool = null;
+        this.samples = Check.notNull(samples, "samples");
+        this.refs.set(1);
+    }
+
+    AudioFrame(AudioFramePool pool, int size) {
+        this.pool = pool;
+        this.samples = new float[size];
+    }
+
+    /**
+     * Get frame samples.
+     * <p>
+     * Samples are interleaved, in the same format as passed to {@link RocReceiver#read(float[])}.
+     * The array is owned by the frame and is reused after the frame is released.
+     */
+    public float[] getSamples() {
+        return samples;
+    }
+
+    /**
+     * Get frame sequence number.
+     * <p>
+     * Frames produced by the same source are numbered sequentially starting from zero.
+     * A gap in numbers means that frames were dropped.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    void retain() {
+        refs.incrementAndGet();
+    }
+
+    /**
+     * Return frame to its pool.
+     * <p>
+     * Should be called by the owner of the frame when it's no longer needed, e.g. by
+     * a subscriber that received the frame from {@code RocReceiverPublisher}. If not
+     * called, the frame is just garbage collected. Frames borrowed by
+     * {@link FrameListener} are released automatically and should not be released
+     * by the listener.
+     */
+    public void release() {
+        if (refs.decrementAndGet() == 0 && pool != null) {
+            pool.recycle(this);
+        }
+    }
+}
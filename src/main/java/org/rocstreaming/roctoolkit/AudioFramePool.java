@@ -0,0 +1,77 @@
+package org.rocstreaming.roctoolkit;
+
+import java.util.ArrayDeque;
+
+/**
+ * Pool of frames of the same size.
+ * <p>
+ * Owns up to {@code capacity} frames, preallocated on creation and when capacity grows.
+ * If all owned frames are in use, a new frame is allocated; if the pool already owns more
+ * frames than its capacity, recycled frame is left to GC. Never blocks.
+ */
+class AudioFramePool {
+
+    private final int frameSize;
+    private final ArrayDeque<AudioFrame> freeFrames = new ArrayDeque<>();
+
+    private int capacity;
+    private int ownedFrames;
+    private long extraAllocations;
+
+    AudioFramePool(int frameSize, int capacity) {
+        this.frameSize = frameSize;
+        setCapacity(capacity);
+    }
+
+    /**
+     * Change number of frames owned by pool.
+     * <p>
+     * When growing, missing frames are allocated immediately. When shrinking, extra frames
+     * are released as they're recycled.
+     */
+    synchronized void setCapacity(int capacity) {
+        this.capacity = capacity;
+        while (ownedFrames < capacity) {
+            freeFrames.push(new AudioFrame(this, frameSize));
+            ownedFrames++;
+        }
+        while (ownedFrames > capacity && !freeFrames.isEmpty()) {
+            freeFrames.pop();
+            ownedFrames--;
+        }
+    }
+
+    /**
+     * Get number of frames allocated because all frames owned by pool were in use.
+     */
+    synchronized long getExtraAllocations() {
+        return extraAllocations;
+    }
+
+    /**
+     * Get frame from pool. Returned frame has one reference.
+     */
+    AudioFrame acquire() {
+        AudioFrame frame;
+        synchronized (this) {
+            frame = freeFrames.poll();
+            if (frame == null) {
+                extraAllocations++;
+                ownedFrames++;
+            }
+        }
+        if (frame == null) {
+            frame = new AudioFrame(this, frameSize);
+        }
+        frame.retain();
+        return frame;
+    }
+
+    synchronized void recycle(AudioFrame frame) {
+        if (ownedFrames > capacity) {
+            ownedFrames--;
+            return;
+        }
+        freeFrames.push(frame);
+    }
+}
@@ -55,4 +55,21 @@ class Check {
         }
         return value;
     }
+
+    static void inBounds(int arrayLength, int offset, int length, String name) {
+        if (offset < 0 || length < 0 || offset > arrayLength - length) {
+            throw new IllegalArgumentException("Invalid " + name + ": offset and length must be within array bounds");
+        }
+    }
+
+    static void sameLength(float[][] arrays, String name) {
+        for (float[] array : arrays) {
+            if (array == null) {
+                throw new IllegalArgumentException("Invalid " + name + ": must not contain null");
+            }
+            if (array.length != arrays[0].length) {
+                throw new IllegalArgumentException("Invalid " + name + ": must have equal length");
+            }
+        }
+    }
 }
@@ -1,6 +1,5 @@
 package org.rocstreaming.roctoolkit;
 
-import lombok.Builder;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 
@@ -53,12 +52,19 @@ import lombok.Getter;
  * and check only for errors returned by bind and connect operations.
  *
  *
+ * <h2>URI parsing and formatting</h2>
+ * <p>
+ * Endpoints are parsed, validated, and formatted in Java, following the same grammar and
+ * rules as libroc, so creating endpoints and getting their URIs doesn't involve native calls.
+ * The URI is formatted once and cached. Frequently reused URIs are parsed only once. Use
+ * {@link Endpoint#validate()} to additionally check the endpoint with libroc.
+ *
+ *
  * <h2>Thread safety</h2>
  * <p>
  * Should not be used concurrently.
  */
 @Getter
-@Builder(builderClassName = "Builder", toBuilder = true)
 @EqualsAndHashCode
 public class Endpoint {
 
@@ -93,6 +99,12 @@ public class Endpoint {
      */
     private String resource;
 
+    /**
+     * URI formatted from the fields above
+     */
+    @EqualsAndHashCode.Exclude
+    private String uri;
+
     /**
      * Create endpoint from URI
      *
@@ -101,7 +113,12 @@ public class Endpoint {
      * @throws IllegalArgumentException  if URI is invalid
      */
     public Endpoint(String uri) {
-        nativeParseUri(uri);
+        EndpointUri parsed = EndpointUri.parse(uri);
+        this.protocol = parsed.protocol;
+        this.host = parsed.host;
+        this.port = parsed.port;
+        this.resource = parsed.resource;
+        this.uri = parsed.uri;
     }
 
     /**
@@ -121,12 +138,13 @@ public class Endpoint {
      *
      * @throws IllegalArgumentException  if URI components don't form a valid URI
      */
+    @lombok.Builder(builderClassName = "Builder", toBuilder = true)
     public Endpoint(Protocol protocol, String host, int port, String resource) {
-        this.protocol = Check.notNull(protocol, "endpoint protocol");
-        this.host = Check.notEmpty(host, "endpoint host");
+        this.uri = EndpointUri.format(protocol, host, port, resource);
+        this.protocol = protocol;
+        this.host = host;
         this.port = port;
         this.resource = resource;
-        nativeValidate();
     }
 
     /**
@@ -153,7 +171,7 @@ public class Endpoint {
      * Get string URI describing this endpoint.
      */
     public String getUri() {
-        return nativeFormatUri();
+        return uri;
     }
 
     /**
@@ -164,7 +182,28 @@ public class Endpoint {
         return getUri();
     }
 
-    private native void nativeParseUri(String uri);
-    private native String nativeFormatUri();
+    /**
+     * Validate endpoint using libroc.
+     * <p>
+     * Endpoint is already validated in Java when constructed, and sender and receiver
+     * validate it using libroc when binding or connecting. This method allows to get libroc
+     * verdict earlier, without binding or connecting.
+     *
+     * @throws IllegalArgumentException  if libroc considers the endpoint invalid
+     */
+    public void validate() {
+        nativeValidate();
+    }
+
+    /**
+     * Set port, e.g. when it was selected by libroc during bind.
+     */
+    void setPort(int port) {
+        if (port != this.port) {
+            this.uri = EndpointUri.format(protocol, host, port, resource);
+            this.port = port;
+        }
+    }
+
     private native void nativeValidate();
 }
@@ -0,0 +1,331 @@
+package org.rocstreaming.roctoolkit;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Pure-Java parser and formatter of endpoint URIs.
+ * <p>
+ * Follows the grammar and checks of libroc endpoint URIs, so that creating endpoints and
+ * getting their URIs doesn't need native calls:
+ * <pre>
+ *   uri      = scheme "://" host [ ":" port ] [ resource ]
+ *   host     = 1*( any char except "/" ":" "?" "#" "@" "[" "]" and whitespace )
+ *            / "[" 1*( ALPHA / DIGIT / ":" / "." / "%" ) "]"
+ *   port     = 1*DIGIT, in range [0; 65535]
+ *   resource = "/" *( pchar / "/" ) [ "?" *( pchar / "/" ) ]
+ *            / "?" *( pchar / "/" )
+ *   pchar    = unreserved / pct-encoded / sub-delims / ":" / "@"
+ * </pre>
+ * The port may be omitted only if the protocol defines standard port, and the resource is
+ * allowed only if the protocol supports it.
+ * <p>
+ * Parsed URIs are interned in a small LRU cache, so that frequently reused URIs are parsed
+ * only once.
+ */
+final class EndpointUri {
+
+    // Maximum number of interned URIs.
+    private static final int CACHE_SIZE = 256;
+
+    private static final Map<String, EndpointUri> CACHE = Collections.synchronizedMap(
+            new LinkedHashMap<String, EndpointUri>(CACHE_SIZE, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, EndpointUri> eldest) {
+                    return size() > CACHE_SIZE;
+                }
+            });
+
+    final Protocol protocol;
+    final String host;
+    final int port;
+    final String resource;
+    final String uri;
+
+    private EndpointUri(Protocol protocol, String host, int port, String resource, String uri) {
+        this.protocol = protocol;
+        this.host = host;
+        this.port = port;
+        this.resource = resource;
+        this.uri = uri;
+    }
+
+    /**
+     * Parse URI, or get it from cache if it was already parsed.
+     *
+     * @throws IllegalArgumentException   if URI is invalid.
+     */
+    static EndpointUri parse(String uri) {
+        if (uri == null) {
+            throw new IllegalArgumentException("Invalid endpoint uri: must not be null");
+        }
+        EndpointUri result = CACHE.get(uri);
+        if (result == null) {
+            result = parseUncached(uri);
+            CACHE.put(uri, result);
+        }
+        return result;
+    }
+
+    /**
+     * Check endpoint components and format them into URI.
+     *
+     * @throws IllegalArgumentException   if components don't form a valid URI.
+     */
+    static String format(Protocol protocol, String host, int port, String resource) {
+        Check.notNull(protocol, "endpoint protocol");
+        Check.notEmpty(host, "endpoint host");
+        if (!isValidHost(host, 0, host.length())) {
+            throw new IllegalArgumentException("Invalid endpoint host");
+        }
+        if (port < -1 || port > 65535) {
+            throw new IllegalArgumentException("Invalid endpoint port");
+        }
+        if (resource != null && !isValidResource(resource, 0, resource.length())) {
+            throw new IllegalArgumentException("Invalid endpoint resource");
+        }
+        verify(protocol, port, resource);
+
+        return build(protocol, host, port, resource);
+    }
+
+    private static EndpointUri parseUncached(String uri) {
+        int schemeEnd = uri.indexOf("://");
+        Protocol protocol = schemeEnd > 0 ? protocol(uri.substring(0, schemeEnd)) : null;
+        if (protocol == null) {
+            throw invalidUri();
+        }
+
+        int hostStart = schemeEnd + 3;
+        int hostEnd = hostStart;
+        if (hostEnd < uri.length() && uri.charAt(hostEnd) == '[') {
+            hostEnd = uri.indexOf(']', hostEnd);
+            if (hostEnd < 0) {
+                throw invalidUri();
+            }
+            hostEnd++;
+        } else {
+            while (hostEnd < uri.length() && !isHostDelimiter(uri.charAt(hostEnd))) {
+                hostEnd++;
+            }
+        }
+        if (!isValidHost(uri, hostStart, hostEnd)) {
+            throw invalidUri();
+        }
+
+        int port = -1;
+        int portEnd = hostEnd;
+        if (portEnd < uri.length() && uri.charAt(portEnd) == ':') {
+            int portStart = portEnd + 1;
+            portEnd = portStart;
+            while (portEnd < uri.length() && isDigit(uri.charAt(portEnd))) {
+                portEnd++;
+            }
+            port = parsePort(uri, portStart, portEnd);
+        }
+
+        String resource = null;
+        if (portEnd < uri.length()) {
+            if (!isValidResource(uri, portEnd, uri.length())) {
+                throw invalidUri();
+            }
+            resource = uri.substring(portEnd);
+        }
+
+        verify(protocol, port, resource);
+
+        String host = uri.substring(hostStart, hostEnd);
+        // format back, so that URI is normalized same way as by libroc, e.g. "rtsp://host:080"
+        // becomes "rtsp://host:80"
+        return new EndpointUri(protocol, host, port, resource, build(protocol, host, port, resource));
+    }
+
+    private static String build(Protocol protocol, String host, int port, String resource) {
+        StringBuilder builder = new StringBuilder(scheme(protocol))
+                .append("://")
+                .append(host);
+        if (port >= 0) {
+            builder.append(':').append(port);
+        }
+        if (resource != null) {
+            builder.append(resource);
+        }
+        return builder.toString();
+    }
+
+    static String scheme(Protocol protocol) {
+        switch (protocol) {
+            case RTSP:
+                return "rtsp";
+            case RTP:
+                return "rtp";
+            case RTP_RS8M_SOURCE:
+                return "rtp+rs8m";
+            case RS8M_REPAIR:
+                return "rs8m";
+            case RTP_LDPC_SOURCE:
+                return "rtp+ldpc";
+            case LDPC_REPAIR:
+                return "ldpc";
+            case RTCP:
+                return "rtcp";
+            default:
+                break;
+        }
+        // Can't happen.
+        throw new IllegalArgumentException("Invalid endpoint protocol");
+    }
+
+    private static Protocol protocol(String scheme) {
+        switch (scheme) {
+            case "rtsp":
+                return Protocol.RTSP;
+            case "rtp":
+                return Protocol.RTP;
+            case "rtp+rs8m":
+                return Protocol.RTP_RS8M_SOURCE;
+            case "rs8m":
+                return Protocol.RS8M_REPAIR;
+            case "rtp+ldpc":
+                return Protocol.RTP_LDPC_SOURCE;
+            case "ldpc":
+                return Protocol.LDPC_REPAIR;
+            case "rtcp":
+                return Protocol.RTCP;
+            default:
+                return null;
+        }
+    }
+
+    // Checks of complete endpoint, done by libroc when formatting URI.
+    private static void verify(Protocol protocol, int port, String resource) {
+        boolean isRtsp = protocol == Protocol.RTSP;
+        // only RTSP defines standard port
+        if (port < 0 && !isRtsp) {
+            throw invalidUri();
+        }
+        // only RTSP supports path and query
+        if (resource != null && !resource.isEmpty() && !isRtsp) {
+            throw invalidUri();
+        }
+    }
+
+    private static int parsePort(String str, int start, int end) {
+        // at most 5 digits, so that parsing can't overflow
+        if (start == end || end - start > 5) {
+            throw invalidUri();
+        }
+        int port = Integer.parseInt(str.substring(start, end));
+        if (port > 65535) {
+            throw invalidUri();
+        }
+        return port;
+    }
+
+    private static boolean isValidHost(String str, int start, int end) {
+        if (start >= end) {
+            return false;
+        }
+        if (str.charAt(start) == '[') {
+            // IPv6 address in square brackets
+            if (end - start < 3 || str.charAt(end - 1) != ']') {
+                return false;
+            }
+            for (int n = start + 1; n < end - 1; n++) {
+                char c = str.charAt(n);
+                if (!isAlnum(c) && c != ':' && c != '.' && c != '%') {
+                    return false;
+                }
+            }
+            return true;
+        }
+        for (int n = start; n < end; n++) {
+            char c = str.charAt(n);
+            if (isHostDelimiter(c) || c == '@' || c == '[' || c == ']' || c <= ' ' || c == 0x7f) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isHostDelimiter(char c) {
+        return c == ':' || c == '/' || c == '?' || c == '#';
+    }
+
+    private static boolean isValidResource(String str, int start, int end) {
+        if (start == end) {
+            // empty resource is same as no resource
+            return true;
+        }
+        char first = str.charAt(start);
+        if (first != '/' && first != '?') {
+            return false;
+        }
+        boolean inQuery = first == '?';
+        for (int n = start + 1; n < end; n++) {
+            char c = str.charAt(n);
+            if (c == '?') {
+                if (inQuery) {
+                    return false;
+                }
+                inQuery = true;
+            } else if (c == '%') {
+                if (n + 2 >= end || !isHexDigit(str.charAt(n + 1)) || !isHexDigit(str.charAt(n + 2))) {
+                    return false;
+                }
+                n += 2;
+            } else if (c != '/' && !isPchar(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isPchar(char c) {
+        if (isAlnum(c)) {
+            return true;
+        }
+        switch (c) {
+            // unreserved
+            case '-':
+            case '.':
+            case '_':
+            case '~':
+            // sub-delims
+            case '!':
+            case '$':
+            case '&':
+            case '\'':
+            case '(':
+            case ')':
+            case '*':
+            case '+':
+            case ',':
+            case ';':
+            case '=':
+            // pchar
+            case ':':
+            case '@':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isAlnum(char c) {
+        return isDigit(c) || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isHexDigit(char c) {
+        return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+
+    private static IllegalArgumentException invalidUri() {
+        return new IllegalArgumentException("Invalid endpoint uri");
+    }
+}
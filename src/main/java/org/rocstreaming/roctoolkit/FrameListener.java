@@ -0,0 +1,19 @@
+package org.rocstreaming.roctoolkit;
+
+/**
+ * Receives frames from {@link PushRocReceiver}.
+ */
+@FunctionalInterface
+public interface FrameListener {
+
+    /**
+     * Called for every received frame.
+     * <p>
+     * The frame is borrowed: it is valid only until this method returns, after which
+     * its buffer is reused for subsequent frames. Listener should copy samples if it
+     * needs them later, and should not call {@link AudioFrame#release()}.
+     *
+     * @param frame   received frame.
+     */
+    void onFrame(AudioFrame frame);
+}
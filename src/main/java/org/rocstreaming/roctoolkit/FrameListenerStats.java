@@ -0,0 +1,68 @@
+package org.rocstreaming.roctoolkit;
+
+/**
+ * Statistics of a {@link FrameListener} attached to {@link PushRocReceiver}.
+ * <p>
+ * Values are updated while the listener is attached, and may be read from any thread.
+ *
+ * @see PushRocReceiver#getStats(FrameListener)
+ */
+public final class FrameListenerStats {
+
+    private volatile long processedFrames;
+    private volatile long droppedFrames;
+    private volatile long totalProcessingNanos;
+    private volatile long maxProcessingNanos;
+
+    FrameListenerStats() {
+    }
+
+    /**
+     * Get number of frames passed to the listener.
+     */
+    public long getProcessedFrames() {
+        return processedFrames;
+    }
+
+    /**
+     * Get number of frames not passed to the listener because it fell behind real
+     * time and its queue was full.
+     */
+    public long getDroppedFrames() {
+        return droppedFrames;
+    }
+
+    /**
+     * Get total time spent in the listener, in nanoseconds.
+     */
+    public long getTotalProcessingNanos() {
+        return totalProcessingNanos;
+    }
+
+    /**
+     * Get maximum time spent in the listener for a single frame, in nanoseconds.
+     */
+    public long getMaxProcessingNanos() {
+        return maxProcessingNanos;
+    }
+
+    // called only from listener thread
+    void addProcessed(long nanos) {
+        processedFrames++;
+        totalProcessingNanos += nanos;
+        if (nanos > maxProcessingNanos) {
+            maxProcessingNanos = nanos;
+        }
+    }
+
+    // called only from reader thread
+    void addDropped() {
+        droppedFrames++;
+    }
+
+    @Override
+    public String toString() {
+        return "FrameListenerStats(processedFrames=" + processedFrames + ", droppedFrames=" + droppedFrames
+                + ", totalProcessingNanos=" + totalProcessingNanos + ", maxProcessingNanos=" + maxProcessingNanos + ")";
+    }
+}
@@ -0,0 +1,78 @@
+package org.rocstreaming.roctoolkit;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * State of glitch detection of one receiver.
+ * <p>
+ * State is stored in a {@code long} array, which is passed to native read methods and
+ * updated by them in place, see {@code glitch_detector.h}. Native code loads the whole
+ * state, processes the frame, and stores it back, so concurrent reads must hold the
+ * detector lock while the array is passed to native code, see {@link #lock()}.
+ */
+final class GlitchDetector {
+
+    // layout of state array, must match glitch_detector.h
+    static final int CHANNELS = 0;
+    static final int MIN_ZERO_RUN = 1;
+    static final int THRESHOLD = 2;
+    static final int FRAMES = 3;
+    static final int ZERO_RUNS = 4;
+    static final int ZERO_FRAMES = 5;
+    static final int DISCONTINUITIES = 6;
+    static final int CURRENT_RUN = 7;
+    static final int LAST_PEAK = 8;
+    static final int STATE_SIZE = 9;
+
+    private final long[] state = new long[STATE_SIZE];
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Create detector.
+     *
+     * @param channels     number of interleaved channels.
+     * @param minZeroRun   minimum number of consecutive silent frames counted as a run.
+     * @param threshold    minimum absolute sample value counted as loud.
+     */
+    GlitchDetector(int channels, int minZeroRun, float threshold) {
+        state[CHANNELS] = channels;
+        state[MIN_ZERO_RUN] = minZeroRun;
+        state[THRESHOLD] = Float.floatToIntBits(threshold);
+    }
+
+    /**
+     * Get state array passed to native code.
+     */
+    long[] getState() {
+        return state;
+    }
+
+    /**
+     * Acquire exclusive access to state array.
+     */
+    void lock() {
+        lock.lock();
+    }
+
+    /**
+     * Release access acquired by {@link #lock()}.
+     */
+    void unlock() {
+        lock.unlock();
+    }
+
+    /**
+     * Copy counters into stats.
+     */
+    void snapshot(GlitchStats stats) {
+        lock.lock();
+        try {
+            stats.frameCount = state[FRAMES];
+            stats.zeroRunCount = state[ZERO_RUNS];
+            stats.zeroFrameCount = state[ZERO_FRAMES];
+            stats.discontinuityCount = state[DISCONTINUITIES];
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.rocstreaming.roctoolkit;
+
+/**
+ * Receiver glitch statistics.
+ * <p>
+ * When packets are late or lost, receiver fills gaps in the stream with silence. Glitch
+ * detection analyzes every frame returned by read operations in native code and counts
+ * runs of silent frames and abrupt transitions between sound and silence, which allows
+ * to distinguish network underruns from quiet passages.
+ * <p>
+ * Filled in place by {@link RocReceiver#getGlitchStats(GlitchStats)}, so that the same
+ * instance can be reused for repeated polling without allocations.
+ *
+ * @see RocReceiver#setGlitchDetectionEnabled(boolean)
+ */
+public class GlitchStats {
+
+    long frameCount;
+    long zeroRunCount;
+    long zeroFrameCount;
+    long discontinuityCount;
+
+    /**
+     * Get number of analyzed frames.
+     * <p>
+     * Frame holds one sample per channel.
+     */
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * Get number of runs of silent frames.
+     * <p>
+     * Silent frame has all samples exactly zero. A run is counted when it reaches
+     * {@link RocReceiver#GLITCH_MIN_ZERO_RUN} of audio; shorter runs are ignored.
+     */
+    public long getZeroRunCount() {
+        return zeroRunCount;
+    }
+
+    /**
+     * Get total number of frames in counted runs of silent frames.
+     */
+    public long getZeroFrameCount() {
+        return zeroFrameCount;
+    }
+
+    /**
+     * Get number of discontinuities.
+     * <p>
+     * Discontinuity is a silent frame right after a frame with sample louder than
+     * {@link RocReceiver#GLITCH_THRESHOLD}, or vice versa. Real audio fades out and in
+     * smoothly, while gaps filled by receiver start and end abruptly.
+     */
+    public long getDiscontinuityCount() {
+        return discontinuityCount;
+    }
+
+    @Override
+    public String toString() {
+        return "GlitchStats(frameCount=" + frameCount
+                + ", zeroRunCount=" + zeroRunCount
+                + ", zeroFrameCount=" + zeroFrameCount
+                + ", discontinuityCount=" + discontinuityCount + ")";
+    }
+}
@@ -0,0 +1,238 @@
+package org.rocstreaming.roctoolkit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-memory histogram of durations in nanoseconds.
+ * <p>
+ * Uses log-linear buckets: every power of two range is divided into 16 equal buckets,
+ * so values are recorded with relative error below 6.25%, and values below 32 are
+ * recorded exactly. Covers the whole range of non-negative {@code long} values with
+ * 960 buckets.
+ * <p>
+ * Recording is lock-free and doesn't allocate memory. Histogram can be recorded and
+ * read concurrently; a snapshot taken during recording may miss values recorded
+ * concurrently, but is never corrupted.
+ *
+ * @see CallHistograms
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Total number of buckets.
+     */
+    static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalNanos = new AtomicLong();
+
+    /**
+     * Record value.
+     *
+     * @param nanos   duration in nanoseconds; negative values are recorded as zero.
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        buckets.incrementAndGet(bucketIndex(nanos));
+        totalNanos.addAndGet(nanos);
+    }
+
+    /**
+     * Remove all recorded values.
+     * <p>
+     * Values recorded concurrently with reset may be partially kept.
+     */
+    public void reset() {
+        for (int n = 0; n < BUCKET_COUNT; n++) {
+            buckets.set(n, 0);
+        }
+        totalNanos.set(0);
+    }
+
+    /**
+     * Take snapshot of recorded values.
+     *
+     * @return new snapshot.
+     */
+    public Snapshot snapshot() {
+        return snapshot(new Snapshot());
+    }
+
+    /**
+     * Take snapshot of recorded values into existing snapshot object.
+     * <p>
+     * Allows to take snapshots periodically without allocating memory.
+     *
+     * @param snapshot   snapshot to overwrite.
+     *
+     * @return {@code snapshot}.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid.
+     */
+    public Snapshot snapshot(Snapshot snapshot) {
+        Check.notNull(snapshot, "snapshot");
+
+        long count = 0;
+        for (int n = 0; n < BUCKET_COUNT; n++) {
+            long value = buckets.get(n);
+            snapshot.counts[n] = value;
+            count += value;
+        }
+        snapshot.count = count;
+        snapshot.totalNanos = totalNanos.get();
+        return snapshot;
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = (Long.SIZE - 1) - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return ((exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) + subBucket;
+    }
+
+    static long bucketLowerBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        return (long) (SUB_BUCKETS + (index & (SUB_BUCKETS - 1))) << ((index >>> SUB_BUCKET_BITS) - 1);
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index == BUCKET_COUNT - 1) {
+            return Long.MAX_VALUE;
+        }
+        return bucketLowerBound(index + 1) - 1;
+    }
+
+    /**
+     * View of recorded values at some moment.
+     * <p>
+     * Can be reused for subsequent snapshots, see {@link LatencyHistogram#snapshot(Snapshot)}.
+     */
+    public static final class Snapshot {
+
+        private final long[] counts = new long[BUCKET_COUNT];
+        private long count;
+        private long totalNanos;
+
+        /**
+         * Create empty snapshot.
+         */
+        public Snapshot() {
+        }
+
+        /**
+         * Get number of recorded values.
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Get sum of recorded values, in nanoseconds.
+         */
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        /**
+         * Get mean of recorded values, in nanoseconds, or zero if there are no values.
+         */
+        public double getMeanNanos() {
+            return count != 0 ? (double) totalNanos / count : 0;
+        }
+
+        /**
+         * Get value at given percentile, in nanoseconds.
+         * <p>
+         * Returns the highest value of the bucket in which the percentile falls, so
+         * the result is never below the exact percentile.
+         *
+         * @param percentile   percentile in range {@code [0; 100]}, e.g. 99.9.
+         *
+         * @return value at percentile, or zero if there are no values.
+         *
+         * @throws IllegalArgumentException   if the arguments are invalid.
+         */
+        public long getPercentileNanos(double percentile) {
+            if (!(percentile >= 0 && percentile <= 100)) {
+                throw new IllegalArgumentException("Invalid percentile: must be in range [0; 100]");
+            }
+            if (count == 0) {
+                return 0;
+            }
+
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+            long seen = 0;
+            for (int n = 0; n < BUCKET_COUNT; n++) {
+                seen += counts[n];
+                if (seen >= rank) {
+                    return bucketUpperBound(n);
+                }
+            }
+            return getMaxNanos();
+        }
+
+        /**
+         * Get highest recorded value, in nanoseconds, rounded up to bucket boundary,
+         * or zero if there are no values.
+         */
+        public long getMaxNanos() {
+            for (int n = BUCKET_COUNT - 1; n >= 0; n--) {
+                if (counts[n] != 0) {
+                    return bucketUpperBound(n);
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * Get number of buckets.
+         */
+        public int getBucketCount() {
+            return BUCKET_COUNT;
+        }
+
+        /**
+         * Get highest value of bucket, in nanoseconds.
+         *
+         * @param index   bucket index in range {@code [0; getBucketCount())}.
+         *
+         * @throws IllegalArgumentException   if the arguments are invalid.
+         */
+        public long getBucketUpperBoundNanos(int index) {
+            Check.inRange(index, 0, BUCKET_COUNT - 1, "index");
+            return bucketUpperBound(index);
+        }
+
+        /**
+         * Get number of values recorded in bucket.
+         *
+         * @param index   bucket index in range {@code [0; getBucketCount())}.
+         *
+         * @throws IllegalArgumentException   if the arguments are invalid.
+         */
+        public long getBucketValueCount(int index) {
+            Check.inRange(index, 0, BUCKET_COUNT - 1, "index");
+            return counts[index];
+        }
+
+        @Override
+        public String toString() {
+            return "LatencyHistogram.Snapshot(count=" + count
+                    + ", mean=" + (long) getMeanNanos()
+                    + ", p50=" + getPercentileNanos(50)
+                    + ", p99=" + getPercentileNanos(99)
+                    + ", p99.9=" + getPercentileNanos(99.9)
+                    + ", max=" + getMaxNanos() + ")";
+        }
+    }
+}
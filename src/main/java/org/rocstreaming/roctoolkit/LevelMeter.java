@@ -0,0 +1,114 @@
+package org.rocstreaming.roctoolkit;
+
+import java.util.Arrays;
+
+/**
+ * Peak and RMS levels of audio frames.
+ * <p>
+ * When attached to a sender or receiver, levels of every channel are computed in native
+ * code during every write or read operation, while samples are still in cache, which
+ * is cheaper than scanning samples again in Java. Meter holds levels of the last frame
+ * and is updated in place, so it can be polled, e.g. by UI, without allocations.
+ * <p>
+ * Levels are linear, in range {@code [0; 1]} for samples in range {@code [-1; 1]}.
+ * Updates from the audio thread are not synchronized with polling, so levels of
+ * different channels may belong to adjacent frames.
+ *
+ * @see RocSender#setLevelMeter(LevelMeter)
+ * @see RocReceiver#setLevelMeter(LevelMeter)
+ */
+public final class LevelMeter {
+
+    /**
+     * Maximum number of channels.
+     */
+    public static final int MAX_CHANNELS = 64;
+
+    private final int channels;
+
+    // peaks of all channels followed by RMS of all channels, updated from native code
+    private final float[] levels;
+
+    /**
+     * Create meter.
+     *
+     * @param channels   number of channels, should match the number of channels of the
+     *                   frame encoding of sender or receiver.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid.
+     */
+    public LevelMeter(int channels) {
+        Check.inRange(channels, 1, MAX_CHANNELS, "channels");
+        this.channels = channels;
+        this.levels = new float[channels * 2];
+    }
+
+    /**
+     * Get number of channels.
+     */
+    public int getChannelCount() {
+        return channels;
+    }
+
+    /**
+     * Get peak level of channel, i.e. maximum absolute sample value of last frame.
+     *
+     * @param channel   channel index.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid.
+     */
+    public float getPeak(int channel) {
+        Check.inRange(channel, 0, channels - 1, "channel");
+        return levels[channel];
+    }
+
+    /**
+     * Get RMS level of channel, i.e. root mean square of samples of last frame.
+     *
+     * @param channel   channel index.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid.
+     */
+    public float getRms(int channel) {
+        Check.inRange(channel, 0, channels - 1, "channel");
+        return levels[channels + channel];
+    }
+
+    /**
+     * Convert linear level to decibels relative to full scale.
+     *
+     * @param level   linear level, e.g. peak or RMS.
+     *
+     * @return level in dBFS, or negative infinity for zero level.
+     */
+    public static double toDecibels(float level) {
+        return 20 * Math.log10(level);
+    }
+
+    /**
+     * Reset levels of all channels to zero.
+     */
+    public void reset() {
+        Arrays.fill(levels, 0);
+    }
+
+    /**
+     * Get levels array passed to native code.
+     */
+    float[] getLevels() {
+        return levels;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("LevelMeter(");
+        for (int ch = 0; ch < channels; ch++) {
+            if (ch != 0) {
+                sb.append(", ");
+            }
+            sb.append("peak").append(ch).append('=').append(levels[ch])
+                    .append(", rms").append(ch).append('=').append(levels[channels + ch]);
+        }
+        return sb.append(")").toString();
+    }
+}
@@ -1,5 +1,7 @@
 package org.rocstreaming.roctoolkit;
 
+import java.util.concurrent.locks.Lock;
+
 /**
  * A {@code NativeObject} represents an underlying native roc object.
  */
@@ -41,6 +43,44 @@ class NativeObject implements AutoCloseable {
         return this.resource.getPtr();
     }
 
+    /**
+     * Get {@code NativeObject} unique identifier.
+     *
+     * @return                  identifier, which unlike native pointer is never reused.
+     */
+    long getId() {
+        return this.resource.getId();
+    }
+
+    /**
+     * Check whether {@code NativeObject} is not closed yet.
+     *
+     * @return                  {@code true} if native object is open.
+     */
+    boolean isOpen() {
+        return this.resource.isOpen();
+    }
+
+    /**
+     * Get lock which prevents concurrent closing of {@code NativeObject} while held.
+     * Allows other threads, e.g. monitoring, to safely access native object if it's open.
+     * Lock is shared, so such threads don't block each other.
+     *
+     * @return                  the lock.
+     */
+    Lock getCloseLock() {
+        return this.resource.getCloseLock();
+    }
+
+    /**
+     * Notify {@link NativeObjectCleaner} listener that construction is finished.
+     * Should be called at the end of subclass constructor.
+     */
+    protected final void opened() {
+        resource.constructed();
+        NATIVE_OBJECT_CLEANER.opened(this);
+    }
+
     /**
      * Close the native object and unregister it from the {@link NativeObjectCleaner}.
      *
@@ -4,6 +4,8 @@ import java.lang.ref.ReferenceQueue;
 import java.util.Collections;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -33,6 +35,21 @@ class NativeObjectCleaner extends Thread {
      */
     private final Set<NativeObjectPhantomReference> set = Collections.newSetFromMap(new ConcurrentHashMap<>());
 
+    /**
+     * Source of unique identifiers of registered {@link NativeObject}s.
+     */
+    private final AtomicLong lastId = new AtomicLong();
+
+    /**
+     * Number of {@link NativeObject}s closed after being collected by GC.
+     */
+    private final AtomicLong collectedCount = new AtomicLong();
+
+    /**
+     * Optional listener notified when {@link NativeObject}s are opened and closed.
+     */
+    private volatile NativeObjectListener listener;
+
     /**
      * Create a new {@code NativeObjectCleaner}.
      */
@@ -61,7 +78,8 @@ class NativeObjectCleaner extends Thread {
      * @return the new {@link NativeObjectPhantomReference} associated to the {@link NativeObject}.
      */
     NativeObjectPhantomReference register(NativeObject nativeObj, long ptr, NativeObject dependsOn, Destructor destructor) {
-        NativeObjectPhantomReference reference = new NativeObjectPhantomReference(nativeObj, referenceQueue, ptr, dependsOn, destructor);
+        NativeObjectPhantomReference reference = new NativeObjectPhantomReference(nativeObj, referenceQueue, ptr, dependsOn, destructor,
+                lastId.incrementAndGet());
         set.add(reference);
         LOGGER.log(Level.FINE, "added reference to queue, ptr={0}", new Object[]{toHex(ptr)});
         return reference;
@@ -73,10 +91,96 @@ class NativeObjectCleaner extends Thread {
      * @param reference     the {@link NativeObjectPhantomReference} to unregister.
      */
     void unregister(NativeObjectPhantomReference reference) {
-        set.remove(reference);
+        if (set.remove(reference)) {
+            notifyClosed(reference);
+        }
         LOGGER.log(Level.FINE, "removed reference from queue, ptr={0}", new Object[]{toHex(reference.getPtr())});
     }
 
+    /**
+     * Notify listener that a {@link NativeObject} is fully constructed.
+     *
+     * @param nativeObj  {@link NativeObject} previously registered.
+     */
+    void opened(NativeObject nativeObj) {
+        NativeObjectListener currentListener = listener;
+        if (currentListener != null) {
+            try {
+                currentListener.opened(nativeObj);
+            } catch (RuntimeException exc) {
+                LOGGER.log(Level.WARNING, "exception in NativeObjectListener, exception={0}", exc);
+            }
+        }
+    }
+
+    private void notifyClosed(NativeObjectPhantomReference reference) {
+        NativeObjectListener currentListener = listener;
+        if (currentListener != null) {
+            try {
+                currentListener.closed(reference.getId());
+            } catch (RuntimeException exc) {
+                LOGGER.log(Level.WARNING, "exception in NativeObjectListener, exception={0}", exc);
+            }
+        }
+    }
+
+    /**
+     * Set listener notified when {@link NativeObject}s are opened and closed.
+     *
+     * @param listener   listener, or {@code null} to remove current listener.
+     */
+    void setListener(NativeObjectListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Count registered {@link NativeObject}s which are not closed yet.
+     *
+     * @param type   class of objects to count, including subclasses.
+     * @return the number of live objects of the given class.
+     */
+    int countLive(Class<? extends NativeObject> type) {
+        int count = 0;
+        for (NativeObjectPhantomReference reference : set) {
+            if (type.isAssignableFrom(reference.getType())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Invoke action for every registered {@link NativeObject} which is fully constructed
+     * and not closed yet.
+     * <p>
+     * Objects opened or closed concurrently may be skipped.
+     *
+     * @param action   action to invoke.
+     */
+    void forEachLive(Consumer<NativeObject> action) {
+        set.forEach(reference -> {
+            NativeObject nativeObj = reference.getObject();
+            if (nativeObj != null && reference.isConstructed() && reference.isOpen()) {
+                action.accept(nativeObj);
+            }
+        });
+    }
+
+    /**
+     * Get number of {@link NativeObject}s registered since start.
+     */
+    long getOpenedCount() {
+        return lastId.get();
+    }
+
+    /**
+     * Get number of {@link NativeObject}s which were not closed explicitly and were
+     * closed after being collected by GC.
+     */
+    long getCollectedCount() {
+        return collectedCount.get();
+    }
+
     /**
      * Entrypoint method of {@code NativeObjectCleaner}.
      * <p>
@@ -89,7 +193,10 @@ class NativeObjectCleaner extends Thread {
         while (isAlive()) {
             try {
                 NativeObjectPhantomReference reference = (NativeObjectPhantomReference) referenceQueue.remove();
-                set.remove(reference);
+                if (set.remove(reference)) {
+                    collectedCount.incrementAndGet();
+                    notifyClosed(reference);
+                }
                 LOGGER.log(Level.FINE, "collected reference from queue, ptr={0}", new Object[]{toHex(reference.getPtr())});
                 reference.close();
             } catch (Exception ignore) {
@@ -0,0 +1,22 @@
+package org.rocstreaming.roctoolkit;
+
+/**
+ * Listener notified by {@link NativeObjectCleaner} when {@link NativeObject}s are opened
+ * and closed. Used by optional monitoring integrations.
+ */
+interface NativeObjectListener {
+
+    /**
+     * Called when {@link NativeObject} is constructed.
+     *
+     * @param nativeObj   opened object.
+     */
+    void opened(NativeObject nativeObj);
+
+    /**
+     * Called when {@link NativeObject} is closed, either explicitly or after being collected by GC.
+     *
+     * @param id   {@link NativeObject#getId() identifier} of closed object.
+     */
+    void closed(long id);
+}
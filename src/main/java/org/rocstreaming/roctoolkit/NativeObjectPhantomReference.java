@@ -2,7 +2,9 @@ package org.rocstreaming.roctoolkit;
 
 import java.lang.ref.PhantomReference;
 import java.lang.ref.ReferenceQueue;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * {@code NativeObjectPhantomReference} is associated with a {@link NativeObject} and owns its
@@ -30,11 +32,36 @@ class NativeObjectPhantomReference extends PhantomReference<NativeObject> implem
      */
     private final Destructor destructor;
 
+    /**
+     *  Unique identifier, never reused.
+     */
+    private final long id;
+
+    /**
+     *  Class of associated {@link NativeObject}.
+     */
+    private final Class<? extends NativeObject> type;
+
+    /**
+     *  Weak reference to associated {@link NativeObject}, for enumerating live objects.
+     */
+    private final WeakReference<NativeObject> weakReferent;
+
+    /**
+     *  Close takes write lock, users which need object to stay open take read lock.
+     */
+    private final ReentrantReadWriteLock closeLock = new ReentrantReadWriteLock();
+
     /**
      *  {@link NativeObject} open status.
      */
     private volatile boolean isOpen;
 
+    /**
+     *  Whether {@link NativeObject} constructor is finished.
+     */
+    private volatile boolean isConstructed;
+
     /**
      * Construct a new {@code NativeObjectPhantomReference}.
      *
@@ -44,12 +71,16 @@ class NativeObjectPhantomReference extends PhantomReference<NativeObject> implem
      * @param dependsOn  Dependency for finalization ordering. Keep strong reference to prevent
      *                   it from being collected by GC
      * @param destructor Destructor method.
+     * @param id         Unique identifier.
      */
-    NativeObjectPhantomReference(NativeObject referent, ReferenceQueue<? super NativeObject> queue, long ptr, NativeObject dependsOn, Destructor destructor) {
+    NativeObjectPhantomReference(NativeObject referent, ReferenceQueue<? super NativeObject> queue, long ptr, NativeObject dependsOn, Destructor destructor, long id) {
         super(referent, queue);
         this.ptr = ptr;
         this.dependsOn = dependsOn;
         this.destructor = destructor;
+        this.id = id;
+        this.type = referent.getClass();
+        this.weakReferent = new WeakReference<>(referent);
         this.isOpen = true;
     }
 
@@ -62,6 +93,72 @@ class NativeObjectPhantomReference extends PhantomReference<NativeObject> implem
         return ptr;
     }
 
+    /**
+     * Get unique identifier of {@link NativeObject}.
+     *
+     * @return      identifier, which unlike native pointer is never reused.
+     */
+    long getId() {
+        return id;
+    }
+
+    /**
+     * Get class of {@link NativeObject}.
+     *
+     * @return      class of the {@link NativeObject} associated to this {@code NativeObjectPhantomReference}.
+     */
+    Class<? extends NativeObject> getType() {
+        return type;
+    }
+
+    /**
+     * Get associated {@link NativeObject}.
+     *
+     * @return      the {@link NativeObject}, or {@code null} if it was collected by GC.
+     */
+    NativeObject getObject() {
+        return weakReferent.get();
+    }
+
+    /**
+     * Get lock which prevents closing of the native object while held.
+     * <p>
+     * Lock is shared: any number of threads may hold it at once.
+     *
+     * @return      the lock.
+     */
+    Lock getCloseLock() {
+        return closeLock.readLock();
+    }
+
+    /**
+     * Mark that {@link NativeObject} constructor is finished.
+     */
+    void constructed() {
+        isConstructed = true;
+    }
+
+    /**
+     * Check whether {@link NativeObject} constructor is finished.
+     *
+     * @return      {@code true} if the {@link NativeObject} is fully constructed.
+     */
+    boolean isConstructed() {
+        return isConstructed;
+    }
+
+    /**
+     * Check whether the native object is not closed yet.
+     * <p>
+     * Native object can't be closed concurrently while the lock returned by
+     * {@link #getCloseLock()} is held.
+     *
+     * @return      {@code true} if the native object is open.
+     */
+    boolean isOpen() {
+        return isOpen;
+    }
+
     /**
      * Close the native object.
      *
@@ -69,14 +166,24 @@ class NativeObjectPhantomReference extends PhantomReference<NativeObject> implem
      *                                 it still has opened {@link NativeObject} dependencies.
      */
     @Override
-    public synchronized void close() {
-        if (isOpen) {
-            destructor.close(ptr);
-            // destructor.close(ptr) could throw exception e.g. if someone tried to close context while
-            // sender/receiver still opened.
-            // In such case NativeObjectCleaner will try to close it one more time after NativeObject
-            // is collected by GC.
-            isOpen = false;
+    public void close() {
+        closeLock.writeLock().lock();
+        try {
+            if (isOpen) {
+                Object event = RocEvents.beginNativeClose();
+                try {
+                    destructor.close(ptr);
+                } finally {
+                    RocEvents.endNativeClose(event, type, ptr);
+                }
+                // destructor.close(ptr) could throw exception e.g. if someone tried to close context while
+                // sender/receiver still opened.
+                // In such case NativeObjectCleaner will try to close it one more time after NativeObject
+                // is collected by GC.
+                isOpen = false;
+            }
+        } finally {
+            closeLock.writeLock().unlock();
         }
     }
 }
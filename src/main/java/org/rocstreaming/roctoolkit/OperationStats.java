@@ -0,0 +1,94 @@
+package org.rocstreaming.roctoolkit;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Number and cumulative duration of operations, e.g. writes or reads.
+ * <p>
+ * Recording is cheap and doesn't allocate memory, but it still requires reading the
+ * clock twice per operation. Hence, stats of all objects are recorded only while there
+ * is at least one consumer, e.g. registered MBeans or running Prometheus exporter, see
+ * {@link #addConsumer()}. Operations performed without consumers are not counted.
+ * <p>
+ * Can be updated and read concurrently.
+ */
+class OperationStats {
+
+    /**
+     * Timestamp used instead of {@link System#nanoTime()} when operation is not timed.
+     */
+    static final long NOT_TIMED = Long.MIN_VALUE;
+
+    private static int consumers;
+    private static volatile boolean enabled;
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+
+    /**
+     * Start recording stats of all objects.
+     * <p>
+     * Should be paired with {@link #removeConsumer()}.
+     */
+    static synchronized void addConsumer() {
+        consumers++;
+        enabled = true;
+    }
+
+    /**
+     * Stop recording stats of all objects if there are no other consumers.
+     */
+    static synchronized void removeConsumer() {
+        consumers--;
+        enabled = consumers > 0;
+    }
+
+    /**
+     * Check whether stats should be recorded.
+     */
+    static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Get start timestamp of operation, or {@link #NOT_TIMED} if stats are not recorded.
+     */
+    static long start() {
+        return enabled ? System.nanoTime() : NOT_TIMED;
+    }
+
+    /**
+     * Record one operation.
+     *
+     * @param nanos   operation duration.
+     */
+    void record(long nanos) {
+        count.increment();
+        totalNanos.add(nanos);
+    }
+
+    /**
+     * Record multiple operations performed at once.
+     *
+     * @param operations   number of operations.
+     * @param nanos        duration of all operations.
+     */
+    void record(long operations, long nanos) {
+        count.add(operations);
+        totalNanos.add(nanos);
+    }
+
+    /**
+     * Get number of recorded operations.
+     */
+    long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Get cumulative duration of recorded operations, in nanoseconds.
+     */
+    long getTotalNanos() {
+        return totalNanos.sum();
+    }
+}
@@ -0,0 +1,111 @@
+package org.rocstreaming.roctoolkit;
+
+import java.time.Duration;
+
+/**
+ * Flat {@code long[]} representation of sender and receiver configs passed to native code.
+ * <p>
+ * Native code reads the whole config with a single {@code GetLongArrayRegion} instead of
+ * reading every field (and fields of nested objects) via JNI. Packing is a handful of
+ * getter calls and is cheaper than looking up a cache keyed by config, so configs are
+ * packed on every open, and callers own returned arrays.
+ * <p>
+ * Enums are stored as their {@code value}, durations as nanoseconds. Null values are
+ * stored as zero, same as libroc treats zero-initialized fields as defaults. Layout must
+ * match {@code packed_config.h} in native code.
+ */
+final class PackedConfig {
+
+    // MediaEncoding, shared by sender and receiver layouts.
+    static final int FRAME_RATE = 0;
+    static final int FRAME_FORMAT = 1;
+    static final int FRAME_CHANNELS = 2;
+    static final int FRAME_TRACKS = 3;
+
+    // RocSenderConfig.
+    static final int SENDER_PACKET_ENCODING = 4;
+    static final int SENDER_PACKET_LENGTH = 5;
+    static final int SENDER_PACKET_INTERLEAVING = 6;
+    static final int SENDER_FEC_ENCODING = 7;
+    static final int SENDER_FEC_BLOCK_SOURCE_PACKETS = 8;
+    static final int SENDER_FEC_BLOCK_REPAIR_PACKETS = 9;
+    static final int SENDER_CLOCK_SOURCE = 10;
+    static final int SENDER_RESAMPLER_BACKEND = 11;
+    static final int SENDER_RESAMPLER_PROFILE = 12;
+    static final int SENDER_SIZE = 13;
+
+    // RocReceiverConfig.
+    static final int RECEIVER_CLOCK_SOURCE = 4;
+    static final int RECEIVER_CLOCK_SYNC_BACKEND = 5;
+    static final int RECEIVER_CLOCK_SYNC_PROFILE = 6;
+    static final int RECEIVER_RESAMPLER_BACKEND = 7;
+    static final int RECEIVER_RESAMPLER_PROFILE = 8;
+    static final int RECEIVER_TARGET_LATENCY = 9;
+    static final int RECEIVER_LATENCY_TOLERANCE = 10;
+    static final int RECEIVER_NO_PLAYBACK_TIMEOUT = 11;
+    static final int RECEIVER_CHOPPY_PLAYBACK_TIMEOUT = 12;
+    static final int RECEIVER_SIZE = 13;
+
+    private PackedConfig() {
+    }
+
+    /**
+     * Pack sender config.
+     */
+    static long[] pack(RocSenderConfig config) {
+        long[] packed = new long[SENDER_SIZE];
+        packEncoding(packed, config.getFrameEncoding());
+        packed[SENDER_PACKET_ENCODING] =
+                config.getPacketEncoding() != null ? config.getPacketEncoding().value : 0;
+        packed[SENDER_PACKET_LENGTH] = nanos(config.getPacketLength());
+        packed[SENDER_PACKET_INTERLEAVING] = config.getPacketInterleaving();
+        packed[SENDER_FEC_ENCODING] =
+                config.getFecEncoding() != null ? config.getFecEncoding().value : 0;
+        packed[SENDER_FEC_BLOCK_SOURCE_PACKETS] = config.getFecBlockSourcePackets();
+        packed[SENDER_FEC_BLOCK_REPAIR_PACKETS] = config.getFecBlockRepairPackets();
+        packed[SENDER_CLOCK_SOURCE] =
+                config.getClockSource() != null ? config.getClockSource().value : 0;
+        packed[SENDER_RESAMPLER_BACKEND] =
+                config.getResamplerBackend() != null ? config.getResamplerBackend().value : 0;
+        packed[SENDER_RESAMPLER_PROFILE] =
+                config.getResamplerProfile() != null ? config.getResamplerProfile().value : 0;
+        return packed;
+    }
+
+    /**
+     * Pack receiver config.
+     */
+    static long[] pack(RocReceiverConfig config) {
+        long[] packed = new long[RECEIVER_SIZE];
+        packEncoding(packed, config.getFrameEncoding());
+        packed[RECEIVER_CLOCK_SOURCE] =
+                config.getClockSource() != null ? config.getClockSource().value : 0;
+        packed[RECEIVER_CLOCK_SYNC_BACKEND] =
+                config.getClockSyncBackend() != null ? config.getClockSyncBackend().value : 0;
+        packed[RECEIVER_CLOCK_SYNC_PROFILE] =
+                config.getClockSyncProfile() != null ? config.getClockSyncProfile().value : 0;
+        packed[RECEIVER_RESAMPLER_BACKEND] =
+                config.getResamplerBackend() != null ? config.getResamplerBackend().value : 0;
+        packed[RECEIVER_RESAMPLER_PROFILE] =
+                config.getResamplerProfile() != null ? config.getResamplerProfile().value : 0;
+        packed[RECEIVER_TARGET_LATENCY] = nanos(config.getTargetLatency());
+        packed[RECEIVER_LATENCY_TOLERANCE] = nanos(config.getLatencyTolerance());
+        packed[RECEIVER_NO_PLAYBACK_TIMEOUT] = nanos(config.getNoPlaybackTimeout());
+        packed[RECEIVER_CHOPPY_PLAYBACK_TIMEOUT] = nanos(config.getChoppyPlaybackTimeout());
+        return packed;
+    }
+
+    private static void packEncoding(long[] packed, MediaEncoding encoding) {
+        if (encoding == null) {
+            return;
+        }
+        packed[FRAME_RATE] = encoding.getRate();
+        packed[FRAME_FORMAT] = encoding.getFormat() != null ? encoding.getFormat().value : 0;
+        packed[FRAME_CHANNELS] = encoding.getChannels() != null ? encoding.getChannels().value : 0;
+        packed[FRAME_TRACKS] = encoding.getTracks();
+    }
+
+    private static long nanos(Duration duration) {
+        return duration != null ? duration.toNanos() : 0;
+    }
+}
@@ -0,0 +1,69 @@
+package org.rocstreaming.roctoolkit;
+
+/**
+ * Native sample format conversions used by 16-bit PCM write and read operations.
+ * <p>
+ * Exposes the same conversion routines that {@link RocSender} and {@link RocReceiver} use
+ * internally, so that their results can be checked directly. Output array must have the
+ * same number of samples as input array.
+ */
+final class PcmConversions {
+
+    static {
+        RocLibrary.loadLibrary();
+    }
+
+    private PcmConversions() {
+    }
+
+    /**
+     * Convert signed 16-bit samples to floats in range [-1; 1).
+     */
+    static void s16ToFloat(short[] in, float[] out) {
+        Check.notNull(in, "input samples");
+        Check.notNull(out, "output samples");
+        checkLength(out.length, in.length);
+        nativeS16ToFloat(in, out);
+    }
+
+    /**
+     * Convert signed 16-bit little-endian samples to floats in range [-1; 1).
+     */
+    static void s16LeToFloat(byte[] in, float[] out) {
+        Check.notNull(in, "input samples");
+        Check.notNull(out, "output samples");
+        checkLength(out.length * 2, in.length);
+        nativeS16LeToFloat(in, out);
+    }
+
+    /**
+     * Convert floats to signed 16-bit samples, with rounding and clipping.
+     */
+    static void floatToS16(float[] in, short[] out) {
+        Check.notNull(in, "input samples");
+        Check.notNull(out, "output samples");
+        checkLength(in.length, out.length);
+        nativeFloatToS16(in, out);
+    }
+
+    /**
+     * Convert floats to signed 16-bit little-endian samples, with rounding and clipping.
+     */
+    static void floatToS16Le(float[] in, byte[] out) {
+        Check.notNull(in, "input samples");
+        Check.notNull(out, "output samples");
+        checkLength(in.length * 2, out.length);
+        nativeFloatToS16Le(in, out);
+    }
+
+    private static void checkLength(int expected, int actual) {
+        if (expected != actual) {
+            throw new IllegalArgumentException("Invalid output samples: must have same number of samples as input");
+        }
+    }
+
+    private static native void nativeS16ToFloat(short[] in, float[] out);
+    private static native void nativeS16LeToFloat(byte[] in, float[] out);
+    private static native void nativeFloatToS16(float[] in, short[] out);
+    private static native void nativeFloatToS16Le(float[] in, byte[] out);
+}
@@ -0,0 +1,98 @@
+package org.rocstreaming.roctoolkit;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Receiver config unmarshalled into native memory once, for opening many receivers.
+ * <p>
+ * Opening a {@link RocReceiver} with {@link RocReceiverConfig} converts the config into native
+ * representation on every open. When many receivers are opened with the same config, the
+ * conversion can be done once by preparing the config, and then passing the prepared config
+ * to {@link RocReceiver#RocReceiver(RocContext, PreparedReceiverConfig)}.
+ *
+ *
+ * <h2>Life cycle</h2>
+ * <p>
+ * A prepared config is created using {@link PreparedReceiverConfig(RocReceiverConfig)} and
+ * destroyed using {@link PreparedReceiverConfig#close()}. Receivers don't keep references to
+ * the prepared config after they're opened, so it may be closed at any time, but receivers
+ * can't be opened with a closed prepared config.
+ *
+ *
+ * <h2>Thread safety</h2>
+ * <p>
+ * Can be used concurrently.
+ *
+ *
+ * <h2>Auto closing</h2>
+ * <p>
+ * {@code PreparedReceiverConfig} class implements {@link AutoCloseable}, so if it is used in a
+ * try-with-resources statement, the object is closed automatically at the end of the statement.
+ *
+ *
+ * @see {@link RocReceiver}
+ */
+public final class PreparedReceiverConfig extends NativeObject {
+
+    private static final Logger LOGGER = Logger.getLogger(PreparedReceiverConfig.class.getName());
+
+    private final RocReceiverConfig config;
+
+    private static long construct(RocReceiverConfig config) {
+        Check.notNull(config, "RocReceiverConfig");
+
+        try {
+            LOGGER.log(Level.FINE, "entering PreparedReceiverConfig(), config={0}", config);
+
+            long ptr = nativeOpen(RocReceiver.nativeConfig(config));
+
+            LOGGER.log(Level.FINE, "leaving PreparedReceiverConfig(), ptr={0}", toHex(ptr));
+            return ptr;
+        } catch (RuntimeException exc) {
+            LOGGER.log(Level.SEVERE, "exception in PreparedReceiverConfig(), exception={0}", exc);
+            throw exc;
+        }
+    }
+
+    private static void destroy(long ptr) {
+        try {
+            LOGGER.log(Level.FINE, "entering PreparedReceiverConfig.close(), ptr={0}", toHex(ptr));
+
+            nativeClose(ptr);
+
+            LOGGER.log(Level.FINE, "leaving PreparedReceiverConfig.close(), ptr={0}", toHex(ptr));
+        } catch (RuntimeException exc) {
+            LOGGER.log(Level.SEVERE, "exception in PreparedReceiverConfig.close(), ptr={0}, exception={1}",
+                    new Object[]{toHex(ptr), exc});
+            throw exc;
+        }
+    }
+
+    /**
+     * Prepare config.
+     * <p>
+     * Validates config and converts it into native representation.
+     *
+     * @param config    should point to an initialized config.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid.
+     */
+    public PreparedReceiverConfig(RocReceiverConfig config) {
+        super(construct(config), null, PreparedReceiverConfig::destroy);
+        this.config = config;
+        opened();
+    }
+
+    /**
+     * Get config from which this prepared config was created.
+     *
+     * @return                  the config.
+     */
+    public RocReceiverConfig getConfig() {
+        return config;
+    }
+
+    private static native long nativeOpen(long[] config);
+    private static native void nativeClose(long configPtr);
+}
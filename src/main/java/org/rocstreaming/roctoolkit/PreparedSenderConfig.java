@@ -0,0 +1,98 @@
+package org.rocstreaming.roctoolkit;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Sender config unmarshalled into native memory once, for opening many senders.
+ * <p>
+ * Opening a {@link RocSender} with {@link RocSenderConfig} converts the config into native
+ * representation on every open. When many senders are opened with the same config, the
+ * conversion can be done once by preparing the config, and then passing the prepared config
+ * to {@link RocSender#RocSender(RocContext, PreparedSenderConfig)}.
+ *
+ *
+ * <h2>Life cycle</h2>
+ * <p>
+ * A prepared config is created using {@link PreparedSenderConfig(RocSenderConfig)} and
+ * destroyed using {@link PreparedSenderConfig#close()}. Senders don't keep references to
+ * the prepared config after they're opened, so it may be closed at any time, but senders
+ * can't be opened with a closed prepared config.
+ *
+ *
+ * <h2>Thread safety</h2>
+ * <p>
+ * Can be used concurrently.
+ *
+ *
+ * <h2>Auto closing</h2>
+ * <p>
+ * {@code PreparedSenderConfig} class implements {@link AutoCloseable}, so if it is used in a
+ * try-with-resources statement, the object is closed automatically at the end of the statement.
+ *
+ *
+ * @see {@link RocSender}
+ */
+public final class PreparedSenderConfig extends NativeObject {
+
+    private static final Logger LOGGER = Logger.getLogger(PreparedSenderConfig.class.getName());
+
+    private final RocSenderConfig config;
+
+    private static long construct(RocSenderConfig config) {
+        Check.notNull(config, "RocSenderConfig");
+
+        try {
+            LOGGER.log(Level.FINE, "entering PreparedSenderConfig(), config={0}", config);
+
+            long ptr = nativeOpen(RocSender.nativeConfig(config));
+
+            LOGGER.log(Level.FINE, "leaving PreparedSenderConfig(), ptr={0}", toHex(ptr));
+            return ptr;
+        } catch (RuntimeException exc) {
+            LOGGER.log(Level.SEVERE, "exception in PreparedSenderConfig(), exception={0}", exc);
+            throw exc;
+        }
+    }
+
+    private static void destroy(long ptr) {
+        try {
+            LOGGER.log(Level.FINE, "entering PreparedSenderConfig.close(), ptr={0}", toHex(ptr));
+
+            nativeClose(ptr);
+
+            LOGGER.log(Level.FINE, "leaving PreparedSenderConfig.close(), ptr={0}", toHex(ptr));
+        } catch (RuntimeException exc) {
+            LOGGER.log(Level.SEVERE, "exception in PreparedSenderConfig.close(), ptr={0}, exception={1}",
+                    new Object[]{toHex(ptr), exc});
+            throw exc;
+        }
+    }
+
+    /**
+     * Prepare config.
+     * <p>
+     * Validates config and converts it into native representation.
+     *
+     * @param config    should point to an initialized config.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid.
+     */
+    public PreparedSenderConfig(RocSenderConfig config) {
+        super(construct(config), null, PreparedSenderConfig::destroy);
+        this.config = config;
+        opened();
+    }
+
+    /**
+     * Get config from which this prepared config was created.
+     *
+     * @return                  the config.
+     */
+    public RocSenderConfig getConfig() {
+        return config;
+    }
+
+    private static native long nativeOpen(long[] config);
+    private static native void nativeClose(long configPtr);
+}
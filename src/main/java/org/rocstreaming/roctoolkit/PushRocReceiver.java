@@ -0,0 +1,334 @@
+package org.rocstreaming.roctoolkit;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Push-mode adapter for {@link RocReceiver}.
+ * <p>
+ * Push receiver owns a reader thread, which reads frames from the underlying receiver
+ * in a loop and passes them to registered {@link FrameListener} instances. Frame
+ * buffers are taken from a pool and reused, so no memory is allocated per frame.
+ * <p>
+ * The pool is sized for the worst case when every listener has a full queue and is
+ * processing one more frame: {@code 1 + listeners * (queueSize + 1)} frames. It grows
+ * when a listener is added and shrinks when a listener is removed.
+ * <p>
+ * Push receiver requires receiver with {@link ClockSource#INTERNAL}, whose clock drives
+ * the reader thread. With {@link ClockSource#EXTERNAL}, reads never block and the reader
+ * thread would flood listeners, so such receivers are rejected.
+ * <p>
+ * Push receiver doesn't interrupt the underlying receiver, so other threads may read
+ * from the same receiver. Instead, the reader thread waits for each frame in short
+ * slices, see {@link RocReceiver#tryRead(float[], Duration)}, and checks whether it's
+ * closed between them.
+ *
+ *
+ * <h2>Listeners</h2>
+ * <p>
+ * Each listener is invoked from its own thread and has its own bounded queue of
+ * frames. If a listener falls behind real time and its queue is full, new frames are
+ * dropped for that listener, without affecting the reader thread and other listeners.
+ * <p>
+ * Number of processed and dropped frames and time spent in the listener can be
+ * obtained using {@link PushRocReceiver#getStats(FrameListener)}.
+ * <p>
+ * Exceptions and errors thrown by a listener are logged, and the listener keeps
+ * receiving subsequent frames.
+ *
+ *
+ * <h2>Life cycle</h2>
+ * <p>
+ * The reader thread is started when push receiver is created and stopped when it's
+ * closed. Listeners may be added and removed at any time. Closing push receiver does
+ * not close the underlying receiver.
+ *
+ *
+ * <h2>Thread safety</h2>
+ * <p>
+ * Can be used concurrently.
+ *
+ *
+ * <h2>Example</h2>
+ * <pre>
+ * {@code
+ * try (
+ *     RocContext context = new RocContext();
+ *     RocReceiver receiver = new RocReceiver(context, receiverConfig);
+ * ) {
+ *     receiver.bind(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp://0.0.0.0:10001"));
+ *     try (PushRocReceiver pushReceiver = new PushRocReceiver(receiver, 882, 4)) {
+ *         pushReceiver.addListener(frame -> play(frame.getSamples()));
+ *         ...
+ *     }
+ * }
+ * }
+ * </pre>
+ *
+ * @see RocReceiver
+ * @see FrameListener
+ */
+public class PushRocReceiver implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(PushRocReceiver.class.getName());
+
+    // how often reader thread checks if push receiver is closed while waiting for frame
+    private static final Duration READ_POLL_INTERVAL = Duration.ofMillis(50);
+
+    private final RocReceiver receiver;
+    private final int queueSize;
+    private final AudioFramePool pool;
+    private final CopyOnWriteArrayList<ListenerWorker> workers = new CopyOnWriteArrayList<>();
+    private final Thread thread;
+
+    private volatile boolean closed;
+
+    /**
+     * Create push receiver and start reader thread.
+     *
+     * @param receiver    receiver from which frames are read.
+     * @param frameSize   number of samples in each frame, for all channels.
+     * @param queueSize   maximum number of frames queued for each listener.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid or receiver doesn't
+     *                                    use {@link ClockSource#INTERNAL}.
+     */
+    public PushRocReceiver(RocReceiver receiver, int frameSize, int queueSize) {
+        Check.notNull(receiver, "RocReceiver");
+        if (receiver.getClockSource() != ClockSource.INTERNAL) {
+            throw new IllegalArgumentException("Invalid RocReceiver: requires ClockSource.INTERNAL");
+        }
+        Check.inRange(frameSize, 1, Integer.MAX_VALUE, "frameSize");
+        Check.inRange(queueSize, 1, Integer.MAX_VALUE, "queueSize");
+
+        this.receiver = receiver;
+        this.queueSize = queueSize;
+        this.pool = new AudioFramePool(frameSize, poolCapacity(0));
+
+        this.thread = new Thread(this::run, "roc-push-receiver");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Register listener and start passing frames to it.
+     *
+     * @param listener   listener to add.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid or listener is
+     *                                    already added.
+     * @throws IllegalStateException      if push receiver is closed.
+     */
+    public synchronized void addListener(FrameListener listener) {
+        Check.notNull(listener, "FrameListener");
+        if (closed) {
+            throw new IllegalStateException("PushRocReceiver is closed");
+        }
+        if (findWorker(listener) != null) {
+            throw new IllegalArgumentException("Invalid FrameListener: already added");
+        }
+
+        ListenerWorker worker = new ListenerWorker(listener, queueSize);
+        pool.setCapacity(poolCapacity(workers.size() + 1));
+        workers.add(worker);
+        worker.thread.start();
+    }
+
+    /**
+     * Unregister listener and wait until it finishes processing current frame.
+     * Frames queued for the listener are discarded.
+     *
+     * @param listener   listener to remove.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid or listener is
+     *                                    not added.
+     */
+    public synchronized void removeListener(FrameListener listener) {
+        Check.notNull(listener, "FrameListener");
+
+        ListenerWorker worker = findWorker(listener);
+        if (worker == null) {
+            throw new IllegalArgumentException("Invalid FrameListener: not added");
+        }
+
+        workers.remove(worker);
+        worker.stop();
+        pool.setCapacity(poolCapacity(workers.size()));
+    }
+
+    /**
+     * Get statistics of the listener.
+     *
+     * @param listener   registered listener.
+     *
+     * @return listener statistics, updated while the listener is registered.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid or listener is
+     *                                    not added.
+     */
+    public FrameListenerStats getStats(FrameListener listener) {
+        Check.notNull(listener, "FrameListener");
+
+        ListenerWorker worker = findWorker(listener);
+        if (worker == null) {
+            throw new IllegalArgumentException("Invalid FrameListener: not added");
+        }
+        return worker.stats;
+    }
+
+    /**
+     * Stop reader thread and all listener threads.
+     * <p>
+     * Waits until all threads exit, which takes no longer than one frame or a few tens
+     * of milliseconds for the reader thread. Does not close or interrupt the underlying
+     * receiver.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+
+        join(thread);
+
+        for (ListenerWorker worker : workers) {
+            worker.stop();
+        }
+        workers.clear();
+    }
+
+    AudioFramePool getPool() {
+        return pool;
+    }
+
+    private int poolCapacity(int numListeners) {
+        // frame being read, plus full queue and frame being processed for each listener
+        return (int) Math.min(Integer.MAX_VALUE, 1 + (long) numListeners * (queueSize + 1));
+    }
+
+    private ListenerWorker findWorker(FrameListener listener) {
+        for (ListenerWorker worker : workers) {
+            if (worker.listener == listener) {
+                return worker;
+            }
+        }
+        return null;
+    }
+
+    private void run() {
+        long sequence = 0;
+
+        while (!closed) {
+            AudioFrame frame = pool.acquire();
+            try {
+                if (!receiver.tryRead(frame.getSamples(), READ_POLL_INTERVAL)) {
+                    continue;
+                }
+                frame.setSequence(sequence++);
+
+                for (ListenerWorker worker : workers) {
+                    worker.offer(frame);
+                }
+            } catch (RocException exc) {
+                if (!closed) {
+                    LOGGER.log(Level.SEVERE, "exception in PushRocReceiver, exception={0}", exc);
+                }
+            } catch (RuntimeException exc) {
+                // e.g. receiver was closed, no sense to continue
+                LOGGER.log(Level.SEVERE, "exception in PushRocReceiver, stopping, exception={0}", exc);
+                break;
+            } finally {
+                frame.release();
+            }
+        }
+    }
+
+    private static void join(Thread thread) {
+        boolean interrupted = false;
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class ListenerWorker {
+
+        final FrameListener listener;
+        final FrameListenerStats stats = new FrameListenerStats();
+        final ArrayBlockingQueue<AudioFrame> queue;
+        final Thread thread;
+
+        volatile boolean stopped;
+
+        ListenerWorker(FrameListener listener, int queueSize) {
+            this.listener = listener;
+            this.queue = new ArrayBlockingQueue<>(queueSize);
+            this.thread = new Thread(this::run, "roc-frame-listener");
+            this.thread.setDaemon(true);
+        }
+
+        void offer(AudioFrame frame) {
+            frame.retain();
+            if (!queue.offer(frame)) {
+                // listener fell behind real time
+                frame.release();
+                stats.addDropped();
+                return;
+            }
+            if (stopped) {
+                // worker was stopped concurrently and may have already drained its queue
+                drain();
+            }
+        }
+
+        void stop() {
+            stopped = true;
+            thread.interrupt();
+            if (thread != Thread.currentThread()) {
+                join(thread);
+            }
+            drain();
+        }
+
+        void drain() {
+            AudioFrame frame;
+            while ((frame = queue.poll()) != null) {
+                frame.release();
+            }
+        }
+
+        void run() {
+            while (!stopped) {
+                AudioFrame frame;
+                try {
+                    frame = queue.take();
+                } catch (InterruptedException e) {
+                    continue;
+                }
+
+                try {
+                    long start = System.nanoTime();
+                    listener.onFrame(frame);
+                    stats.addProcessed(System.nanoTime() - start);
+                } catch (Throwable exc) {
+                    // keep worker alive, otherwise all further frames would be dropped
+                    LOGGER.log(Level.SEVERE, "exception in FrameListener, exception={0}", exc);
+                } finally {
+                    frame.release();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package org.rocstreaming.roctoolkit;
+
+/**
+ * Thrown when a batch operation failed in the middle.
+ * <p>
+ * Frames preceding the failed one were processed successfully; their number can be
+ * obtained using {@link #getFramesWritten()}.
+ *
+ * @see RocSender#writeBatch(float[][])
+ */
+public class RocBatchException extends RocException {
+
+    private final int framesWritten;
+
+    public RocBatchException(String message, int framesWritten) {
+        super(message);
+        this.framesWritten = framesWritten;
+    }
+
+    /**
+     * Get number of frames successfully written before the failure.
+     */
+    public int getFramesWritten() {
+        return framesWritten;
+    }
+}
@@ -0,0 +1,32 @@
+package org.rocstreaming.roctoolkit;
+
+/**
+ * Metrics of one connection between sender and receiver.
+ * <p>
+ * Filled in place by {@link RocReceiver#query(Slot, RocReceiverMetrics, RocConnectionMetrics[])},
+ * so that the same instances can be reused for repeated queries without allocations.
+ *
+ * @see RocReceiverMetrics
+ */
+public class RocConnectionMetrics {
+
+    /**
+     * Estimated end-to-end latency in nanoseconds, set from native code.
+     */
+    private long e2eLatencyNanos;
+
+    /**
+     * Get estimated end-to-end latency, in nanoseconds.
+     * <p>
+     * End-to-end latency is the time from the moment when the frame is passed to the sender
+     * until it's returned from the receiver. May be zero if it's not known yet.
+     */
+    public long getE2eLatencyNanos() {
+        return e2eLatencyNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "RocConnectionMetrics(e2eLatencyNanos=" + e2eLatencyNanos + ")";
+    }
+}
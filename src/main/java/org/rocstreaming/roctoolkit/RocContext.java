@@ -91,6 +91,7 @@ public class RocContext extends NativeObject {
      */
     public RocContext(RocContextConfig config) throws RocException {
         super(construct(config), null, RocContext::destroy);
+        opened();
     }
 
     /**
@@ -0,0 +1,59 @@
+package org.rocstreaming.roctoolkit;
+
+/**
+ * Hooks for JDK Flight Recorder events.
+ * <p>
+ * Each operation calls {@code beginXxx()} before it starts and passes the returned
+ * event to {@code endXxx()} after it finishes, even if it failed.
+ * <p>
+ * This implementation does nothing and returns {@code null} events, so that Java 8
+ * and Android are not affected. On Java 11 and later, it is replaced by the version
+ * from multi-release jar, which emits events from {@code jdk.jfr}.
+ */
+final class RocEvents {
+
+    private RocEvents() {
+    }
+
+    static Object beginWrite() {
+        return null;
+    }
+
+    static void endWrite(Object event, NativeObject sender, long samples) {
+    }
+
+    static Object beginRead() {
+        return null;
+    }
+
+    static void endRead(Object event, NativeObject receiver, long samples) {
+    }
+
+    static Object beginBind() {
+        return null;
+    }
+
+    static void endBind(Object event, NativeObject receiver, Slot slot, Interface iface, Endpoint endpoint) {
+    }
+
+    static Object beginConnect() {
+        return null;
+    }
+
+    static void endConnect(Object event, NativeObject sender, Slot slot, Interface iface, Endpoint endpoint) {
+    }
+
+    static Object beginUnlink() {
+        return null;
+    }
+
+    static void endUnlink(Object event, NativeObject peer, Slot slot) {
+    }
+
+    static Object beginNativeClose() {
+        return null;
+    }
+
+    static void endNativeClose(Object event, Class<? extends NativeObject> type, long ptr) {
+    }
+}
@@ -5,7 +5,7 @@ package org.rocstreaming.roctoolkit;
  *
  * @see RocLogger#setLevel(RocLogLevel)
  */
-enum RocLogLevel {
+public enum RocLogLevel {
 
     /**
      * No messages.
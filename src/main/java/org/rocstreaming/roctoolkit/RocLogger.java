@@ -1,12 +1,44 @@
 package org.rocstreaming.roctoolkit;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-class RocLogger {
+/**
+ * Forwards libroc log messages to {@link java.util.logging}.
+ * <p>
+ * libroc threads never call into JVM. Log handler installed into libroc only copies each
+ * message into a bounded lock-free native ring, and a single daemon thread drains the ring
+ * in batches and passes messages to {@link java.util.logging}. When the ring is full, new
+ * messages are dropped and counted, see {@link RocLogger#getDroppedCount()}.
+ * <p>
+ * Messages longer than 255 bytes, and component names longer than 31 bytes, are truncated
+ * and end with {@code "..."}.
+ * <p>
+ * libroc log level is derived from the effective level of
+ * {@code org.rocstreaming.roctoolkit.RocLogger} logger, so messages disabled in
+ * {@link java.util.logging} configuration are not even formatted by libroc. Drain thread
+ * re-checks the effective level every time it wakes up, so changes of logging configuration
+ * are applied within a second. {@link RocLogger#setLevel(RocLogLevel)} changes both levels
+ * immediately.
+ * <p>
+ * While the ring stays empty, drain thread wakes up less and less often, from every 10ms
+ * up to once a second, and it wakes up once a second while libroc logging is disabled.
+ * Hence, the first message after a quiet period may be delivered with up to a second delay.
+ */
+public final class RocLogger {
 
     static final Logger LOGGER = Logger.getLogger(RocLogger.class.getName());
 
+    // Maximum number of messages drained per native call.
+    private static final int BATCH_SIZE = 64;
+    // How long drain thread sleeps when ring is empty, doubled while it stays empty.
+    private static final long MIN_DRAIN_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long MAX_DRAIN_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final RocLogLevel[] LEVELS = new RocLogLevel[RocLogLevel.TRACE.value + 1];
+
     private static final RocLogHandler HANDLER = (level, component, message) -> {
         Level julLevel = mapLogLevel(level);
         if (LOGGER.isLoggable(julLevel)) {
@@ -14,23 +46,185 @@ class RocLogger {
         }
     };
 
+    // Accessed only while holding DRAIN_LOCK.
+    private static final Object DRAIN_LOCK = new Object();
+    private static final int[] BATCH_LEVELS = new int[BATCH_SIZE];
+    private static final String[] BATCH_COMPONENTS = new String[BATCH_SIZE];
+    private static final String[] BATCH_MESSAGES = new String[BATCH_SIZE];
+    private static long reportedDropped;
+
+    // Accessed only while holding LEVEL_LOCK.
+    private static final Object LEVEL_LOCK = new Object();
+    private static RocLogLevel nativeLevel;
+
+    private static volatile boolean running = true;
+
     static {
+        for (RocLogLevel level : RocLogLevel.values()) {
+            LEVELS[level.value] = level;
+        }
         RocLibrary.loadLibrary();
-        // Set debug level and rely on jul to filter messages.
-        nativeSetLevel(RocLogLevel.DEBUG);
-        // Register callback for libroc log messages.
-        nativeSetHandler(HANDLER);
-        // JVM could be terminated before libroc, so we need to unregister Java callback
-        // from libroc before shutting down, to avoid crash.
+        // Let libroc skip messages which would be filtered by jul anyway.
+        syncLevel();
+        // Start queueing libroc log messages into native ring.
+        nativeSetEnabled(true);
+
+        Thread thread = new Thread(RocLogger::drainLoop, "roc-logger");
+        thread.setDaemon(true);
+        thread.start();
+
+        // Deliver messages queued before JVM shutdown.
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
-            nativeSetLevel(RocLogLevel.NONE);
-            nativeSetHandler(null);
+            synchronized (LEVEL_LOCK) {
+                running = false;
+                nativeLevel = RocLogLevel.NONE;
+                nativeSetLevel(RocLogLevel.NONE);
+            }
+            nativeSetEnabled(false);
+            drain();
         }));
     }
 
     private RocLogger() {
     }
 
+    /**
+     * Set log level.
+     * <p>
+     * Sets level of {@code org.rocstreaming.roctoolkit.RocLogger} logger to the matching
+     * {@link java.util.logging} level and immediately applies it to libroc. Messages of
+     * disabled levels are not formatted and not queued by libroc.
+     *
+     * @param level   log level.
+     *
+     * @throws IllegalArgumentException   if the argument is null.
+     */
+    public static void setLevel(RocLogLevel level) {
+        Check.notNull(level, "level");
+        LOGGER.setLevel(mapLogLevel(level));
+        syncLevel();
+    }
+
+    /**
+     * Apply effective level of {@link java.util.logging} logger to libroc, if it was changed.
+     */
+    static void syncLevel() {
+        RocLogLevel level = mapJulLevel(getEffectiveLevel());
+        synchronized (LEVEL_LOCK) {
+            if (running && level != nativeLevel) {
+                nativeSetLevel(level);
+                nativeLevel = level;
+            }
+        }
+    }
+
+    /**
+     * Get level last applied to libroc.
+     */
+    static RocLogLevel getNativeLevel() {
+        synchronized (LEVEL_LOCK) {
+            return nativeLevel;
+        }
+    }
+
+    /**
+     * Get number of libroc log messages dropped because drain thread didn't keep up.
+     */
+    static long getDroppedCount() {
+        return nativeGetDroppedCount();
+    }
+
+    /**
+     * Deliver all queued messages to {@link java.util.logging}.
+     *
+     * @return number of delivered messages.
+     */
+    static int drain() {
+        synchronized (DRAIN_LOCK) {
+            int total = 0;
+            int count;
+            do {
+                count = nativeDrain(BATCH_LEVELS, BATCH_COMPONENTS, BATCH_MESSAGES);
+                for (int n = 0; n < count; n++) {
+                    deliver(BATCH_LEVELS[n], BATCH_COMPONENTS[n], BATCH_MESSAGES[n]);
+                    BATCH_COMPONENTS[n] = null;
+                    BATCH_MESSAGES[n] = null;
+                }
+                total += count;
+            } while (count == BATCH_SIZE);
+
+            long dropped = nativeGetDroppedCount();
+            if (dropped != reportedDropped) {
+                LOGGER.log(Level.WARNING, "dropped {0} libroc log messages, total={1}",
+                        new Object[]{dropped - reportedDropped, dropped});
+                reportedDropped = dropped;
+            }
+            return total;
+        }
+    }
+
+    private static void drainLoop() {
+        long interval = MIN_DRAIN_INTERVAL_NANOS;
+        while (running) {
+            try {
+                syncLevel();
+                if (drain() != 0) {
+                    interval = MIN_DRAIN_INTERVAL_NANOS;
+                    continue;
+                }
+            } catch (Throwable exc) {
+                // keep draining, one broken jul handler or failed allocation should not
+                // stop logging, otherwise ring fills up and all messages are dropped
+            }
+            if (getNativeLevel() == RocLogLevel.NONE) {
+                // libroc doesn't queue messages, only watch for level changes
+                LockSupport.parkNanos(MAX_DRAIN_INTERVAL_NANOS);
+            } else {
+                LockSupport.parkNanos(interval);
+                interval = Math.min(interval * 2, MAX_DRAIN_INTERVAL_NANOS);
+            }
+        }
+    }
+
+    private static void deliver(int level, String component, String message) {
+        RocLogLevel rocLevel = level >= 0 && level < LEVELS.length ? LEVELS[level] : null;
+        if (rocLevel == null) {
+            rocLevel = RocLogLevel.DEBUG;
+        }
+        HANDLER.log(rocLevel, component, message);
+    }
+
+    private static Level getEffectiveLevel() {
+        for (Logger logger = LOGGER; logger != null; logger = logger.getParent()) {
+            Level level = logger.getLevel();
+            if (level != null) {
+                return level;
+            }
+        }
+        // Default level of root logger.
+        return Level.INFO;
+    }
+
+    private static RocLogLevel mapJulLevel(Level level) {
+        int value = level.intValue();
+        if (value == Level.OFF.intValue()) {
+            return RocLogLevel.NONE;
+        }
+        if (value <= Level.FINEST.intValue()) {
+            return RocLogLevel.TRACE;
+        }
+        if (value <= Level.FINE.intValue()) {
+            return RocLogLevel.DEBUG;
+        }
+        if (value <= Level.INFO.intValue()) {
+            return RocLogLevel.INFO;
+        }
+        if (value <= Level.SEVERE.intValue()) {
+            return RocLogLevel.ERROR;
+        }
+        return RocLogLevel.NONE;
+    }
+
     private static Level mapLogLevel(RocLogLevel level) {
         switch (level) {
             case NONE:
@@ -51,5 +245,7 @@ class RocLogger {
     }
 
     private native static void nativeSetLevel(RocLogLevel level);
-    private native static void nativeSetHandler(RocLogHandler handler);
+    private native static void nativeSetEnabled(boolean enabled);
+    private native static int nativeDrain(int[] levels, String[] components, String[] messages);
+    private native static long nativeGetDroppedCount();
 }
@@ -1,5 +1,15 @@
 package org.rocstreaming.roctoolkit;
 
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -154,6 +164,13 @@ import java.util.logging.Logger;
  *       different clocks, and the difference will eventually lead to an underrun or an
  *       overrun.</li>
  * </ul>
+ * <p>
+ * Note that internal clock is implemented in Java rather than in libroc: the native receiver is
+ * always opened with external clock, and reads are paced by the Java side using the same rule
+ * as libroc, i.e. the frame is processed when the time elapsed since the first frame reaches
+ * the duration of all previously processed samples, and waiting precision depends on timed
+ * waits of the JVM rather than on the libroc timer. This allows to bound and cancel waiting,
+ * see {@code tryRead()} and {@code interrupt()}. Failed reads don't advance the clock.
  *
  *
  * <h2>Thread safety</h2>
@@ -195,6 +212,38 @@ public class RocReceiver extends NativeObject {
 
     private static final Logger LOGGER = Logger.getLogger(RocReceiver.class.getName());
 
+    /**
+     * Minimum duration of silence counted as a run by glitch detection.
+     *
+     * @see GlitchStats#getZeroRunCount()
+     */
+    public static final Duration GLITCH_MIN_ZERO_RUN = Duration.ofMillis(1);
+
+    /**
+     * Minimum absolute sample value counted as sound by glitch detection.
+     *
+     * @see GlitchStats#getDiscontinuityCount()
+     */
+    public static final float GLITCH_THRESHOLD = 0.01f;
+
+    private final ClockSource clockSource;
+
+    private final MediaEncoding frameEncoding;
+
+    private volatile ArrayAccessMode arrayAccessMode = ArrayAccessMode.COPY;
+
+    private final Ticker ticker;
+
+    private final OperationStats readStats = new OperationStats();
+
+    private volatile CallHistograms readHistograms;
+
+    private volatile LevelMeter levelMeter;
+
+    private volatile GlitchDetector glitchDetector;
+
+    private final Set<Slot> slots = ConcurrentHashMap.newKeySet();
+
     private static long construct(RocContext context, RocReceiverConfig config) throws RocException {
         Check.notNull(context, "RocContext");
         Check.notNull(config, "RocReceiverConfig");
@@ -203,7 +252,7 @@ public class RocReceiver extends NativeObject {
             LOGGER.log(Level.FINE, "entering RocReceiver(), contextPtr={0}, config={1}",
                     new Object[]{toHex(context.getPtr()), config});
 
-            long ptr = nativeOpen(context.getPtr(), config);
+            long ptr = nativeOpen(context.getPtr(), nativeConfig(config));
 
             LOGGER.log(Level.FINE, "leaving RocReceiver(), ptr={0}", toHex(ptr));
             return ptr;
@@ -213,6 +262,45 @@ public class RocReceiver extends NativeObject {
         }
     }
 
+    private static long construct(RocContext context, PreparedReceiverConfig config) throws RocException {
+        Check.notNull(context, "RocContext");
+        Check.notNull(config, "PreparedReceiverConfig");
+
+        try {
+            LOGGER.log(Level.FINE, "entering RocReceiver(), contextPtr={0}, preparedConfigPtr={1}",
+                    new Object[]{toHex(context.getPtr()), toHex(config.getPtr())});
+
+            long ptr;
+            // prevent concurrent close of prepared config while it's being used,
+            // without serializing concurrent opens with the same config
+            Lock closeLock = config.getCloseLock();
+            closeLock.lock();
+            try {
+                if (!config.isOpen()) {
+                    throw new IllegalStateException("PreparedReceiverConfig is closed");
+                }
+                ptr = nativeOpenPrepared(context.getPtr(), config.getPtr());
+            } finally {
+                closeLock.unlock();
+            }
+
+            LOGGER.log(Level.FINE, "leaving RocReceiver(), ptr={0}", toHex(ptr));
+            return ptr;
+        } catch (Exception exc) {
+            LOGGER.log(Level.SEVERE, "exception in RocReceiver(), exception={0}", exc);
+            throw exc;
+        }
+    }
+
+    static long[] nativeConfig(RocReceiverConfig config) {
+        long[] packed = PackedConfig.pack(config);
+        // internal clock is implemented by Ticker, so that waiting can be bounded and interrupted
+        if (config.getClockSource() == ClockSource.INTERNAL) {
+            packed[PackedConfig.RECEIVER_CLOCK_SOURCE] = ClockSource.EXTERNAL.value;
+        }
+        return packed;
+    }
+
     private static void destroy(long ptr, RocContext context) {
         try {
             LOGGER.log(Level.FINE, "entering RocReceiver.close(), ptr={0}", toHex(ptr));
@@ -239,7 +327,192 @@ public class RocReceiver extends NativeObject {
      * @throws RocException               if operation failed.
      */
     public RocReceiver(RocContext context, RocReceiverConfig config) throws RocException {
-        super(construct(context, config), context, ptr -> destroy(ptr, context));
+        this(construct(context, config), context, config);
+    }
+
+    /**
+     * Open a new receiver using prepared config.
+     * <p>
+     * Same as {@link RocReceiver#RocReceiver(RocContext, RocReceiverConfig)}, but doesn't convert
+     * config into native representation, which makes opening many receivers with the same
+     * config cheaper.
+     *
+     * @param context   should point to an opened context.
+     * @param config    should point to an opened prepared config.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid.
+     * @throws IllegalStateException      if the prepared config is closed.
+     * @throws RocException               if operation failed.
+     */
+    public RocReceiver(RocContext context, PreparedReceiverConfig config) throws RocException {
+        this(construct(context, config), context, config.getConfig());
+    }
+
+    private RocReceiver(long ptr, RocContext context, RocReceiverConfig config) {
+        super(ptr, context, p -> destroy(p, context));
+        this.clockSource = config.getClockSource();
+        this.frameEncoding = config.getFrameEncoding();
+        this.ticker = Ticker.forEncoding(clockSource, frameEncoding);
+        opened();
+    }
+
+    /**
+     * Set how {@code float} arrays passed to {@link RocReceiver#read(float[])} are accessed.
+     * <p>
+     * By default, {@link ArrayAccessMode#COPY} is used. {@link ArrayAccessMode#CRITICAL}
+     * avoids copying samples. It may be used with any clock source: with
+     * {@link ClockSource#INTERNAL}, read operation waits for its turn before the array
+     * is accessed, and native read never blocks.
+     * <p>
+     * May be called at any time. Takes effect for subsequent read operations.
+     *
+     * @param mode   array access mode.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid.
+     */
+    public void setArrayAccessMode(ArrayAccessMode mode) {
+        Check.notNull(mode, "ArrayAccessMode");
+        this.arrayAccessMode = mode;
+    }
+
+    /**
+     * Get current array access mode.
+     *
+     * @return array access mode.
+     *
+     * @see RocReceiver#setArrayAccessMode(ArrayAccessMode)
+     */
+    public ArrayAccessMode getArrayAccessMode() {
+        return arrayAccessMode;
+    }
+
+    /**
+     * Enable or disable histograms of read operations.
+     * <p>
+     * When enabled, every read operation records its duration and inter-call jitter,
+     * see {@link CallHistograms}. Disabled by default.
+     * <p>
+     * May be called at any time. Enabling histograms when they are already enabled
+     * keeps recorded values, disabling them discards recorded values.
+     *
+     * @param enabled   whether histograms are enabled.
+     */
+    public void setHistogramsEnabled(boolean enabled) {
+        if (!enabled) {
+            readHistograms = null;
+        } else if (readHistograms == null) {
+            synchronized (this) {
+                if (readHistograms == null) {
+                    readHistograms = new CallHistograms();
+                }
+            }
+        }
+    }
+
+    /**
+     * Get histograms of read operations.
+     *
+     * @return histograms, or {@code null} if they are disabled.
+     *
+     * @see RocReceiver#setHistogramsEnabled(boolean)
+     */
+    public CallHistograms getReadHistograms() {
+        return readHistograms;
+    }
+
+    /**
+     * Attach level meter.
+     * <p>
+     * When attached, meter is updated with peak and RMS levels of every frame passed to
+     * read operations, computed in native code, see {@link LevelMeter}.
+     * <p>
+     * May be called at any time. Takes effect for subsequent read operations.
+     *
+     * @param meter   meter to update, or {@code null} to detach current meter.
+     *
+     * @throws IllegalArgumentException   if the meter doesn't match frame encoding.
+     */
+    public void setLevelMeter(LevelMeter meter) {
+        if (meter != null && meter.getChannelCount() != Ticker.channelCount(frameEncoding)) {
+            throw new IllegalArgumentException(
+                    "Invalid LevelMeter: number of channels must match frame encoding");
+        }
+        this.levelMeter = meter;
+    }
+
+    /**
+     * Get attached level meter.
+     *
+     * @return meter, or {@code null} if no meter is attached.
+     *
+     * @see RocReceiver#setLevelMeter(LevelMeter)
+     */
+    public LevelMeter getLevelMeter() {
+        return levelMeter;
+    }
+
+    /**
+     * Enable or disable glitch detection.
+     * <p>
+     * When enabled, every frame returned by read operations is analyzed in native code,
+     * while samples are still in cache, see {@link GlitchStats}. Disabled by default.
+     * <p>
+     * May be called at any time. Enabling detection when it's already enabled keeps
+     * counters, disabling it resets them.
+     * <p>
+     * While detection is enabled, concurrent read operations are serialized after waiting
+     * for the clock, so that every frame updates detector state exactly once.
+     *
+     * @param enabled   whether glitch detection is enabled.
+     */
+    public void setGlitchDetectionEnabled(boolean enabled) {
+        if (!enabled) {
+            glitchDetector = null;
+        } else if (glitchDetector == null) {
+            synchronized (this) {
+                if (glitchDetector == null) {
+                    long minZeroRun = GLITCH_MIN_ZERO_RUN.toNanos() * frameEncoding.getRate()
+                            / TimeUnit.SECONDS.toNanos(1);
+                    glitchDetector = new GlitchDetector(Ticker.channelCount(frameEncoding),
+                            (int) Math.max(minZeroRun, 1), GLITCH_THRESHOLD);
+                }
+            }
+        }
+    }
+
+    /**
+     * Check whether glitch detection is enabled.
+     *
+     * @see RocReceiver#setGlitchDetectionEnabled(boolean)
+     */
+    public boolean isGlitchDetectionEnabled() {
+        return glitchDetector != null;
+    }
+
+    /**
+     * Get glitch statistics.
+     * <p>
+     * Counters are updated by read operations. If glitch detection is disabled, all
+     * counters are zero.
+     *
+     * @param stats   statistics to fill.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid.
+     *
+     * @see RocReceiver#setGlitchDetectionEnabled(boolean)
+     */
+    public void getGlitchStats(GlitchStats stats) {
+        Check.notNull(stats, "stats");
+
+        GlitchDetector detector = glitchDetector;
+        if (detector != null) {
+            detector.snapshot(stats);
+        } else {
+            stats.frameCount = 0;
+            stats.zeroRunCount = 0;
+            stats.zeroFrameCount = 0;
+            stats.discontinuityCount = 0;
+        }
     }
 
     /**
@@ -314,17 +587,22 @@ public class RocReceiver extends NativeObject {
         Check.notNull(iface, "Interface");
         Check.notNull(endpoint, "Endpoint");
 
+        Object event = RocEvents.beginBind();
         try {
             LOGGER.log(Level.FINE, "entering RocReceiver.bind(), ptr={0}, slot={1}, iface={2}, endpoint={3}",
                     new Object[]{toHex(getPtr()), slot, iface, endpoint});
 
-            nativeBind(getPtr(), slot.getValue(), iface.value, endpoint);
+            int port = nativeBind(getPtr(), slot.getValue(), iface.value, endpoint);
+            endpoint.setPort(port);
+            slots.add(slot);
 
             LOGGER.log(Level.FINE, "leaving RocReceiver.bind(), ptr={0}", toHex(getPtr()));
         } catch (Exception exc) {
             LOGGER.log(Level.SEVERE, "exception in RocReceiver.bind(), ptr={0}, exception={1}",
                     new Object[]{toHex(getPtr()), exc});
             throw exc;
+        } finally {
+            RocEvents.endBind(event, this, slot, iface, endpoint);
         }
     }
 
@@ -345,20 +623,54 @@ public class RocReceiver extends NativeObject {
     public void unlink(Slot slot) throws RocException {
         Check.notNull(slot, "Slot");
 
+        Object event = RocEvents.beginUnlink();
         try {
             LOGGER.log(Level.FINE, "entering RocReceiver.unlink(), ptr={0}, slot={1}",
                     new Object[]{toHex(getPtr()), slot});
 
             nativeUnlink(getPtr(), slot.getValue());
+            slots.remove(slot);
 
             LOGGER.log(Level.FINE, "leaving RocReceiver.unlink(), ptr={0}", toHex(getPtr()));
         } catch (Exception exc) {
             LOGGER.log(Level.SEVERE, "exception in RocReceiver.unlink(), ptr={0}, exception={1}",
                     new Object[]{toHex(getPtr()), exc});
             throw exc;
+        } finally {
+            RocEvents.endUnlink(event, this, slot);
         }
     }
 
+    /**
+     * Query receiver slot metrics.
+     * <p>
+     * Fills provided metrics objects in place. Doesn't allocate memory, so it's cheap to
+     * call periodically with the same metrics objects.
+     * <p>
+     * Metrics of each connection to remote sender are written to consecutive elements of
+     * {@code connectionMetrics}, starting from zero. If there are more connections than
+     * array elements, metrics of the remaining connections are not reported; total number
+     * of connections is available via {@link RocReceiverMetrics#getConnectionCount()}.
+     *
+     * @param slot                specifies the receiver slot to query.
+     * @param metrics             metrics object to fill.
+     * @param connectionMetrics   array of connection metrics objects to fill; may be empty,
+     *                            but its elements must not be null.
+     *
+     * @return number of filled elements of {@code connectionMetrics}.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid.
+     * @throws RocException               if operation failed.
+     */
+    public int query(Slot slot, RocReceiverMetrics metrics, RocConnectionMetrics[] connectionMetrics)
+            throws RocException {
+        Check.notNull(slot, "Slot");
+        Check.notNull(metrics, "RocReceiverMetrics");
+        Check.notNull(connectionMetrics, "connectionMetrics");
+
+        return nativeQuery(getPtr(), slot.getValue(), metrics, connectionMetrics);
+    }
+
     /**
      * Read samples from the receiver.
      * <p>
@@ -383,15 +695,464 @@ public class RocReceiver extends NativeObject {
     public void read(float[] samples) throws RocException {
         Check.notNull(samples, "samples");
 
-        nativeReadFloats(getPtr(), samples);
+        Object event = RocEvents.beginRead();
+        GlitchDetector detector = glitchDetector;
+        long start = beginRead(detector);
+        long samplesRead = 0;
+        try {
+            readFloats(samples, 0, samples.length, detector);
+            samplesRead = samples.length;
+        } finally {
+            endRead(event, start, samplesRead, detector);
+        }
+    }
+
+    /**
+     * Read samples from the receiver into a range of array.
+     * <p>
+     * Same as {@link RocReceiver#read(float[])}, but reads only {@code length} samples
+     * and stores them starting from {@code offset}. The rest of the array is left
+     * untouched, which allows to read frames directly into a larger buffer, e.g. a ring
+     * buffer, without copying them from a separate array.
+     *
+     * @param samples   should point to an initialized {@code float} array which will be
+     *                  filled with samples.
+     * @param offset    index of the first sample to fill.
+     * @param length    number of samples to read.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid.
+     * @throws RocException               if operation failed.
+     */
+    public void read(float[] samples, int offset, int length) throws RocException {
+        Check.notNull(samples, "samples");
+        Check.inBounds(samples.length, offset, length, "samples");
+
+        Object event = RocEvents.beginRead();
+        GlitchDetector detector = glitchDetector;
+        long start = beginRead(detector);
+        long samplesRead = 0;
+        try {
+            readFloats(samples, offset, length, detector);
+            samplesRead = length;
+        } finally {
+            endRead(event, start, samplesRead, detector);
+        }
+    }
+
+    /**
+     * Read samples from the receiver, waiting no longer than the given timeout.
+     * <p>
+     * Same as {@link RocReceiver#read(float[])}, but if {@link ClockSource#INTERNAL} is
+     * used and it's not yet time to read the samples when the timeout expires, returns
+     * {@code false} and leaves the array untouched. Also returns {@code false} if waiting
+     * was interrupted using {@link RocReceiver#interrupt()} or by interrupting current
+     * thread. Zero timeout means don't wait at all.
+     * <p>
+     * If {@link ClockSource#EXTERNAL} is used, read never blocks and this method
+     * always reads the samples.
+     *
+     * @param samples   should point to an initialized {@code float} array which will be
+     *                  filled with samples.
+     * @param timeout   maximum time to wait.
+     *
+     * @return {@code true} if samples were read, {@code false} otherwise.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid.
+     * @throws RocException               if operation failed.
+     */
+    public boolean tryRead(float[] samples, Duration timeout) throws RocException {
+        Check.notNull(samples, "samples");
+
+        return tryRead(samples, 0, samples.length, timeout);
+    }
+
+    /**
+     * Read samples from the receiver into a range of array, waiting no longer than
+     * the given timeout.
+     * <p>
+     * Same as {@link RocReceiver#tryRead(float[], Duration)}, but reads only
+     * {@code length} samples and stores them starting from {@code offset}.
+     *
+     * @param samples   should point to an initialized {@code float} array which will be
+     *                  filled with samples.
+     * @param offset    index of the first sample to fill.
+     * @param length    number of samples to read.
+     * @param timeout   maximum time to wait.
+     *
+     * @return {@code true} if samples were read, {@code false} otherwise.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid.
+     * @throws RocException               if operation failed.
+     */
+    public boolean tryRead(float[] samples, int offset, int length, Duration timeout) throws RocException {
+        Check.notNull(samples, "samples");
+        Check.inBounds(samples.length, offset, length, "samples");
+        Check.notNull(timeout, "timeout");
+        Check.notNegative(timeout, "timeout");
+
+        Object event = RocEvents.beginRead();
+        long start = startTimer();
+        if (ticker != null && !ticker.acquire(Ticker.toNanos(timeout))) {
+            return false;
+        }
+        GlitchDetector detector = glitchDetector;
+        if (detector != null) {
+            detector.lock();
+        }
+        long samplesRead = 0;
+        try {
+            readFloats(samples, offset, length, detector);
+            samplesRead = length;
+        } finally {
+            endRead(event, start, samplesRead, detector);
+        }
+        return true;
+    }
+
+    /**
+     * Wake up threads blocked in read operations.
+     * <p>
+     * Read operations that are waiting for their time to read samples according to
+     * {@link ClockSource#INTERNAL} stop waiting: {@code tryRead()} returns {@code false},
+     * and {@code read()} throws {@link RocException}. Samples are not read. Subsequent
+     * read operations are not affected.
+     * <p>
+     * Does nothing if {@link ClockSource#EXTERNAL} is used.
+     */
+    public void interrupt() {
+        if (ticker != null) {
+            ticker.interrupt();
+        }
+    }
+
+    /**
+     * Read planar samples from the receiver.
+     * <p>
+     * Same as {@link RocReceiver#read(float[])}, but fills one array per channel,
+     * e.g. per each track of {@link ChannelLayout#MULTITRACK} encoding. Arrays must
+     * have equal length, and their number must match the number of channels of the
+     * frame encoding. Samples are deinterleaved in native code.
+     *
+     * @param planes   array of channels, each channel is an initialized {@code float}
+     *                 array which will be filled with samples.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid.
+     * @throws RocException               if operation failed.
+     */
+    public void read(float[][] planes) throws RocException {
+        Check.notNull(planes, "planes");
+        if (planes.length != Ticker.channelCount(frameEncoding)) {
+            throw new IllegalArgumentException(
+                    "Invalid planes: number of planes must match number of channels in frame encoding");
+        }
+        Check.sameLength(planes, "planes");
+
+        Object event = RocEvents.beginRead();
+        GlitchDetector detector = glitchDetector;
+        long start = beginRead(detector);
+        long samplesRead = 0;
+        try {
+            nativeReadPlanes(getPtr(), planes, glitchState(detector), levels());
+            samplesRead = (long) planes.length * planes[0].length;
+        } finally {
+            endRead(event, start, samplesRead, detector);
+        }
+    }
+
+    /**
+     * Read 16-bit samples from the receiver.
+     * <p>
+     * Same as {@link RocReceiver#read(float[])}, but fills array with signed 16-bit
+     * samples, which are converted from floats in native code. Samples out of range
+     * are clipped.
+     *
+     * @param samples   should point to an initialized {@code short} array which will be
+     *                  filled with samples.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid.
+     * @throws RocException               if operation failed.
+     */
+    public void read(short[] samples) throws RocException {
+        Check.notNull(samples, "samples");
+
+        Object event = RocEvents.beginRead();
+        GlitchDetector detector = glitchDetector;
+        long start = beginRead(detector);
+        long samplesRead = 0;
+        try {
+            nativeReadShorts(getPtr(), samples, 0, samples.length, glitchState(detector), levels());
+            samplesRead = samples.length;
+        } finally {
+            endRead(event, start, samplesRead, detector);
+        }
+    }
+
+    /**
+     * Read 16-bit samples from the receiver into a range of array.
+     * <p>
+     * Same as {@link RocReceiver#read(short[])}, but reads only {@code length} samples
+     * and stores them starting from {@code offset}.
+     *
+     * @param samples   should point to an initialized {@code short} array which will be
+     *                  filled with samples.
+     * @param offset    index of the first sample to fill.
+     * @param length    number of samples to read.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid.
+     * @throws RocException               if operation failed.
+     */
+    public void read(short[] samples, int offset, int length) throws RocException {
+        Check.notNull(samples, "samples");
+        Check.inBounds(samples.length, offset, length, "samples");
+
+        Object event = RocEvents.beginRead();
+        GlitchDetector detector = glitchDetector;
+        long start = beginRead(detector);
+        long samplesRead = 0;
+        try {
+            nativeReadShorts(getPtr(), samples, offset, length, glitchState(detector), levels());
+            samplesRead = length;
+        } finally {
+            endRead(event, start, samplesRead, detector);
+        }
+    }
+
+    /**
+     * Read 16-bit little-endian samples from the receiver.
+     * <p>
+     * Same as {@link RocReceiver#read(short[])}, but stores samples as bytes, two bytes
+     * per sample, least significant byte first, in the form accepted by
+     * {@code javax.sound.sampled.SourceDataLine} for 16-bit signed little-endian format.
+     *
+     * @param bytes    should point to an initialized {@code byte} array which will be
+     *                 filled with samples.
+     * @param offset   index of the first byte to fill.
+     * @param length   number of bytes to fill, should be even.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid.
+     * @throws RocException               if operation failed.
+     */
+    public void readPcm16Le(byte[] bytes, int offset, int length) throws RocException {
+        Check.notNull(bytes, "bytes");
+        Check.inBounds(bytes.length, offset, length, "bytes");
+        if (length % 2 != 0) {
+            throw new IllegalArgumentException("Invalid bytes: length must be multiple of 2");
+        }
+
+        Object event = RocEvents.beginRead();
+        GlitchDetector detector = glitchDetector;
+        long start = beginRead(detector);
+        long samplesRead = 0;
+        try {
+            nativeReadPcm16Le(getPtr(), bytes, offset, length, glitchState(detector), levels());
+            samplesRead = length / 2;
+        } finally {
+            endRead(event, start, samplesRead, detector);
+        }
+    }
+
+    /**
+     * Read samples from the receiver into a buffer.
+     * <p>
+     * Same as {@link RocReceiver#read(float[])}, but fills buffer between its current
+     * position and its limit. On success, buffer position is advanced to its limit.
+     * <p>
+     * If the buffer is direct, its memory is passed to the receiver as is, and samples
+     * are stored directly into it, without any copying, so the buffer must use native
+     * byte order. Otherwise, the buffer should be backed by an accessible array.
+     *
+     * @param samples   buffer which will be filled with samples.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid.
+     * @throws RocException               if operation failed.
+     */
+    public void read(FloatBuffer samples) throws RocException {
+        Check.notNull(samples, "samples");
+
+        if (samples.isReadOnly()) {
+            throw new IllegalArgumentException("Invalid samples: must not be read-only");
+        }
+
+        if (samples.isDirect()) {
+            if (samples.order() != ByteOrder.nativeOrder()) {
+                throw new IllegalArgumentException("Invalid samples: must use native byte order");
+            }
+        } else if (!samples.hasArray()) {
+            throw new IllegalArgumentException("Invalid samples: must be direct or backed by accessible array");
+        }
+
+        Object event = RocEvents.beginRead();
+        GlitchDetector detector = glitchDetector;
+        long start = beginRead(detector);
+        long samplesRead = 0;
+        try {
+            if (samples.isDirect()) {
+                nativeReadBuffer(getPtr(), samples, samples.position() * Float.BYTES, samples.remaining() * Float.BYTES,
+                        glitchState(detector), levels());
+            } else {
+                readFloats(samples.array(), samples.arrayOffset() + samples.position(), samples.remaining(), detector);
+            }
+            samplesRead = samples.remaining();
+        } finally {
+            endRead(event, start, samplesRead, detector);
+        }
+
+        // cast is needed to stay compatible with Java 8 runtime
+        ((Buffer) samples).position(samples.limit());
+    }
+
+    /**
+     * Read samples from the receiver into a direct byte buffer.
+     * <p>
+     * Same as {@link RocReceiver#read(FloatBuffer)}, but takes raw bytes. Bytes between
+     * buffer's current position and its limit are filled with samples in the frame
+     * encoding format, i.e. 32-bit native-endian floats for {@link Format#PCM_FLOAT32}.
+     * On success, buffer position is advanced to its limit.
+     * <p>
+     * Buffer memory is passed to the receiver as is, and samples are stored directly
+     * into it, without any copying, so buffer's current position must be aligned to
+     * the sample size.
+     *
+     * @param samples   direct buffer which will be filled with samples.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid.
+     * @throws RocException               if operation failed.
+     */
+    public void read(ByteBuffer samples) throws RocException {
+        Check.notNull(samples, "samples");
+
+        if (samples.isReadOnly()) {
+            throw new IllegalArgumentException("Invalid samples: must not be read-only");
+        }
+        if (!samples.isDirect()) {
+            throw new IllegalArgumentException("Invalid samples: must be direct");
+        }
+        if (samples.remaining() % Float.BYTES != 0) {
+            throw new IllegalArgumentException("Invalid samples: size must be multiple of sample size");
+        }
+
+        Object event = RocEvents.beginRead();
+        GlitchDetector detector = glitchDetector;
+        long start = beginRead(detector);
+        long samplesRead = 0;
+        try {
+            nativeReadBuffer(getPtr(), samples, samples.position(), samples.remaining(),
+                    glitchState(detector), levels());
+            samplesRead = samples.remaining() / Float.BYTES;
+        } finally {
+            endRead(event, start, samplesRead, detector);
+        }
+
+        ((Buffer) samples).position(samples.limit());
+    }
+
+    /**
+     * Close the receiver.
+     * <p>
+     * Interrupts blocked read operations, see {@link RocReceiver#interrupt()}, and then
+     * deinitializes and deallocates the receiver, and detaches it from the context.
+     */
+    @Override
+    public void close() {
+        interrupt();
+        super.close();
+    }
+
+    /**
+     * Get clock source from receiver config.
+     */
+    ClockSource getClockSource() {
+        return clockSource;
+    }
+
+    /**
+     * Get statistics of read operations.
+     */
+    OperationStats getReadStats() {
+        return readStats;
+    }
+
+    /**
+     * Get slots with bound or connected interfaces.
+     */
+    Set<Slot> getSlots() {
+        return Collections.unmodifiableSet(slots);
+    }
+
+    private long startTimer() {
+        // histograms need timestamps even if stats are not recorded
+        return readHistograms != null ? System.nanoTime() : OperationStats.start();
+    }
+
+    private long beginRead(GlitchDetector detector) throws RocException {
+        long start = startTimer();
+        if (ticker != null && !ticker.acquire(-1)) {
+            throw new RocException("Failed to read frame from RocReceiver: interrupted");
+        }
+        if (detector != null) {
+            // state is loaded, updated, and stored back by native read
+            detector.lock();
+        }
+        return start;
+    }
+
+    private void endRead(Object event, long start, long samples, GlitchDetector detector) {
+        if (detector != null) {
+            detector.unlock();
+        }
+        if (ticker != null) {
+            ticker.release(samples);
+        }
+        if (start != OperationStats.NOT_TIMED) {
+            long end = System.nanoTime();
+            if (OperationStats.isEnabled()) {
+                readStats.record(end - start);
+            }
+            CallHistograms histograms = readHistograms;
+            if (histograms != null) {
+                histograms.record(start, end);
+            }
+        }
+        RocEvents.endRead(event, this, samples);
+    }
+
+    private float[] levels() {
+        LevelMeter meter = levelMeter;
+        return meter != null ? meter.getLevels() : null;
+    }
+
+    private static long[] glitchState(GlitchDetector detector) {
+        return detector != null ? detector.getState() : null;
+    }
+
+    private void readFloats(float[] samples, int offset, int length, GlitchDetector detector) throws RocException {
+        if (arrayAccessMode == ArrayAccessMode.CRITICAL) {
+            nativeReadFloatsCritical(getPtr(), samples, offset, length, glitchState(detector), levels());
+        } else {
+            nativeReadFloats(getPtr(), samples, offset, length, glitchState(detector), levels());
+        }
     }
 
-    private static native long nativeOpen(long contextPtr, RocReceiverConfig config) throws RocException;
+    private static native long nativeOpen(long contextPtr, long[] config) throws RocException;
+    private static native long nativeOpenPrepared(long contextPtr, long configPtr) throws RocException;
     private static native void nativeClose(long receiverPtr);
 
     private native void nativeConfigure(long receiverPtr, int slot, int iface, InterfaceConfig config) throws RocException;
-    private native void nativeBind(long receiverPtr, int slot, int iface, Endpoint endpoint) throws RocException;
+    private native int nativeBind(long receiverPtr, int slot, int iface, Endpoint endpoint) throws RocException;
     private native void nativeUnlink(long receiverPtr, int slot) throws RocException;
+    private native int nativeQuery(long receiverPtr, int slot, RocReceiverMetrics metrics,
+            RocConnectionMetrics[] connectionMetrics) throws RocException;
 
-    private native void nativeReadFloats(long receiverPtr, float[] samples) throws RocException;
+    private native void nativeReadFloats(long receiverPtr, float[] samples, int offset, int length,
+            long[] glitchState, float[] levels) throws RocException;
+    private native void nativeReadFloatsCritical(long receiverPtr, float[] samples, int offset, int length,
+            long[] glitchState, float[] levels) throws RocException;
+    private native void nativeReadBuffer(long receiverPtr, Buffer samples, int offset, int size,
+            long[] glitchState, float[] levels) throws RocException;
+    private native void nativeReadPlanes(long receiverPtr, float[][] planes,
+            long[] glitchState, float[] levels) throws RocException;
+    private native void nativeReadShorts(long receiverPtr, short[] samples, int offset, int length,
+            long[] glitchState, float[] levels) throws RocException;
+    private native void nativeReadPcm16Le(long receiverPtr, byte[] bytes, int offset, int length,
+            long[] glitchState, float[] levels) throws RocException;
 }
@@ -0,0 +1,34 @@
+package org.rocstreaming.roctoolkit;
+
+/**
+ * Receiver metrics.
+ * <p>
+ * Holds metrics of one receiver slot. Filled in place by
+ * {@link RocReceiver#query(Slot, RocReceiverMetrics, RocConnectionMetrics[])}, so that
+ * the same instance can be reused for repeated queries without allocations.
+ *
+ * @see RocReceiver#query(Slot, RocReceiverMetrics, RocConnectionMetrics[])
+ * @see RocConnectionMetrics
+ */
+public class RocReceiverMetrics {
+
+    /**
+     * Number of active connections, set from native code.
+     */
+    private int connectionCount;
+
+    /**
+     * Get number of active connections.
+     * <p>
+     * Receiver has one connection per each remote sender. May be larger than the number
+     * of connection metrics filled by query, if the array passed to query was too short.
+     */
+    public int getConnectionCount() {
+        return connectionCount;
+    }
+
+    @Override
+    public String toString() {
+        return "RocReceiverMetrics(connectionCount=" + connectionCount + ")";
+    }
+}
@@ -1,5 +1,14 @@
 package org.rocstreaming.roctoolkit;
 
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -123,6 +132,13 @@ import java.util.logging.Logger;
  *       might have slightly different clocks, and the difference will eventually lead to an
  *       underrun or an overrun.</li>
  * </ul>
+ * <p>
+ * Note that internal clock is implemented in Java rather than in libroc: the native sender is
+ * always opened with external clock, and writes are paced by the Java side using the same rule
+ * as libroc, i.e. the frame is processed when the time elapsed since the first frame reaches
+ * the duration of all previously processed samples, and waiting precision depends on timed
+ * waits of the JVM rather than on the libroc timer. This allows to bound and cancel waiting,
+ * see {@code tryWrite()} and {@code interrupt()}. Failed writes don't advance the clock.
  *
  *
  * <h2>Thread safety</h2>
@@ -165,6 +181,20 @@ public class RocSender extends NativeObject {
 
     private static final Logger LOGGER = Logger.getLogger(RocSender.class.getName());
 
+    private final MediaEncoding frameEncoding;
+
+    private volatile ArrayAccessMode arrayAccessMode = ArrayAccessMode.COPY;
+
+    private final Ticker ticker;
+
+    private final OperationStats writeStats = new OperationStats();
+
+    private volatile CallHistograms writeHistograms;
+
+    private volatile LevelMeter levelMeter;
+
+    private final Set<Slot> slots = ConcurrentHashMap.newKeySet();
+
     private static long construct(RocContext context, RocSenderConfig config) throws RocException {
         Check.notNull(context, "RocContext");
         Check.notNull(config, "RocSenderConfig");
@@ -173,7 +203,37 @@ public class RocSender extends NativeObject {
             LOGGER.log(Level.FINE, "entering RocSender(), contextPtr={0}, config={1}",
                     new Object[]{toHex(context.getPtr()), config});
 
-            long ptr = nativeOpen(context.getPtr(), config);
+            long ptr = nativeOpen(context.getPtr(), nativeConfig(config));
+
+            LOGGER.log(Level.FINE, "leaving RocSender(), ptr={0}", toHex(ptr));
+            return ptr;
+        } catch (Exception exc) {
+            LOGGER.log(Level.SEVERE, "exception in RocSender(), exception={0}", exc);
+            throw exc;
+        }
+    }
+
+    private static long construct(RocContext context, PreparedSenderConfig config) throws RocException {
+        Check.notNull(context, "RocContext");
+        Check.notNull(config, "PreparedSenderConfig");
+
+        try {
+            LOGGER.log(Level.FINE, "entering RocSender(), contextPtr={0}, preparedConfigPtr={1}",
+                    new Object[]{toHex(context.getPtr()), toHex(config.getPtr())});
+
+            long ptr;
+            // prevent concurrent close of prepared config while it's being used,
+            // without serializing concurrent opens with the same config
+            Lock closeLock = config.getCloseLock();
+            closeLock.lock();
+            try {
+                if (!config.isOpen()) {
+                    throw new IllegalStateException("PreparedSenderConfig is closed");
+                }
+                ptr = nativeOpenPrepared(context.getPtr(), config.getPtr());
+            } finally {
+                closeLock.unlock();
+            }
 
             LOGGER.log(Level.FINE, "leaving RocSender(), ptr={0}", toHex(ptr));
             return ptr;
@@ -183,6 +243,15 @@ public class RocSender extends NativeObject {
         }
     }
 
+    static long[] nativeConfig(RocSenderConfig config) {
+        long[] packed = PackedConfig.pack(config);
+        // internal clock is implemented by Ticker, so that waiting can be bounded and interrupted
+        if (config.getClockSource() == ClockSource.INTERNAL) {
+            packed[PackedConfig.SENDER_CLOCK_SOURCE] = ClockSource.EXTERNAL.value;
+        }
+        return packed;
+    }
+
     private static void destroy(long ptr, RocContext context) {
         try {
             LOGGER.log(Level.FINE, "entering RocSender.close(), ptr={0}", toHex(ptr));
@@ -208,7 +277,128 @@ public class RocSender extends NativeObject {
      * @throws RocException               if operation failed.
      */
     public RocSender(RocContext context, RocSenderConfig config) throws RocException {
-        super(construct(context, config), context, ptr -> destroy(ptr, context));
+        this(construct(context, config), context, config);
+    }
+
+    /**
+     * Open a new sender using prepared config.
+     * <p>
+     * Same as {@link RocSender#RocSender(RocContext, RocSenderConfig)}, but doesn't convert
+     * config into native representation, which makes opening many senders with the same
+     * config cheaper.
+     *
+     * @param context   should point to an opened context.
+     * @param config    should point to an opened prepared config.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid.
+     * @throws IllegalStateException      if the prepared config is closed.
+     * @throws RocException               if operation failed.
+     */
+    public RocSender(RocContext context, PreparedSenderConfig config) throws RocException {
+        this(construct(context, config), context, config.getConfig());
+    }
+
+    private RocSender(long ptr, RocContext context, RocSenderConfig config) {
+        super(ptr, context, p -> destroy(p, context));
+        this.frameEncoding = config.getFrameEncoding();
+        this.ticker = Ticker.forEncoding(config.getClockSource(), frameEncoding);
+        opened();
+    }
+
+    /**
+     * Set how {@code float} arrays passed to {@link RocSender#write(float[])} are accessed.
+     * <p>
+     * By default, {@link ArrayAccessMode#COPY} is used. {@link ArrayAccessMode#CRITICAL}
+     * avoids copying samples. It may be used with any clock source: with
+     * {@link ClockSource#INTERNAL}, write operation waits for its turn before the array
+     * is accessed, and native write never blocks.
+     * <p>
+     * May be called at any time. Takes effect for subsequent write operations.
+     *
+     * @param mode   array access mode.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid.
+     */
+    public void setArrayAccessMode(ArrayAccessMode mode) {
+        Check.notNull(mode, "ArrayAccessMode");
+        this.arrayAccessMode = mode;
+    }
+
+    /**
+     * Get current array access mode.
+     *
+     * @return array access mode.
+     *
+     * @see RocSender#setArrayAccessMode(ArrayAccessMode)
+     */
+    public ArrayAccessMode getArrayAccessMode() {
+        return arrayAccessMode;
+    }
+
+    /**
+     * Enable or disable histograms of write operations.
+     * <p>
+     * When enabled, every write operation records its duration and inter-call jitter,
+     * see {@link CallHistograms}. Batch writes are not recorded. Disabled by default.
+     * <p>
+     * May be called at any time. Enabling histograms when they are already enabled
+     * keeps recorded values, disabling them discards recorded values.
+     *
+     * @param enabled   whether histograms are enabled.
+     */
+    public void setHistogramsEnabled(boolean enabled) {
+        if (!enabled) {
+            writeHistograms = null;
+        } else if (writeHistograms == null) {
+            synchronized (this) {
+                if (writeHistograms == null) {
+                    writeHistograms = new CallHistograms();
+                }
+            }
+        }
+    }
+
+    /**
+     * Get histograms of write operations.
+     *
+     * @return histograms, or {@code null} if they are disabled.
+     *
+     * @see RocSender#setHistogramsEnabled(boolean)
+     */
+    public CallHistograms getWriteHistograms() {
+        return writeHistograms;
+    }
+
+    /**
+     * Attach level meter.
+     * <p>
+     * When attached, meter is updated with peak and RMS levels of every frame passed to
+     * write operations, computed in native code, see {@link LevelMeter}. After a batch
+     * write, meter holds levels of the last written frame of the batch.
+     * <p>
+     * May be called at any time. Takes effect for subsequent write operations.
+     *
+     * @param meter   meter to update, or {@code null} to detach current meter.
+     *
+     * @throws IllegalArgumentException   if the meter doesn't match frame encoding.
+     */
+    public void setLevelMeter(LevelMeter meter) {
+        if (meter != null && meter.getChannelCount() != Ticker.channelCount(frameEncoding)) {
+            throw new IllegalArgumentException(
+                    "Invalid LevelMeter: number of channels must match frame encoding");
+        }
+        this.levelMeter = meter;
+    }
+
+    /**
+     * Get attached level meter.
+     *
+     * @return meter, or {@code null} if no meter is attached.
+     *
+     * @see RocSender#setLevelMeter(LevelMeter)
+     */
+    public LevelMeter getLevelMeter() {
+        return levelMeter;
     }
 
     /**
@@ -279,17 +469,21 @@ public class RocSender extends NativeObject {
         Check.notNull(iface, "Interface");
         Check.notNull(endpoint, "Endpoint");
 
+        Object event = RocEvents.beginConnect();
         try {
             LOGGER.log(Level.FINE, "entering RocSender.connect(), ptr={0}, slot={1}, iface={2}, endpoint={3}",
                     new Object[]{toHex(getPtr()), slot, iface, endpoint});
 
             nativeConnect(getPtr(), slot.getValue(), iface.value, endpoint);
+            slots.add(slot);
 
             LOGGER.log(Level.FINE, "leaving RocSender.connect(), ptr={0}", toHex(getPtr()));
         } catch (Exception exc) {
             LOGGER.log(Level.SEVERE, "exception in RocSender.connect(), ptr={0}, exception={1}",
                     new Object[]{toHex(getPtr()), exc});
             throw exc;
+        } finally {
+            RocEvents.endConnect(event, this, slot, iface, endpoint);
         }
     }
 
@@ -310,20 +504,43 @@ public class RocSender extends NativeObject {
     public void unlink(Slot slot) throws RocException {
         Check.notNull(slot, "Slot");
 
+        Object event = RocEvents.beginUnlink();
         try {
             LOGGER.log(Level.FINE, "entering RocSender.unlink(), ptr={0}, slot={1}",
                     new Object[]{toHex(getPtr()), slot});
 
             nativeUnlink(getPtr(), slot.getValue());
+            slots.remove(slot);
 
             LOGGER.log(Level.FINE, "leaving RocSender.unlink(), ptr={0}", toHex(getPtr()));
         } catch (Exception exc) {
             LOGGER.log(Level.SEVERE, "exception in RocSender.unlink(), ptr={0}, exception={1}",
                     new Object[]{toHex(getPtr()), exc});
             throw exc;
+        } finally {
+            RocEvents.endUnlink(event, this, slot);
         }
     }
 
+    /**
+     * Query sender slot metrics.
+     * <p>
+     * Fills provided metrics object in place. Doesn't allocate memory, so it's cheap to
+     * call periodically with the same metrics object.
+     *
+     * @param slot      specifies the sender slot to query.
+     * @param metrics   metrics object to fill.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid.
+     * @throws RocException               if operation failed.
+     */
+    public void query(Slot slot, RocSenderMetrics metrics) throws RocException {
+        Check.notNull(slot, "Slot");
+        Check.notNull(metrics, "RocSenderMetrics");
+
+        nativeQuery(getPtr(), slot.getValue(), metrics);
+    }
+
     /**
      * Encode samples to packets and transmit them to the receiver.
      * <p>
@@ -347,15 +564,532 @@ public class RocSender extends NativeObject {
     public void write(float[] samples) throws RocException {
         Check.notNull(samples, "samples");
 
-        nativeWriteFloats(getPtr(), samples);
+        Object event = RocEvents.beginWrite();
+        long start = beginWrite();
+        long samplesWritten = 0;
+        try {
+            writeFloats(samples, 0, samples.length);
+            samplesWritten = samples.length;
+        } finally {
+            endWrite(event, start, samplesWritten);
+        }
+    }
+
+    /**
+     * Encode a range of samples to packets and transmit them to the receiver.
+     * <p>
+     * Same as {@link RocSender#write(float[])}, but sends only {@code length} samples
+     * starting from {@code offset}. Only the requested range of the array is accessed,
+     * which allows to send frames directly from a larger buffer, e.g. a ring buffer,
+     * without copying them into a separate array.
+     *
+     * @param samples   array of samples to send.
+     * @param offset    index of the first sample to send.
+     * @param length    number of samples to send.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid.
+     * @throws RocException               if operation failed.
+     */
+    public void write(float[] samples, int offset, int length) throws RocException {
+        Check.notNull(samples, "samples");
+        Check.inBounds(samples.length, offset, length, "samples");
+
+        Object event = RocEvents.beginWrite();
+        long start = beginWrite();
+        long samplesWritten = 0;
+        try {
+            writeFloats(samples, offset, length);
+            samplesWritten = length;
+        } finally {
+            endWrite(event, start, samplesWritten);
+        }
+    }
+
+    /**
+     * Encode samples to packets and transmit them to the receiver, waiting no longer
+     * than the given timeout.
+     * <p>
+     * Same as {@link RocSender#write(float[])}, but if {@link ClockSource#INTERNAL} is
+     * used and it's not yet time to transmit the samples when the timeout expires,
+     * returns {@code false} without sending them. Also returns {@code false} if waiting
+     * was interrupted using {@link RocSender#interrupt()} or by interrupting current
+     * thread. Zero timeout means don't wait at all.
+     * <p>
+     * If {@link ClockSource#EXTERNAL} is used, write never blocks and this method
+     * always sends the samples.
+     *
+     * @param samples   array of samples to send.
+     * @param timeout   maximum time to wait.
+     *
+     * @return {@code true} if samples were sent, {@code false} otherwise.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid.
+     * @throws RocException               if operation failed.
+     */
+    public boolean tryWrite(float[] samples, Duration timeout) throws RocException {
+        Check.notNull(samples, "samples");
+
+        return tryWrite(samples, 0, samples.length, timeout);
+    }
+
+    /**
+     * Encode a range of samples to packets and transmit them to the receiver, waiting
+     * no longer than the given timeout.
+     * <p>
+     * Same as {@link RocSender#tryWrite(float[], Duration)}, but sends only
+     * {@code length} samples starting from {@code offset}.
+     *
+     * @param samples   array of samples to send.
+     * @param offset    index of the first sample to send.
+     * @param length    number of samples to send.
+     * @param timeout   maximum time to wait.
+     *
+     * @return {@code true} if samples were sent, {@code false} otherwise.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid.
+     * @throws RocException               if operation failed.
+     */
+    public boolean tryWrite(float[] samples, int offset, int length, Duration timeout) throws RocException {
+        Check.notNull(samples, "samples");
+        Check.inBounds(samples.length, offset, length, "samples");
+        Check.notNull(timeout, "timeout");
+        Check.notNegative(timeout, "timeout");
+
+        Object event = RocEvents.beginWrite();
+        long start = startTimer();
+        if (ticker != null && !ticker.acquire(Ticker.toNanos(timeout))) {
+            return false;
+        }
+        long samplesWritten = 0;
+        try {
+            writeFloats(samples, offset, length);
+            samplesWritten = length;
+        } finally {
+            endWrite(event, start, samplesWritten);
+        }
+        return true;
+    }
+
+    /**
+     * Wake up threads blocked in write operations.
+     * <p>
+     * Write operations that are waiting for their time to transmit samples according to
+     * {@link ClockSource#INTERNAL} stop waiting: {@code tryWrite()} returns {@code false},
+     * and {@code write()} throws {@link RocException}. Samples are not sent. Subsequent
+     * write operations are not affected.
+     * <p>
+     * Does nothing if {@link ClockSource#EXTERNAL} is used.
+     */
+    public void interrupt() {
+        if (ticker != null) {
+            ticker.interrupt();
+        }
+    }
+
+    /**
+     * Encode planar samples to packets and transmit them to the receiver.
+     * <p>
+     * Same as {@link RocSender#write(float[])}, but takes one array per channel,
+     * e.g. per each track of {@link ChannelLayout#MULTITRACK} encoding. Arrays must
+     * have equal length, and their number must match the number of channels of the
+     * frame encoding. Samples are interleaved in native code.
+     *
+     * @param planes   array of channels, each channel is an array of samples.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid.
+     * @throws RocException               if operation failed.
+     */
+    public void write(float[][] planes) throws RocException {
+        Check.notNull(planes, "planes");
+        if (planes.length != Ticker.channelCount(frameEncoding)) {
+            throw new IllegalArgumentException(
+                    "Invalid planes: number of planes must match number of channels in frame encoding");
+        }
+        Check.sameLength(planes, "planes");
+
+        Object event = RocEvents.beginWrite();
+        long start = beginWrite();
+        long samplesWritten = 0;
+        try {
+            nativeWritePlanes(getPtr(), planes, levels());
+            samplesWritten = (long) planes.length * planes[0].length;
+        } finally {
+            endWrite(event, start, samplesWritten);
+        }
+    }
+
+    /**
+     * Encode 16-bit samples to packets and transmit them to the receiver.
+     * <p>
+     * Same as {@link RocSender#write(float[])}, but takes signed 16-bit samples,
+     * which are converted to floats in native code.
+     *
+     * @param samples   array of samples to send.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid.
+     * @throws RocException               if operation failed.
+     */
+    public void write(short[] samples) throws RocException {
+        Check.notNull(samples, "samples");
+
+        Object event = RocEvents.beginWrite();
+        long start = beginWrite();
+        long samplesWritten = 0;
+        try {
+            nativeWriteShorts(getPtr(), samples, 0, samples.length, levels());
+            samplesWritten = samples.length;
+        } finally {
+            endWrite(event, start, samplesWritten);
+        }
+    }
+
+    /**
+     * Encode a range of 16-bit samples to packets and transmit them to the receiver.
+     * <p>
+     * Same as {@link RocSender#write(short[])}, but sends only {@code length} samples
+     * starting from {@code offset}.
+     *
+     * @param samples   array of samples to send.
+     * @param offset    index of the first sample to send.
+     * @param length    number of samples to send.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid.
+     * @throws RocException               if operation failed.
+     */
+    public void write(short[] samples, int offset, int length) throws RocException {
+        Check.notNull(samples, "samples");
+        Check.inBounds(samples.length, offset, length, "samples");
+
+        Object event = RocEvents.beginWrite();
+        long start = beginWrite();
+        long samplesWritten = 0;
+        try {
+            nativeWriteShorts(getPtr(), samples, offset, length, levels());
+            samplesWritten = length;
+        } finally {
+            endWrite(event, start, samplesWritten);
+        }
+    }
+
+    /**
+     * Encode 16-bit little-endian samples to packets and transmit them to the receiver.
+     * <p>
+     * Same as {@link RocSender#write(short[])}, but takes samples as bytes, two bytes
+     * per sample, least significant byte first, in the form produced by
+     * {@code javax.sound.sampled.TargetDataLine} for 16-bit signed little-endian format.
+     *
+     * @param bytes    array of bytes to send.
+     * @param offset   index of the first byte to send.
+     * @param length   number of bytes to send, should be even.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid.
+     * @throws RocException               if operation failed.
+     */
+    public void writePcm16Le(byte[] bytes, int offset, int length) throws RocException {
+        Check.notNull(bytes, "bytes");
+        Check.inBounds(bytes.length, offset, length, "bytes");
+        if (length % 2 != 0) {
+            throw new IllegalArgumentException("Invalid bytes: length must be multiple of 2");
+        }
+
+        Object event = RocEvents.beginWrite();
+        long start = beginWrite();
+        long samplesWritten = 0;
+        try {
+            nativeWritePcm16Le(getPtr(), bytes, offset, length, levels());
+            samplesWritten = length / 2;
+        } finally {
+            endWrite(event, start, samplesWritten);
+        }
+    }
+
+    /**
+     * Encode samples from a buffer to packets and transmit them to the receiver.
+     * <p>
+     * Same as {@link RocSender#write(float[])}, but sends samples between buffer's
+     * current position and its limit. On success, buffer position is advanced to its limit.
+     * <p>
+     * If the buffer is direct, its memory is passed to the sender as is, without any
+     * copying, so the buffer must use native byte order. Otherwise, the buffer should
+     * be backed by an accessible array.
+     *
+     * @param samples   buffer of samples to send.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid.
+     * @throws RocException               if operation failed.
+     */
+    public void write(FloatBuffer samples) throws RocException {
+        Check.notNull(samples, "samples");
+
+        if (samples.isDirect()) {
+            if (samples.order() != ByteOrder.nativeOrder()) {
+                throw new IllegalArgumentException("Invalid samples: must use native byte order");
+            }
+        } else if (!samples.hasArray()) {
+            throw new IllegalArgumentException("Invalid samples: must be direct or backed by accessible array");
+        }
+
+        Object event = RocEvents.beginWrite();
+        long start = beginWrite();
+        long samplesWritten = 0;
+        try {
+            if (samples.isDirect()) {
+                nativeWriteBuffer(getPtr(), samples, samples.position() * Float.BYTES, samples.remaining() * Float.BYTES,
+                        levels());
+            } else {
+                writeFloats(samples.array(), samples.arrayOffset() + samples.position(), samples.remaining());
+            }
+            samplesWritten = samples.remaining();
+        } finally {
+            endWrite(event, start, samplesWritten);
+        }
+
+        // cast is needed to stay compatible with Java 8 runtime
+        ((Buffer) samples).position(samples.limit());
+    }
+
+    /**
+     * Encode samples from a direct byte buffer to packets and transmit them to the receiver.
+     * <p>
+     * Same as {@link RocSender#write(FloatBuffer)}, but takes raw bytes. Bytes between
+     * buffer's current position and its limit should contain samples in the frame
+     * encoding format, i.e. 32-bit native-endian floats for {@link Format#PCM_FLOAT32}.
+     * On success, buffer position is advanced to its limit.
+     * <p>
+     * Buffer memory is passed to the sender as is, without any copying, so buffer's
+     * current position must be aligned to the sample size.
+     *
+     * @param samples   direct buffer of samples to send.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid.
+     * @throws RocException               if operation failed.
+     */
+    public void write(ByteBuffer samples) throws RocException {
+        Check.notNull(samples, "samples");
+
+        if (!samples.isDirect()) {
+            throw new IllegalArgumentException("Invalid samples: must be direct");
+        }
+        if (samples.remaining() % Float.BYTES != 0) {
+            throw new IllegalArgumentException("Invalid samples: size must be multiple of sample size");
+        }
+
+        Object event = RocEvents.beginWrite();
+        long start = beginWrite();
+        long samplesWritten = 0;
+        try {
+            nativeWriteBuffer(getPtr(), samples, samples.position(), samples.remaining(), levels());
+            samplesWritten = samples.remaining() / Float.BYTES;
+        } finally {
+            endWrite(event, start, samplesWritten);
+        }
+
+        ((Buffer) samples).position(samples.limit());
+    }
+
+    /**
+     * Encode multiple frames to packets and transmit them to the receiver.
+     * <p>
+     * Same as calling {@link RocSender#write(float[])} for every frame in order, but
+     * crosses JNI boundary only once. Useful with {@link ClockSource#EXTERNAL} when
+     * samples come from a non-realtime source, e.g. when transcoding a file.
+     * <p>
+     * If writing of some frame fails, remaining frames are not written, and
+     * {@link RocBatchException} reports how many frames were written successfully.
+     *
+     * @param frames   array of frames to send, each frame is an array of samples.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid.
+     * @throws RocBatchException          if operation failed.
+     */
+    public void writeBatch(float[][] frames) throws RocException {
+        Check.notNull(frames, "frames");
+        for (float[] frame : frames) {
+            Check.notNull(frame, "frame");
+        }
+
+        if (ticker != null) {
+            // frames should be paced one by one
+            for (int n = 0; n < frames.length; n++) {
+                try {
+                    write(frames[n]);
+                } catch (RocException exc) {
+                    throw new RocBatchException(exc.getMessage(), n);
+                }
+            }
+            return;
+        }
+
+        Object event = RocEvents.beginWrite();
+        long start = OperationStats.start();
+        int framesWritten = 0;
+        try {
+            framesWritten = nativeWriteBatch(getPtr(), frames, arrayAccessMode == ArrayAccessMode.CRITICAL,
+                    levels());
+        } finally {
+            endWriteBatch(event, start, framesWritten, samplesCount(frames, framesWritten));
+        }
+        if (framesWritten < frames.length) {
+            throw new RocBatchException("Failed to write frame to RocSender", framesWritten);
+        }
+    }
+
+    /**
+     * Encode multiple frames stored contiguously in one array.
+     * <p>
+     * Same as {@link RocSender#writeBatch(float[][])}, but takes {@code frameCount}
+     * frames of {@code frameLength} samples each, stored one after another starting
+     * from {@code offset}.
+     *
+     * @param samples       array of samples to send.
+     * @param offset        index of the first sample of the first frame.
+     * @param frameLength   number of samples in every frame.
+     * @param frameCount    number of frames to send.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid.
+     * @throws RocBatchException          if operation failed.
+     */
+    public void writeBatch(float[] samples, int offset, int frameLength, int frameCount) throws RocException {
+        Check.notNull(samples, "samples");
+        Check.notNegative(frameLength, "frameLength");
+        Check.notNegative(frameCount, "frameCount");
+        Check.inRange((long) frameLength * frameCount, 0, Integer.MAX_VALUE, "samples count");
+        Check.inBounds(samples.length, offset, frameLength * frameCount, "samples");
+
+        if (ticker != null) {
+            // frames should be paced one by one
+            for (int n = 0; n < frameCount; n++) {
+                try {
+                    write(samples, offset + n * frameLength, frameLength);
+                } catch (RocException exc) {
+                    throw new RocBatchException(exc.getMessage(), n);
+                }
+            }
+            return;
+        }
+
+        Object event = RocEvents.beginWrite();
+        long start = OperationStats.start();
+        int framesWritten = 0;
+        try {
+            framesWritten = nativeWriteStrided(getPtr(), samples, offset, frameLength, frameCount,
+                    arrayAccessMode == ArrayAccessMode.CRITICAL, levels());
+        } finally {
+            endWriteBatch(event, start, framesWritten, (long) framesWritten * frameLength);
+        }
+        if (framesWritten < frameCount) {
+            throw new RocBatchException("Failed to write frame to RocSender", framesWritten);
+        }
+    }
+
+    /**
+     * Close the sender.
+     * <p>
+     * Interrupts blocked write operations, see {@link RocSender#interrupt()}, and then
+     * deinitializes and deallocates the sender, and detaches it from the context.
+     */
+    @Override
+    public void close() {
+        interrupt();
+        super.close();
+    }
+
+    /**
+     * Get statistics of write operations.
+     */
+    OperationStats getWriteStats() {
+        return writeStats;
+    }
+
+    /**
+     * Get slots with bound or connected interfaces.
+     */
+    Set<Slot> getSlots() {
+        return Collections.unmodifiableSet(slots);
+    }
+
+    private float[] levels() {
+        LevelMeter meter = levelMeter;
+        return meter != null ? meter.getLevels() : null;
+    }
+
+    private long startTimer() {
+        // histograms need timestamps even if stats are not recorded
+        return writeHistograms != null ? System.nanoTime() : OperationStats.start();
+    }
+
+    private long beginWrite() throws RocException {
+        long start = startTimer();
+        if (ticker != null && !ticker.acquire(-1)) {
+            throw new RocException("Failed to write frame to RocSender: interrupted");
+        }
+        return start;
+    }
+
+    private void endWrite(Object event, long start, long samples) {
+        if (ticker != null) {
+            ticker.release(samples);
+        }
+        if (start != OperationStats.NOT_TIMED) {
+            long end = System.nanoTime();
+            if (OperationStats.isEnabled()) {
+                writeStats.record(end - start);
+            }
+            CallHistograms histograms = writeHistograms;
+            if (histograms != null) {
+                histograms.record(start, end);
+            }
+        }
+        RocEvents.endWrite(event, this, samples);
+    }
+
+    private void endWriteBatch(Object event, long start, int frames, long samples) {
+        if (start != OperationStats.NOT_TIMED) {
+            writeStats.record(frames, System.nanoTime() - start);
+        }
+        RocEvents.endWrite(event, this, samples);
+    }
+
+    private static long samplesCount(float[][] frames, int count) {
+        // frames in batch may have different lengths
+        long samples = 0;
+        for (int n = 0; n < count; n++) {
+            samples += frames[n].length;
+        }
+        return samples;
+    }
+
+    private void writeFloats(float[] samples, int offset, int length) throws RocException {
+        if (arrayAccessMode == ArrayAccessMode.CRITICAL) {
+            nativeWriteFloatsCritical(getPtr(), samples, offset, length, levels());
+        } else {
+            nativeWriteFloats(getPtr(), samples, offset, length, levels());
+        }
     }
 
-    private static native long nativeOpen(long contextPtr, RocSenderConfig config) throws RocException;
+    private static native long nativeOpen(long contextPtr, long[] config) throws RocException;
+    private static native long nativeOpenPrepared(long contextPtr, long configPtr) throws RocException;
     private static native void nativeClose(long senderPtr);
 
     private native void nativeConfigure(long senderPtr, int slot, int iface, InterfaceConfig config) throws RocException;
     private native void nativeConnect(long senderPtr, int slot, int iface, Endpoint endpoint) throws RocException;
     private native void nativeUnlink(long senderPtr, int slot) throws RocException;
+    private native void nativeQuery(long senderPtr, int slot, RocSenderMetrics metrics) throws RocException;
 
-    private native void nativeWriteFloats(long senderPtr, float[] samples) throws RocException;
+    private native void nativeWriteFloats(long senderPtr, float[] samples, int offset, int length,
+            float[] levels) throws RocException;
+    private native void nativeWriteFloatsCritical(long senderPtr, float[] samples, int offset, int length,
+            float[] levels) throws RocException;
+    private native void nativeWriteBuffer(long senderPtr, Buffer samples, int offset, int size,
+            float[] levels) throws RocException;
+    private native void nativeWritePlanes(long senderPtr, float[][] planes,
+            float[] levels) throws RocException;
+    private native void nativeWriteShorts(long senderPtr, short[] samples, int offset, int length,
+            float[] levels) throws RocException;
+    private native void nativeWritePcm16Le(long senderPtr, byte[] bytes, int offset, int length,
+            float[] levels) throws RocException;
+    private native int nativeWriteBatch(long senderPtr, float[][] frames, boolean critical,
+            float[] levels);
+    private native int nativeWriteStrided(long senderPtr, float[] samples, int offset, int frameLength, int frameCount,
+            boolean critical, float[] levels);
 }
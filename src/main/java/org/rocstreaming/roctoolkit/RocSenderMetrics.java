@@ -0,0 +1,32 @@
+package org.rocstreaming.roctoolkit;
+
+/**
+ * Sender metrics.
+ * <p>
+ * Holds metrics of one sender slot. Filled in place by
+ * {@link RocSender#query(Slot, RocSenderMetrics)}, so that the same instance can be
+ * reused for repeated queries without allocations.
+ *
+ * @see RocSender#query(Slot, RocSenderMetrics)
+ */
+public class RocSenderMetrics {
+
+    /**
+     * Number of active connections, set from native code.
+     */
+    private int connectionCount;
+
+    /**
+     * Get number of active connections.
+     * <p>
+     * Sender has one connection per each remote receiver.
+     */
+    public int getConnectionCount() {
+        return connectionCount;
+    }
+
+    @Override
+    public String toString() {
+        return "RocSenderMetrics(connectionCount=" + connectionCount + ")";
+    }
+}
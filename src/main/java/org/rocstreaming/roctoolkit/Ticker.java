@@ -0,0 +1,158 @@
+package org.rocstreaming.roctoolkit;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Paces frames according to sample rate, like {@link ClockSource#INTERNAL} does in native
+ * code, but allows waiting to be bounded by timeout and interrupted.
+ * <p>
+ * Before processing a frame, the caller acquires the ticker, which waits until it's time
+ * to process the next bunch of samples. After processing the frame, the caller releases
+ * the ticker and passes the number of samples actually processed. At most one frame is
+ * processed at a time.
+ */
+class Ticker {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition wakeup = lock.newCondition();
+
+    private final double nanosPerTick;
+    private final int channels;
+
+    private boolean started;
+    private long startNanos;
+    private long ticks;
+    private boolean busy;
+    private long generation;
+
+    /**
+     * Create ticker for given clock source and frame encoding.
+     *
+     * @return ticker, or {@code null} if frames should not be paced.
+     */
+    static Ticker forEncoding(ClockSource clockSource, MediaEncoding encoding) {
+        if (clockSource != ClockSource.INTERNAL) {
+            return null;
+        }
+        return new Ticker(encoding.getRate(), channelCount(encoding));
+    }
+
+    /**
+     * Get number of interleaved channels in frames of given encoding.
+     */
+    static int channelCount(MediaEncoding encoding) {
+        if (encoding.getChannels() == ChannelLayout.MONO) {
+            return 1;
+        }
+        if (encoding.getChannels() == ChannelLayout.STEREO) {
+            return 2;
+        }
+        return Math.max(encoding.getTracks(), 1);
+    }
+
+    Ticker(int rate, int channels) {
+        this.nanosPerTick = (double) TimeUnit.SECONDS.toNanos(1) / rate;
+        this.channels = channels;
+    }
+
+    /**
+     * Convert timeout to nanoseconds, saturating on overflow.
+     */
+    static long toNanos(Duration timeout) {
+        try {
+            return timeout.toNanos();
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Wait until it's time to process next frame and no other frame is processed.
+     *
+     * @param timeoutNanos   maximum time to wait, negative value means no timeout.
+     *
+     * @return false if timeout expired, or if waiting was interrupted either by
+     * {@link #interrupt()} or by interrupting current thread.
+     */
+    boolean acquire(long timeoutNanos) {
+        // limit timeout so that deadline doesn't overflow
+        final long deadline = System.nanoTime() + Math.min(timeoutNanos, Long.MAX_VALUE / 2);
+
+        lock.lock();
+        try {
+            final long acquireGeneration = generation;
+
+            while (true) {
+                if (generation != acquireGeneration || Thread.currentThread().isInterrupted()) {
+                    return false;
+                }
+
+                long now = System.nanoTime();
+                long waitNanos = Long.MAX_VALUE;
+
+                if (!busy) {
+                    if (!started) {
+                        started = true;
+                        startNanos = now;
+                    }
+                    long due = startNanos + (long) (ticks * nanosPerTick);
+                    if (due - now <= 0) {
+                        busy = true;
+                        return true;
+                    }
+                    waitNanos = due - now;
+                }
+
+                if (timeoutNanos >= 0) {
+                    if (deadline - now <= 0) {
+                        return false;
+                    }
+                    waitNanos = Math.min(waitNanos, deadline - now);
+                }
+
+                try {
+                    wakeup.awaitNanos(waitNanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Finish processing frame acquired by {@link #acquire(long)}.
+     *
+     * @param samples   total number of samples processed, for all channels; zero if
+     *                  processing failed, so that the clock doesn't advance.
+     */
+    void release(long samples) {
+        lock.lock();
+        try {
+            ticks += samples / channels;
+            busy = false;
+            wakeup.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wake up all threads waiting in {@link #acquire(long)} and make them return false.
+     * Doesn't affect subsequent calls.
+     */
+    void interrupt() {
+        lock.lock();
+        try {
+            generation++;
+            wakeup.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.rocstreaming.roctoolkit;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event for binding of RocReceiver slot interface.
+ * <p>
+ * Recorded only if the operation took longer than the threshold, which can be
+ * changed in recording settings.
+ */
+@Name("org.rocstreaming.roctoolkit.RocBind")
+@Label("Roc Bind")
+@Category("Roc")
+@Description("Receiver interface bound to local endpoint")
+@Threshold("10 ms")
+final class RocBindEvent extends Event {
+
+    @Label("Receiver Id")
+    @Description("Identifier of the receiver")
+    long receiverId;
+
+    @Label("Slot")
+    int slot;
+
+    @Label("Interface")
+    String iface;
+
+    @Label("Endpoint")
+    String endpoint;
+}
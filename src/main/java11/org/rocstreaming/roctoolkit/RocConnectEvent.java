@@ -0,0 +1,35 @@
+package org.rocstreaming.roctoolkit;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event for connection of RocSender slot interface.
+ * <p>
+ * Recorded only if the operation took longer than the threshold, which can be
+ * changed in recording settings.
+ */
+@Name("org.rocstreaming.roctoolkit.RocConnect")
+@Label("Roc Connect")
+@Category("Roc")
+@Description("Sender interface connected to remote endpoint")
+@Threshold("10 ms")
+final class RocConnectEvent extends Event {
+
+    @Label("Sender Id")
+    @Description("Identifier of the sender")
+    long senderId;
+
+    @Label("Slot")
+    int slot;
+
+    @Label("Interface")
+    String iface;
+
+    @Label("Endpoint")
+    String endpoint;
+}
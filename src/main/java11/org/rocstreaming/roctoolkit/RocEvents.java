@@ -0,0 +1,121 @@
+package org.rocstreaming.roctoolkit;
+
+import jdk.jfr.Event;
+
+/**
+ * Hooks for JDK Flight Recorder events.
+ * <p>
+ * Each operation calls {@code beginXxx()} before it starts and passes the returned
+ * event to {@code endXxx()} after it finishes, even if it failed.
+ * <p>
+ * This implementation is used on Java 11 and later. If an event type is disabled,
+ * {@code beginXxx()} returns {@code null} and {@code endXxx()} does nothing. Otherwise,
+ * the event is committed if the operation took longer than the configured threshold.
+ */
+final class RocEvents {
+
+    private RocEvents() {
+    }
+
+    static Object beginWrite() {
+        return begin(new RocWriteEvent());
+    }
+
+    static void endWrite(Object event, NativeObject sender, long samples) {
+        RocWriteEvent writeEvent = (RocWriteEvent) end(event);
+        if (writeEvent != null) {
+            writeEvent.senderId = sender.getId();
+            writeEvent.samples = samples;
+            writeEvent.commit();
+        }
+    }
+
+    static Object beginRead() {
+        return begin(new RocReadEvent());
+    }
+
+    static void endRead(Object event, NativeObject receiver, long samples) {
+        RocReadEvent readEvent = (RocReadEvent) end(event);
+        if (readEvent != null) {
+            readEvent.receiverId = receiver.getId();
+            readEvent.samples = samples;
+            readEvent.commit();
+        }
+    }
+
+    static Object beginBind() {
+        return begin(new RocBindEvent());
+    }
+
+    static void endBind(Object event, NativeObject receiver, Slot slot, Interface iface, Endpoint endpoint) {
+        RocBindEvent bindEvent = (RocBindEvent) end(event);
+        if (bindEvent != null) {
+            bindEvent.receiverId = receiver.getId();
+            bindEvent.slot = slot.getValue();
+            bindEvent.iface = iface.name();
+            bindEvent.endpoint = endpoint.getUri();
+            bindEvent.commit();
+        }
+    }
+
+    static Object beginConnect() {
+        return begin(new RocConnectEvent());
+    }
+
+    static void endConnect(Object event, NativeObject sender, Slot slot, Interface iface, Endpoint endpoint) {
+        RocConnectEvent connectEvent = (RocConnectEvent) end(event);
+        if (connectEvent != null) {
+            connectEvent.senderId = sender.getId();
+            connectEvent.slot = slot.getValue();
+            connectEvent.iface = iface.name();
+            connectEvent.endpoint = endpoint.getUri();
+            connectEvent.commit();
+        }
+    }
+
+    static Object beginUnlink() {
+        return begin(new RocUnlinkEvent());
+    }
+
+    static void endUnlink(Object event, NativeObject peer, Slot slot) {
+        RocUnlinkEvent unlinkEvent = (RocUnlinkEvent) end(event);
+        if (unlinkEvent != null) {
+            unlinkEvent.peerId = peer.getId();
+            unlinkEvent.peerType = peer.getClass().getSimpleName();
+            unlinkEvent.slot = slot.getValue();
+            unlinkEvent.commit();
+        }
+    }
+
+    static Object beginNativeClose() {
+        return begin(new RocNativeCloseEvent());
+    }
+
+    static void endNativeClose(Object event, Class<? extends NativeObject> type, long ptr) {
+        RocNativeCloseEvent closeEvent = (RocNativeCloseEvent) end(event);
+        if (closeEvent != null) {
+            closeEvent.objectType = type.getSimpleName();
+            closeEvent.ptr = ptr;
+            closeEvent.commit();
+        }
+    }
+
+    private static Object begin(Event event) {
+        // if disabled, event doesn't escape and its allocation is eliminated by JIT
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    private static Event end(Object event) {
+        if (event == null) {
+            return null;
+        }
+        Event typedEvent = (Event) event;
+        typedEvent.end();
+        // check threshold before filling fields
+        return typedEvent.shouldCommit() ? typedEvent : null;
+    }
+}
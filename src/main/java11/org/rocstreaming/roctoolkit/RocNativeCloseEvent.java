@@ -0,0 +1,29 @@
+package org.rocstreaming.roctoolkit;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event for closing of native roc object.
+ * <p>
+ * Recorded only if the operation took longer than the threshold, which can be
+ * changed in recording settings.
+ */
+@Name("org.rocstreaming.roctoolkit.RocNativeClose")
+@Label("Roc Native Close")
+@Category("Roc")
+@Description("Native object closed, explicitly or after being collected by GC")
+@Threshold("10 ms")
+final class RocNativeCloseEvent extends Event {
+
+    @Label("Object Type")
+    @Description("RocContext, RocSender, or RocReceiver")
+    String objectType;
+
+    @Label("Native Pointer")
+    long ptr;
+}
@@ -0,0 +1,32 @@
+package org.rocstreaming.roctoolkit;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event for read of frame from RocReceiver.
+ * <p>
+ * Recorded only if the operation took longer than the threshold, which can be
+ * changed in recording settings.
+ */
+@Name("org.rocstreaming.roctoolkit.RocRead")
+@Label("Roc Read")
+@Category("Roc")
+@Description("Frame read from receiver, including waiting for the receiver clock")
+@Threshold("20 ms")
+@StackTrace(false)
+final class RocReadEvent extends Event {
+
+    @Label("Receiver Id")
+    @Description("Identifier of the receiver")
+    long receiverId;
+
+    @Label("Samples")
+    @Description("Number of samples for all channels")
+    long samples;
+}
@@ -0,0 +1,33 @@
+package org.rocstreaming.roctoolkit;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event for removal of RocSender or RocReceiver slot.
+ * <p>
+ * Recorded only if the operation took longer than the threshold, which can be
+ * changed in recording settings.
+ */
+@Name("org.rocstreaming.roctoolkit.RocUnlink")
+@Label("Roc Unlink")
+@Category("Roc")
+@Description("Sender or receiver slot removed")
+@Threshold("10 ms")
+final class RocUnlinkEvent extends Event {
+
+    @Label("Peer Id")
+    @Description("Identifier of the sender or receiver")
+    long peerId;
+
+    @Label("Peer Type")
+    @Description("RocSender or RocReceiver")
+    String peerType;
+
+    @Label("Slot")
+    int slot;
+}
@@ -0,0 +1,32 @@
+package org.rocstreaming.roctoolkit;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event for write of frame to RocSender.
+ * <p>
+ * Recorded only if the operation took longer than the threshold, which can be
+ * changed in recording settings.
+ */
+@Name("org.rocstreaming.roctoolkit.RocWrite")
+@Label("Roc Write")
+@Category("Roc")
+@Description("Frame written to sender, including waiting for the sender clock")
+@Threshold("20 ms")
+@StackTrace(false)
+final class RocWriteEvent extends Event {
+
+    @Label("Sender Id")
+    @Description("Identifier of the sender")
+    long senderId;
+
+    @Label("Samples")
+    @Description("Number of samples for all channels")
+    long samples;
+}
@@ -0,0 +1,298 @@
+package org.rocstreaming.roctoolkit;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@link Flow.Publisher} of frames read from {@link RocReceiver}.
+ * <p>
+ * Publisher owns a reader thread, which reads frames from the underlying receiver
+ * and passes them to the subscriber. Frames are read only while the subscriber has
+ * outstanding demand, signalled via {@link Flow.Subscription#request(long)}. Without
+ * demand, the reader thread waits and doesn't read from the receiver.
+ * <p>
+ * Frame buffers are taken from a pool. Each frame passed to
+ * {@link Flow.Subscriber#onNext(Object)} is owned by the subscriber, which should call
+ * {@link AudioFrame#release()} when it's done with the frame, so that the buffer is
+ * reused for subsequent frames.
+ * <p>
+ * Publisher requires receiver with {@link ClockSource#INTERNAL}, whose clock drives the
+ * reader thread. With {@link ClockSource#EXTERNAL}, reads never block and the reader
+ * thread would read as fast as demand allows, so such receivers are rejected.
+ * <p>
+ * Publisher doesn't interrupt the underlying receiver, so other threads may read from
+ * the same receiver. Instead, the reader thread waits for each frame in short slices,
+ * see {@link RocReceiver#tryRead(float[], Duration)}, and checks whether it should stop
+ * between them.
+ *
+ *
+ * <h2>Subscribers</h2>
+ * <p>
+ * Publisher supports one subscriber at a time. If another subscriber subscribes while
+ * the current one is active, it receives {@link IllegalStateException} via
+ * {@link Flow.Subscriber#onError(Throwable)}. After the current subscriber cancels
+ * its subscription, a new one may subscribe.
+ * <p>
+ * If read from the receiver fails, the subscriber receives the exception via
+ * {@link Flow.Subscriber#onError(Throwable)}.
+ *
+ *
+ * <h2>Life cycle</h2>
+ * <p>
+ * The reader thread is started when a subscriber subscribes and stopped when the
+ * subscription is cancelled or the publisher is closed. Closing publisher signals
+ * {@link Flow.Subscriber#onComplete()} to the subscriber. Closing publisher does not
+ * close the underlying receiver.
+ *
+ *
+ * <h2>Thread safety</h2>
+ * <p>
+ * Can be used concurrently.
+ *
+ *
+ * <h2>Example</h2>
+ * <pre>
+ * {@code
+ * try (
+ *     RocContext context = new RocContext();
+ *     RocReceiver receiver = new RocReceiver(context, receiverConfig);
+ * ) {
+ *     receiver.bind(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp://0.0.0.0:10001"));
+ *     try (RocReceiverPublisher publisher = new RocReceiverPublisher(receiver, 882, 4)) {
+ *         publisher.subscribe(subscriber);
+ *         ...
+ *     }
+ * }
+ * }
+ * </pre>
+ *
+ * @see RocReceiver
+ * @see RocSenderSubscriber
+ */
+public class RocReceiverPublisher implements Flow.Publisher<AudioFrame>, AutoCloseable {
+
+    // how often reader thread checks if subscription is stopped while waiting for frame
+    private static final Duration READ_POLL_INTERVAL = Duration.ofMillis(50);
+
+    private final RocReceiver receiver;
+    private final AudioFramePool pool;
+    private final AtomicReference<ReceiverSubscription> current = new AtomicReference<>();
+
+    private volatile boolean closed;
+
+    /**
+     * Create publisher.
+     *
+     * @param receiver    receiver from which frames are read.
+     * @param frameSize   number of samples in each frame, for all channels.
+     * @param poolSize    number of frame buffers kept for reuse; should be at least the
+     *                    number of frames the subscriber holds at once.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid or receiver doesn't
+     *                                    use {@link ClockSource#INTERNAL}.
+     */
+    public RocReceiverPublisher(RocReceiver receiver, int frameSize, int poolSize) {
+        Check.notNull(receiver, "RocReceiver");
+        if (receiver.getClockSource() != ClockSource.INTERNAL) {
+            throw new IllegalArgumentException("Invalid RocReceiver: requires ClockSource.INTERNAL");
+        }
+        Check.inRange(frameSize, 1, Integer.MAX_VALUE, "frameSize");
+        Check.inRange(poolSize, 1, Integer.MAX_VALUE, "poolSize");
+
+        this.receiver = receiver;
+        this.pool = new AudioFramePool(frameSize, poolSize);
+    }
+
+    /**
+     * Subscribe to frames and start reader thread.
+     *
+     * @param subscriber   subscriber to which frames are passed.
+     *
+     * @throws NullPointerException   if subscriber is null, as required by
+     *                                {@link Flow.Publisher#subscribe(Flow.Subscriber)}.
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super AudioFrame> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+
+        ReceiverSubscription subscription = new ReceiverSubscription(subscriber);
+        boolean wasClosed;
+        synchronized (this) {
+            // close() takes the same lock, so it either sees this subscription with
+            // started thread, or is seen by us
+            wasClosed = closed;
+            if (!wasClosed && current.compareAndSet(null, subscription)) {
+                subscriber.onSubscribe(subscription);
+                subscription.thread.start();
+                return;
+            }
+        }
+
+        subscriber.onSubscribe(EmptySubscription.INSTANCE);
+        subscriber.onError(new IllegalStateException(wasClosed
+                ? "RocReceiverPublisher is closed"
+                : "RocReceiverPublisher supports only one subscriber"));
+    }
+
+    /**
+     * Stop reader thread and complete subscription.
+     * <p>
+     * Waits until reader thread notices that it's stopped and exits, which takes no
+     * longer than one frame or a few tens of milliseconds. Does not close or interrupt
+     * the underlying receiver.
+     */
+    @Override
+    public void close() {
+        ReceiverSubscription subscription;
+        synchronized (this) {
+            closed = true;
+            subscription = current.getAndSet(null);
+        }
+        // joined without lock, so that subscriber may call publisher from its callbacks
+        if (subscription != null) {
+            subscription.complete();
+        }
+    }
+
+    private class ReceiverSubscription implements Flow.Subscription {
+
+        final Flow.Subscriber<? super AudioFrame> subscriber;
+        final AtomicLong demand = new AtomicLong();
+        final Thread thread;
+
+        volatile boolean cancelled;
+        volatile boolean completed;
+        volatile Throwable error;
+
+        ReceiverSubscription(Flow.Subscriber<? super AudioFrame> subscriber) {
+            this.subscriber = subscriber;
+            this.thread = new Thread(this::run, "roc-receiver-publisher");
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                // rule 3.9: signal error instead of throwing
+                error = new IllegalArgumentException("Invalid request: must be positive");
+                stop();
+                return;
+            }
+
+            long prev;
+            long next;
+            do {
+                prev = demand.get();
+                next = prev + n < 0 ? Long.MAX_VALUE : prev + n;
+            } while (!demand.compareAndSet(prev, next));
+
+            if (prev == 0) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            stop();
+        }
+
+        void complete() {
+            completed = true;
+            stop();
+            join();
+        }
+
+        private void stop() {
+            current.compareAndSet(this, null);
+            LockSupport.unpark(thread);
+        }
+
+        private boolean isStopped() {
+            return cancelled || completed || error != null;
+        }
+
+        private void run() {
+            long sequence = 0;
+
+            while (!isStopped()) {
+                if (demand.get() == 0) {
+                    // re-checked after unpark, spurious wakeups are fine
+                    LockSupport.park(this);
+                    continue;
+                }
+
+                AudioFrame frame = pool.acquire();
+                try {
+                    while (!receiver.tryRead(frame.getSamples(), READ_POLL_INTERVAL)) {
+                        if (isStopped()) {
+                            break;
+                        }
+                    }
+                } catch (RocException | RuntimeException exc) {
+                    frame.release();
+                    if (!isStopped()) {
+                        error = exc;
+                        current.compareAndSet(this, null);
+                    }
+                    break;
+                }
+                if (isStopped()) {
+                    frame.release();
+                    break;
+                }
+
+                frame.setSequence(sequence++);
+                // frame is now owned by subscriber
+                subscriber.onNext(frame);
+
+                if (demand.get() != Long.MAX_VALUE) {
+                    demand.decrementAndGet();
+                }
+            }
+
+            if (cancelled) {
+                return;
+            }
+            if (error != null) {
+                subscriber.onError(error);
+            } else if (completed) {
+                subscriber.onComplete();
+            }
+        }
+
+        private void join() {
+            if (thread == Thread.currentThread()) {
+                return;
+            }
+            boolean interrupted = false;
+            while (thread.isAlive()) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static class EmptySubscription implements Flow.Subscription {
+
+        static final EmptySubscription INSTANCE = new EmptySubscription();
+
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    }
+}
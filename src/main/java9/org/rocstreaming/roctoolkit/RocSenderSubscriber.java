@@ -0,0 +1,129 @@
+package org.rocstreaming.roctoolkit;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+/**
+ * {@link Flow.Subscriber} writing received frames to {@link RocSender}.
+ * <p>
+ * Subscriber requests a fixed number of frames when subscribed, and requests one more
+ * frame after each frame is written to the underlying sender. Hence, the publisher
+ * never has more than the configured number of frames outstanding, and the pace of
+ * the sender, e.g. its {@link ClockSource#INTERNAL} clock, is propagated upstream.
+ * <p>
+ * Each frame is released via {@link AudioFrame#release()} after it's written, so that
+ * publishers using a pool, like {@link RocReceiverPublisher}, can reuse its buffer.
+ * <p>
+ * If write to the sender fails, subscriber cancels the subscription and completes
+ * {@link RocSenderSubscriber#getCompletion()} exceptionally.
+ *
+ *
+ * <h2>Life cycle</h2>
+ * <p>
+ * Subscriber may be subscribed only once. Completion of the publisher does not close
+ * the underlying sender.
+ *
+ *
+ * <h2>Example</h2>
+ * <pre>
+ * {@code
+ * try (
+ *     RocContext context = new RocContext();
+ *     RocSender sender = new RocSender(context, senderConfig);
+ * ) {
+ *     sender.connect(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp://192.168.0.1:10001"));
+ *     RocSenderSubscriber subscriber = new RocSenderSubscriber(sender, 4);
+ *     publisher.subscribe(subscriber);
+ *     subscriber.getCompletion().join();
+ * }
+ * }
+ * </pre>
+ *
+ * @see RocSender
+ * @see RocReceiverPublisher
+ */
+public class RocSenderSubscriber implements Flow.Subscriber<AudioFrame> {
+
+    private final RocSender sender;
+    private final int prefetch;
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+    private Flow.Subscription subscription;
+
+    /**
+     * Create subscriber which requests one frame at a time.
+     *
+     * @param sender   sender to which frames are written.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid.
+     */
+    public RocSenderSubscriber(RocSender sender) {
+        this(sender, 1);
+    }
+
+    /**
+     * Create subscriber.
+     *
+     * @param sender     sender to which frames are written.
+     * @param prefetch   maximum number of frames requested but not yet written.
+     *
+     * @throws IllegalArgumentException   if the arguments are invalid.
+     */
+    public RocSenderSubscriber(RocSender sender, int prefetch) {
+        Check.notNull(sender, "RocSender");
+        Check.inRange(prefetch, 1, Integer.MAX_VALUE, "prefetch");
+
+        this.sender = sender;
+        this.prefetch = prefetch;
+    }
+
+    /**
+     * Get future completed when the publisher completes, or completed exceptionally
+     * when the publisher fails or write to the sender fails.
+     */
+    public CompletableFuture<Void> getCompletion() {
+        return completion;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription, "subscription");
+        if (this.subscription != null) {
+            // rule 2.5: only one active subscription
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        subscription.request(prefetch);
+    }
+
+    @Override
+    public void onNext(AudioFrame frame) {
+        Objects.requireNonNull(frame, "frame");
+        try {
+            if (completion.isDone()) {
+                return;
+            }
+            sender.write(frame.getSamples());
+        } catch (RocException | RuntimeException exc) {
+            subscription.cancel();
+            completion.completeExceptionally(exc);
+            return;
+        } finally {
+            frame.release();
+        }
+        subscription.request(1);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        Objects.requireNonNull(throwable, "throwable");
+        completion.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        completion.complete(null);
+    }
+}
@@ -0,0 +1,136 @@
+package org.rocstreaming.roctoolkit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncRocSenderTest extends BaseTest {
+
+    private static final int SAMPLE_RATE = 44100;
+    // 10ms of stereo samples
+    private static final int FRAME_SIZE = SAMPLE_RATE / 100 * 2;
+    private static final RocSenderConfig CONFIG = RocSenderConfig.builder()
+            .frameEncoding(
+                    MediaEncoding.builder()
+                            .rate(SAMPLE_RATE)
+                            .format(Format.PCM_FLOAT32)
+                            .channels(ChannelLayout.STEREO)
+                            .build()
+            )
+            .fecEncoding(FecEncoding.DISABLE)
+            .clockSource(ClockSource.INTERNAL)
+            .build();
+
+    private RocContext context;
+    private RocSender sender;
+
+    @BeforeEach
+    public void beforeEach() throws Exception {
+        context = new RocContext();
+        sender = new RocSender(context, CONFIG);
+        sender.connect(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp://127.0.0.1:10001"));
+    }
+
+    @AfterEach
+    public void afterEach() {
+        sender.close();
+        context.close();
+    }
+
+    @Test
+    public void testWrite() {
+        try (AsyncRocSender asyncSender = new AsyncRocSender(sender, FRAME_SIZE, FRAME_SIZE * 10)) {
+            assertEquals(FRAME_SIZE * 10, asyncSender.getCapacity());
+            assertEquals(0, asyncSender.getFillLevel());
+
+            float[] samples = new float[FRAME_SIZE * 5];
+            assertTrue(asyncSender.write(samples));
+            assertTrue(asyncSender.write(samples, 0, FRAME_SIZE / 2));
+
+            // everything except half of frame is eventually sent
+            await().atMost(10, TimeUnit.SECONDS).until(() -> asyncSender.getFillLevel() == FRAME_SIZE / 2);
+            assertEquals(0, asyncSender.getDroppedSamples());
+        }
+    }
+
+    @Test
+    public void testOverflow() {
+        try (AsyncRocSender asyncSender = new AsyncRocSender(sender, FRAME_SIZE, FRAME_SIZE * 2)) {
+            float[] samples = new float[FRAME_SIZE * 3];
+            assertFalse(asyncSender.write(samples));
+            assertEquals(FRAME_SIZE * 3, asyncSender.getDroppedSamples());
+            assertTrue(asyncSender.write(samples, 0, FRAME_SIZE * 2));
+        }
+    }
+
+    @Test
+    public void testUnderrun() {
+        try (AsyncRocSender asyncSender = new AsyncRocSender(sender, FRAME_SIZE, FRAME_SIZE * 10)) {
+            asyncSender.write(new float[FRAME_SIZE]);
+            await().atMost(10, TimeUnit.SECONDS).until(() -> asyncSender.getUnderruns() == 1);
+        }
+    }
+
+    @Test
+    public void testCapacityRounding() {
+        try (AsyncRocSender asyncSender = new AsyncRocSender(sender, 100, 250)) {
+            assertEquals(300, asyncSender.getCapacity());
+        }
+    }
+
+    @Test
+    public void testClose() {
+        AsyncRocSender asyncSender = new AsyncRocSender(sender, FRAME_SIZE, FRAME_SIZE * 100);
+        asyncSender.write(new float[FRAME_SIZE * 100]);
+        assertTimeoutPreemptively(java.time.Duration.ofSeconds(10), asyncSender::close);
+        assertDoesNotThrow(asyncSender::close);
+        assertThrows(IllegalStateException.class, () -> asyncSender.write(new float[FRAME_SIZE]));
+    }
+
+    @Test
+    public void testCloseDoesNotInterruptSender() throws Exception {
+        AtomicBoolean stopWriting = new AtomicBoolean();
+        AtomicReference<Exception> writeError = new AtomicReference<>();
+        Thread otherWriter = new Thread(() -> {
+            float[] samples = new float[FRAME_SIZE];
+            while (!stopWriting.get()) {
+                try {
+                    sender.write(samples);
+                } catch (Exception e) {
+                    writeError.set(e);
+                    return;
+                }
+            }
+        });
+        otherWriter.start();
+
+        try {
+            AsyncRocSender asyncSender = new AsyncRocSender(sender, FRAME_SIZE, FRAME_SIZE * 100);
+            asyncSender.write(new float[FRAME_SIZE * 100]);
+            Thread.sleep(100);
+            assertTimeoutPreemptively(java.time.Duration.ofSeconds(10), asyncSender::close);
+        } finally {
+            stopWriting.set(true);
+            otherWriter.join();
+        }
+        assertNull(writeError.get());
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new AsyncRocSender(null, FRAME_SIZE, FRAME_SIZE));
+        assertThrows(IllegalArgumentException.class, () -> new AsyncRocSender(sender, 0, FRAME_SIZE));
+        assertThrows(IllegalArgumentException.class, () -> new AsyncRocSender(sender, FRAME_SIZE, 0));
+        try (AsyncRocSender asyncSender = new AsyncRocSender(sender, FRAME_SIZE, FRAME_SIZE)) {
+            assertThrows(IllegalArgumentException.class, () -> asyncSender.write(null));
+            assertThrows(IllegalArgumentException.class, () -> asyncSender.write(new float[4], 2, 4));
+        }
+    }
+}
@@ -26,10 +26,12 @@ public class BaseTest {
         } else {
             RocLogger.LOGGER.setLevel(Level.OFF);
         }
+        RocLogger.syncLevel();
     }
 
     @AfterAll
     static public void restoreLogger() {
         RocLogger.LOGGER.setLevel(originalLogLevel);
+        RocLogger.syncLevel();
     }
 }
@@ -326,4 +326,47 @@ class EndpointTest extends BaseTest {
         assertNull(endpoint.getResource());
         assertEquals("rtp://192.168.0.1:12345", endpoint.getUri());
     }
+
+    @Test
+    public void testEndpointIpv6() {
+        Endpoint endpoint = new Endpoint("rtsp://[::1]:12345/path");
+        assertEquals(Protocol.RTSP, endpoint.getProtocol());
+        assertEquals("[::1]", endpoint.getHost());
+        assertEquals(12345, endpoint.getPort());
+        assertEquals("/path", endpoint.getResource());
+        assertEquals("rtsp://[::1]:12345/path", endpoint.getUri());
+    }
+
+    @Test
+    public void testEndpointUriNormalized() {
+        Endpoint endpoint = new Endpoint("rtp://192.168.0.1:080");
+        assertEquals(80, endpoint.getPort());
+        assertEquals("rtp://192.168.0.1:80", endpoint.getUri());
+        assertEquals(new Endpoint(Protocol.RTP, "192.168.0.1", 80), endpoint);
+    }
+
+    @Test
+    public void testEndpointUriCached() {
+        assertSame(EndpointUri.parse("rtp://192.168.0.1:12345"), EndpointUri.parse("rtp://192.168.0.1:12345"));
+        Endpoint first = new Endpoint("rtp://192.168.0.1:12345");
+        Endpoint second = new Endpoint("rtp://192.168.0.1:12345");
+        assertNotSame(first, second);
+        assertSame(first.getUri(), second.getUri());
+    }
+
+    @Test
+    public void testEndpointSetPort() {
+        Endpoint endpoint = new Endpoint("rtsp://192.168.0.1:0/path");
+        endpoint.setPort(12345);
+        assertEquals(12345, endpoint.getPort());
+        assertEquals("rtsp://192.168.0.1:12345/path", endpoint.getUri());
+        // cached parse result is not affected
+        assertEquals("rtsp://192.168.0.1:0/path", new Endpoint("rtsp://192.168.0.1:0/path").getUri());
+    }
+
+    @Test
+    public void testEndpointValidate() {
+        assertDoesNotThrow(() -> new Endpoint("rtsp://192.168.0.1:12345/path").validate());
+        assertDoesNotThrow(() -> new Endpoint(Protocol.RTP, "192.168.0.1", 12345).validate());
+    }
 }
@@ -0,0 +1,120 @@
+package org.rocstreaming.roctoolkit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    public void testBuckets() {
+        assertEquals(0, LatencyHistogram.bucketIndex(0));
+        assertEquals(15, LatencyHistogram.bucketIndex(15));
+        assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.bucketIndex(Long.MAX_VALUE));
+
+        for (int n = 0; n < LatencyHistogram.BUCKET_COUNT; n++) {
+            long lower = LatencyHistogram.bucketLowerBound(n);
+            long upper = LatencyHistogram.bucketUpperBound(n);
+            assertTrue(lower <= upper);
+            assertEquals(n, LatencyHistogram.bucketIndex(lower));
+            assertEquals(n, LatencyHistogram.bucketIndex(upper));
+            if (n > 0) {
+                assertEquals(LatencyHistogram.bucketUpperBound(n - 1) + 1, lower);
+            }
+            // relative error is below 1/16
+            assertTrue(upper - lower <= Math.max(0, lower / 16));
+        }
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int n = 1; n <= 1000; n++) {
+            histogram.record(n * 1000L);
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(500500000L, snapshot.getTotalNanos());
+        assertEquals(500500.0, snapshot.getMeanNanos());
+        assertWithin(500000, snapshot.getPercentileNanos(50));
+        assertWithin(990000, snapshot.getPercentileNanos(99));
+        assertWithin(1000000, snapshot.getPercentileNanos(100));
+        assertWithin(1000000, snapshot.getMaxNanos());
+        assertWithin(1000, snapshot.getPercentileNanos(0));
+    }
+
+    @Test
+    public void testNegative() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-1);
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(1, snapshot.getCount());
+        assertEquals(1, snapshot.getBucketValueCount(0));
+        assertEquals(0, snapshot.getMaxNanos());
+    }
+
+    @Test
+    public void testEmpty() {
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0, snapshot.getMeanNanos());
+        assertEquals(0, snapshot.getPercentileNanos(99));
+        assertEquals(0, snapshot.getMaxNanos());
+    }
+
+    @Test
+    public void testSnapshotReuse() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram.Snapshot();
+
+        histogram.record(100);
+        histogram.record(200);
+        assertSame(snapshot, histogram.snapshot(snapshot));
+        assertEquals(2, snapshot.getCount());
+
+        histogram.reset();
+        histogram.record(300);
+        histogram.snapshot(snapshot);
+        assertEquals(1, snapshot.getCount());
+        assertEquals(300, snapshot.getTotalNanos());
+        assertEquals(0, snapshot.getBucketValueCount(LatencyHistogram.bucketIndex(100)));
+        assertEquals(1, snapshot.getBucketValueCount(LatencyHistogram.bucketIndex(300)));
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertThrows(IllegalArgumentException.class, () -> histogram.snapshot(null));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getPercentileNanos(-1));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getPercentileNanos(101));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getPercentileNanos(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getBucketValueCount(-1));
+        assertThrows(IllegalArgumentException.class,
+                () -> snapshot.getBucketUpperBoundNanos(snapshot.getBucketCount()));
+    }
+
+    @Test
+    public void testCallHistograms() {
+        CallHistograms histograms = new CallHistograms();
+        // calls every 1000ns, each taking 100ns
+        for (int n = 1; n <= 10; n++) {
+            histograms.record(n * 1000L, n * 1000L + 100);
+        }
+        LatencyHistogram.Snapshot durations = histograms.getDurations().snapshot();
+        assertEquals(10, durations.getCount());
+        assertEquals(1000, durations.getTotalNanos());
+
+        // first two calls don't have previous interval
+        LatencyHistogram.Snapshot jitter = histograms.getJitter().snapshot();
+        assertEquals(8, jitter.getCount());
+        assertEquals(0, jitter.getMaxNanos());
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        // percentiles are rounded up to bucket upper bound
+        assertTrue(actual >= expected && actual <= expected + expected / 16,
+                "expected ~" + expected + ", got " + actual);
+    }
+}
@@ -0,0 +1,81 @@
+package org.rocstreaming.roctoolkit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PcmConversionsTest {
+
+    private static final float LSB = 1.0f / 32768;
+
+    @Test
+    public void testFloatToS16Clamping() {
+        float[] in = {1.0f, -1.0f, 2.0f, -2.0f, Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.NaN, 0.0f};
+        short[] out = new short[in.length];
+        PcmConversions.floatToS16(in, out);
+        assertArrayEquals(new short[]{32767, -32768, 32767, -32768, 32767, -32768, 0, 0}, out);
+    }
+
+    @Test
+    public void testFloatToS16Rounding() {
+        // rounded to nearest, halves away from zero
+        float[] in = {0.49f * LSB, 0.5f * LSB, 1.5f * LSB, -0.49f * LSB, -0.5f * LSB, -1.5f * LSB, 0.5f};
+        short[] out = new short[in.length];
+        PcmConversions.floatToS16(in, out);
+        assertArrayEquals(new short[]{0, 1, 2, 0, -1, -2, 16384}, out);
+    }
+
+    @Test
+    public void testFloatToS16Le() {
+        float[] in = {0x1234 * LSB, -1.0f, 1.0f, Float.NaN};
+        byte[] out = new byte[in.length * 2];
+        PcmConversions.floatToS16Le(in, out);
+        assertArrayEquals(new byte[]{0x34, 0x12, 0x00, (byte) 0x80, (byte) 0xff, 0x7f, 0x00, 0x00}, out);
+    }
+
+    @Test
+    public void testS16ToFloat() {
+        short[] in = {0, 16384, -16384, 32767, -32768, 1};
+        float[] out = new float[in.length];
+        PcmConversions.s16ToFloat(in, out);
+        assertArrayEquals(new float[]{0.0f, 0.5f, -0.5f, 32767 * LSB, -1.0f, LSB}, out);
+    }
+
+    @Test
+    public void testS16LeToFloat() {
+        byte[] in = {0x34, 0x12, 0x00, (byte) 0x80, (byte) 0xff, 0x7f, (byte) 0xff, (byte) 0xff};
+        float[] out = new float[in.length / 2];
+        PcmConversions.s16LeToFloat(in, out);
+        assertArrayEquals(new float[]{0x1234 * LSB, -1.0f, 32767 * LSB, -LSB}, out);
+    }
+
+    @Test
+    public void testRoundTrip() {
+        short[] in = new short[65536];
+        for (int n = 0; n < in.length; n++) {
+            in[n] = (short) (n - 32768);
+        }
+        float[] floats = new float[in.length];
+        short[] out = new short[in.length];
+        byte[] bytes = new byte[in.length * 2];
+        float[] floatsLe = new float[in.length];
+
+        PcmConversions.s16ToFloat(in, floats);
+        PcmConversions.floatToS16(floats, out);
+        assertArrayEquals(in, out);
+
+        PcmConversions.floatToS16Le(floats, bytes);
+        PcmConversions.s16LeToFloat(bytes, floatsLe);
+        assertArrayEquals(floats, floatsLe);
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> PcmConversions.floatToS16(null, new short[1]));
+        assertThrows(IllegalArgumentException.class, () -> PcmConversions.floatToS16(new float[1], null));
+        assertThrows(IllegalArgumentException.class, () -> PcmConversions.floatToS16(new float[2], new short[1]));
+        assertThrows(IllegalArgumentException.class, () -> PcmConversions.floatToS16Le(new float[2], new byte[2]));
+        assertThrows(IllegalArgumentException.class, () -> PcmConversions.s16ToFloat(new short[1], new float[2]));
+        assertThrows(IllegalArgumentException.class, () -> PcmConversions.s16LeToFloat(new byte[3], new float[1]));
+    }
+}
@@ -0,0 +1,203 @@
+package org.rocstreaming.roctoolkit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PushRocReceiverTest extends BaseTest {
+
+    private static final int SAMPLE_RATE = 44100;
+    // 10ms of stereo samples
+    private static final int FRAME_SIZE = SAMPLE_RATE / 100 * 2;
+    private static final RocReceiverConfig CONFIG = RocReceiverConfig.builder()
+            .frameEncoding(
+                    MediaEncoding.builder()
+                            .rate(SAMPLE_RATE)
+                            .format(Format.PCM_FLOAT32)
+                            .channels(ChannelLayout.STEREO)
+                            .build()
+            )
+            .clockSource(ClockSource.INTERNAL)
+            .build();
+
+    private RocContext context;
+    private RocReceiver receiver;
+
+    @BeforeEach
+    public void beforeEach() throws Exception {
+        context = new RocContext();
+        receiver = new RocReceiver(context, CONFIG);
+        receiver.bind(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp://127.0.0.1:0"));
+    }
+
+    @AfterEach
+    public void afterEach() {
+        receiver.close();
+        context.close();
+    }
+
+    @Test
+    public void testListener() {
+        try (PushRocReceiver pushReceiver = new PushRocReceiver(receiver, FRAME_SIZE, 4)) {
+            AtomicLong lastSequence = new AtomicLong(-1);
+            AtomicBoolean invalidFrame = new AtomicBoolean();
+            FrameListener listener = frame -> {
+                if (frame.getSamples().length != FRAME_SIZE || frame.getSequence() <= lastSequence.get()) {
+                    invalidFrame.set(true);
+                }
+                lastSequence.set(frame.getSequence());
+            };
+            pushReceiver.addListener(listener);
+
+            FrameListenerStats stats = pushReceiver.getStats(listener);
+            await().atMost(10, TimeUnit.SECONDS).until(() -> stats.getProcessedFrames() >= 10);
+            assertFalse(invalidFrame.get());
+            assertEquals(0, stats.getDroppedFrames());
+            assertTrue(stats.getMaxProcessingNanos() <= stats.getTotalProcessingNanos());
+
+            pushReceiver.removeListener(listener);
+            assertThrows(IllegalArgumentException.class, () -> pushReceiver.getStats(listener));
+        }
+    }
+
+    @Test
+    public void testThrowingListener() {
+        try (PushRocReceiver pushReceiver = new PushRocReceiver(receiver, FRAME_SIZE, 4)) {
+            AtomicLong calls = new AtomicLong();
+            FrameListener listener = frame -> {
+                if (calls.incrementAndGet() % 2 == 0) {
+                    throw new AssertionError("listener error");
+                }
+                throw new IllegalStateException("listener exception");
+            };
+            pushReceiver.addListener(listener);
+
+            // listener keeps receiving frames after errors
+            await().atMost(10, TimeUnit.SECONDS).until(() -> calls.get() >= 10);
+        }
+    }
+
+    @Test
+    public void testSlowListener() {
+        try (PushRocReceiver pushReceiver = new PushRocReceiver(receiver, FRAME_SIZE, 1)) {
+            AtomicLong fastFrames = new AtomicLong();
+            FrameListener fastListener = frame -> fastFrames.incrementAndGet();
+            FrameListener slowListener = frame -> {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            };
+            pushReceiver.addListener(fastListener);
+            pushReceiver.addListener(slowListener);
+
+            FrameListenerStats slowStats = pushReceiver.getStats(slowListener);
+            await().atMost(10, TimeUnit.SECONDS).until(() -> slowStats.getDroppedFrames() >= 10);
+            assertTrue(slowStats.getMaxProcessingNanos() >= TimeUnit.MILLISECONDS.toNanos(50));
+            assertTrue(fastFrames.get() > slowStats.getProcessedFrames());
+        }
+    }
+
+    @Test
+    public void testSlowListenersDoNotAllocate() {
+        try (PushRocReceiver pushReceiver = new PushRocReceiver(receiver, FRAME_SIZE, 2)) {
+            CountDownLatch latch = new CountDownLatch(1);
+            FrameListener firstListener = frame -> awaitLatch(latch);
+            FrameListener secondListener = frame -> awaitLatch(latch);
+            // listeners get stuck on different frames, so they hold disjoint sets of frames
+            pushReceiver.addListener(firstListener);
+            FrameListenerStats firstStats = pushReceiver.getStats(firstListener);
+            await().atMost(10, TimeUnit.SECONDS).until(() -> firstStats.getDroppedFrames() >= 5);
+            pushReceiver.addListener(secondListener);
+            FrameListenerStats secondStats = pushReceiver.getStats(secondListener);
+            await().atMost(10, TimeUnit.SECONDS).until(() -> secondStats.getDroppedFrames() >= 5);
+            assertEquals(0, pushReceiver.getPool().getExtraAllocations());
+
+            latch.countDown();
+            pushReceiver.removeListener(firstListener);
+            long processed = secondStats.getProcessedFrames();
+            await().atMost(10, TimeUnit.SECONDS).until(() -> secondStats.getProcessedFrames() >= processed + 10);
+            assertEquals(0, pushReceiver.getPool().getExtraAllocations());
+        }
+    }
+
+    private static void awaitLatch(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    public void testClose() {
+        PushRocReceiver pushReceiver = new PushRocReceiver(receiver, FRAME_SIZE, 4);
+        pushReceiver.addListener(frame -> {
+        });
+        assertTimeoutPreemptively(java.time.Duration.ofSeconds(10), pushReceiver::close);
+        assertDoesNotThrow(pushReceiver::close);
+        assertThrows(IllegalStateException.class, () -> pushReceiver.addListener(frame -> {
+        }));
+    }
+
+    @Test
+    public void testCloseDoesNotInterruptReceiver() throws Exception {
+        AtomicBoolean stopReading = new AtomicBoolean();
+        AtomicReference<Exception> readError = new AtomicReference<>();
+        Thread otherReader = new Thread(() -> {
+            float[] samples = new float[FRAME_SIZE];
+            while (!stopReading.get()) {
+                try {
+                    receiver.read(samples);
+                } catch (Exception e) {
+                    readError.set(e);
+                    return;
+                }
+            }
+        });
+        otherReader.start();
+
+        try {
+            PushRocReceiver pushReceiver = new PushRocReceiver(receiver, FRAME_SIZE, 4);
+            Thread.sleep(100);
+            assertTimeoutPreemptively(java.time.Duration.ofSeconds(10), pushReceiver::close);
+        } finally {
+            stopReading.set(true);
+            otherReader.join();
+        }
+        assertNull(readError.get());
+    }
+
+    @Test
+    public void testInvalidArguments() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> new PushRocReceiver(null, FRAME_SIZE, 4));
+        assertThrows(IllegalArgumentException.class, () -> new PushRocReceiver(receiver, 0, 4));
+        assertThrows(IllegalArgumentException.class, () -> new PushRocReceiver(receiver, FRAME_SIZE, 0));
+        RocReceiverConfig externalConfig = RocReceiverConfig.builder()
+                .frameEncoding(CONFIG.getFrameEncoding())
+                .clockSource(ClockSource.EXTERNAL)
+                .build();
+        try (RocReceiver externalReceiver = new RocReceiver(context, externalConfig)) {
+            assertThrows(IllegalArgumentException.class, () -> new PushRocReceiver(externalReceiver, FRAME_SIZE, 4));
+        }
+        try (PushRocReceiver pushReceiver = new PushRocReceiver(receiver, FRAME_SIZE, 4)) {
+            FrameListener listener = frame -> {
+            };
+            assertThrows(IllegalArgumentException.class, () -> pushReceiver.addListener(null));
+            assertThrows(IllegalArgumentException.class, () -> pushReceiver.removeListener(listener));
+            assertThrows(IllegalArgumentException.class, () -> pushReceiver.getStats(listener));
+            pushReceiver.addListener(listener);
+            assertThrows(IllegalArgumentException.class, () -> pushReceiver.addListener(listener));
+        }
+    }
+}
@@ -50,9 +50,13 @@ public class RocLoggerTest extends BaseTest {
         try {
             assertDoesNotThrow(() -> {
                 RocLogger.LOGGER.setLevel(level);
-                try {
-                    // trigger error logs
-                    new Endpoint("invalid");
+                // don't wait until drain thread notices new level
+                RocLogger.syncLevel();
+                try (RocContext context = new RocContext();
+                     RocSender sender = new RocSender(context, RocSenderTest.CONFIG)) {
+                    // trigger error logs; endpoints are parsed in Java, so use query of
+                    // slot without interfaces, which fails in libroc
+                    sender.query(new Slot(1), new RocSenderMetrics());
                 } catch (Exception ignored) {
                 }
                 // trigger info logs
@@ -68,6 +72,7 @@ public class RocLoggerTest extends BaseTest {
         } finally {
             RocLogger.LOGGER.removeHandler(handler);
             RocLogger.LOGGER.setLevel(originalLevel);
+            RocLogger.syncLevel();
         }
     }
 
@@ -89,6 +94,7 @@ public class RocLoggerTest extends BaseTest {
         });
         RocLogger.LOGGER.addHandler(handler);
         RocLogger.LOGGER.setLevel(Level.FINE);
+        RocLogger.syncLevel();
 
         try {
             //noinspection EmptyTryBlock
@@ -100,6 +106,75 @@ public class RocLoggerTest extends BaseTest {
         } finally {
             RocLogger.LOGGER.removeHandler(handler);
             RocLogger.LOGGER.setLevel(originalLevel);
+            RocLogger.syncLevel();
         }
     }
+
+    @Test
+    public void testDrain() throws Exception {
+        //noinspection EmptyTryBlock
+        try (RocContext ignored = new RocContext()) {
+        }
+
+        // messages are delivered asynchronously, drain can be also called explicitly
+        RocLogger.drain();
+        assertEquals(0, RocLogger.drain());
+        assertEquals(0, RocLogger.getDroppedCount());
+    }
+
+    @Test
+    public void testSetLevel() {
+        Level originalLevel = RocLogger.LOGGER.getLevel();
+        try {
+            RocLogger.setLevel(RocLogLevel.ERROR);
+            assertEquals(Level.SEVERE, RocLogger.LOGGER.getLevel());
+            assertEquals(RocLogLevel.ERROR, RocLogger.getNativeLevel());
+
+            RocLogger.setLevel(RocLogLevel.NONE);
+            assertEquals(Level.OFF, RocLogger.LOGGER.getLevel());
+            assertEquals(RocLogLevel.NONE, RocLogger.getNativeLevel());
+        } finally {
+            RocLogger.LOGGER.setLevel(originalLevel);
+            RocLogger.syncLevel();
+        }
+    }
+
+    private static Stream<Arguments> julLevels() {
+        return Stream.of(
+                Arguments.of(Level.OFF, RocLogLevel.NONE),
+                Arguments.of(Level.SEVERE, RocLogLevel.ERROR),
+                Arguments.of(Level.WARNING, RocLogLevel.ERROR),
+                Arguments.of(Level.INFO, RocLogLevel.INFO),
+                Arguments.of(Level.CONFIG, RocLogLevel.INFO),
+                Arguments.of(Level.FINE, RocLogLevel.DEBUG),
+                Arguments.of(Level.FINER, RocLogLevel.DEBUG),
+                Arguments.of(Level.FINEST, RocLogLevel.TRACE),
+                Arguments.of(Level.ALL, RocLogLevel.TRACE)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("julLevels")
+    public void testLevelSync(Level level, RocLogLevel expectedLevel) {
+        Level originalLevel = RocLogger.LOGGER.getLevel();
+        Level originalParentLevel = RocLogger.LOGGER.getParent().getLevel();
+        try {
+            // level is inherited from parent logger
+            RocLogger.LOGGER.setLevel(null);
+            RocLogger.LOGGER.getParent().setLevel(level);
+
+            // drain thread notices new level by itself
+            await().atMost(Duration.TEN_SECONDS)
+                    .until(() -> RocLogger.getNativeLevel() == expectedLevel);
+        } finally {
+            RocLogger.LOGGER.getParent().setLevel(originalParentLevel);
+            RocLogger.LOGGER.setLevel(originalLevel);
+            RocLogger.syncLevel();
+        }
+    }
+
+    @Test
+    public void testInvalidLevel() {
+        assertThrows(IllegalArgumentException.class, () -> RocLogger.setLevel(null));
+    }
 }
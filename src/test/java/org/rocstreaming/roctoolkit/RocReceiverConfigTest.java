@@ -43,4 +43,28 @@ class RocReceiverConfigTest {
         assertEquals(error, e.getMessage());
     }
 
+    @Test
+    public void testPacked() {
+        RocReceiverConfig config = validBuilder()
+                .clockSyncBackend(ClockSyncBackend.DISABLE)
+                .targetLatency(Duration.ofMillis(100))
+                .noPlaybackTimeout(Duration.ofNanos(-1))
+                .build();
+
+        long[] packed = PackedConfig.pack(config);
+        assertEquals(PackedConfig.RECEIVER_SIZE, packed.length);
+        assertEquals(44100, packed[PackedConfig.FRAME_RATE]);
+        assertEquals(Format.PCM_FLOAT32.value, packed[PackedConfig.FRAME_FORMAT]);
+        assertEquals(ChannelLayout.STEREO.value, packed[PackedConfig.FRAME_CHANNELS]);
+        assertEquals(0, packed[PackedConfig.RECEIVER_CLOCK_SOURCE]);
+        assertEquals(-1, packed[PackedConfig.RECEIVER_CLOCK_SYNC_BACKEND]);
+        assertEquals(100000000, packed[PackedConfig.RECEIVER_TARGET_LATENCY]);
+        assertEquals(0, packed[PackedConfig.RECEIVER_LATENCY_TOLERANCE]);
+        assertEquals(-1, packed[PackedConfig.RECEIVER_NO_PLAYBACK_TIMEOUT]);
+        assertEquals(0, packed[PackedConfig.RECEIVER_CHOPPY_PLAYBACK_TIMEOUT]);
+
+        // default clock source is passed as is
+        assertArrayEquals(packed, RocReceiver.nativeConfig(config));
+    }
+
 }
@@ -7,9 +7,21 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
 import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 
+import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class RocReceiverTest extends BaseTest {
@@ -92,6 +104,53 @@ public class RocReceiverTest extends BaseTest {
         assertEquals(errorMessage, exception.getMessage());
     }
 
+    @Test
+    public void testPreparedConfig() throws Exception {
+        try (PreparedReceiverConfig prepared = new PreparedReceiverConfig(CONFIG)) {
+            assertSame(CONFIG, prepared.getConfig());
+            for (int n = 0; n < 3; n++) {
+                try (RocReceiver receiver = new RocReceiver(context, prepared)) {
+                    assertTrue(receiver.isOpen());
+                }
+            }
+            // receivers don't depend on prepared config after open
+            RocReceiver receiver = new RocReceiver(context, prepared);
+            prepared.close();
+            receiver.close();
+        }
+    }
+
+    @Test
+    public void testConcurrentPreparedOpen() throws Exception {
+        try (PreparedReceiverConfig prepared = new PreparedReceiverConfig(CONFIG)) {
+            // opens only share close lock, so they don't wait for each other
+            Lock closeLock = prepared.getCloseLock();
+            closeLock.lock();
+            try {
+                assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                    try (RocReceiver receiver = new RocReceiver(context, prepared)) {
+                        assertTrue(receiver.isOpen());
+                    }
+                });
+            } finally {
+                closeLock.unlock();
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidPreparedConfig() throws Exception {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> new PreparedReceiverConfig(null));
+        assertEquals("Invalid RocReceiverConfig: must not be null", exception.getMessage());
+
+        exception = assertThrows(IllegalArgumentException.class, () -> new RocReceiver(context, (PreparedReceiverConfig) null));
+        assertEquals("Invalid PreparedReceiverConfig: must not be null", exception.getMessage());
+
+        PreparedReceiverConfig prepared = new PreparedReceiverConfig(CONFIG);
+        prepared.close();
+        assertThrows(IllegalStateException.class, () -> new RocReceiver(context, prepared));
+    }
+
     @Test
     public void testConfigureBeforeBind() throws Exception {
         try (RocReceiver receiver = new RocReceiver(context, CONFIG)) {
@@ -240,6 +299,31 @@ public class RocReceiverTest extends BaseTest {
         }
     }
 
+    @Test
+    public void testQuery() throws Exception {
+        try (RocReceiver receiver = new RocReceiver(context, CONFIG)) {
+            receiver.bind(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://127.0.0.1:0"));
+            RocReceiverMetrics metrics = new RocReceiverMetrics();
+            RocConnectionMetrics[] connectionMetrics = {new RocConnectionMetrics(), new RocConnectionMetrics()};
+            assertEquals(0, receiver.query(Slot.DEFAULT, metrics, connectionMetrics));
+            assertEquals(0, metrics.getConnectionCount());
+            assertEquals(0, receiver.query(Slot.DEFAULT, metrics, new RocConnectionMetrics[0]));
+        }
+    }
+
+    @Test
+    public void testInvalidQuery() throws Exception {
+        try (RocReceiver receiver = new RocReceiver(context, CONFIG)) {
+            receiver.bind(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://127.0.0.1:0"));
+            RocReceiverMetrics metrics = new RocReceiverMetrics();
+            RocConnectionMetrics[] connectionMetrics = new RocConnectionMetrics[0];
+            assertThrows(IllegalArgumentException.class, () -> receiver.query(null, metrics, connectionMetrics));
+            assertThrows(IllegalArgumentException.class, () -> receiver.query(Slot.DEFAULT, null, connectionMetrics));
+            assertThrows(IllegalArgumentException.class, () -> receiver.query(Slot.DEFAULT, metrics, null));
+            assertThrows(RocException.class, () -> receiver.query(new Slot(1), metrics, connectionMetrics));
+        }
+    }
+
     @Test
     public void testRead() throws Exception {
         try (RocReceiver receiver = new RocReceiver(context, CONFIG)) {
@@ -251,12 +335,377 @@ public class RocReceiverTest extends BaseTest {
         }
     }
 
+    @Test
+    public void testHistograms() throws Exception {
+        try (RocReceiver receiver = new RocReceiver(context, CONFIG)) {
+            receiver.bind(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://0.0.0.0:0"));
+            receiver.bind(Slot.DEFAULT, Interface.AUDIO_REPAIR, new Endpoint("rs8m://0.0.0.0:0"));
+            assertNull(receiver.getReadHistograms());
+
+            receiver.setHistogramsEnabled(true);
+            CallHistograms histograms = receiver.getReadHistograms();
+            assertNotNull(histograms);
+            float[] samples = new float[2];
+            for (int i = 0; i < 3; i++) {
+                receiver.read(samples);
+            }
+            assertEquals(3, histograms.getDurations().snapshot().getCount());
+            assertEquals(1, histograms.getJitter().snapshot().getCount());
+
+            receiver.setHistogramsEnabled(false);
+            assertNull(receiver.getReadHistograms());
+        }
+    }
+
+    @Test
+    public void testGlitchDetection() throws Exception {
+        try (RocReceiver receiver = new RocReceiver(context, CONFIG)) {
+            receiver.bind(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://0.0.0.0:0"));
+            receiver.bind(Slot.DEFAULT, Interface.AUDIO_REPAIR, new Endpoint("rs8m://0.0.0.0:0"));
+            GlitchStats stats = new GlitchStats();
+            assertFalse(receiver.isGlitchDetectionEnabled());
+
+            receiver.setGlitchDetectionEnabled(true);
+            assertTrue(receiver.isGlitchDetectionEnabled());
+
+            // without sender, receiver produces silence, which is one long run
+            float[] samples = new float[CONFIG.getFrameEncoding().getRate() / 100 * 2];
+            for (int i = 0; i < 5; i++) {
+                receiver.read(samples);
+            }
+            receiver.read(new short[samples.length]);
+            receiver.getGlitchStats(stats);
+            assertEquals(samples.length / 2 * 6, stats.getFrameCount());
+            assertEquals(1, stats.getZeroRunCount());
+            assertEquals(stats.getFrameCount(), stats.getZeroFrameCount());
+            assertEquals(0, stats.getDiscontinuityCount());
+
+            receiver.setGlitchDetectionEnabled(false);
+            receiver.read(samples);
+            receiver.getGlitchStats(stats);
+            assertEquals(0, stats.getFrameCount());
+
+            assertThrows(IllegalArgumentException.class, () -> receiver.getGlitchStats(null));
+        }
+    }
+
+    @Test
+    public void testConcurrentGlitchDetection() throws Exception {
+        try (RocReceiver receiver = new RocReceiver(context, CONFIG)) {
+            receiver.bind(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://0.0.0.0:0"));
+            receiver.bind(Slot.DEFAULT, Interface.AUDIO_REPAIR, new Endpoint("rs8m://0.0.0.0:0"));
+            receiver.setGlitchDetectionEnabled(true);
+
+            // 10ms of stereo samples
+            int frameSize = SAMPLE_RATE / 100 * 2;
+            int numThreads = 4;
+            int numReads = 5000;
+            Thread[] threads = new Thread[numThreads];
+            AtomicReference<Exception> readError = new AtomicReference<>();
+            for (int n = 0; n < numThreads; n++) {
+                threads[n] = new Thread(() -> {
+                    float[] samples = new float[frameSize];
+                    for (int i = 0; i < numReads; i++) {
+                        try {
+                            receiver.read(samples);
+                        } catch (Exception e) {
+                            readError.set(e);
+                            return;
+                        }
+                    }
+                });
+                threads[n].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertNull(readError.get());
+
+            // no updates are lost
+            GlitchStats stats = new GlitchStats();
+            receiver.getGlitchStats(stats);
+            assertEquals((long) numThreads * numReads * frameSize / 2, stats.getFrameCount());
+            assertEquals(stats.getFrameCount(), stats.getZeroFrameCount());
+        }
+    }
+
+    @Test
+    public void testLevelMeter() throws Exception {
+        try (RocReceiver receiver = new RocReceiver(context, CONFIG)) {
+            receiver.bind(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://0.0.0.0:0"));
+            receiver.bind(Slot.DEFAULT, Interface.AUDIO_REPAIR, new Endpoint("rs8m://0.0.0.0:0"));
+            LevelMeter meter = new LevelMeter(2);
+            receiver.setLevelMeter(meter);
+            assertSame(meter, receiver.getLevelMeter());
+
+            // without sender, receiver produces silence
+            receiver.read(new float[][]{new float[4], new float[4]});
+            assertEquals(0, meter.getPeak(0));
+            assertEquals(0, meter.getRms(1));
+            assertEquals(Double.NEGATIVE_INFINITY, LevelMeter.toDecibels(meter.getPeak(0)));
+
+            assertThrows(IllegalArgumentException.class, () -> receiver.setLevelMeter(new LevelMeter(3)));
+        }
+    }
+
+    @Test
+    public void testReadRange() throws Exception {
+        try (RocReceiver receiver = new RocReceiver(context, CONFIG)) {
+            receiver.bind(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://0.0.0.0:0"));
+            receiver.bind(Slot.DEFAULT, Interface.AUDIO_REPAIR, new Endpoint("rs8m://0.0.0.0:0"));
+            float[] samples = {1.0f, 1.0f, 1.0f, 1.0f, 1.0f, 1.0f};
+            receiver.read(samples, 2, 2);
+            assertArrayEquals(new float[]{1.0f, 1.0f, 0.0f, 0.0f, 1.0f, 1.0f}, samples);
+        }
+    }
+
+    @Test
+    public void testInvalidReadRange() throws Exception {
+        try (RocReceiver receiver = new RocReceiver(context, CONFIG)) {
+            receiver.bind(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://127.0.0.1:0"));
+            receiver.bind(Slot.DEFAULT, Interface.AUDIO_REPAIR, new Endpoint("rs8m://127.0.0.1:0"));
+            float[] samples = new float[4];
+            assertThrows(IllegalArgumentException.class, () -> receiver.read((float[]) null, 0, 2));
+            assertThrows(IllegalArgumentException.class, () -> receiver.read(samples, -2, 2));
+            assertThrows(IllegalArgumentException.class, () -> receiver.read(samples, 0, -2));
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> receiver.read(samples, 2, 4));
+            assertEquals("Invalid samples: offset and length must be within array bounds", exception.getMessage());
+        }
+    }
+
+    @Test
+    public void testReadPlanes() throws Exception {
+        try (RocReceiver receiver = new RocReceiver(context, CONFIG)) {
+            receiver.bind(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://0.0.0.0:0"));
+            receiver.bind(Slot.DEFAULT, Interface.AUDIO_REPAIR, new Endpoint("rs8m://0.0.0.0:0"));
+            float[][] planes = {{1.0f, 1.0f, 1.0f}, {1.0f, 1.0f, 1.0f}};
+            receiver.read(planes);
+            assertArrayEquals(new float[3], planes[0]);
+            assertArrayEquals(new float[3], planes[1]);
+        }
+    }
+
+    @Test
+    public void testInvalidReadPlanes() throws Exception {
+        try (RocReceiver receiver = new RocReceiver(context, CONFIG)) {
+            receiver.bind(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://127.0.0.1:0"));
+            receiver.bind(Slot.DEFAULT, Interface.AUDIO_REPAIR, new Endpoint("rs8m://127.0.0.1:0"));
+            assertThrows(IllegalArgumentException.class, () -> receiver.read((float[][]) null));
+            assertThrows(IllegalArgumentException.class, () -> receiver.read(new float[][]{new float[2], null}));
+            assertThrows(IllegalArgumentException.class, () -> receiver.read(new float[][]{new float[2], new float[3]}));
+            // CONFIG is stereo
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> receiver.read(new float[][]{new float[2]}));
+            assertEquals("Invalid planes: number of planes must match number of channels in frame encoding",
+                    exception.getMessage());
+            assertThrows(IllegalArgumentException.class, () -> receiver.read(new float[3][2]));
+            assertThrows(IllegalArgumentException.class, () -> receiver.read(new float[0][]));
+        }
+    }
+
+    @Test
+    public void testReadPcm16() throws Exception {
+        try (RocReceiver receiver = new RocReceiver(context, CONFIG)) {
+            receiver.bind(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://0.0.0.0:0"));
+            receiver.bind(Slot.DEFAULT, Interface.AUDIO_REPAIR, new Endpoint("rs8m://0.0.0.0:0"));
+
+            short[] shorts = {1, 1, 1, 1, 1, 1};
+            receiver.read(shorts, 2, 2);
+            assertArrayEquals(new short[]{1, 1, 0, 0, 1, 1}, shorts);
+            receiver.read(shorts);
+            assertArrayEquals(new short[6], shorts);
+
+            byte[] bytes = {1, 1, 1, 1, 1, 1};
+            receiver.readPcm16Le(bytes, 2, 2);
+            assertArrayEquals(new byte[]{1, 1, 0, 0, 1, 1}, bytes);
+        }
+    }
+
+    @Test
+    public void testInvalidReadPcm16() throws Exception {
+        try (RocReceiver receiver = new RocReceiver(context, CONFIG)) {
+            receiver.bind(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://127.0.0.1:0"));
+            receiver.bind(Slot.DEFAULT, Interface.AUDIO_REPAIR, new Endpoint("rs8m://127.0.0.1:0"));
+            short[] shorts = new short[4];
+            byte[] bytes = new byte[8];
+            assertThrows(IllegalArgumentException.class, () -> receiver.read((short[]) null));
+            assertThrows(IllegalArgumentException.class, () -> receiver.read((short[]) null, 0, 2));
+            assertThrows(IllegalArgumentException.class, () -> receiver.read(shorts, 3, 2));
+            assertThrows(IllegalArgumentException.class, () -> receiver.readPcm16Le(null, 0, 2));
+            assertThrows(IllegalArgumentException.class, () -> receiver.readPcm16Le(bytes, 0, 3));
+            assertThrows(IllegalArgumentException.class, () -> receiver.readPcm16Le(bytes, 4, 6));
+        }
+    }
+
+    @Test
+    public void testReadCritical() throws Exception {
+        try (RocReceiver receiver = new RocReceiver(context, CONFIG)) {
+            receiver.bind(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://0.0.0.0:0"));
+            receiver.bind(Slot.DEFAULT, Interface.AUDIO_REPAIR, new Endpoint("rs8m://0.0.0.0:0"));
+            assertEquals(ArrayAccessMode.COPY, receiver.getArrayAccessMode());
+
+            receiver.setArrayAccessMode(ArrayAccessMode.CRITICAL);
+            assertEquals(ArrayAccessMode.CRITICAL, receiver.getArrayAccessMode());
+
+            float[] samples = {1.0f, 1.0f, 1.0f, 1.0f, 1.0f, 1.0f};
+            receiver.read(samples, 2, 2);
+            assertArrayEquals(new float[]{1.0f, 1.0f, 0.0f, 0.0f, 1.0f, 1.0f}, samples);
+            receiver.read(samples);
+            assertArrayEquals(new float[6], samples);
+        }
+    }
+
+    @Test
+    public void testTryRead() throws Exception {
+        RocReceiverConfig config = CONFIG.toBuilder()
+                .clockSource(ClockSource.INTERNAL)
+                .build();
+        // one second of stereo samples
+        float[] frame = new float[SAMPLE_RATE * 2];
+        try (RocReceiver receiver = new RocReceiver(context, config)) {
+            receiver.bind(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://0.0.0.0:0"));
+            receiver.bind(Slot.DEFAULT, Interface.AUDIO_REPAIR, new Endpoint("rs8m://0.0.0.0:0"));
+            assertTrue(receiver.tryRead(frame, Duration.ZERO));
+            assertFalse(receiver.tryRead(frame, Duration.ZERO));
+            assertFalse(receiver.tryRead(frame, 0, 2, Duration.ofMillis(10)));
+        }
+    }
+
+    @Test
+    public void testInvalidTryRead() throws Exception {
+        try (RocReceiver receiver = new RocReceiver(context, CONFIG)) {
+            receiver.bind(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://0.0.0.0:0"));
+            receiver.bind(Slot.DEFAULT, Interface.AUDIO_REPAIR, new Endpoint("rs8m://0.0.0.0:0"));
+            float[] frame = new float[4];
+            assertTrue(receiver.tryRead(frame, Duration.ZERO));
+            assertThrows(IllegalArgumentException.class, () -> receiver.tryRead(null, Duration.ZERO));
+            assertThrows(IllegalArgumentException.class, () -> receiver.tryRead(frame, null));
+            assertThrows(IllegalArgumentException.class, () -> receiver.tryRead(frame, Duration.ofMillis(-1)));
+            assertThrows(IllegalArgumentException.class, () -> receiver.tryRead(frame, 3, 2, Duration.ZERO));
+        }
+    }
+
+    @Test
+    public void testInterrupt() throws Exception {
+        RocReceiverConfig config = CONFIG.toBuilder()
+                .clockSource(ClockSource.INTERNAL)
+                .build();
+        float[] frame = new float[SAMPLE_RATE * 2];
+        try (RocReceiver receiver = new RocReceiver(context, config)) {
+            receiver.bind(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://0.0.0.0:0"));
+            receiver.bind(Slot.DEFAULT, Interface.AUDIO_REPAIR, new Endpoint("rs8m://0.0.0.0:0"));
+            receiver.read(frame);
+
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                Future<Boolean> pending = executor.submit(() -> receiver.tryRead(frame, Duration.ofMinutes(1)));
+                Future<?> blocked = executor.submit(() -> {
+                    receiver.read(frame);
+                    return null;
+                });
+
+                await().atMost(10, TimeUnit.SECONDS).until(() -> {
+                    receiver.interrupt();
+                    return pending.isDone() && blocked.isDone();
+                });
+                assertFalse(pending.get());
+                ExecutionException exception = assertThrows(ExecutionException.class, blocked::get);
+                assertTrue(exception.getCause() instanceof RocException);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidArrayAccessMode() throws Exception {
+        RocReceiverConfig config = CONFIG.toBuilder()
+                .clockSource(ClockSource.INTERNAL)
+                .build();
+        try (RocReceiver receiver = new RocReceiver(context, config)) {
+            assertThrows(IllegalArgumentException.class, () -> receiver.setArrayAccessMode(null));
+            assertEquals(ArrayAccessMode.COPY, receiver.getArrayAccessMode());
+        }
+    }
+
+    @Test
+    public void testCriticalArrayAccessWithInternalClock() throws Exception {
+        RocReceiverConfig config = CONFIG.toBuilder()
+                .clockSource(ClockSource.INTERNAL)
+                .build();
+        try (RocReceiver receiver = new RocReceiver(context, config)) {
+            receiver.bind(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://0.0.0.0:0"));
+            receiver.bind(Slot.DEFAULT, Interface.AUDIO_REPAIR, new Endpoint("rs8m://0.0.0.0:0"));
+            receiver.setArrayAccessMode(ArrayAccessMode.CRITICAL);
+            assertEquals(ArrayAccessMode.CRITICAL, receiver.getArrayAccessMode());
+            float[] samples = new float[100];
+            for (int n = 0; n < 3; n++) {
+                receiver.read(samples);
+            }
+            assertTrue(receiver.tryRead(samples, Duration.ofSeconds(10)));
+        }
+    }
+
+    @Test
+    public void testReadBuffer() throws Exception {
+        try (RocReceiver receiver = new RocReceiver(context, CONFIG)) {
+            receiver.bind(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://0.0.0.0:0"));
+            receiver.bind(Slot.DEFAULT, Interface.AUDIO_REPAIR, new Endpoint("rs8m://0.0.0.0:0"));
+
+            FloatBuffer directBuffer = ByteBuffer.allocateDirect(4 * Float.BYTES)
+                    .order(ByteOrder.nativeOrder())
+                    .asFloatBuffer();
+            directBuffer.put(new float[]{1.0f, 1.0f, 1.0f, 1.0f});
+            directBuffer.position(2);
+            receiver.read(directBuffer);
+            assertEquals(4, directBuffer.position());
+            assertEquals(1.0f, directBuffer.get(1));
+            assertEquals(0.0f, directBuffer.get(2));
+            assertEquals(0.0f, directBuffer.get(3));
+
+            FloatBuffer heapBuffer = FloatBuffer.wrap(new float[]{1.0f, 1.0f});
+            receiver.read(heapBuffer);
+            assertArrayEquals(new float[]{0.0f, 0.0f}, heapBuffer.array());
+
+            ByteBuffer byteBuffer = ByteBuffer.allocateDirect(2 * Float.BYTES).order(ByteOrder.nativeOrder());
+            byteBuffer.putFloat(0, 1.0f).putFloat(Float.BYTES, 1.0f);
+            receiver.read(byteBuffer);
+            assertFalse(byteBuffer.hasRemaining());
+            assertEquals(0.0f, byteBuffer.getFloat(0));
+            assertEquals(0.0f, byteBuffer.getFloat(Float.BYTES));
+        }
+    }
+
+    @Test
+    public void testInvalidReadBuffer() throws Exception {
+        try (RocReceiver receiver = new RocReceiver(context, CONFIG)) {
+            receiver.bind(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://127.0.0.1:0"));
+            receiver.bind(Slot.DEFAULT, Interface.AUDIO_REPAIR, new Endpoint("rs8m://127.0.0.1:0"));
+            assertThrows(IllegalArgumentException.class, () -> receiver.read((FloatBuffer) null));
+            assertThrows(IllegalArgumentException.class, () -> receiver.read((ByteBuffer) null));
+            assertThrows(IllegalArgumentException.class, () -> receiver.read(ByteBuffer.allocate(8)));
+            assertThrows(IllegalArgumentException.class, () -> receiver.read(ByteBuffer.allocateDirect(6)));
+            // misaligned position
+            ByteBuffer misaligned = ByteBuffer.allocateDirect(12).order(ByteOrder.nativeOrder());
+            ((Buffer) misaligned).position(1).limit(9);
+            assertThrows(IllegalArgumentException.class, () -> receiver.read(misaligned));
+            assertEquals(1, misaligned.position());
+            assertThrows(IllegalArgumentException.class, () -> receiver.read(misaligned.asFloatBuffer()));
+            assertThrows(IllegalArgumentException.class,
+                    () -> receiver.read(FloatBuffer.wrap(new float[2]).asReadOnlyBuffer()));
+            ByteOrder foreignOrder = ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN
+                    ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+            assertThrows(IllegalArgumentException.class,
+                    () -> receiver.read(ByteBuffer.allocateDirect(8).order(foreignOrder).asFloatBuffer()));
+        }
+    }
+
     @Test
     public void testInvalidRead() throws Exception {
         try (RocReceiver receiver = new RocReceiver(context, CONFIG)) {
             receiver.bind(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://127.0.0.1:0"));
             receiver.bind(Slot.DEFAULT, Interface.AUDIO_REPAIR, new Endpoint("rs8m://127.0.0.1:0"));
-            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> receiver.read(null));
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> receiver.read((float[]) null));
             assertEquals("Invalid samples: must not be null", exception.getMessage());
         }
     }
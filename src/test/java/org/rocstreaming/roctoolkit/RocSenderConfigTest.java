@@ -44,4 +44,35 @@ class RocSenderConfigTest {
         assertEquals(error, e.getMessage());
     }
 
+    @Test
+    public void testPacked() {
+        RocSenderConfig config = validBuilder()
+                .packetEncoding(PacketEncoding.AVP_L16_STEREO)
+                .packetLength(Duration.ofMillis(5))
+                .fecEncoding(FecEncoding.RS8M)
+                .fecBlockSourcePackets(20)
+                .fecBlockRepairPackets(10)
+                .clockSource(ClockSource.INTERNAL)
+                .build();
+
+        long[] packed = PackedConfig.pack(config);
+        assertEquals(PackedConfig.SENDER_SIZE, packed.length);
+        assertEquals(44100, packed[PackedConfig.FRAME_RATE]);
+        assertEquals(Format.PCM_FLOAT32.value, packed[PackedConfig.FRAME_FORMAT]);
+        assertEquals(ChannelLayout.STEREO.value, packed[PackedConfig.FRAME_CHANNELS]);
+        assertEquals(0, packed[PackedConfig.FRAME_TRACKS]);
+        assertEquals(PacketEncoding.AVP_L16_STEREO.value, packed[PackedConfig.SENDER_PACKET_ENCODING]);
+        assertEquals(5000000, packed[PackedConfig.SENDER_PACKET_LENGTH]);
+        assertEquals(FecEncoding.RS8M.value, packed[PackedConfig.SENDER_FEC_ENCODING]);
+        assertEquals(20, packed[PackedConfig.SENDER_FEC_BLOCK_SOURCE_PACKETS]);
+        assertEquals(10, packed[PackedConfig.SENDER_FEC_BLOCK_REPAIR_PACKETS]);
+        assertEquals(ClockSource.INTERNAL.value, packed[PackedConfig.SENDER_CLOCK_SOURCE]);
+        assertEquals(0, packed[PackedConfig.SENDER_RESAMPLER_BACKEND]);
+
+        // internal clock is implemented in Java, without affecting config
+        long[] nativeConfig = RocSender.nativeConfig(config);
+        assertEquals(ClockSource.EXTERNAL.value, nativeConfig[PackedConfig.SENDER_CLOCK_SOURCE]);
+        assertEquals(ClockSource.INTERNAL.value, PackedConfig.pack(config)[PackedConfig.SENDER_CLOCK_SOURCE]);
+    }
+
 }
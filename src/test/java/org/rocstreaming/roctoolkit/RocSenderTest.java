@@ -8,10 +8,21 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
 import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
 import java.util.stream.Stream;
 
 import static java.lang.Math.sin;
+import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class RocSenderTest extends BaseTest {
@@ -116,6 +127,53 @@ public class RocSenderTest extends BaseTest {
         assertEquals(errorMessage, exception.getMessage());
     }
 
+    @Test
+    public void testPreparedConfig() throws Exception {
+        try (PreparedSenderConfig prepared = new PreparedSenderConfig(CONFIG)) {
+            assertSame(CONFIG, prepared.getConfig());
+            for (int n = 0; n < 3; n++) {
+                try (RocSender sender = new RocSender(context, prepared)) {
+                    assertTrue(sender.isOpen());
+                }
+            }
+            // senders don't depend on prepared config after open
+            RocSender sender = new RocSender(context, prepared);
+            prepared.close();
+            sender.close();
+        }
+    }
+
+    @Test
+    public void testConcurrentPreparedOpen() throws Exception {
+        try (PreparedSenderConfig prepared = new PreparedSenderConfig(CONFIG)) {
+            // opens only share close lock, so they don't wait for each other
+            Lock closeLock = prepared.getCloseLock();
+            closeLock.lock();
+            try {
+                assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                    try (RocSender sender = new RocSender(context, prepared)) {
+                        assertTrue(sender.isOpen());
+                    }
+                });
+            } finally {
+                closeLock.unlock();
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidPreparedConfig() throws Exception {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> new PreparedSenderConfig(null));
+        assertEquals("Invalid RocSenderConfig: must not be null", exception.getMessage());
+
+        exception = assertThrows(IllegalArgumentException.class, () -> new RocSender(context, (PreparedSenderConfig) null));
+        assertEquals("Invalid PreparedSenderConfig: must not be null", exception.getMessage());
+
+        PreparedSenderConfig prepared = new PreparedSenderConfig(CONFIG);
+        prepared.close();
+        assertThrows(IllegalStateException.class, () -> new RocSender(context, prepared));
+    }
+
     @Test
     void testConfigureBeforeConnect() throws Exception {
         try (RocSender sender = new RocSender(context, CONFIG)) {
@@ -249,6 +307,28 @@ public class RocSenderTest extends BaseTest {
         }
     }
 
+    @Test
+    public void testQuery() throws Exception {
+        try (RocSender sender = new RocSender(context, CONFIG)) {
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://127.0.0.1:10001"));
+            RocSenderMetrics metrics = new RocSenderMetrics();
+            sender.query(Slot.DEFAULT, metrics);
+            sender.query(Slot.DEFAULT, metrics);
+            assertTrue(metrics.getConnectionCount() >= 0);
+        }
+    }
+
+    @Test
+    public void testInvalidQuery() throws Exception {
+        try (RocSender sender = new RocSender(context, CONFIG)) {
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://127.0.0.1:10001"));
+            RocSenderMetrics metrics = new RocSenderMetrics();
+            assertThrows(IllegalArgumentException.class, () -> sender.query(null, metrics));
+            assertThrows(IllegalArgumentException.class, () -> sender.query(Slot.DEFAULT, null));
+            assertThrows(RocException.class, () -> sender.query(new Slot(1), metrics));
+        }
+    }
+
     @Test
     public void testWrite() throws Exception {
         try (RocSender sender = new RocSender(context, CONFIG)) {
@@ -260,12 +340,445 @@ public class RocSenderTest extends BaseTest {
         }
     }
 
+    @Test
+    public void testHistograms() throws Exception {
+        try (RocSender sender = new RocSender(context, CONFIG)) {
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://0.0.0.0:10001"));
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_REPAIR, new Endpoint("rs8m://0.0.0.0:10002"));
+            assertNull(sender.getWriteHistograms());
+
+            sender.setHistogramsEnabled(true);
+            CallHistograms histograms = sender.getWriteHistograms();
+            assertNotNull(histograms);
+            for (int i = 0; i < 3; i++) {
+                sender.write(samples);
+            }
+            assertEquals(3, histograms.getDurations().snapshot().getCount());
+            assertEquals(1, histograms.getJitter().snapshot().getCount());
+
+            sender.setHistogramsEnabled(true);
+            assertSame(histograms, sender.getWriteHistograms());
+
+            sender.setHistogramsEnabled(false);
+            assertNull(sender.getWriteHistograms());
+        }
+    }
+
+    @Test
+    public void testWriteStats() throws Exception {
+        try (RocSender sender = new RocSender(context, CONFIG)) {
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://0.0.0.0:10001"));
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_REPAIR, new Endpoint("rs8m://0.0.0.0:10002"));
+            OperationStats stats = sender.getWriteStats();
+
+            // not recorded without consumers
+            sender.write(samples);
+            assertEquals(0, stats.getCount());
+
+            OperationStats.addConsumer();
+            try {
+                sender.write(samples);
+                sender.writeBatch(new float[][]{samples, samples});
+                assertEquals(3, stats.getCount());
+            } finally {
+                OperationStats.removeConsumer();
+            }
+
+            sender.write(samples);
+            assertEquals(3, stats.getCount());
+        }
+    }
+
+    @Test
+    public void testLevelMeter() throws Exception {
+        try (RocSender sender = new RocSender(context, CONFIG)) {
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://0.0.0.0:10001"));
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_REPAIR, new Endpoint("rs8m://0.0.0.0:10002"));
+            LevelMeter meter = new LevelMeter(2);
+            sender.setLevelMeter(meter);
+            assertSame(meter, sender.getLevelMeter());
+
+            sender.write(new float[]{0.5f, -0.25f, -0.5f, 0.25f});
+            assertEquals(0.5f, meter.getPeak(0));
+            assertEquals(0.25f, meter.getPeak(1));
+            assertEquals(0.5f, meter.getRms(0), 1e-6);
+            assertEquals(0.25f, meter.getRms(1), 1e-6);
+
+            sender.write(new short[]{0, 0});
+            assertEquals(0, meter.getPeak(0));
+
+            sender.setLevelMeter(null);
+            sender.write(new float[]{1, 1});
+            assertEquals(0, meter.getPeak(0));
+        }
+    }
+
+    @Test
+    public void testLevelMeterBatch() throws Exception {
+        for (ArrayAccessMode mode : ArrayAccessMode.values()) {
+            try (RocSender sender = new RocSender(context, CONFIG)) {
+                sender.connect(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://0.0.0.0:10001"));
+                sender.connect(Slot.DEFAULT, Interface.AUDIO_REPAIR, new Endpoint("rs8m://0.0.0.0:10002"));
+                sender.setArrayAccessMode(mode);
+                LevelMeter meter = new LevelMeter(2);
+                sender.setLevelMeter(meter);
+
+                // meter holds levels of last frame
+                sender.writeBatch(new float[][]{{1, 1}, {0.5f, -0.25f, -0.5f, 0.25f}});
+                assertEquals(0.5f, meter.getPeak(0));
+                assertEquals(0.25f, meter.getPeak(1));
+                assertEquals(0.5f, meter.getRms(0), 1e-6);
+                assertEquals(0.25f, meter.getRms(1), 1e-6);
+
+                sender.writeBatch(new float[]{1, 1, 0.5f, -0.25f, 0.75f, 0}, 0, 2, 3);
+                assertEquals(0.75f, meter.getPeak(0));
+                assertEquals(0, meter.getPeak(1));
+
+                // failed frame doesn't update meter
+                assertThrows(RocBatchException.class,
+                        () -> sender.writeBatch(new float[][]{{0.25f, 0.25f}, {1}}));
+                assertEquals(0.25f, meter.getPeak(0));
+                assertEquals(0.25f, meter.getPeak(1));
+
+                sender.setLevelMeter(null);
+                sender.writeBatch(new float[][]{{1, 1}});
+                assertEquals(0.25f, meter.getPeak(0));
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidLevelMeter() throws Exception {
+        try (RocSender sender = new RocSender(context, CONFIG)) {
+            assertThrows(IllegalArgumentException.class, () -> sender.setLevelMeter(new LevelMeter(1)));
+            assertThrows(IllegalArgumentException.class, () -> new LevelMeter(0));
+            assertThrows(IllegalArgumentException.class, () -> new LevelMeter(LevelMeter.MAX_CHANNELS + 1));
+            assertThrows(IllegalArgumentException.class, () -> new LevelMeter(2).getPeak(2));
+            assertThrows(IllegalArgumentException.class, () -> new LevelMeter(2).getRms(-1));
+        }
+    }
+
     @Test
     public void testInvalidWrite() throws Exception {
         try (RocSender sender = new RocSender(context, CONFIG)) {
             sender.connect(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://0.0.0.0:10001"));
             sender.connect(Slot.DEFAULT, Interface.AUDIO_REPAIR, new Endpoint("rs8m://0.0.0.0:10002"));
-            assertThrows(IllegalArgumentException.class, () -> sender.write(null));
+            assertThrows(IllegalArgumentException.class, () -> sender.write((float[]) null));
+        }
+    }
+
+    @Test
+    public void testWriteRange() throws Exception {
+        try (RocSender sender = new RocSender(context, CONFIG)) {
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://0.0.0.0:10001"));
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_REPAIR, new Endpoint("rs8m://0.0.0.0:10002"));
+            for (int i = 0; i < BUFFER_SIZE; i += 10) {
+                final int offset = i;
+                assertDoesNotThrow(() -> sender.write(samples, offset, 10));
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidWriteRange() throws Exception {
+        try (RocSender sender = new RocSender(context, CONFIG)) {
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://0.0.0.0:10001"));
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_REPAIR, new Endpoint("rs8m://0.0.0.0:10002"));
+            assertThrows(IllegalArgumentException.class, () -> sender.write((float[]) null, 0, 2));
+            assertThrows(IllegalArgumentException.class, () -> sender.write(samples, -2, 2));
+            assertThrows(IllegalArgumentException.class, () -> sender.write(samples, 0, -2));
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> sender.write(samples, BUFFER_SIZE - 2, 4));
+            assertEquals("Invalid samples: offset and length must be within array bounds", exception.getMessage());
+        }
+    }
+
+    @Test
+    public void testWriteCritical() throws Exception {
+        try (RocSender sender = new RocSender(context, CONFIG)) {
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://0.0.0.0:10001"));
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_REPAIR, new Endpoint("rs8m://0.0.0.0:10002"));
+            assertEquals(ArrayAccessMode.COPY, sender.getArrayAccessMode());
+
+            sender.setArrayAccessMode(ArrayAccessMode.CRITICAL);
+            assertEquals(ArrayAccessMode.CRITICAL, sender.getArrayAccessMode());
+
+            float[] original = samples.clone();
+            for (int i = 0; i < SINE_SAMPLES / BUFFER_SIZE; i++) {
+                sender.write(samples);
+                sender.write(samples, 10, 20);
+            }
+            assertArrayEquals(original, samples);
+
+            assertThrows(IllegalArgumentException.class, () -> sender.write(samples, BUFFER_SIZE - 2, 4));
+        }
+    }
+
+    @Test
+    public void testTryWrite() throws Exception {
+        RocSenderConfig config = CONFIG.toBuilder()
+                .clockSource(ClockSource.INTERNAL)
+                .build();
+        // one second of stereo samples
+        float[] frame = new float[SAMPLE_RATE * 2];
+        try (RocSender sender = new RocSender(context, config)) {
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://0.0.0.0:10001"));
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_REPAIR, new Endpoint("rs8m://0.0.0.0:10002"));
+            assertTrue(sender.tryWrite(frame, Duration.ZERO));
+            assertFalse(sender.tryWrite(frame, Duration.ZERO));
+            assertFalse(sender.tryWrite(frame, 0, 2, Duration.ofMillis(10)));
+        }
+    }
+
+    @Test
+    public void testInvalidTryWrite() throws Exception {
+        try (RocSender sender = new RocSender(context, CONFIG)) {
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://0.0.0.0:10001"));
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_REPAIR, new Endpoint("rs8m://0.0.0.0:10002"));
+            float[] frame = new float[4];
+            assertTrue(sender.tryWrite(frame, Duration.ZERO));
+            assertThrows(IllegalArgumentException.class, () -> sender.tryWrite(null, Duration.ZERO));
+            assertThrows(IllegalArgumentException.class, () -> sender.tryWrite(frame, null));
+            assertThrows(IllegalArgumentException.class, () -> sender.tryWrite(frame, Duration.ofMillis(-1)));
+            assertThrows(IllegalArgumentException.class, () -> sender.tryWrite(frame, 3, 2, Duration.ZERO));
+        }
+    }
+
+    @Test
+    public void testInterrupt() throws Exception {
+        RocSenderConfig config = CONFIG.toBuilder()
+                .clockSource(ClockSource.INTERNAL)
+                .build();
+        float[] frame = new float[SAMPLE_RATE * 2];
+        try (RocSender sender = new RocSender(context, config)) {
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://0.0.0.0:10001"));
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_REPAIR, new Endpoint("rs8m://0.0.0.0:10002"));
+            sender.write(frame);
+
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                Future<Boolean> pending = executor.submit(() -> sender.tryWrite(frame, Duration.ofMinutes(1)));
+                Future<?> blocked = executor.submit(() -> {
+                    sender.write(frame);
+                    return null;
+                });
+
+                await().atMost(10, TimeUnit.SECONDS).until(() -> {
+                    sender.interrupt();
+                    return pending.isDone() && blocked.isDone();
+                });
+                assertFalse(pending.get());
+                ExecutionException exception = assertThrows(ExecutionException.class, blocked::get);
+                assertTrue(exception.getCause() instanceof RocException);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidArrayAccessMode() throws Exception {
+        RocSenderConfig config = CONFIG.toBuilder()
+                .clockSource(ClockSource.INTERNAL)
+                .build();
+        try (RocSender sender = new RocSender(context, config)) {
+            assertThrows(IllegalArgumentException.class, () -> sender.setArrayAccessMode(null));
+            assertEquals(ArrayAccessMode.COPY, sender.getArrayAccessMode());
+        }
+    }
+
+    @Test
+    public void testCriticalArrayAccessWithInternalClock() throws Exception {
+        RocSenderConfig config = CONFIG.toBuilder()
+                .clockSource(ClockSource.INTERNAL)
+                .build();
+        try (RocSender sender = new RocSender(context, config)) {
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://0.0.0.0:10001"));
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_REPAIR, new Endpoint("rs8m://0.0.0.0:10002"));
+            sender.setArrayAccessMode(ArrayAccessMode.CRITICAL);
+            assertEquals(ArrayAccessMode.CRITICAL, sender.getArrayAccessMode());
+            for (int n = 0; n < 3; n++) {
+                sender.write(samples);
+            }
+            assertTrue(sender.tryWrite(samples, Duration.ofSeconds(10)));
+        }
+    }
+
+    @Test
+    public void testWritePlanes() throws Exception {
+        try (RocSender sender = new RocSender(context, CONFIG)) {
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://0.0.0.0:10001"));
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_REPAIR, new Endpoint("rs8m://0.0.0.0:10002"));
+            float[][] planes = new float[2][BUFFER_SIZE / 2];
+            for (int i = 0; i < BUFFER_SIZE / 2; i++) {
+                planes[0][i] = samples[i * 2];
+                planes[1][i] = samples[i * 2 + 1];
+            }
+            for (int i = 0; i < SINE_SAMPLES / BUFFER_SIZE; i++) {
+                sender.write(planes);
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidWritePlanes() throws Exception {
+        try (RocSender sender = new RocSender(context, CONFIG)) {
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://0.0.0.0:10001"));
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_REPAIR, new Endpoint("rs8m://0.0.0.0:10002"));
+            assertThrows(IllegalArgumentException.class, () -> sender.write((float[][]) null));
+            assertThrows(IllegalArgumentException.class, () -> sender.write(new float[][]{new float[2], null}));
+            assertThrows(IllegalArgumentException.class, () -> sender.write(new float[][]{new float[2], new float[3]}));
+            // CONFIG is stereo
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> sender.write(new float[][]{new float[2]}));
+            assertEquals("Invalid planes: number of planes must match number of channels in frame encoding",
+                    exception.getMessage());
+            assertThrows(IllegalArgumentException.class, () -> sender.write(new float[3][2]));
+            assertThrows(IllegalArgumentException.class, () -> sender.write(new float[0][]));
+        }
+    }
+
+    @Test
+    public void testWritePcm16() throws Exception {
+        try (RocSender sender = new RocSender(context, CONFIG)) {
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://0.0.0.0:10001"));
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_REPAIR, new Endpoint("rs8m://0.0.0.0:10002"));
+            short[] shorts = new short[BUFFER_SIZE];
+            byte[] bytes = new byte[BUFFER_SIZE * 2];
+            for (int i = 0; i < BUFFER_SIZE; i++) {
+                shorts[i] = (short) (samples[i] * Short.MAX_VALUE);
+                bytes[i * 2] = (byte) shorts[i];
+                bytes[i * 2 + 1] = (byte) (shorts[i] >> 8);
+            }
+            for (int i = 0; i < SINE_SAMPLES / BUFFER_SIZE; i++) {
+                sender.write(shorts);
+                sender.write(shorts, 10, 20);
+                sender.writePcm16Le(bytes, 0, bytes.length);
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidWritePcm16() throws Exception {
+        try (RocSender sender = new RocSender(context, CONFIG)) {
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://0.0.0.0:10001"));
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_REPAIR, new Endpoint("rs8m://0.0.0.0:10002"));
+            short[] shorts = new short[4];
+            byte[] bytes = new byte[8];
+            assertThrows(IllegalArgumentException.class, () -> sender.write((short[]) null));
+            assertThrows(IllegalArgumentException.class, () -> sender.write((short[]) null, 0, 2));
+            assertThrows(IllegalArgumentException.class, () -> sender.write(shorts, 3, 2));
+            assertThrows(IllegalArgumentException.class, () -> sender.writePcm16Le(null, 0, 2));
+            assertThrows(IllegalArgumentException.class, () -> sender.writePcm16Le(bytes, 0, 3));
+            assertThrows(IllegalArgumentException.class, () -> sender.writePcm16Le(bytes, 4, 6));
+            assertThrows(IllegalArgumentException.class, () -> sender.writePcm16Le(bytes, -2, 2));
+        }
+    }
+
+    @Test
+    public void testWriteBatch() throws Exception {
+        try (RocSender sender = new RocSender(context, CONFIG)) {
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://0.0.0.0:10001"));
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_REPAIR, new Endpoint("rs8m://0.0.0.0:10002"));
+            float[][] frames = new float[SINE_SAMPLES / BUFFER_SIZE][];
+            for (int i = 0; i < frames.length; i++) {
+                frames[i] = samples;
+            }
+            sender.writeBatch(frames);
+            sender.writeBatch(new float[0][]);
+
+            float[] strided = new float[BUFFER_SIZE * 10 + 2];
+            sender.writeBatch(strided, 2, BUFFER_SIZE, 10);
+            sender.writeBatch(strided, 0, BUFFER_SIZE, 0);
+
+            sender.setArrayAccessMode(ArrayAccessMode.CRITICAL);
+            sender.writeBatch(frames);
+            sender.writeBatch(strided, 2, BUFFER_SIZE, 10);
+
+            // array is pinned in several chunks
+            float[] longStrided = new float[BUFFER_SIZE * 1000];
+            sender.writeBatch(longStrided, 0, BUFFER_SIZE, 1000);
+        }
+    }
+
+    @Test
+    public void testWriteBatchPartialFailure() throws Exception {
+        try (RocSender sender = new RocSender(context, CONFIG)) {
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://0.0.0.0:10001"));
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_REPAIR, new Endpoint("rs8m://0.0.0.0:10002"));
+            // odd number of samples is not a valid stereo frame
+            float[][] frames = new float[][]{samples, samples, new float[1], samples};
+            float[] strided = new float[BUFFER_SIZE * 4];
+
+            for (ArrayAccessMode mode : ArrayAccessMode.values()) {
+                sender.setArrayAccessMode(mode);
+                RocBatchException exception = assertThrows(RocBatchException.class,
+                        () -> sender.writeBatch(frames));
+                assertEquals(2, exception.getFramesWritten());
+                exception = assertThrows(RocBatchException.class,
+                        () -> sender.writeBatch(strided, 0, 1, 4));
+                assertEquals(0, exception.getFramesWritten());
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidWriteBatch() throws Exception {
+        try (RocSender sender = new RocSender(context, CONFIG)) {
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://0.0.0.0:10001"));
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_REPAIR, new Endpoint("rs8m://0.0.0.0:10002"));
+            assertThrows(IllegalArgumentException.class, () -> sender.writeBatch(null));
+            assertThrows(IllegalArgumentException.class, () -> sender.writeBatch(new float[][]{samples, null}));
+            assertThrows(IllegalArgumentException.class, () -> sender.writeBatch(null, 0, 2, 2));
+            assertThrows(IllegalArgumentException.class, () -> sender.writeBatch(samples, 0, -1, 2));
+            assertThrows(IllegalArgumentException.class, () -> sender.writeBatch(samples, 0, 2, -1));
+            assertThrows(IllegalArgumentException.class, () -> sender.writeBatch(samples, -1, 2, 2));
+            assertThrows(IllegalArgumentException.class, () -> sender.writeBatch(samples, 2, BUFFER_SIZE / 2, 2));
+            assertThrows(IllegalArgumentException.class,
+                    () -> sender.writeBatch(samples, 0, Integer.MAX_VALUE, 2));
+        }
+    }
+
+    @Test
+    public void testWriteBuffer() throws Exception {
+        try (RocSender sender = new RocSender(context, CONFIG)) {
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://0.0.0.0:10001"));
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_REPAIR, new Endpoint("rs8m://0.0.0.0:10002"));
+
+            ByteBuffer byteBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE * Float.BYTES).order(ByteOrder.nativeOrder());
+            FloatBuffer directBuffer = byteBuffer.asFloatBuffer();
+            directBuffer.put(samples).flip();
+            sender.write(directBuffer);
+            assertFalse(directBuffer.hasRemaining());
+
+            sender.write(byteBuffer);
+            assertFalse(byteBuffer.hasRemaining());
+
+            FloatBuffer heapBuffer = FloatBuffer.wrap(samples);
+            sender.write(heapBuffer);
+            assertFalse(heapBuffer.hasRemaining());
+        }
+    }
+
+    @Test
+    public void testInvalidWriteBuffer() throws Exception {
+        try (RocSender sender = new RocSender(context, CONFIG)) {
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://0.0.0.0:10001"));
+            sender.connect(Slot.DEFAULT, Interface.AUDIO_REPAIR, new Endpoint("rs8m://0.0.0.0:10002"));
+            assertThrows(IllegalArgumentException.class, () -> sender.write((FloatBuffer) null));
+            assertThrows(IllegalArgumentException.class, () -> sender.write((ByteBuffer) null));
+            assertThrows(IllegalArgumentException.class, () -> sender.write(ByteBuffer.allocate(8)));
+            assertThrows(IllegalArgumentException.class, () -> sender.write(ByteBuffer.allocateDirect(6)));
+            // misaligned position
+            ByteBuffer misaligned = ByteBuffer.allocateDirect(12).order(ByteOrder.nativeOrder());
+            ((Buffer) misaligned).position(1).limit(9);
+            assertThrows(IllegalArgumentException.class, () -> sender.write(misaligned));
+            assertEquals(1, misaligned.position());
+            assertThrows(IllegalArgumentException.class, () -> sender.write(misaligned.asFloatBuffer()));
+            ByteOrder foreignOrder = ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN
+                    ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+            assertThrows(IllegalArgumentException.class,
+                    () -> sender.write(ByteBuffer.allocateDirect(8).order(foreignOrder).asFloatBuffer()));
         }
     }
 
@@ -0,0 +1,118 @@
+package org.rocstreaming.roctoolkit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TickerTest {
+
+    private static final int SAMPLE_RATE = 1000;
+    // ten seconds of stereo samples
+    private static final long LONG_FRAME = SAMPLE_RATE * 2 * 10;
+
+    @Test
+    public void testFailedFrameDoesNotAdvanceClock() {
+        Ticker ticker = new Ticker(SAMPLE_RATE, 2);
+
+        // failed frame, clock stays at zero and next frame is due immediately
+        assertTrue(ticker.acquire(0));
+        ticker.release(0);
+        assertTrue(ticker.acquire(0));
+
+        // next frame is due in the future
+        ticker.release(LONG_FRAME);
+        assertFalse(ticker.acquire(0));
+    }
+
+    @Test
+    public void testTimeout() {
+        Ticker ticker = new Ticker(SAMPLE_RATE, 2);
+        assertTrue(ticker.acquire(0));
+        ticker.release(LONG_FRAME);
+
+        long timeout = TimeUnit.MILLISECONDS.toNanos(50);
+        long start = System.nanoTime();
+        assertFalse(ticker.acquire(timeout));
+        long elapsed = System.nanoTime() - start;
+        assertTrue(elapsed >= timeout);
+        assertTrue(elapsed < TimeUnit.SECONDS.toNanos(5));
+    }
+
+    @Test
+    public void testInterrupt() throws Exception {
+        Ticker ticker = new Ticker(SAMPLE_RATE, 2);
+        assertTrue(ticker.acquire(0));
+        ticker.release(LONG_FRAME);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Boolean> blocked = executor.submit(() -> ticker.acquire(-1));
+            Thread.sleep(100);
+            assertFalse(blocked.isDone());
+
+            // wakes up waiting call
+            ticker.interrupt();
+            assertFalse(blocked.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testInterruptDoesNotAffectSubsequentCalls() {
+        Ticker ticker = new Ticker(SAMPLE_RATE, 2);
+
+        ticker.interrupt();
+        assertTrue(ticker.acquire(0));
+        ticker.release(0);
+
+        ticker.interrupt();
+        assertTrue(ticker.acquire(-1));
+        ticker.release(0);
+    }
+
+    @Test
+    public void testThreadInterrupt() {
+        Ticker ticker = new Ticker(SAMPLE_RATE, 2);
+
+        Thread.currentThread().interrupt();
+        try {
+            assertFalse(ticker.acquire(-1));
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+        assertTrue(ticker.acquire(0));
+    }
+
+    @Test
+    public void testBusyHandOff() throws Exception {
+        Ticker ticker = new Ticker(SAMPLE_RATE, 2);
+        assertTrue(ticker.acquire(0));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // frame is due, but another frame is being processed
+            Future<Boolean> blocked = executor.submit(() -> ticker.acquire(-1));
+            Thread.sleep(100);
+            assertFalse(blocked.isDone());
+            assertFalse(ticker.acquire(0));
+
+            // failed frame doesn't advance clock, so waiting call gets its turn immediately
+            ticker.release(0);
+            assertTrue(blocked.get(10, TimeUnit.SECONDS));
+
+            // and now it holds the ticker
+            assertFalse(ticker.acquire(0));
+            ticker.release(0);
+            assertTrue(ticker.acquire(0));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
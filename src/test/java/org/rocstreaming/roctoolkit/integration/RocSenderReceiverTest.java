@@ -9,6 +9,7 @@ import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 
 public class RocSenderReceiverTest extends BaseTest {
@@ -77,6 +78,12 @@ public class RocSenderReceiverTest extends BaseTest {
                         receiver.read(readBuffer);
                         assertNotEquals(new float[]{0, 0}, readBuffer);
                     });
+
+            RocReceiverMetrics receiverMetrics = new RocReceiverMetrics();
+            RocConnectionMetrics[] connectionMetrics = {new RocConnectionMetrics()};
+            assertEquals(1, receiver.query(Slot.DEFAULT, receiverMetrics, connectionMetrics));
+            assertEquals(1, receiverMetrics.getConnectionCount());
+
             running.set(false);
             submit.get();
         }
@@ -0,0 +1,84 @@
+package org.rocstreaming.roctoolkit;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RocEventsTest extends BaseTest {
+
+    private static final String[] EVENTS = {
+            "RocWrite", "RocRead", "RocBind", "RocConnect", "RocUnlink", "RocNativeClose",
+    };
+
+    @Test
+    public void testEvents() throws Exception {
+        List<RecordedEvent> events = record(Duration.ZERO);
+
+        for (String name : EVENTS) {
+            assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().endsWith("." + name)), name);
+        }
+
+        RecordedEvent bind = find(events, "RocBind");
+        assertEquals(1, bind.getInt("slot"));
+        assertEquals("AUDIO_SOURCE", bind.getString("iface"));
+        assertTrue(bind.getString("endpoint").startsWith("rtp+rs8m://127.0.0.1:"));
+
+        RecordedEvent write = find(events, "RocWrite");
+        assertEquals(2, write.getLong("samples"));
+
+        assertEquals("RocReceiver", find(events, "RocUnlink").getString("peerType"));
+    }
+
+    @Test
+    public void testThreshold() throws Exception {
+        List<RecordedEvent> events = record(Duration.ofHours(1));
+
+        assertTrue(events.isEmpty());
+    }
+
+    private static List<RecordedEvent> record(Duration threshold) throws Exception {
+        Path file = Files.createTempFile("roc", ".jfr");
+        try (Recording recording = new Recording()) {
+            for (String name : EVENTS) {
+                recording.enable("org.rocstreaming.roctoolkit." + name).withThreshold(threshold);
+            }
+            recording.start();
+
+            try (RocContext context = new RocContext()) {
+                try (RocReceiver receiver = new RocReceiver(context, RocReceiverTest.CONFIG)) {
+                    receiver.bind(new Slot(1), Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://127.0.0.1:0"));
+                    receiver.read(new float[2]);
+                    receiver.unlink(new Slot(1));
+                }
+                try (RocSender sender = new RocSender(context, RocSenderTest.CONFIG)) {
+                    sender.connect(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp+rs8m://127.0.0.1:10001"));
+                    sender.write(new float[2]);
+                }
+            }
+
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(e -> e.getEventType().getName().startsWith("org.rocstreaming.roctoolkit."))
+                    .collect(Collectors.toList());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static RecordedEvent find(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(e -> e.getEventType().getName().endsWith("." + name))
+                .findFirst()
+                .orElseThrow(AssertionError::new);
+    }
+}
@@ -0,0 +1,201 @@
+package org.rocstreaming.roctoolkit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RocFlowTest extends BaseTest {
+
+    private static final int SAMPLE_RATE = 44100;
+    // 10ms of stereo samples
+    private static final int FRAME_SIZE = SAMPLE_RATE / 100 * 2;
+    private static final MediaEncoding ENCODING = MediaEncoding.builder()
+            .rate(SAMPLE_RATE)
+            .format(Format.PCM_FLOAT32)
+            .channels(ChannelLayout.STEREO)
+            .build();
+
+    private RocContext context;
+    private RocReceiver receiver;
+    private RocSender sender;
+
+    @BeforeEach
+    public void beforeEach() throws Exception {
+        context = new RocContext();
+        receiver = new RocReceiver(context, RocReceiverConfig.builder()
+                .frameEncoding(ENCODING)
+                .clockSource(ClockSource.INTERNAL)
+                .build());
+        receiver.bind(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp://127.0.0.1:0"));
+        sender = new RocSender(context, RocSenderConfig.builder()
+                .frameEncoding(ENCODING)
+                .fecEncoding(FecEncoding.DISABLE)
+                .clockSource(ClockSource.INTERNAL)
+                .build());
+        sender.connect(Slot.DEFAULT, Interface.AUDIO_SOURCE, new Endpoint("rtp://127.0.0.1:10001"));
+    }
+
+    @AfterEach
+    public void afterEach() {
+        sender.close();
+        receiver.close();
+        context.close();
+    }
+
+    @Test
+    public void testDemand() throws Exception {
+        try (RocReceiverPublisher publisher = new RocReceiverPublisher(receiver, FRAME_SIZE, 4)) {
+            AtomicLong frames = new AtomicLong();
+            AtomicReference<Flow.Subscription> subscription = new AtomicReference<>();
+            AtomicBoolean completed = new AtomicBoolean();
+            publisher.subscribe(new Flow.Subscriber<>() {
+                @Override
+                public void onSubscribe(Flow.Subscription s) {
+                    subscription.set(s);
+                    s.request(3);
+                }
+
+                @Override
+                public void onNext(AudioFrame frame) {
+                    assertEquals(FRAME_SIZE, frame.getSamples().length);
+                    frames.incrementAndGet();
+                    frame.release();
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                }
+
+                @Override
+                public void onComplete() {
+                    completed.set(true);
+                }
+            });
+
+            await().atMost(10, TimeUnit.SECONDS).until(() -> frames.get() == 3);
+            // no frames without demand
+            Thread.sleep(100);
+            assertEquals(3, frames.get());
+
+            subscription.get().request(2);
+            await().atMost(10, TimeUnit.SECONDS).until(() -> frames.get() == 5);
+
+            assertTimeoutPreemptively(Duration.ofSeconds(10), publisher::close);
+            assertTrue(completed.get());
+        }
+    }
+
+    @Test
+    public void testCloseDoesNotInterruptReceiver() throws Exception {
+        AtomicBoolean stopReading = new AtomicBoolean();
+        AtomicReference<Exception> readError = new AtomicReference<>();
+        Thread otherReader = new Thread(() -> {
+            float[] samples = new float[FRAME_SIZE];
+            while (!stopReading.get()) {
+                try {
+                    receiver.read(samples);
+                } catch (Exception e) {
+                    readError.set(e);
+                    return;
+                }
+            }
+        });
+        otherReader.start();
+
+        try (RocReceiverPublisher publisher = new RocReceiverPublisher(receiver, FRAME_SIZE, 4)) {
+            RocSenderSubscriber subscriber = new RocSenderSubscriber(sender, 2);
+            publisher.subscribe(subscriber);
+            Thread.sleep(100);
+
+            assertTimeoutPreemptively(Duration.ofSeconds(10), publisher::close);
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> subscriber.getCompletion().join());
+        } finally {
+            stopReading.set(true);
+            otherReader.join();
+        }
+        assertNull(readError.get());
+    }
+
+    @Test
+    public void testPipeline() {
+        try (RocReceiverPublisher publisher = new RocReceiverPublisher(receiver, FRAME_SIZE, 4)) {
+            RocSenderSubscriber subscriber = new RocSenderSubscriber(sender, 2);
+            publisher.subscribe(subscriber);
+
+            CompletableFuture<Void> completion = subscriber.getCompletion();
+            assertFalse(completion.isDone());
+
+            publisher.close();
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> completion.join());
+        }
+    }
+
+    @Test
+    public void testSecondSubscriber() {
+        try (RocReceiverPublisher publisher = new RocReceiverPublisher(receiver, FRAME_SIZE, 4)) {
+            publisher.subscribe(new RocSenderSubscriber(sender));
+
+            RocSenderSubscriber second = new RocSenderSubscriber(sender);
+            publisher.subscribe(second);
+            assertTrue(second.getCompletion().isCompletedExceptionally());
+        }
+    }
+
+    @Test
+    public void testCloseWhileSubscribing() throws Exception {
+        for (int i = 0; i < 50; i++) {
+            RocReceiverPublisher publisher = new RocReceiverPublisher(receiver, FRAME_SIZE, 4);
+            RocSenderSubscriber subscriber = new RocSenderSubscriber(sender);
+            Thread subscribeThread = new Thread(() -> publisher.subscribe(subscriber));
+            subscribeThread.start();
+            publisher.close();
+            subscribeThread.join();
+            // subscription is either rejected or completed, never left running
+            await().atMost(10, TimeUnit.SECONDS).until(() -> subscriber.getCompletion().isDone());
+        }
+    }
+
+    @Test
+    public void testInvalidRequest() {
+        try (RocReceiverPublisher publisher = new RocReceiverPublisher(receiver, FRAME_SIZE, 4)) {
+            RocSenderSubscriber subscriber = new RocSenderSubscriber(sender, 1) {
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) {
+                    subscription.request(0);
+                }
+            };
+            publisher.subscribe(subscriber);
+            await().atMost(10, TimeUnit.SECONDS).until(() -> subscriber.getCompletion().isCompletedExceptionally());
+        }
+    }
+
+    @Test
+    public void testInvalidArguments() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> new RocReceiverPublisher(null, FRAME_SIZE, 4));
+        assertThrows(IllegalArgumentException.class, () -> new RocReceiverPublisher(receiver, 0, 4));
+        assertThrows(IllegalArgumentException.class, () -> new RocReceiverPublisher(receiver, FRAME_SIZE, 0));
+        RocReceiverConfig externalConfig = RocReceiverConfig.builder()
+                .frameEncoding(ENCODING)
+                .clockSource(ClockSource.EXTERNAL)
+                .build();
+        try (RocReceiver externalReceiver = new RocReceiver(context, externalConfig)) {
+            assertThrows(IllegalArgumentException.class, () -> new RocReceiverPublisher(externalReceiver, FRAME_SIZE, 4));
+        }
+        assertThrows(IllegalArgumentException.class, () -> new RocSenderSubscriber(null));
+        assertThrows(IllegalArgumentException.class, () -> new RocSenderSubscriber(sender, 0));
+        try (RocReceiverPublisher publisher = new RocReceiverPublisher(receiver, FRAME_SIZE, 4)) {
+            assertThrows(NullPointerException.class, () -> publisher.subscribe(null));
+        }
+    }
+}